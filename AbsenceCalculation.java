@@ -0,0 +1,238 @@
+package com.mycompany.motorph.calculation;
+
+import com.mycompany.motorph.data.BusinessCalendar;
+import com.mycompany.motorph.model.DateRange;
+import com.mycompany.motorph.model.Leave;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A class for classifying an employee's workdays as worked, on leave or absent.
+ * <p>
+ * The employee's attendance days and leave intervals are both put in date order and
+ * walked together with one cursor each over the days of the pay period (a sorted-merge
+ * join), so the cost is linear in the period's days plus the employee's rows, with no
+ * nested scans. Workdays come from the {@link BusinessCalendar}, so weekends and
+ * holidays are never absences.
+ * </p>
+ * <p>
+ * How many working days of each leave are paid is decided by the leave ledger, from the
+ * balance that covered the leave when it was charged (see
+ * {@link com.mycompany.motorph.data.LeaveDataManager#getPaidLeaveDays}); the first that
+ * many workdays of the leave are paid and the rest are unpaid. A workday with neither
+ * attendance nor leave is an unpaid absence.
+ * </p>
+ *
+ * @author Lance
+ */
+public class AbsenceCalculation {
+
+    private static final DateTimeFormatter LEAVE_DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final int ATTENDANCE_EXPECTED_COL_LENGTH = 6;
+
+    private final BusinessCalendar businessCalendar;
+
+    /**
+     * Constructor for AbsenceCalculation using the default business calendar.
+     */
+    public AbsenceCalculation() {
+        this(BusinessCalendar.getDefault());
+    }
+
+    /**
+     * Constructor for AbsenceCalculation with a specific business calendar.
+     *
+     * @param businessCalendar The calendar of working days
+     */
+    public AbsenceCalculation(final BusinessCalendar businessCalendar) {
+        this.businessCalendar = businessCalendar;
+    }
+
+    /**
+     * Classifies each workday of a period for one employee.
+     *
+     * @param attendanceDataList Attendance rows; other employees' rows are ignored
+     * @param employeeNumber The employee number
+     * @param leaves The employee's leaves in start-date order, as kept by the leave store
+     * @param paidDays The paid working days of each leave, in the same order
+     * @param period The pay period
+     * @return Workday counts by classification
+     * @throws IllegalStateException If the calendar does not date the period's movable holidays
+     */
+    public AbsenceSummary summarize(final List<String[]> attendanceDataList, final int employeeNumber, final List<Leave> leaves,
+                                    final int[] paidDays, final DateRange period) {
+        businessCalendar.requireHolidays(period);
+        final long firstDay = period.getStartDay();
+        final long lastDay = period.getEndDay();
+        final long[] attended = attendedDays(attendanceDataList, employeeNumber, period);
+        final PaidInterval[] intervals = paidIntervals(leaves, paidDays, firstDay, lastDay);
+
+        int workdays = 0;
+        int daysAttended = 0;
+        int paidLeaveDays = 0;
+        int unpaidLeaveDays = 0;
+        int absentDays = 0;
+        int attendance = 0;
+        int leave = 0;
+        for (long day = firstDay; day <= lastDay; day++) {
+            while (attendance < attended.length && attended[attendance] < day) {
+                attendance++;
+            }
+            while (leave < intervals.length && intervals[leave].end < day) {
+                leave++;
+            }
+            if (!businessCalendar.isWorkday(day)) {
+                continue;
+            }
+
+            workdays++;
+            if (attendance < attended.length && attended[attendance] == day) {
+                daysAttended++;
+            } else if (leave < intervals.length && intervals[leave].start <= day) {
+                if (day <= intervals[leave].paidThrough) {
+                    paidLeaveDays++;
+                } else {
+                    unpaidLeaveDays++;
+                }
+            } else {
+                absentDays++;
+            }
+        }
+        return new AbsenceSummary(workdays, daysAttended, paidLeaveDays, unpaidLeaveDays, absentDays);
+    }
+
+    /**
+     * Returns the distinct days in the period with attendance, sorted.
+     */
+    private static long[] attendedDays(final List<String[]> attendanceDataList, final int employeeNumber, final DateRange period) {
+        long[] days = new long[16];
+        int count = 0;
+        for (String[] data : attendanceDataList) {
+            if (data.length != ATTENDANCE_EXPECTED_COL_LENGTH || Integer.parseInt(data[0].trim()) != employeeNumber) {
+                continue;
+            }
+            long day;
+            try {
+                day = period.parseDay(data[3]);
+            } catch (ParseException e) {
+                continue; // Hours from such rows are rejected by TimeCalculation too
+            }
+            if (!period.contains(day)) {
+                continue;
+            }
+            if (count == days.length) {
+                days = Arrays.copyOf(days, count * 2);
+            }
+            days[count++] = day;
+        }
+        days = Arrays.copyOf(days, count);
+        Arrays.sort(days);
+        return days;
+    }
+
+    /**
+     * Converts the leaves overlapping the period into intervals with the last paid day of each.
+     */
+    private PaidInterval[] paidIntervals(final List<Leave> leaves, final int[] paidDays, final long firstDay, final long lastDay) {
+        PaidInterval[] intervals = new PaidInterval[leaves.size()];
+        int count = 0;
+        long lastEnd = Long.MIN_VALUE;
+        for (int i = 0; i < leaves.size(); i++) {
+            Leave leave = leaves.get(i);
+            long start;
+            long end;
+            try {
+                start = LocalDate.parse(leave.getStartDate(), LEAVE_DATE_FORMAT).toEpochDay();
+                end = LocalDate.parse(leave.getEndDate(), LEAVE_DATE_FORMAT).toEpochDay();
+            } catch (DateTimeParseException e) {
+                continue;
+            }
+            if (start > lastDay) {
+                break; // Later leaves start even later
+            }
+            if (end < firstDay) {
+                continue;
+            }
+            long paidThrough = start - 1;
+            for (long day = start, remaining = paidDays[i]; day <= end && remaining > 0; day++) {
+                if (businessCalendar.isWorkday(day)) {
+                    remaining--;
+                }
+                paidThrough = day;
+            }
+
+            // Keep intervals disjoint for the merge; leaves saved before the overlap check may overlap
+            start = Math.max(start, lastEnd + 1);
+            if (end < firstDay || start > end) {
+                continue;
+            }
+            lastEnd = end;
+            intervals[count++] = new PaidInterval(start, end, paidThrough);
+        }
+        return Arrays.copyOf(intervals, count);
+    }
+
+    /**
+     * A leave's days, inclusive epoch days, paid up to and including {@code paidThrough}.
+     */
+    private static final class PaidInterval {
+
+        private final long start;
+        private final long end;
+        private final long paidThrough;
+
+        private PaidInterval(long start, long end, long paidThrough) {
+            this.start = start;
+            this.end = end;
+            this.paidThrough = paidThrough;
+        }
+    }
+
+    /**
+     * Workday counts for one employee over a pay period.
+     */
+    public static final class AbsenceSummary {
+
+        private final int workdays;
+        private final int daysAttended;
+        private final int paidLeaveDays;
+        private final int unpaidLeaveDays;
+        private final int absentDays;
+
+        private AbsenceSummary(int workdays, int daysAttended, int paidLeaveDays, int unpaidLeaveDays, int absentDays) {
+            this.workdays = workdays;
+            this.daysAttended = daysAttended;
+            this.paidLeaveDays = paidLeaveDays;
+            this.unpaidLeaveDays = unpaidLeaveDays;
+            this.absentDays = absentDays;
+        }
+
+        public int getWorkdays() {
+            return workdays;
+        }
+
+        public int getDaysAttended() {
+            return daysAttended;
+        }
+
+        /** Returns workdays without attendance covered by paid leave. */
+        public int getPaidLeaveDays() {
+            return paidLeaveDays;
+        }
+
+        /** Returns workdays without attendance covered by leave beyond its paid days. */
+        public int getUnpaidLeaveDays() {
+            return unpaidLeaveDays;
+        }
+
+        /** Returns workdays with neither attendance nor leave. */
+        public int getAbsentDays() {
+            return absentDays;
+        }
+    }
+}
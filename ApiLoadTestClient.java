@@ -0,0 +1,156 @@
+package com.mycompany.motorph.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load-test client for the local MotorPH HTTP API.
+ * <p>
+ * Keeps a fixed number of requests in flight against a random mix of employee,
+ * wage and leave lookups, then reports throughput, latency percentiles and the
+ * response status breakdown (503 responses are requests shed by admission control).
+ * </p>
+ * <pre>
+ * ApiLoadTestClient [--url http://127.0.0.1:8085] [--concurrency 2000] [--requests 50000]
+ *                   [--warmup 2000] [--employees 1-34] [--month 06] [--seed 42]
+ * </pre>
+ *
+ * @author Lance
+ */
+public class ApiLoadTestClient {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+
+        String baseUrl = options.getOrDefault("url", "http://127.0.0.1:8085");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "2000"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "50000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "2000"));
+        String[] employeeBounds = options.getOrDefault("employees", "1-34").split("-");
+        int firstEmployee = Integer.parseInt(employeeBounds[0].trim());
+        int lastEmployee = Integer.parseInt(employeeBounds[employeeBounds.length - 1].trim());
+        String month = options.getOrDefault("month", "06");
+        SplittableRandom random = new SplittableRandom(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clientExecutor)
+                .build();
+
+        try {
+            URI[] warmupTargets = targets(baseUrl, warmup, firstEmployee, lastEmployee, month, random);
+            run(client, warmupTargets, Math.min(concurrency, 64));
+
+            URI[] measuredTargets = targets(baseUrl, requests, firstEmployee, lastEmployee, month, random);
+            long start = System.nanoTime();
+            Result result = run(client, measuredTargets, concurrency);
+            report(result, concurrency, System.nanoTime() - start);
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Builds a request mix of 50% employee, 30% wage and 20% leave lookups.
+     */
+    private static URI[] targets(String baseUrl, int count, int firstEmployee, int lastEmployee, String month,
+                                 SplittableRandom random) {
+        URI[] targets = new URI[count];
+        for (int i = 0; i < count; i++) {
+            int employeeNumber = random.nextInt(firstEmployee, lastEmployee + 1);
+            int pick = random.nextInt(100);
+            String path = pick < 50 ? "/api/employees/" + employeeNumber
+                    : pick < 80 ? "/api/wages/" + employeeNumber + "?month=" + month
+                    : "/api/leaves/" + employeeNumber;
+            targets[i] = URI.create(baseUrl + path);
+        }
+        return targets;
+    }
+
+    /**
+     * Sends every request, keeping at most {@code concurrency} in flight.
+     */
+    private static Result run(HttpClient client, URI[] targets, int concurrency) throws InterruptedException {
+        Result result = new Result(targets.length);
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(targets.length);
+
+        for (int i = 0; i < targets.length; i++) {
+            final int index = i;
+            inFlight.acquire();
+            final long sent = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(targets[i]).timeout(Duration.ofSeconds(30)).GET().build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        result.latencies[index] = System.nanoTime() - sent;
+                        if (error != null) {
+                            result.failures.increment();
+                        } else {
+                            result.statuses.computeIfAbsent(response.statusCode(), k -> new LongAdder()).increment();
+                        }
+                        inFlight.release();
+                        done.countDown();
+                    });
+        }
+
+        done.await();
+        return result;
+    }
+
+    private static void report(Result result, int concurrency, long elapsedNanos) {
+        long[] sorted = result.latencies.clone();
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1e9;
+
+        System.out.printf("%,d requests, %,d in flight, %.2f s, %,.0f req/s%n",
+                sorted.length, concurrency, seconds, sorted.length / seconds);
+        System.out.printf("latency p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+
+        Map<Integer, Long> statuses = new TreeMap<>();
+        result.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+        System.out.println("status " + statuses + ", transport failures " + result.failures.sum());
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+
+    /**
+     * Per-run measurements; each latency slot is written by exactly one completion.
+     */
+    private static final class Result {
+
+        private final long[] latencies;
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder failures = new LongAdder();
+
+        private Result(int requests) {
+            this.latencies = new long[requests];
+        }
+    }
+}
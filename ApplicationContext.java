@@ -0,0 +1,131 @@
+package com.mycompany.motorph;
+
+import com.mycompany.motorph.api.EmployeeApiServer;
+import com.mycompany.motorph.calculation.WageCalculation;
+import com.mycompany.motorph.data.CredentialStore;
+import com.mycompany.motorph.data.LeaveDataManager;
+import com.mycompany.motorph.employee.EmployeeInformation;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Application-scoped registry of the long-lived services shared by all pages.
+ * <p>
+ * Created once at startup by {@link LoginPage} and handed to every page it opens,
+ * so the employee repository, leave store, payroll engine and credential store each
+ * load their data once and stay warm for the rest of the session instead of being
+ * rebuilt per action.
+ * </p>
+ *
+ * @author Lance
+ */
+public class ApplicationContext {
+
+    /** System property naming the port of the optional local HTTP API; unset disables it. */
+    public static final String API_PORT_PROPERTY = "motorph.api.port";
+
+    private final EmployeeInformation employeeInformation;
+    private final LeaveDataManager leaveDataManager;
+    private final WageCalculation wageCalculation;
+    private final CredentialStore credentialStore;
+    private boolean credentialsLoaded = false;
+    private CompletableFuture<List<StartupLoader.LoadTiming>> preload;
+    private EmployeeApiServer apiServer;
+
+    /**
+     * Creates the context over the default data files.
+     */
+    public ApplicationContext() {
+        this.employeeInformation = new EmployeeInformation();
+        this.leaveDataManager = new LeaveDataManager();
+        this.wageCalculation = new WageCalculation(employeeInformation, leaveDataManager);
+        this.credentialStore = new CredentialStore();
+    }
+
+    /**
+     * Starts loading every data file into the shared services in the background.
+     * <p>
+     * Only the first call starts the load; later calls return the same future. Per-file
+     * timings are printed when the load completes.
+     * </p>
+     *
+     * @return A future completing with per-file load timings
+     */
+    public synchronized CompletableFuture<List<StartupLoader.LoadTiming>> startPreload() {
+        if (preload == null) {
+            final long start = System.nanoTime();
+            preload = new StartupLoader(this).start();
+            preload.thenAccept(timings -> StartupLoader.report(timings, (System.nanoTime() - start) / 1_000_000.0));
+        }
+        return preload;
+    }
+
+    /**
+     * Starts the local HTTP API over the shared services if {@value #API_PORT_PROPERTY} is set.
+     * <p>
+     * Only the first call starts the server. A server that fails to start is reported
+     * and the application continues without it.
+     * </p>
+     */
+    public synchronized void startApiServerIfConfigured() {
+        Integer port = Integer.getInteger(API_PORT_PROPERTY);
+        if (port == null || apiServer != null) {
+            return;
+        }
+        EmployeeApiServer server = new EmployeeApiServer(employeeInformation, wageCalculation, leaveDataManager,
+                EmployeeApiServer.DEFAULT_MAX_CONCURRENT);
+        try {
+            server.start(port);
+            apiServer = server;
+            System.out.println("MotorPH API listening on http://127.0.0.1:" + server.getPort() + "/api");
+        } catch (IOException e) {
+            System.err.println("MotorPH API could not start on port " + port + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the shared employee repository.
+     *
+     * @return The employee repository
+     */
+    public EmployeeInformation getEmployeeInformation() {
+        return employeeInformation;
+    }
+
+    /**
+     * Returns the shared leave store.
+     *
+     * @return The leave store
+     */
+    public LeaveDataManager getLeaveDataManager() {
+        return leaveDataManager;
+    }
+
+    /**
+     * Returns the shared payroll engine.
+     *
+     * @return The payroll engine
+     */
+    public WageCalculation getWageCalculation() {
+        return wageCalculation;
+    }
+
+    /**
+     * Returns the credential store, loading it and watching the file on first use.
+     *
+     * @return The credential store
+     * @throws IOException If the credentials file cannot be read or watched
+     * @throws CsvValidationException If the credentials file is invalid
+     */
+    public synchronized CredentialStore getCredentialStore() throws IOException, CsvValidationException {
+        if (!credentialsLoaded) {
+            credentialStore.load();
+            credentialStore.startWatching();
+            credentialsLoaded = true;
+        }
+        return credentialStore;
+    }
+}
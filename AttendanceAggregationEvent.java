@@ -0,0 +1,64 @@
+package com.mycompany.motorph.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one pass over attendance records.
+ *
+ * @author Lance
+ */
+@Name("com.mycompany.motorph.AttendanceAggregation")
+@Label("Attendance Aggregation")
+@Category({"MotorPH", "Payroll"})
+@Description("Scanning attendance records for hours worked, late arrivals or batch grouping")
+@StackTrace(false)
+public class AttendanceAggregationEvent extends Event {
+
+    @Label("Employee Number")
+    @Description("0 for a pass over all employees")
+    int employeeNumber;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Rows Scanned")
+    long rowsScanned;
+
+    @Label("Rows Matched")
+    long rowsMatched;
+
+    /**
+     * Begins timing an attendance pass.
+     *
+     * @param phase What the pass computes, e.g. "hours worked"
+     * @param employeeNumber The employee, or 0 for all employees
+     * @return The started event
+     */
+    public static AttendanceAggregationEvent start(String phase, int employeeNumber) {
+        AttendanceAggregationEvent event = new AttendanceAggregationEvent();
+        event.phase = phase;
+        event.employeeNumber = employeeNumber;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the pass and commits the event if it is being recorded.
+     *
+     * @param scanned Attendance rows examined
+     * @param matched Rows that contributed to the result
+     */
+    public void finish(long scanned, long matched) {
+        end();
+        if (shouldCommit()) {
+            rowsScanned = scanned;
+            rowsMatched = matched;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.mycompany.motorph.benchmark;
+
+import com.mycompany.motorph.calculation.NetWageCalculation;
+import com.mycompany.motorph.calculation.TimeCalculation;
+import com.mycompany.motorph.model.DateRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one employee's attendance pass over attendance lists of growing size.
+ * <p>
+ * {@link TimeCalculation#calculateTotalHoursWorked} and
+ * {@link NetWageCalculation#calculateLateArrivalDeduction} scan every row to find the
+ * employee's punches, so their cost grows with the whole file rather than with the
+ * employee's own {@value BenchmarkFixtures#WORKING_DAYS} rows. The target employee sits
+ * in the middle of the list.
+ * </p>
+ *
+ * @author Lance
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx12g"})
+public class AttendanceScanBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private final TimeCalculation timeCalculation = new TimeCalculation();
+    private final NetWageCalculation netWageCalculation = new NetWageCalculation();
+    private List<String[]> attendance;
+    private DateRange june;
+    private int employeeNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ParseException {
+        attendance = BenchmarkFixtures.attendanceRows(rows);
+        june = DateRange.createMonthRange("06");
+        employeeNumber = 1 + (rows / 2) / BenchmarkFixtures.WORKING_DAYS;
+    }
+
+    @Benchmark
+    public double totalHoursWorked() throws ParseException {
+        return timeCalculation.calculateTotalHoursWorked(attendance, employeeNumber, june);
+    }
+
+    @Benchmark
+    public double lateArrivalDeduction() throws ParseException {
+        return netWageCalculation.calculateLateArrivalDeduction(attendance, employeeNumber, june);
+    }
+}
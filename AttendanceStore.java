@@ -0,0 +1,715 @@
+package com.mycompany.motorph.data;
+
+import com.mycompany.motorph.events.CsvLoadEvent;
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.metrics.Timer;
+import com.mycompany.motorph.model.DateRange;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Attendance records stored in one CSV file per month, with a manifest for partition pruning.
+ * <p>
+ * The manifest lists every partition with its file, the first and last dates it holds,
+ * its lowest and highest employee numbers and its row count. A query for a date range
+ * opens only the partitions whose bounds overlap it, and a query for one employee also
+ * skips partitions outside that employee's number, so loading the current month costs
+ * the same however much history has built up.
+ * </p>
+ * <p>
+ * The most recently used partitions ({@value #DEFAULT_CACHED_PARTITIONS} by default) are
+ * cached. A partition is read outside the store's lock, once however many callers ask for
+ * it at the same time, and only as many rows as the manifest lists, so an append in
+ * progress is never half read.
+ * </p>
+ * <p>
+ * Rows use the attendance file's columns, with dates written in full as MM/dd/yyyy so
+ * that months of different years never mix. Old partitions can be gzip-compressed and
+ * moved to an {@code archive} subdirectory; both rewrite only those partitions and the
+ * manifest, and both stay readable. Compressed partitions no longer accept new rows.
+ * The manifest is replaced atomically after the partition files are written.
+ * </p>
+ *
+ * @author Lance
+ */
+public final class AttendanceStore {
+
+    /** The default partition directory, used in place of the single attendance file when present. */
+    public static final String DEFAULT_DIRECTORY = "src/main/resources/data/attendance";
+
+    /** The default number of monthly partitions kept in memory. */
+    public static final int DEFAULT_CACHED_PARTITIONS = 24;
+
+    private static final String MANIFEST_FILE = "manifest.csv";
+    private static final String ARCHIVE_DIRECTORY = "archive";
+    private static final String[] MANIFEST_HEADER = {"Partition", "File", "First Date", "Last Date",
+            "Min Employee #", "Max Employee #", "Rows"};
+    private static final String[] ATTENDANCE_HEADER = {"Employee #", "Last Name", "First Name", "Date", "Log In", "Log Out"};
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final int ATTENDANCE_EXPECTED_COL_LENGTH = 6;
+
+    // Metrics
+    private static final Timer PARTITION_READ_TIMER = MetricsRegistry.timer("csv.attendance.partition.read");
+    private static final Timer APPEND_TIMER = MetricsRegistry.timer("attendance.append");
+
+    private final Path directory;
+    private final Path manifestPath;
+    private final int cachedPartitions;
+
+    // Replaced as a whole on every manifest change; readers never lock
+    private volatile NavigableMap<YearMonth, Partition> partitions;
+    // Loaded or loading partitions, least recently used evicted first
+    private final Map<YearMonth, CachedRows> rowsByPartition = new ConcurrentHashMap<>();
+    private final AtomicLong useClock = new AtomicLong();
+
+    /**
+     * Constructor for AttendanceStore over the default partition directory.
+     */
+    public AttendanceStore() {
+        this(DEFAULT_DIRECTORY);
+    }
+
+    /**
+     * Constructor for AttendanceStore over a specific partition directory.
+     *
+     * @param directory The directory holding the manifest and partitions
+     */
+    public AttendanceStore(final String directory) {
+        this(directory, DEFAULT_CACHED_PARTITIONS);
+    }
+
+    /**
+     * Constructor for AttendanceStore with a bound on the partitions kept in memory.
+     *
+     * @param directory The directory holding the manifest and partitions
+     * @param cachedPartitions The most partitions to cache, at least 1
+     */
+    public AttendanceStore(final String directory, final int cachedPartitions) {
+        if (cachedPartitions < 1) {
+            throw new IllegalArgumentException("At least one partition must be cached: " + cachedPartitions);
+        }
+        this.directory = Paths.get(directory);
+        this.manifestPath = this.directory.resolve(MANIFEST_FILE);
+        this.cachedPartitions = cachedPartitions;
+    }
+
+    /**
+     * Checks whether a directory holds a partitioned attendance store.
+     *
+     * @param directory The directory
+     * @return true if it has a manifest
+     */
+    public static boolean exists(final String directory) {
+        return Files.isRegularFile(Paths.get(directory).resolve(MANIFEST_FILE));
+    }
+
+    /**
+     * Returns the partitions in month order.
+     *
+     * @return Unmodifiable view of the manifest entries
+     * @throws IOException If the manifest cannot be read
+     * @throws CsvValidationException If the manifest is not valid CSV
+     */
+    public Collection<Partition> getPartitions() throws IOException, CsvValidationException {
+        return Collections.unmodifiableCollection(partitions().values());
+    }
+
+    /**
+     * Returns the number of rows across all partitions, from the manifest.
+     *
+     * @return The row count
+     * @throws IOException If the manifest cannot be read
+     * @throws CsvValidationException If the manifest is not valid CSV
+     */
+    public long getRowCount() throws IOException, CsvValidationException {
+        long rows = 0;
+        for (Partition partition : partitions().values()) {
+            rows += partition.rows;
+        }
+        return rows;
+    }
+
+    /**
+     * Loads the rows of every partition.
+     * <p>
+     * Only the most recently used partitions stay cached, so the history read here is
+     * held by the returned list alone.
+     * </p>
+     *
+     * @return Unmodifiable list of attendance records
+     * @throws IOException If a file cannot be read
+     * @throws CsvValidationException If a file is not valid CSV
+     */
+    public List<String[]> loadAll() throws IOException, CsvValidationException {
+        return concatenate(partitions().values());
+    }
+
+    /**
+     * Loads the rows of the partitions that can hold dates in a range.
+     * <p>
+     * Whole partitions are returned, so rows just outside the range may be included;
+     * callers filter by date as they would over the single attendance file.
+     * </p>
+     *
+     * @param dateRange The date range
+     * @return Unmodifiable list of attendance records
+     * @throws IOException If a file cannot be read
+     * @throws CsvValidationException If a file is not valid CSV
+     */
+    public List<String[]> load(final DateRange dateRange) throws IOException, CsvValidationException {
+        List<Partition> matching = new ArrayList<>();
+        for (Partition partition : candidates(dateRange)) {
+            if (partition.overlaps(dateRange)) {
+                matching.add(partition);
+            }
+        }
+        return concatenate(matching);
+    }
+
+    /**
+     * Loads one employee's rows from the partitions that can hold dates in a range.
+     *
+     * @param dateRange The date range
+     * @param employeeNumber The employee number
+     * @return The employee's attendance records
+     * @throws IOException If a file cannot be read
+     * @throws CsvValidationException If a file is not valid CSV
+     */
+    public List<String[]> load(final DateRange dateRange, final int employeeNumber) throws IOException, CsvValidationException {
+        String employee = String.valueOf(employeeNumber);
+        List<String[]> rows = new ArrayList<>();
+        for (Partition partition : candidates(dateRange)) {
+            if (!partition.overlaps(dateRange) || !partition.mayContain(employeeNumber)) {
+                continue;
+            }
+            for (String[] row : rows(partition)) {
+                if (employee.equals(row[0].trim())) {
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Appends attendance rows to their monthly partitions and updates the manifest.
+     *
+     * @param rows Rows in the attendance file's columns
+     * @param defaultYear The year for dates written as MM/dd
+     * @return The number of rows appended
+     * @throws IOException If a file cannot be written
+     * @throws CsvValidationException If the manifest is not valid CSV
+     * @throws IllegalArgumentException If a row is malformed
+     * @throws IllegalStateException If a row belongs to a compressed partition
+     */
+    public synchronized int append(final List<String[]> rows, final int defaultYear) throws IOException, CsvValidationException {
+        long started = APPEND_TIMER.start();
+        NavigableMap<YearMonth, Partition> updated = new TreeMap<>(partitions());
+
+        // Normalise dates and group by month, checking every row before writing any
+        Map<YearMonth, List<String[]>> byMonth = new TreeMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            String[] row = rows.get(i);
+            if (row.length != ATTENDANCE_EXPECTED_COL_LENGTH) {
+                throw new IllegalArgumentException("Attendance row " + (i + 1) + ": expected "
+                        + ATTENDANCE_EXPECTED_COL_LENGTH + " columns but got " + row.length);
+            }
+            LocalDate date;
+            try {
+                Integer.parseInt(row[0].trim());
+                date = LocalDate.ofEpochDay(DateRange.parseDay(row[3], defaultYear));
+            } catch (NumberFormatException | ParseException e) {
+                throw new IllegalArgumentException("Attendance row " + (i + 1) + ": " + e.getMessage(), e);
+            }
+            YearMonth month = YearMonth.from(date);
+            Partition existing = updated.get(month);
+            if (existing != null && existing.isCompressed()) {
+                throw new IllegalStateException("Partition " + month + " is compressed and no longer accepts rows");
+            }
+            String[] normalised = row.clone();
+            normalised[3] = date.format(DATE_FORMAT);
+            byMonth.computeIfAbsent(month, m -> new ArrayList<>()).add(normalised);
+        }
+
+        Files.createDirectories(directory);
+        for (Map.Entry<YearMonth, List<String[]>> entry : byMonth.entrySet()) {
+            YearMonth month = entry.getKey();
+            Partition partition = updated.get(month);
+            String file = partition != null ? partition.file : "attendance-" + month + ".csv";
+            Path path = directory.resolve(file);
+            boolean created = !Files.exists(path);
+            try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                if (created) {
+                    writer.writeNext(ATTENDANCE_HEADER);
+                }
+                for (String[] row : entry.getValue()) {
+                    writer.writeNext(row);
+                }
+            }
+            force(path);
+            updated.put(month, Partition.covering(month, file, partition, entry.getValue()));
+        }
+
+        writeManifest(updated);
+        for (YearMonth month : byMonth.keySet()) {
+            rowsByPartition.remove(month);
+        }
+        APPEND_TIMER.stop(started, rows.size());
+        return rows.size();
+    }
+
+    /**
+     * Gzip-compresses the partitions of months before a given month.
+     *
+     * @param before The first month to leave uncompressed
+     * @return The number of partitions compressed
+     * @throws IOException If a file cannot be written
+     * @throws CsvValidationException If the manifest is not valid CSV
+     */
+    public synchronized int compress(final YearMonth before) throws IOException, CsvValidationException {
+        NavigableMap<YearMonth, Partition> updated = new TreeMap<>(partitions());
+        List<Path> replaced = new ArrayList<>();
+        for (Partition partition : partitions().headMap(before, false).values()) {
+            if (partition.isCompressed()) {
+                continue;
+            }
+            Path source = directory.resolve(partition.file);
+            Path target = directory.resolve(partition.file + ".gz");
+            Path temporary = Paths.get(target + ".tmp");
+            try (InputStream in = Files.newInputStream(source);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary), 1 << 16)) {
+                in.transferTo(out);
+            }
+            force(temporary);
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            updated.put(partition.month, partition.withFile(partition.file + ".gz"));
+            replaced.add(source);
+        }
+        return replacePartitionFiles(updated, replaced);
+    }
+
+    /**
+     * Moves the partitions of months before a given month to the archive subdirectory.
+     * <p>
+     * Archived partitions are still listed in the manifest and still answer queries.
+     * </p>
+     *
+     * @param before The first month to keep in place
+     * @return The number of partitions archived
+     * @throws IOException If a file cannot be moved
+     * @throws CsvValidationException If the manifest is not valid CSV
+     */
+    public synchronized int archive(final YearMonth before) throws IOException, CsvValidationException {
+        NavigableMap<YearMonth, Partition> updated = new TreeMap<>(partitions());
+        List<Path> replaced = new ArrayList<>();
+        Files.createDirectories(directory.resolve(ARCHIVE_DIRECTORY));
+        for (Partition partition : partitions().headMap(before, false).values()) {
+            if (partition.isArchived()) {
+                continue;
+            }
+            String file = ARCHIVE_DIRECTORY + "/" + partition.file;
+            Files.copy(directory.resolve(partition.file), directory.resolve(file), StandardCopyOption.REPLACE_EXISTING);
+            force(directory.resolve(file));
+            updated.put(partition.month, partition.withFile(file));
+            replaced.add(directory.resolve(partition.file));
+        }
+        return replacePartitionFiles(updated, replaced);
+    }
+
+    /**
+     * Re-reads the manifest and discards the cached partitions.
+     *
+     * @return The number of rows across all partitions
+     * @throws IOException If the manifest cannot be read
+     * @throws CsvValidationException If the manifest is not valid CSV
+     */
+    public synchronized long reload() throws IOException, CsvValidationException {
+        partitions = readManifest();
+        rowsByPartition.clear();
+        return getRowCount();
+    }
+
+    /**
+     * Returns the partitions whose months can overlap a range.
+     */
+    private Collection<Partition> candidates(final DateRange dateRange) throws IOException, CsvValidationException {
+        return partitions().subMap(YearMonth.from(dateRange.getStartDate()), true,
+                YearMonth.from(dateRange.getEndDate()), true).values();
+    }
+
+    private NavigableMap<YearMonth, Partition> partitions() throws IOException, CsvValidationException {
+        NavigableMap<YearMonth, Partition> current = partitions;
+        if (current == null) {
+            synchronized (this) {
+                current = partitions;
+                if (current == null) {
+                    current = readManifest();
+                    partitions = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private List<String[]> concatenate(final Collection<Partition> selected) throws IOException, CsvValidationException {
+        if (selected.size() == 1) {
+            return rows(selected.iterator().next());
+        }
+        List<String[]> rows = new ArrayList<>();
+        for (Partition partition : selected) {
+            rows.addAll(rows(partition));
+        }
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Returns a partition's cached rows, reading the file on first use.
+     * <p>
+     * The first caller for a month reads it without holding the store's lock; concurrent
+     * callers wait on the same load. A failed load is not cached.
+     * </p>
+     */
+    private List<String[]> rows(final Partition partition) throws IOException, CsvValidationException {
+        CachedRows created = new CachedRows();
+        CachedRows cached = rowsByPartition.computeIfAbsent(partition.month, month -> created);
+        cached.lastUsed = useClock.incrementAndGet();
+        if (cached == created) {
+            try {
+                created.rows.complete(Collections.unmodifiableList(readCurrent(partition)));
+            } catch (IOException | CsvValidationException | RuntimeException e) {
+                rowsByPartition.remove(partition.month, created);
+                created.rows.completeExceptionally(e);
+                throw e;
+            }
+            evictLeastRecentlyUsed();
+        }
+
+        try {
+            return cached.rows.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new IOException(cause.getMessage(), cause); // Rethrown with this caller's stack
+            }
+            if (cause instanceof CsvValidationException) {
+                throw new CsvValidationException(cause.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a partition as the current manifest lists it.
+     */
+    private List<String[]> readCurrent(final Partition partition) throws IOException, CsvValidationException {
+        // Reread the entry, in case the file moved since the caller's manifest snapshot
+        Partition current = partitions().getOrDefault(partition.month, partition);
+        try {
+            return readPartition(current);
+        } catch (NoSuchFileException e) {
+            Partition moved = partitions().get(partition.month);
+            if (moved == null || moved.file.equals(current.file)) {
+                throw e;
+            }
+            return readPartition(moved); // Compressed or archived while being read
+        }
+    }
+
+    /**
+     * Drops the least recently used loaded partitions while more than the bound are cached.
+     */
+    private void evictLeastRecentlyUsed() {
+        while (rowsByPartition.size() > cachedPartitions) {
+            Map.Entry<YearMonth, CachedRows> eldest = null;
+            for (Map.Entry<YearMonth, CachedRows> entry : rowsByPartition.entrySet()) {
+                if (entry.getValue().rows.isDone() && (eldest == null || entry.getValue().lastUsed < eldest.getValue().lastUsed)) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return; // Every entry is still loading
+            }
+            rowsByPartition.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private List<String[]> readPartition(final Partition partition) throws IOException, CsvValidationException {
+        final long started = PARTITION_READ_TIMER.start();
+        final Path path = directory.resolve(partition.file);
+        final CsvLoadEvent event = CsvLoadEvent.start("attendance", path.toString());
+        final List<String[]> rows = new ArrayList<>((int) Math.min(partition.rows, Integer.MAX_VALUE - 8));
+
+        Reader reader = partition.isCompressed()
+                ? new InputStreamReader(new GZIPInputStream(Files.newInputStream(path), 1 << 16), StandardCharsets.UTF_8)
+                : new BufferedReader(new FileReader(path.toFile(), StandardCharsets.UTF_8), 1 << 16);
+        try (CSVReader csvReader = new CSVReader(reader)) {
+            csvReader.readNext(); // Skip header row
+            String[] data;
+            // Rows past the manifest's count belong to an append that has not committed yet
+            while (rows.size() < partition.rows && (data = csvReader.readNext()) != null) {
+                rows.add(data);
+            }
+        }
+
+        event.finish(rows.size());
+        PARTITION_READ_TIMER.stop(started, rows.size());
+        return rows;
+    }
+
+    /**
+     * Commits a manifest that points at new partition files, then deletes the old files.
+     */
+    private int replacePartitionFiles(final NavigableMap<YearMonth, Partition> updated, final List<Path> replaced) throws IOException {
+        if (replaced.isEmpty()) {
+            return 0;
+        }
+        writeManifest(updated);
+        for (Path path : replaced) {
+            Files.deleteIfExists(path); // Cached rows stay valid, since the contents are unchanged
+        }
+        return replaced.size();
+    }
+
+    private NavigableMap<YearMonth, Partition> readManifest() throws IOException, CsvValidationException {
+        NavigableMap<YearMonth, Partition> manifest = new TreeMap<>();
+        if (!Files.exists(manifestPath)) {
+            return manifest;
+        }
+        try (CSVReader reader = new CSVReader(new FileReader(manifestPath.toFile(), StandardCharsets.UTF_8))) {
+            reader.readNext(); // Skip header row
+            String[] data;
+            while ((data = reader.readNext()) != null) {
+                if (data.length != MANIFEST_HEADER.length) {
+                    throw new IOException("Malformed manifest row in " + manifestPath + ": " + String.join(",", data));
+                }
+                try {
+                    Partition partition = new Partition(YearMonth.parse(data[0]), data[1],
+                            LocalDate.parse(data[2], DATE_FORMAT).toEpochDay(), LocalDate.parse(data[3], DATE_FORMAT).toEpochDay(),
+                            Integer.parseInt(data[4]), Integer.parseInt(data[5]), Long.parseLong(data[6]));
+                    manifest.put(partition.month, partition);
+                } catch (DateTimeParseException | NumberFormatException e) {
+                    throw new IOException("Malformed manifest row in " + manifestPath + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Replaces the manifest via a forced temporary file, then publishes it to readers.
+     */
+    private void writeManifest(final NavigableMap<YearMonth, Partition> manifest) throws IOException {
+        Path temporary = Paths.get(manifestPath + ".tmp");
+        try (CSVWriter writer = new CSVWriter(new BufferedWriter(Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)))) {
+            writer.writeNext(MANIFEST_HEADER);
+            for (Partition partition : manifest.values()) {
+                writer.writeNext(new String[]{partition.month.toString(), partition.file,
+                        LocalDate.ofEpochDay(partition.firstDay).format(DATE_FORMAT),
+                        LocalDate.ofEpochDay(partition.lastDay).format(DATE_FORMAT),
+                        String.valueOf(partition.minEmployee), String.valueOf(partition.maxEmployee),
+                        String.valueOf(partition.rows)});
+            }
+        }
+        force(temporary);
+        Files.move(temporary, manifestPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        partitions = manifest;
+    }
+
+    private static void force(final Path path) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            file.force(true);
+        }
+    }
+
+    /**
+     * A partition's rows, shared by every caller from the moment its load starts.
+     */
+    private static final class CachedRows {
+
+        private final CompletableFuture<List<String[]>> rows = new CompletableFuture<>();
+        private volatile long lastUsed;
+    }
+
+    /**
+     * One month's partition as recorded in the manifest.
+     */
+    public static final class Partition {
+
+        private final YearMonth month;
+        private final String file;
+        private final long firstDay;
+        private final long lastDay;
+        private final int minEmployee;
+        private final int maxEmployee;
+        private final long rows;
+
+        private Partition(YearMonth month, String file, long firstDay, long lastDay, int minEmployee, int maxEmployee, long rows) {
+            this.month = month;
+            this.file = file;
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+            this.minEmployee = minEmployee;
+            this.maxEmployee = maxEmployee;
+            this.rows = rows;
+        }
+
+        /**
+         * Widens an existing partition's bounds, or creates them, to cover appended rows.
+         */
+        private static Partition covering(YearMonth month, String file, Partition existing, List<String[]> appended) {
+            long firstDay = existing != null ? existing.firstDay : Long.MAX_VALUE;
+            long lastDay = existing != null ? existing.lastDay : Long.MIN_VALUE;
+            int minEmployee = existing != null ? existing.minEmployee : Integer.MAX_VALUE;
+            int maxEmployee = existing != null ? existing.maxEmployee : Integer.MIN_VALUE;
+            for (String[] row : appended) {
+                long day = LocalDate.parse(row[3], DATE_FORMAT).toEpochDay();
+                int employee = Integer.parseInt(row[0].trim());
+                firstDay = Math.min(firstDay, day);
+                lastDay = Math.max(lastDay, day);
+                minEmployee = Math.min(minEmployee, employee);
+                maxEmployee = Math.max(maxEmployee, employee);
+            }
+            long rows = (existing != null ? existing.rows : 0) + appended.size();
+            return new Partition(month, file, firstDay, lastDay, minEmployee, maxEmployee, rows);
+        }
+
+        private Partition withFile(String newFile) {
+            return new Partition(month, newFile, firstDay, lastDay, minEmployee, maxEmployee, rows);
+        }
+
+        public YearMonth getMonth() {
+            return month;
+        }
+
+        /** Returns the partition file, relative to the store directory. */
+        public String getFile() {
+            return file;
+        }
+
+        public LocalDate getFirstDate() {
+            return LocalDate.ofEpochDay(firstDay);
+        }
+
+        public LocalDate getLastDate() {
+            return LocalDate.ofEpochDay(lastDay);
+        }
+
+        public int getMinEmployeeNumber() {
+            return minEmployee;
+        }
+
+        public int getMaxEmployeeNumber() {
+            return maxEmployee;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public boolean isCompressed() {
+            return file.endsWith(".gz");
+        }
+
+        public boolean isArchived() {
+            return file.startsWith(ARCHIVE_DIRECTORY + "/");
+        }
+
+        /** Checks whether the partition's dates can fall in a range. */
+        public boolean overlaps(DateRange dateRange) {
+            return firstDay <= dateRange.getEndDay() && lastDay >= dateRange.getStartDay();
+        }
+
+        /** Checks whether the partition's employee numbers include one employee. */
+        public boolean mayContain(int employeeNumber) {
+            return employeeNumber >= minEmployee && employeeNumber <= maxEmployee;
+        }
+    }
+
+    /**
+     * Manages a partitioned attendance store.
+     * <pre>
+     * AttendanceStore migrate employee_attendance.csv directory [year]
+     * AttendanceStore compress directory yyyy-MM
+     * AttendanceStore archive directory yyyy-MM
+     * AttendanceStore list directory
+     * </pre>
+     * {@code migrate} appends a single attendance file to the store, placing MM/dd dates in
+     * the given year (default: {@code motorph.payroll.year}). {@code compress} and
+     * {@code archive} apply to the partitions of months before the given one.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: AttendanceStore migrate <employee_attendance.csv> <directory> [year]");
+            System.err.println("       AttendanceStore (compress | archive) <directory> <yyyy-MM>");
+            System.err.println("       AttendanceStore list <directory>");
+            System.exit(2);
+        }
+        switch (args[0]) {
+            case "migrate" -> {
+                List<String[]> rows = new ArrayList<>();
+                try (CSVReader reader = new CSVReader(new BufferedReader(new FileReader(args[1]), 1 << 16))) {
+                    reader.readNext(); // Skip header row
+                    String[] data;
+                    while ((data = reader.readNext()) != null) {
+                        rows.add(data);
+                    }
+                }
+                int year = args.length > 3 ? Integer.parseInt(args[3]) : DateRange.DEFAULT_YEAR;
+                int appended = new AttendanceStore(args[2]).append(rows, year);
+                System.out.printf("Migrated %d attendance rows into %s%n", appended, args[2]);
+            }
+            case "compress" -> System.out.printf("Compressed %d partitions%n",
+                    new AttendanceStore(args[1]).compress(YearMonth.parse(args[2])));
+            case "archive" -> System.out.printf("Archived %d partitions%n",
+                    new AttendanceStore(args[1]).archive(YearMonth.parse(args[2])));
+            case "list" -> {
+                for (Partition partition : new AttendanceStore(args[1]).getPartitions()) {
+                    System.out.printf("%s  %-36s %s to %s  employees %d-%d  %,d rows%n", partition.getMonth(),
+                            partition.getFile(), partition.getFirstDate(), partition.getLastDate(),
+                            partition.getMinEmployeeNumber(), partition.getMaxEmployeeNumber(), partition.getRows());
+                }
+            }
+            default -> {
+                System.err.println("Unknown command: " + args[0]);
+                System.exit(2);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.mycompany.motorph.benchmark;
+
+import com.mycompany.motorph.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic in-memory fixtures shared by the JMH benchmarks.
+ *
+ * @author Lance
+ */
+final class BenchmarkFixtures {
+
+    static final long SEED = 42L;
+
+    /** Working days in the fixture month (June), so each employee has at most this many punches. */
+    static final int WORKING_DAYS = 21;
+
+    private static final String[] SURNAMES = {"Garcia", "Lim", "Reyes", "Santos", "Villanueva", "Aquino", "Mata", "Bautista"};
+    private static final String[] GIVEN_NAMES = {"Manuel", "Antonio", "Bianca", "Isabella", "Eduard", "Andrea", "Brad", "Selena"};
+    private static final String[] POSITIONS = {"HR Manager", "Payroll Rank and File", "Account Team Leader", "Sales & Marketing"};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates employees numbered 1..count with realistic salaries.
+     *
+     * @param count Number of employees
+     * @return The employees
+     */
+    static List<Employee> employees(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            double basicSalary = 22_500 + random.nextInt(15) * 5_000;
+            Employee employee = new Employee();
+            employee.setEmployeeNumber(i);
+            employee.setLastName(SURNAMES[random.nextInt(SURNAMES.length)]);
+            employee.setFirstName(GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)]);
+            employee.setBirthdate(new GregorianCalendar(1970 + random.nextInt(35), random.nextInt(12), 1 + random.nextInt(28)).getTime());
+            employee.setAddress((1 + random.nextInt(999)) + " Rizal Avenue, Makati City");
+            employee.setPhoneNumber("917-555-" + String.format("%04d", i % 10_000));
+            employee.setSssNumber("44-" + (1_000_000 + i) + "-3");
+            employee.setPhilHealthNumber(String.valueOf(820_000_000_000L + i));
+            employee.setTin("442-605-" + String.format("%03d", i % 1000) + "-000");
+            employee.setPagIbigNumber(String.valueOf(691_000_000_000L + i));
+            employee.setStatus(random.nextInt(5) == 0 ? "Probationary" : "Regular");
+            employee.setPosition(POSITIONS[random.nextInt(POSITIONS.length)]);
+            employee.setImmediateSupervisor(SURNAMES[random.nextInt(SURNAMES.length)] + ", " + GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)]);
+            employee.setBasicSalary(basicSalary);
+            employee.setRiceSubsidy(1_500);
+            employee.setPhoneAllowance(1_000);
+            employee.setClothingAllowance(1_000);
+            employee.setGrossSemimonthlyRate(basicSalary / 2);
+            employee.setHourlyRate(Math.round(basicSalary / 168.0 * 100) / 100.0);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    /**
+     * Creates June attendance rows in file order (by employee, then day).
+     *
+     * @param rows Total number of rows
+     * @return Rows of {employee #, last name, first name, MM/dd, HH:mm in, HH:mm out}
+     */
+    static List<String[]> attendanceRows(int rows) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] workingDays = workingDaysOfJune();
+        List<String[]> attendance = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int employeeNumber = 1 + i / WORKING_DAYS;
+            int minutesIn = 7 * 60 + 45 + random.nextInt(40); // 07:45 to 08:24, roughly a third late
+            int minutesOut = 17 * 60 + random.nextInt(60);
+            attendance.add(new String[]{
+                    String.valueOf(employeeNumber), "Employee", String.valueOf(employeeNumber),
+                    workingDays[i % WORKING_DAYS], clock(minutesIn), clock(minutesOut)
+            });
+        }
+        return attendance;
+    }
+
+    private static String[] workingDaysOfJune() {
+        String[] days = new String[WORKING_DAYS];
+        Calendar calendar = new GregorianCalendar(2024, Calendar.JUNE, 1);
+        int found = 0;
+        while (found < WORKING_DAYS) {
+            int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
+            if (dayOfWeek != Calendar.SATURDAY && dayOfWeek != Calendar.SUNDAY) {
+                days[found++] = String.format("06/%02d", calendar.get(Calendar.DAY_OF_MONTH));
+            }
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+        return days;
+    }
+
+    private static String clock(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+}
@@ -0,0 +1,380 @@
+package com.mycompany.motorph.data;
+
+import com.mycompany.motorph.events.CsvLoadEvent;
+import com.mycompany.motorph.model.DateRange;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Working days and holidays, with fast working-day counts over any date range.
+ * <p>
+ * Holidays are read from a CSV file with the columns Date, Name and Type, where Type is
+ * {@code Regular} or {@code Special} and Date is either MM/dd/yyyy for a single year or
+ * MM/dd for a holiday on the same date every year. Both types are non-working days. A
+ * missing file means weekends are the only non-working days.
+ * </p>
+ * <p>
+ * Each year is precomputed once into a bitset with one bit per day of the year, set for
+ * working days (Monday to Friday, not a holiday). Counting the working days in a range
+ * is then a popcount over at most six words per year, so it is cheap enough to call for
+ * every employee in a batch.
+ * </p>
+ * <p>
+ * The holidays and the precomputed years are published together as one immutable snapshot,
+ * so a reload never lets a caller see new holidays with bitsets computed from old ones.
+ * </p>
+ * <p>
+ * Movable holidays are dated per year, so a file that dates some years but not the one
+ * being paid is out of date; {@link #requireHolidays(DateRange)} rejects such a period
+ * rather than treating its movable holidays as working days.
+ * </p>
+ *
+ * @author Lance
+ */
+public final class BusinessCalendar {
+
+    private static final String HOLIDAYS_DATA_PATH = "src/main/resources/data/holidays.csv";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final DateTimeFormatter RECURRING_FORMAT = DateTimeFormatter.ofPattern("MM/dd");
+    private static final int WORDS_PER_YEAR = 6; // 366 bits
+    private static final long DAYS_0001_TO_1970 = 719_162;
+    private static final long DAYS_PER_400_YEARS = 146_097;
+
+    private static volatile BusinessCalendar defaultCalendar;
+
+    /** The kinds of holiday; both are non-working days. */
+    public enum HolidayType {
+        REGULAR, SPECIAL
+    }
+
+    private final String holidaysPath;
+    private volatile Holidays holidays;
+
+    /**
+     * Constructor for BusinessCalendar.
+     */
+    public BusinessCalendar() {
+        this(HOLIDAYS_DATA_PATH);
+    }
+
+    /**
+     * Constructor for BusinessCalendar over a specific holidays file.
+     *
+     * @param holidaysPath Path to the holidays CSV file
+     */
+    public BusinessCalendar(final String holidaysPath) {
+        this.holidaysPath = holidaysPath;
+    }
+
+    /**
+     * Returns the calendar over the default holidays file, shared by every caller.
+     *
+     * @return The default calendar
+     */
+    public static BusinessCalendar getDefault() {
+        BusinessCalendar calendar = defaultCalendar;
+        if (calendar == null) {
+            synchronized (BusinessCalendar.class) {
+                calendar = defaultCalendar;
+                if (calendar == null) {
+                    calendar = new BusinessCalendar();
+                    defaultCalendar = calendar;
+                }
+            }
+        }
+        return calendar;
+    }
+
+    /**
+     * Checks whether a day is a working day.
+     *
+     * @param date The day
+     * @return true for Monday to Friday unless it is a holiday
+     */
+    public boolean isWorkday(final LocalDate date) {
+        return isWorkday(date.toEpochDay());
+    }
+
+    /**
+     * Checks whether a day is a working day.
+     * <p>
+     * Day-by-day walks stay within one year for hundreds of calls, so the last year
+     * looked up is kept and a day in it is found by subtraction alone.
+     * </p>
+     *
+     * @param epochDay The day, as an epoch day
+     * @return true for Monday to Friday unless it is a holiday
+     */
+    public boolean isWorkday(final long epochDay) {
+        Holidays snapshot = holidays();
+        YearBits year = snapshot.lastYear;
+        if (year == null || epochDay < year.firstDay || epochDay >= year.firstDay + year.length) {
+            year = snapshot.yearBits(yearOf(epochDay));
+            snapshot.lastYear = year;
+        }
+        int index = (int) (epochDay - year.firstDay);
+        return (year.bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Checks that the calendar dates the movable holidays of every year in a pay period.
+     * <p>
+     * A calendar without any dated holiday, such as one with no holidays file, only knows
+     * weekends and fixed-date holidays and passes.
+     * </p>
+     *
+     * @param period The pay period
+     * @throws IllegalStateException If the holidays file dates other years but not one in the period
+     */
+    public void requireHolidays(final DateRange period) {
+        Holidays snapshot = holidays();
+        if (snapshot.datedYears.isEmpty()) {
+            return;
+        }
+        for (int year = period.getStartDate().getYear(); year <= period.getEndDate().getYear(); year++) {
+            if (!snapshot.datedYears.contains(year)) {
+                throw new IllegalStateException("No movable holidays are dated for " + year + " in " + holidaysPath
+                        + "; add that year's holidays before paying it");
+            }
+        }
+    }
+
+    /**
+     * Counts the working days in a range, including both ends.
+     *
+     * @param from First day of the range
+     * @param to Last day of the range
+     * @return The number of working days, or 0 if the range ends before it starts
+     */
+    public int countWorkdays(final LocalDate from, final LocalDate to) {
+        Holidays snapshot = holidays();
+        int count = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            int first = year == from.getYear() ? from.getDayOfYear() - 1 : 0;
+            int last = year == to.getYear() ? to.getDayOfYear() - 1 : Year.of(year).length() - 1;
+            count += countBits(snapshot.workdays(year), first, last);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the working days in a range of epoch days, including both ends.
+     *
+     * @param fromDay First day of the range
+     * @param toDay Last day of the range
+     * @return The number of working days, or 0 if the range ends before it starts
+     */
+    public int countWorkdays(final long fromDay, final long toDay) {
+        return toDay < fromDay ? 0 : countWorkdays(LocalDate.ofEpochDay(fromDay), LocalDate.ofEpochDay(toDay));
+    }
+
+    /**
+     * Counts the working days in a date range, including both ends.
+     *
+     * @param range The date range
+     * @return The number of working days
+     */
+    public int countWorkdays(final DateRange range) {
+        return countWorkdays(range.getStartDay(), range.getEndDay());
+    }
+
+    /**
+     * Returns the holiday on a day, if any.
+     *
+     * @param date The day
+     * @return The holiday type, or null if the day is not a holiday
+     */
+    public HolidayType getHolidayType(final LocalDate date) {
+        Holidays snapshot = holidays();
+        HolidayType type = snapshot.dated.get(date);
+        return type != null ? type : snapshot.recurring.get(MonthDay.from(date));
+    }
+
+    /**
+     * Re-reads the holidays file and discards the precomputed years.
+     *
+     * @return The number of holidays loaded
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If the file is not valid CSV
+     */
+    public synchronized int reload() throws IOException, CsvValidationException {
+        Map<LocalDate, HolidayType> dated = new HashMap<>();
+        Map<MonthDay, HolidayType> recurring = new HashMap<>();
+
+        if (Files.exists(Paths.get(holidaysPath))) {
+            CsvLoadEvent event = CsvLoadEvent.start("holidays", holidaysPath);
+            try (CSVReader reader = new CSVReader(new FileReader(holidaysPath))) {
+                reader.readNext(); // Skip header row
+                String[] data;
+                while ((data = reader.readNext()) != null) {
+                    if (data.length < 3) continue; // Skip malformed rows
+                    HolidayType type = parseType(data[2]);
+                    String date = data[0].trim();
+                    try {
+                        if (date.length() == 5) {
+                            recurring.put(MonthDay.parse(date, RECURRING_FORMAT), type);
+                        } else {
+                            dated.put(LocalDate.parse(date, DATE_FORMAT), type);
+                        }
+                    } catch (DateTimeParseException e) {
+                        throw new IOException("Invalid holiday date '" + date + "' in " + holidaysPath, e);
+                    }
+                }
+            }
+            event.finish(dated.size() + recurring.size());
+        }
+
+        holidays = new Holidays(dated, recurring);
+        return dated.size() + recurring.size();
+    }
+
+    /**
+     * Returns the epoch day of 1 January of a year.
+     */
+    private static long firstDayOfYear(final int year) {
+        long before = year - 1L;
+        return 365 * before + Math.floorDiv(before, 4) - Math.floorDiv(before, 100) + Math.floorDiv(before, 400)
+                - DAYS_0001_TO_1970;
+    }
+
+    /**
+     * Returns the year of an epoch day; the estimate from the mean year length is off by at most one.
+     */
+    private static int yearOf(final long epochDay) {
+        int year = (int) (1970 + Math.floorDiv(epochDay * 400, DAYS_PER_400_YEARS));
+        if (firstDayOfYear(year) > epochDay) {
+            year--;
+        } else if (firstDayOfYear(year + 1) <= epochDay) {
+            year++;
+        }
+        return year;
+    }
+
+    /**
+     * Counts the set bits between two indexes, inclusive.
+     */
+    private static int countBits(final long[] bits, final int first, final int last) {
+        if (last < first) {
+            return 0;
+        }
+        int firstWord = first >>> 6;
+        int lastWord = last >>> 6;
+        long firstMask = -1L << first; // Shifts use the low six bits of the index
+        long lastMask = -1L >>> (63 - (last & 63));
+        if (firstWord == lastWord) {
+            return Long.bitCount(bits[firstWord] & firstMask & lastMask);
+        }
+        int count = Long.bitCount(bits[firstWord] & firstMask);
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            count += Long.bitCount(bits[word]);
+        }
+        return count + Long.bitCount(bits[lastWord] & lastMask);
+    }
+
+    /**
+     * Returns the current snapshot, reading the holidays file on first use.
+     */
+    private Holidays holidays() {
+        Holidays snapshot = holidays;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (holidays == null) {
+                    try {
+                        reload();
+                    } catch (IOException | CsvValidationException e) {
+                        throw new IllegalStateException("Cannot read holidays from " + holidaysPath + ": " + e.getMessage(), e);
+                    }
+                }
+                snapshot = holidays;
+            }
+        }
+        return snapshot;
+    }
+
+    private static HolidayType parseType(final String value) throws IOException {
+        try {
+            return HolidayType.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown holiday type: " + value);
+        }
+    }
+
+    /**
+     * One loaded version of the holidays, with the working-day bitsets computed from it.
+     */
+    private static final class Holidays {
+
+        private final Map<LocalDate, HolidayType> dated;
+        private final Map<MonthDay, HolidayType> recurring;
+        private final Set<Integer> datedYears = new HashSet<>();
+        private final Map<Integer, long[]> workdaysByYear = new ConcurrentHashMap<>();
+        // Last year isWorkday looked up; racing threads may overwrite it, which only costs a lookup
+        private volatile YearBits lastYear;
+
+        private Holidays(Map<LocalDate, HolidayType> dated, Map<MonthDay, HolidayType> recurring) {
+            this.dated = Collections.unmodifiableMap(dated);
+            this.recurring = Collections.unmodifiableMap(recurring);
+            dated.keySet().forEach(date -> datedYears.add(date.getYear()));
+        }
+
+        /**
+         * Returns a year's working-day bitset, computing it on first use.
+         */
+        private long[] workdays(final int year) {
+            long[] bits = workdaysByYear.get(year);
+            return bits != null ? bits : workdaysByYear.computeIfAbsent(year, this::computeWorkdays);
+        }
+
+        private YearBits yearBits(final int year) {
+            long firstDay = firstDayOfYear(year);
+            return new YearBits(firstDay, (int) (firstDayOfYear(year + 1) - firstDay), workdays(year));
+        }
+
+        private long[] computeWorkdays(final int year) {
+            long[] bits = new long[WORDS_PER_YEAR];
+            LocalDate day = LocalDate.of(year, 1, 1);
+            int length = Year.of(year).length();
+            for (int index = 0; index < length; index++, day = day.plusDays(1)) {
+                DayOfWeek dayOfWeek = day.getDayOfWeek();
+                if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY
+                        && !dated.containsKey(day) && !recurring.containsKey(MonthDay.from(day))) {
+                    bits[index >>> 6] |= 1L << index;
+                }
+            }
+            return bits;
+        }
+    }
+
+    /**
+     * A year's working-day bitset with the epoch days it covers.
+     */
+    private static final class YearBits {
+
+        private final long firstDay;
+        private final int length;
+        private final long[] bits;
+
+        private YearBits(long firstDay, int length, long[] bits) {
+            this.firstDay = firstDay;
+            this.length = length;
+            this.bits = bits;
+        }
+    }
+}
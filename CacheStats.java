@@ -0,0 +1,54 @@
+package com.mycompany.motorph.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts hits and misses of an in-memory cache.
+ *
+ * @author Lance
+ */
+public final class CacheStats {
+
+    private final String name;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    CacheStats(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void hit() {
+        if (MetricsRegistry.ENABLED) {
+            hits.increment();
+        }
+    }
+
+    public void miss() {
+        if (MetricsRegistry.ENABLED) {
+            misses.increment();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups served from the cache.
+     *
+     * @return The hit ratio, or 0 if there were no lookups
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+}
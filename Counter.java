@@ -0,0 +1,38 @@
+package com.mycompany.motorph.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count of events.
+ *
+ * @author Lance
+ */
+public final class Counter {
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void increment() {
+        if (MetricsRegistry.ENABLED) {
+            count.increment();
+        }
+    }
+
+    public void add(long amount) {
+        if (MetricsRegistry.ENABLED) {
+            count.add(amount);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+}
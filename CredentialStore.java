@@ -0,0 +1,431 @@
+package com.mycompany.motorph.data;
+
+import com.mycompany.motorph.events.CsvLoadEvent;
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.metrics.Timer;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory credential index used for login authentication.
+ * <p>
+ * The credentials file is read once into a hash map keyed by username, so a login
+ * attempt is a single O(1) lookup plus one password hash and never touches the file.
+ * Passwords are kept only as salted PBKDF2 hashes. Rows may hold either a plaintext
+ * password (hashed at load time) or an already encoded hash of the form
+ * {@code pbkdf2$<iterations>$<salt>$<hash>}.
+ * </p>
+ * <p>
+ * The work factor defaults to {@value #DEFAULT_ITERATIONS} iterations and can be set with
+ * the {@code motorph.auth.iterations} system property, or measured against a latency
+ * budget with {@link #calibrateIterations(long)}. When watching is enabled the store
+ * reloads itself whenever the file changes and swaps in the new map atomically. A change is
+ * only read once the file has stopped changing, so an editor saving in place is not caught
+ * halfway; tools that rewrite the file should still write a temporary file and rename it
+ * over the original.
+ * </p>
+ * <p>
+ * Rows whose encoded hash is malformed are skipped and reported on standard error, so one
+ * bad row never locks every user out.
+ * </p>
+ *
+ * @author Lance
+ */
+public class CredentialStore implements Closeable {
+
+    public static final String DEFAULT_CREDENTIALS_PATH = "src/main/resources/data/login_credentials.csv";
+
+    public static final int DEFAULT_ITERATIONS = 120_000;
+    private static final int MIN_ITERATIONS = 10_000;
+    private static final String ITERATIONS_PROPERTY = "motorph.auth.iterations";
+    private static final String HASH_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String ENCODED_HASH_PREFIX = "pbkdf2$";
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH_BITS = 256;
+    private static final int EXPECTED_CSV_COLUMNS = 3;
+    private static final long SETTLE_MILLIS = 250;
+    private static final Timer LOAD_TIMER = MetricsRegistry.timer("csv.credentials.load");
+
+    private final Path credentialsPath;
+    private final int iterations;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Credential dummyCredential;
+
+    private volatile Map<String, Credential> credentialsByUsername = Collections.emptyMap();
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    /**
+     * Creates a store over the default credentials file with the configured work factor.
+     */
+    public CredentialStore() {
+        this(DEFAULT_CREDENTIALS_PATH, Integer.getInteger(ITERATIONS_PROPERTY, DEFAULT_ITERATIONS));
+    }
+
+    /**
+     * Creates a store over the given credentials file.
+     *
+     * @param credentialsPath Path to the credentials CSV (username, password, user type)
+     * @param iterations PBKDF2 iteration count used for plaintext rows
+     */
+    public CredentialStore(final String credentialsPath, final int iterations) {
+        if (iterations < MIN_ITERATIONS) {
+            throw new IllegalArgumentException("Work factor must be at least " + MIN_ITERATIONS + " iterations.");
+        }
+        this.credentialsPath = Paths.get(credentialsPath);
+        this.iterations = iterations;
+        this.dummyCredential = hashCredential("", new char[0], "");
+    }
+
+    /**
+     * Loads (or reloads) the credentials file and atomically replaces the index.
+     * <p>
+     * Plaintext rows are hashed in parallel so that large files load quickly even at a
+     * high work factor.
+     * </p>
+     *
+     * @return The number of credentials loaded
+     * @throws IOException If an I/O error occurs while reading the file
+     * @throws CsvValidationException If the CSV data is invalid
+     */
+    public int load() throws IOException, CsvValidationException {
+        long started = LOAD_TIMER.start();
+        CsvLoadEvent event = CsvLoadEvent.start("credentials", credentialsPath.toString());
+        List<String[]> rows = new ArrayList<>();
+
+        try (CSVReader reader = new CSVReader(new BufferedReader(new FileReader(credentialsPath.toFile())))) {
+            reader.readNext(); // Skip header
+
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                if (record.length >= EXPECTED_CSV_COLUMNS) {
+                    rows.add(record);
+                }
+            }
+        }
+
+        List<Credential> credentials = rows.parallelStream()
+                .map(this::toCredential)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        Map<String, Credential> loaded = new HashMap<>(credentials.size() * 2);
+        for (Credential credential : credentials) {
+            loaded.put(credential.username, credential);
+        }
+
+        credentialsByUsername = Collections.unmodifiableMap(loaded);
+        event.finish(loaded.size());
+        LOAD_TIMER.stop(started, loaded.size());
+        return loaded.size();
+    }
+
+    /**
+     * Verifies a login attempt against the in-memory index.
+     *
+     * @param username The entered username
+     * @param password The entered password; the caller may clear it afterwards
+     * @param userType The selected user type (case-insensitive)
+     * @return true if the username exists, the user type matches and the password is correct
+     */
+    public boolean authenticate(final String username, final char[] password, final String userType) {
+        Credential credential = credentialsByUsername.get(username);
+
+        if (credential == null) {
+            // Spend the same hashing time as a real check so unknown usernames are not revealed by timing
+            dummyCredential.matches(password);
+            return false;
+        }
+
+        return credential.matches(password) && credential.userType.equalsIgnoreCase(userType);
+    }
+
+    /**
+     * Returns the number of credentials currently indexed.
+     *
+     * @return The credential count
+     */
+    public int size() {
+        return credentialsByUsername.size();
+    }
+
+    /**
+     * Starts a daemon thread that reloads the store whenever the credentials file changes.
+     *
+     * @throws IOException If the file's directory cannot be watched
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watcherThread != null) {
+            return;
+        }
+
+        Path directory = credentialsPath.toAbsolutePath().getParent();
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watcherThread = new Thread(this::watchForChanges, "credential-store-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Stops watching the credentials file.
+     *
+     * @throws IOException If the watch service cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+            watcherThread = null;
+        }
+    }
+
+    /**
+     * Finds the iteration count whose single hash fits the given latency budget on this machine.
+     *
+     * @param budgetMillis Target time for one password verification, in milliseconds
+     * @return The calibrated iteration count (never below the minimum work factor)
+     */
+    public static int calibrateIterations(final long budgetMillis) {
+        final char[] samplePassword = "calibration".toCharArray();
+        final byte[] sampleSalt = new byte[SALT_LENGTH];
+
+        // Warm up the JIT before measuring
+        for (int i = 0; i < 5; i++) {
+            pbkdf2(samplePassword, sampleSalt, MIN_ITERATIONS);
+        }
+
+        final int rounds = 5;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            pbkdf2(samplePassword, sampleSalt, MIN_ITERATIONS);
+        }
+        double nanosPerIteration = (System.nanoTime() - start) / (double) (rounds * MIN_ITERATIONS);
+
+        long calibrated = (long) (budgetMillis * 1_000_000L / nanosPerIteration);
+        return (int) Math.max(MIN_ITERATIONS, Math.min(calibrated, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Encodes a password in the {@code pbkdf2$<iterations>$<salt>$<hash>} form accepted by
+     * the credentials file, so large files can be loaded without hashing every row.
+     *
+     * @param password The plaintext password
+     * @param salt The salt to hash with
+     * @param iterations The PBKDF2 work factor
+     * @return The encoded hash
+     */
+    public static String encodePassword(final char[] password, final byte[] salt, final int iterations) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        return ENCODED_HASH_PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(pbkdf2(password, salt, iterations));
+    }
+
+    /**
+     * Prints the calibrated work factor for a latency budget (default 50 ms).
+     */
+    public static void main(String[] args) {
+        long budgetMillis = args.length > 0 ? Long.parseLong(args[0]) : 50;
+        int calibrated = calibrateIterations(budgetMillis);
+        System.out.printf("%d iterations fit a %d ms budget; run with -D%s=%d%n",
+                calibrated, budgetMillis, ITERATIONS_PROPERTY, calibrated);
+    }
+
+    /**
+     * Watch loop: reloads on any event touching the credentials file.
+     */
+    private void watchForChanges() {
+        final Path fileName = credentialsPath.getFileName();
+        WatchService service = watchService;
+
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+
+                if (changed && awaitSettled()) {
+                    try {
+                        load();
+                    } catch (IOException | CsvValidationException | IllegalArgumentException e) {
+                        // Keep serving the previous index until the file is valid again
+                        System.err.println("Credential reload failed, keeping previous credentials: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Store closed
+        }
+    }
+
+    /**
+     * Waits until the credentials file has the same size and modification time across a
+     * settle delay, so a file still being written is not loaded.
+     *
+     * @return false if the file disappeared, as it does briefly while being replaced
+     * @throws InterruptedException If the watcher is interrupted
+     */
+    private boolean awaitSettled() throws InterruptedException {
+        try {
+            BasicFileAttributes before = Files.readAttributes(credentialsPath, BasicFileAttributes.class);
+            while (true) {
+                Thread.sleep(SETTLE_MILLIS);
+                BasicFileAttributes after = Files.readAttributes(credentialsPath, BasicFileAttributes.class);
+                if (after.size() == before.size() && after.lastModifiedTime().equals(before.lastModifiedTime())) {
+                    return true;
+                }
+                before = after;
+            }
+        } catch (NoSuchFileException e) {
+            return false; // The create event of the replacement triggers the reload
+        } catch (IOException e) {
+            System.err.println("Credential reload failed, keeping previous credentials: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Converts a CSV row into a hashed credential.
+     *
+     * @param record The CSV row (username, password or encoded hash, user type)
+     * @return The credential, or null if the row's encoded hash is malformed
+     */
+    private Credential toCredential(final String[] record) {
+        String username = record[0].trim();
+        String password = record[1].trim();
+        String userType = record[2].trim();
+
+        if (password.startsWith(ENCODED_HASH_PREFIX)) {
+            try {
+                return decodeCredential(username, password, userType);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipping credential row: " + e.getMessage());
+                return null;
+            }
+        }
+        return hashCredential(username, password.toCharArray(), userType);
+    }
+
+    /**
+     * Hashes a plaintext password with a fresh salt.
+     */
+    private Credential hashCredential(final String username, final char[] password, final String userType) {
+        byte[] salt = new byte[SALT_LENGTH];
+        secureRandom.nextBytes(salt);
+        return new Credential(username, userType, salt, iterations, pbkdf2(password, salt, iterations));
+    }
+
+    /**
+     * Parses a {@code pbkdf2$<iterations>$<salt>$<hash>} value.
+     *
+     * @throws IllegalArgumentException If the value is malformed
+     */
+    private Credential decodeCredential(final String username, final String encoded, final String userType) {
+        String[] parts = encoded.split("\\$");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Invalid password hash for user: " + username);
+        }
+
+        Base64.Decoder decoder = Base64.getDecoder();
+        int hashIterations;
+        byte[] salt;
+        byte[] hash;
+        try {
+            hashIterations = Integer.parseInt(parts[1]);
+            salt = decoder.decode(parts[2]);
+            hash = decoder.decode(parts[3]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid password hash for user: " + username, e);
+        }
+        // PBEKeySpec rejects these only when the password is checked, which would fail the login itself
+        if (hashIterations < 1 || salt.length == 0 || hash.length == 0) {
+            throw new IllegalArgumentException("Invalid password hash for user: " + username);
+        }
+        return new Credential(username, userType, salt, hashIterations, hash);
+    }
+
+    /**
+     * Derives a PBKDF2 hash.
+     */
+    private static byte[] pbkdf2(final char[] password, final byte[] salt, final int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, HASH_LENGTH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(HASH_ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * A hashed credential entry.
+     */
+    private static final class Credential {
+
+        private final String username;
+        private final String userType;
+        private final byte[] salt;
+        private final int iterations;
+        private final byte[] hash;
+
+        private Credential(String username, String userType, byte[] salt, int iterations, byte[] hash) {
+            this.username = username;
+            this.userType = userType;
+            this.salt = salt;
+            this.iterations = iterations;
+            this.hash = hash;
+        }
+
+        /**
+         * Compares in constant time so that partial matches do not leak through timing.
+         */
+        private boolean matches(final char[] password) {
+            byte[] candidate = pbkdf2(password, salt, iterations);
+            try {
+                return MessageDigest.isEqual(hash, candidate);
+            } finally {
+                Arrays.fill(candidate, (byte) 0);
+            }
+        }
+    }
+}
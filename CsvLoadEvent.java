@@ -0,0 +1,73 @@
+package com.mycompany.motorph.events;
+
+import java.io.File;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning the read of one CSV data file.
+ * <p>
+ * Use {@link #start(String, String)} before reading and {@link #finish(long)} after.
+ * When no recording is running both calls do almost nothing: the event is never
+ * committed and the JIT removes the allocation.
+ * </p>
+ * <p>
+ * All MotorPH events sit under the "MotorPH" category. Record them with, for example,
+ * {@code -XX:StartFlightRecording=settings=profile,filename=payroll.jfr} so they share a
+ * thread timeline with the GC and allocation events in JDK Mission Control.
+ * </p>
+ *
+ * @author Lance
+ */
+@Name("com.mycompany.motorph.CsvLoad")
+@Label("CSV Load")
+@Category({"MotorPH", "I/O"})
+@Description("Reading a MotorPH CSV data file into memory")
+public class CsvLoadEvent extends Event {
+
+    @Label("Dataset")
+    String dataset;
+
+    @Label("Path")
+    String path;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytesRead;
+
+    /**
+     * Begins timing a file load.
+     *
+     * @param dataset Short name of the data set, e.g. "attendance"
+     * @param path Path of the file being read
+     * @return The started event
+     */
+    public static CsvLoadEvent start(String dataset, String path) {
+        CsvLoadEvent event = new CsvLoadEvent();
+        event.dataset = dataset;
+        event.path = path;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the load and commits the event if it is being recorded.
+     *
+     * @param rowsLoaded Rows read from the file
+     */
+    public void finish(long rowsLoaded) {
+        end();
+        if (shouldCommit()) {
+            rows = rowsLoaded;
+            bytesRead = new File(path).length(); // Every file is read to the end
+            commit();
+        }
+    }
+}
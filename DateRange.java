@@ -1,54 +1,101 @@
 package com.mycompany.motorph.model;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.Date;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Represents a date range with validation.
+ * Represents an inclusive range of days with validation.
  * <p>
- * Provides methods to check date inclusion and generate date ranges.
+ * Both ends are held as epoch days, so checking whether a day falls in the range is two
+ * primitive comparisons with no allocation. Attendance dates are parsed straight to epoch
+ * days by {@link #parseDay(CharSequence)} for the same reason. Dates written without a
+ * year (MM/dd) are placed in the range's own years, and range factories given no year use
+ * {@link #DEFAULT_YEAR}.
  * </p>
- * 
+ * <p>
+ * Pay periods are semi-monthly: the 1st to the 15th, and the 16th to the end of the month.
+ * </p>
+ *
  * @author Lance
  */
-public class DateRange {
+public final class DateRange {
 
-    private final Date startDate;
-    private final Date endDate;
+    /** The year that year-less MM/dd dates and months fall in, set by {@code motorph.payroll.year}. */
+    public static final int DEFAULT_YEAR = Integer.getInteger("motorph.payroll.year", Year.now().getValue());
 
-    private static final String DATE_PATTERN = "MM/dd";
-    private static final String MONTH_PATTERN = "MM";
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat(DATE_PATTERN);
-    private static final SimpleDateFormat MONTH_FORMAT = new SimpleDateFormat(MONTH_PATTERN);
+    /** The last day of the first semi-monthly pay period. */
+    public static final int FIRST_PERIOD_CUTOFF = 15;
 
-    static {
-        DATE_FORMAT.setLenient(false); // Strict validation
-        MONTH_FORMAT.setLenient(false);
-    }
+    private static final long DAYS_0000_TO_1970 = 719_528;
+
+    private final long startDay;
+    private final long endDay;
 
     /**
-     * Constructs a DateRange object with validation.
+     * Constructs a DateRange over epoch days with validation.
      *
-     * @param startDate The start date
-     * @param endDate The end date
-     * @throws IllegalArgumentException If end date is before start date
+     * @param startDay The first day, as an epoch day
+     * @param endDay The last day, as an epoch day
+     * @throws IllegalArgumentException If the end day is before the start day
      */
-    public DateRange(Date startDate, Date endDate) {
-        if (endDate.before(startDate)) {
+    public DateRange(long startDay, long endDay) {
+        if (endDay < startDay) {
             throw new IllegalArgumentException("End date must be on or after the start date.");
         }
-        this.startDate = startDate;
-        this.endDate = endDate;
+        this.startDay = startDay;
+        this.endDay = endDay;
+    }
+
+    /**
+     * Constructs a DateRange with validation.
+     *
+     * @param startDate The first day
+     * @param endDate The last day
+     * @throws IllegalArgumentException If end date is before start date
+     */
+    public DateRange(LocalDate startDate, LocalDate endDate) {
+        this(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /** Returns the first day as an epoch day. */
+    public long getStartDay() {
+        return startDay;
     }
 
-    public Date getStartDate() {
-        return startDate;
+    /** Returns the last day as an epoch day. */
+    public long getEndDay() {
+        return endDay;
     }
 
-    public Date getEndDate() {
-        return endDate;
+    public LocalDate getStartDate() {
+        return LocalDate.ofEpochDay(startDay);
+    }
+
+    public LocalDate getEndDate() {
+        return LocalDate.ofEpochDay(endDay);
+    }
+
+    /**
+     * Returns the number of days in the range, including both ends.
+     *
+     * @return The number of days
+     */
+    public int getNumberOfDays() {
+        return (int) (endDay - startDay + 1);
+    }
+
+    /**
+     * Checks if a day falls within the range.
+     *
+     * @param epochDay The day to check, as an epoch day
+     * @return true if within range, false otherwise
+     */
+    public boolean contains(long epochDay) {
+        return epochDay >= startDay && epochDay <= endDay;
     }
 
     /**
@@ -57,51 +104,255 @@ public class DateRange {
      * @param date The date to check
      * @return true if within range, false otherwise
      */
-    public boolean isWithinDateRange(Date date) {
-        return !date.before(startDate) && !date.after(endDate);
+    public boolean isWithinDateRange(LocalDate date) {
+        return contains(date.toEpochDay());
     }
 
     /**
-     * Creates a DateRange for an entire month.
+     * Checks whether another range shares at least one day with this one.
+     *
+     * @param other The other range
+     * @return true if the ranges overlap
+     */
+    public boolean overlaps(DateRange other) {
+        return other.startDay <= endDay && other.endDay >= startDay;
+    }
+
+    /**
+     * Parses an MM/dd or MM/dd/yyyy date to an epoch day.
+     * <p>
+     * A date without a year is placed in the first of the range's years in which it falls
+     * within the range, or in the range's first year if it falls in none, so year-less
+     * attendance dates work for ranges that cross a new year.
+     * </p>
+     *
+     * @param date The date text
+     * @return The epoch day
+     * @throws ParseException If the text is not a valid date
+     */
+    public long parseDay(CharSequence date) throws ParseException {
+        int firstYear = getStartDate().getYear();
+        long day = parseDay(date, firstYear);
+        if (day < startDay && trimmedLength(date) == 5) {
+            int lastYear = getEndDate().getYear();
+            for (int year = firstYear + 1; year <= lastYear; year++) {
+                long candidate = parseDay(date, year);
+                if (candidate >= startDay) {
+                    return candidate;
+                }
+            }
+        }
+        return day;
+    }
+
+    /**
+     * Parses an MM/dd or MM/dd/yyyy date to an epoch day, without building a formatter or
+     * any intermediate objects.
+     *
+     * @param date The date text; surrounding whitespace is ignored
+     * @param defaultYear The year for a date written without one
+     * @return The epoch day
+     * @throws ParseException If the text is not a valid date
+     */
+    public static long parseDay(CharSequence date, int defaultYear) throws ParseException {
+        int from = 0;
+        int to = date.length();
+        while (from < to && date.charAt(from) <= ' ') from++;
+        while (to > from && date.charAt(to - 1) <= ' ') to--;
+
+        int length = to - from;
+        if ((length != 5 && length != 10) || date.charAt(from + 2) != '/'
+                || (length == 10 && date.charAt(from + 5) != '/')) {
+            throw new ParseException("Date must be in MM/dd or MM/dd/yyyy format: " + date, 0);
+        }
+        int month = digits(date, from, 2);
+        int dayOfMonth = digits(date, from + 3, 2);
+        int year = length == 10 ? digits(date, from + 6, 4) : defaultYear;
+        if (month < 1 || month > 12 || dayOfMonth < 1 || dayOfMonth > lengthOfMonth(year, month)) {
+            throw new ParseException("Invalid date: " + date, 0);
+        }
+        return epochDay(year, month, dayOfMonth);
+    }
+
+    /**
+     * Creates a DateRange for an entire month of the default year.
      *
      * @param month The month in "MM" format
      * @return The DateRange for the month
      * @throws ParseException If the month format is invalid
      */
     public static DateRange createMonthRange(String month) throws ParseException {
-        Calendar calendar = Calendar.getInstance();
-
-        // Validate and parse month
-        calendar.setTime(MONTH_FORMAT.parse(month));
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-        Date startDate = calendar.getTime();
+        String trimmed = month.trim();
+        int value = trimmed.length() == 1 || trimmed.length() == 2 ? digits(trimmed, 0, trimmed.length()) : -1;
+        if (value < 1 || value > 12) {
+            throw new ParseException("Month must be in MM format: " + month, 0);
+        }
+        return createMonthRange(DEFAULT_YEAR, value);
+    }
 
-        calendar.set(Calendar.DAY_OF_MONTH, calendar.getActualMaximum(Calendar.DAY_OF_MONTH));
-        Date endDate = calendar.getTime();
+    /**
+     * Creates a DateRange for an entire month.
+     *
+     * @param year The year
+     * @param month The month, 1 to 12
+     * @return The DateRange for the month
+     */
+    public static DateRange createMonthRange(int year, int month) {
+        return createMonthRange(YearMonth.of(year, month));
+    }
 
-        return new DateRange(startDate, endDate);
+    /**
+     * Creates a DateRange for an entire month.
+     *
+     * @param month The month
+     * @return The DateRange for the month
+     */
+    public static DateRange createMonthRange(YearMonth month) {
+        long first = epochDay(month.getYear(), month.getMonthValue(), 1);
+        return new DateRange(first, first + month.lengthOfMonth() - 1);
     }
 
     /**
      * Creates a DateRange from start and end dates.
      *
-     * @param startDateString The start date in "MM/dd" format
-     * @param endDateString The end date in "MM/dd" format
+     * @param startDateString The start date in "MM/dd" or "MM/dd/yyyy" format
+     * @param endDateString The end date in "MM/dd" or "MM/dd/yyyy" format
      * @return The DateRange object
      * @throws ParseException If input format is incorrect
      */
     public static DateRange createDateRange(String startDateString, String endDateString) throws ParseException {
-        return new DateRange(parseDate(startDateString), parseDate(endDateString));
+        return new DateRange(parseDay(startDateString, DEFAULT_YEAR), parseDay(endDateString, DEFAULT_YEAR));
+    }
+
+    /**
+     * Creates a semi-monthly pay period.
+     *
+     * @param month The month
+     * @param half 1 for the 1st to the 15th, 2 for the 16th to the end of the month
+     * @return The pay period
+     * @throws IllegalArgumentException If half is not 1 or 2
+     */
+    public static DateRange createPayPeriod(YearMonth month, int half) {
+        long first = epochDay(month.getYear(), month.getMonthValue(), 1);
+        switch (half) {
+            case 1:
+                return new DateRange(first, first + FIRST_PERIOD_CUTOFF - 1);
+            case 2:
+                return new DateRange(first + FIRST_PERIOD_CUTOFF, first + month.lengthOfMonth() - 1);
+            default:
+                throw new IllegalArgumentException("Pay period half must be 1 or 2: " + half);
+        }
+    }
+
+    /**
+     * Returns the semi-monthly pay period containing a date.
+     *
+     * @param date The date
+     * @return The pay period
+     */
+    public static DateRange payPeriodContaining(LocalDate date) {
+        return createPayPeriod(YearMonth.from(date), date.getDayOfMonth() <= FIRST_PERIOD_CUTOFF ? 1 : 2);
+    }
+
+    /**
+     * Splits the range at month boundaries.
+     *
+     * @return The parts of the range in each month it touches, in order
+     */
+    public List<DateRange> splitByMonth() {
+        List<DateRange> months = new ArrayList<>();
+        YearMonth month = YearMonth.from(getStartDate());
+        long from = startDay;
+        while (from <= endDay) {
+            long monthEnd = epochDay(month.getYear(), month.getMonthValue(), month.lengthOfMonth());
+            months.add(new DateRange(from, Math.min(monthEnd, endDay)));
+            from = monthEnd + 1;
+            month = month.plusMonths(1);
+        }
+        return months;
     }
 
     /**
-     * Parses a date string into a Date object with validation.
+     * Splits the range into the semi-monthly pay periods it touches, clipped to the range.
      *
-     * @param dateString The date string in "MM/dd" format
-     * @return The parsed Date object
-     * @throws ParseException If the date format is invalid
+     * @return The pay periods in order
+     */
+    public List<DateRange> splitByPayPeriod() {
+        List<DateRange> periods = new ArrayList<>();
+        for (DateRange month : splitByMonth()) {
+            long cutoff = month.startDay - month.getStartDate().getDayOfMonth() + FIRST_PERIOD_CUTOFF;
+            if (month.startDay <= cutoff && month.endDay > cutoff) {
+                periods.add(new DateRange(month.startDay, cutoff));
+                periods.add(new DateRange(cutoff + 1, month.endDay));
+            } else {
+                periods.add(month);
+            }
+        }
+        return periods;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DateRange)) return false;
+        DateRange other = (DateRange) o;
+        return startDay == other.startDay && endDay == other.endDay;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(startDay) * 31 + Long.hashCode(endDay);
+    }
+
+    @Override
+    public String toString() {
+        return getStartDate() + " to " + getEndDate();
+    }
+
+    private static int digits(CharSequence text, int from, int count) throws ParseException {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new ParseException("Expected a digit in: " + text, i);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int trimmedLength(CharSequence text) {
+        int from = 0;
+        int to = text.length();
+        while (from < to && text.charAt(from) <= ' ') from++;
+        while (to > from && text.charAt(to - 1) <= ' ') to--;
+        return to - from;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> Year.isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Converts a valid date to an epoch day arithmetically, as {@link LocalDate#toEpochDay} does.
      */
-    private static Date parseDate(String dateString) throws ParseException {
-        return DATE_FORMAT.parse(dateString);
+    private static long epochDay(int year, int month, int dayOfMonth) {
+        long y = year;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367L * month - 362) / 12;
+        total += dayOfMonth - 1;
+        if (month > 2) {
+            total -= Year.isLeap(year) ? 1 : 2;
+        }
+        return total - DAYS_0000_TO_1970;
     }
 }
@@ -0,0 +1,93 @@
+package com.mycompany.motorph.benchmark;
+
+import com.mycompany.motorph.calculation.NetWageCalculation;
+import com.mycompany.motorph.calculation.SSSDeduction;
+import com.mycompany.motorph.calculation.WithholdingTaxCalculation;
+import com.mycompany.motorph.util.CurrencyUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-employee deduction and formatting calls.
+ * <p>
+ * Each invocation runs over {@value #WAGES} gross wages spread across every SSS bracket
+ * and tax band, so branch prediction sees a realistic mix. Results are per call.
+ * Run from the project root so the SSS table is found.
+ * </p>
+ *
+ * @author Lance
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeductionBenchmark {
+
+    private static final int WAGES = 4096;
+
+    private final SSSDeduction sssDeduction = new SSSDeduction();
+    private final WithholdingTaxCalculation withholdingTaxCalculation = new WithholdingTaxCalculation();
+    private final NetWageCalculation netWageCalculation = new NetWageCalculation();
+    private final double[] grossWages = new double[WAGES];
+    private final double[] hoursWorked = new double[WAGES];
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SplittableRandom random = new SplittableRandom(BenchmarkFixtures.SEED);
+        for (int i = 0; i < WAGES; i++) {
+            grossWages[i] = 2_000 + random.nextDouble() * 118_000;
+            hoursWorked[i] = 120 + random.nextDouble() * 60;
+        }
+        sssDeduction.ensureLoaded();
+        netWageCalculation.preloadDeductionTables();
+        withholdingTaxCalculation.calculateWithholdingTax(grossWages[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WAGES)
+    public void sssDeduction(Blackhole blackhole) throws Exception {
+        for (double grossWage : grossWages) {
+            blackhole.consume(sssDeduction.calculateSssDeduction(grossWage));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WAGES)
+    public void withholdingTax(Blackhole blackhole) throws Exception {
+        for (double grossWage : grossWages) {
+            blackhole.consume(withholdingTaxCalculation.calculateWithholdingTax(grossWage));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WAGES)
+    public void wageInformation(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < WAGES; i++) {
+            blackhole.consume(netWageCalculation.getWageInformation(i + 1, grossWages[i] / hoursWorked[i], hoursWorked[i], 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WAGES)
+    public void formatCurrency(Blackhole blackhole) {
+        for (double grossWage : grossWages) {
+            blackhole.consume(CurrencyUtil.formatCurrency(grossWage));
+        }
+    }
+}
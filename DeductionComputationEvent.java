@@ -0,0 +1,58 @@
+package com.mycompany.motorph.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the gross-to-net computation of one employee's payroll.
+ *
+ * @author Lance
+ */
+@Name("com.mycompany.motorph.DeductionComputation")
+@Label("Deduction Computation")
+@Category({"MotorPH", "Payroll"})
+@Description("Computing statutory deductions and net wage for one employee")
+@StackTrace(false)
+public class DeductionComputationEvent extends Event {
+
+    @Label("Employee Number")
+    int employeeNumber;
+
+    @Label("Gross Wage")
+    double grossWage;
+
+    @Label("Total Deductions")
+    double totalDeductions;
+
+    /**
+     * Begins timing a deduction computation.
+     *
+     * @param employeeNumber The employee
+     * @return The started event
+     */
+    public static DeductionComputationEvent start(int employeeNumber) {
+        DeductionComputationEvent event = new DeductionComputationEvent();
+        event.employeeNumber = employeeNumber;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the computation and commits the event if it is being recorded.
+     *
+     * @param gross The gross wage
+     * @param deductions The sum of all deductions
+     */
+    public void finish(double gross, double deductions) {
+        end();
+        if (shouldCommit()) {
+            grossWage = gross;
+            totalDeductions = deductions;
+            commit();
+        }
+    }
+}
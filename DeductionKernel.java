@@ -0,0 +1,92 @@
+package com.mycompany.motorph.calculation;
+
+/**
+ * Computes SSS, PhilHealth, Pag-IBIG and withholding tax for whole arrays of gross wages.
+ * <p>
+ * Batch callers hold wages in a primitive array, and the deductions of every wage are the
+ * same clamped and bracketed arithmetic. When the {@code jdk.incubator.vector} module is
+ * available ({@code --add-modules jdk.incubator.vector}), the kernel evaluates several
+ * wages per instruction: the PhilHealth clamps and Pag-IBIG cap are lane-wise min and
+ * max, and the SSS ranges, Pag-IBIG tier and tax brackets are comparison masks that
+ * select each lane's amount. Otherwise it falls back to a scalar loop over the
+ * {@link StatutoryRules} methods. Both paths perform the same floating-point operations
+ * in the same order, so their results are bit-identical to each other and to the
+ * per-employee calculations.
+ * </p>
+ * <p>
+ * Set {@code motorph.vector=false} to force the scalar path.
+ * </p>
+ *
+ * @author Lance
+ */
+public final class DeductionKernel {
+
+    private static final boolean VECTORIZED = Boolean.parseBoolean(System.getProperty("motorph.vector", "true"))
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private final StatutoryRules rules;
+
+    /**
+     * Constructor for DeductionKernel.
+     *
+     * @param rules The statutory rules to evaluate
+     */
+    public DeductionKernel(final StatutoryRules rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Returns whether {@link #compute} uses the Vector API.
+     *
+     * @return true if the vector path is available and enabled
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    public StatutoryRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Computes the deductions of every gross wage, vectorized when available.
+     *
+     * @param grossWages The gross wages
+     * @param count The number of wages to evaluate, from index 0
+     * @param sss Receives the SSS contributions
+     * @param philHealth Receives the PhilHealth contributions
+     * @param pagIbig Receives the Pag-IBIG contributions
+     * @param withholdingTax Receives the withholding tax
+     */
+    public void compute(final double[] grossWages, final int count, final double[] sss, final double[] philHealth,
+                        final double[] pagIbig, final double[] withholdingTax) {
+        if (VECTORIZED) {
+            int done = VectorDeductionKernel.compute(rules, grossWages, count, sss, philHealth, pagIbig, withholdingTax);
+            computeScalar(grossWages, done, count, sss, philHealth, pagIbig, withholdingTax);
+        } else {
+            computeScalar(grossWages, 0, count, sss, philHealth, pagIbig, withholdingTax);
+        }
+    }
+
+    /**
+     * Computes the deductions one wage at a time, without the Vector API.
+     *
+     * @param grossWages The gross wages
+     * @param from The first index to evaluate
+     * @param to The index after the last one to evaluate
+     * @param sss Receives the SSS contributions
+     * @param philHealth Receives the PhilHealth contributions
+     * @param pagIbig Receives the Pag-IBIG contributions
+     * @param withholdingTax Receives the withholding tax
+     */
+    public void computeScalar(final double[] grossWages, final int from, final int to, final double[] sss,
+                              final double[] philHealth, final double[] pagIbig, final double[] withholdingTax) {
+        for (int i = from; i < to; i++) {
+            double grossWage = grossWages[i];
+            sss[i] = rules.calculateSss(grossWage);
+            philHealth[i] = rules.calculatePhilHealth(grossWage);
+            pagIbig[i] = rules.calculatePagIbig(grossWage);
+            withholdingTax[i] = rules.calculateWithholdingTax(grossWage);
+        }
+    }
+}
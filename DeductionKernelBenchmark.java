@@ -0,0 +1,103 @@
+package com.mycompany.motorph.benchmark;
+
+import com.mycompany.motorph.calculation.DeductionKernel;
+import com.mycompany.motorph.calculation.HealthInsurancesDeduction;
+import com.mycompany.motorph.calculation.SSSDeduction;
+import com.mycompany.motorph.calculation.StatutoryRulesRegistry;
+import com.mycompany.motorph.calculation.WithholdingTaxCalculation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the batch {@link DeductionKernel} with per-employee deduction calls.
+ * <p>
+ * Each invocation computes SSS, PhilHealth, Pag-IBIG and withholding tax for
+ * {@value #WAGES} gross wages spread across every SSS bracket and tax band. The
+ * per-employee baselines call {@link HealthInsurancesDeduction} alone, and all four
+ * deduction classes; the kernel runs once vectorized and once on its scalar fallback.
+ * The fork adds {@code jdk.incubator.vector} so the vector path is measured. Results are
+ * per wage. Run from the project root so the SSS table is found.
+ * </p>
+ *
+ * @author Lance
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class DeductionKernelBenchmark {
+
+    private static final int WAGES = 4096;
+
+    private final HealthInsurancesDeduction healthInsurancesDeduction = new HealthInsurancesDeduction();
+    private final SSSDeduction sssDeduction = new SSSDeduction();
+    private final WithholdingTaxCalculation withholdingTaxCalculation = new WithholdingTaxCalculation();
+    private final double[] grossWages = new double[WAGES];
+    private final double[] sss = new double[WAGES];
+    private final double[] philHealth = new double[WAGES];
+    private final double[] pagIbig = new double[WAGES];
+    private final double[] withholdingTax = new double[WAGES];
+    private DeductionKernel kernel;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SplittableRandom random = new SplittableRandom(BenchmarkFixtures.SEED);
+        for (int i = 0; i < WAGES; i++) {
+            grossWages[i] = 2_000 + random.nextDouble() * 118_000;
+        }
+        kernel = new DeductionKernel(StatutoryRulesRegistry.getDefault().current());
+        if (!DeductionKernel.isVectorized()) {
+            throw new IllegalStateException("Vector API not available; run with --add-modules jdk.incubator.vector");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WAGES)
+    public void healthInsurancesPerEmployee(Blackhole blackhole) throws Exception {
+        for (double grossWage : grossWages) {
+            blackhole.consume(healthInsurancesDeduction.calculatePhilHealthDeduction(grossWage));
+            blackhole.consume(healthInsurancesDeduction.calculatePagIbigDeduction(grossWage));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WAGES)
+    public void allDeductionsPerEmployee(Blackhole blackhole) throws Exception {
+        for (double grossWage : grossWages) {
+            blackhole.consume(sssDeduction.calculateSssDeduction(grossWage));
+            blackhole.consume(healthInsurancesDeduction.calculatePhilHealthDeduction(grossWage));
+            blackhole.consume(healthInsurancesDeduction.calculatePagIbigDeduction(grossWage));
+            blackhole.consume(withholdingTaxCalculation.calculateWithholdingTax(grossWage));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WAGES)
+    public double[] kernelScalar() {
+        kernel.computeScalar(grossWages, 0, WAGES, sss, philHealth, pagIbig, withholdingTax);
+        return withholdingTax;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WAGES)
+    public double[] kernelVector() {
+        kernel.compute(grossWages, WAGES, sss, philHealth, pagIbig, withholdingTax);
+        return withholdingTax;
+    }
+}
@@ -36,7 +36,7 @@ public class Employee {
     private double grossSemimonthlyRate;
     private double hourlyRate;
 
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("MM/dd/yyyy");
+    private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT = ThreadLocal.withInitial(() -> new SimpleDateFormat("MM/dd/yyyy"));
 
     // Getters and setters
     public int getEmployeeNumber() {
@@ -197,7 +197,7 @@ public class Employee {
      * @return The birthdate in "MM/dd/yyyy" format, or "N/A" if null
      */
     public String getBirthdateAsString() {
-        return birthdate != null ? DATE_FORMAT.format(birthdate) : "N/A";
+        return birthdate != null ? DATE_FORMAT.get().format(birthdate) : "N/A";
     }
 
     /**
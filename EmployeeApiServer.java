@@ -0,0 +1,459 @@
+package com.mycompany.motorph.api;
+
+import com.mycompany.motorph.calculation.StatutoryRulesRegistry;
+import com.mycompany.motorph.calculation.WageCalculation;
+import com.mycompany.motorph.data.LeaveDataManager;
+import com.mycompany.motorph.employee.EmployeeInformation;
+import com.mycompany.motorph.metrics.Counter;
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.metrics.Timer;
+import com.mycompany.motorph.model.DateRange;
+import com.mycompany.motorph.model.Employee;
+import com.mycompany.motorph.model.Leave;
+import com.mycompany.motorph.model.PayrollResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.DateTimeException;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded read-only HTTP API over the shared MotorPH services.
+ * <p>
+ * Endpoints, all returning JSON:
+ * <pre>
+ * GET /api/employees/{employeeNumber}
+ * GET /api/wages/{employeeNumber}?month=MM[&amp;year=yyyy][&amp;half=1|2]  (or ?from=MM/dd[/yyyy]&amp;to=MM/dd[/yyyy])
+ * GET /api/leaves/{employeeNumber}?offset=0&amp;limit=50   (in date order)
+ * GET /api/health
+ * </pre>
+ * Requests are answered from the same in-memory caches the Swing screens use. Each
+ * request runs on its own virtual thread when the JDK provides them, otherwise on a
+ * pooled platform thread. A semaphore caps the requests doing work at once; a request
+ * that cannot get a permit within a short wait is answered with 503 and Retry-After
+ * instead of queueing without bound. The server binds to the loopback interface only.
+ * </p>
+ *
+ * @author Lance
+ */
+public class EmployeeApiServer implements Closeable {
+
+    public static final int DEFAULT_PORT = 8085;
+    public static final int DEFAULT_MAX_CONCURRENT = 256;
+    private static final long STATUTORY_RULES_CHECK_SECONDS = 30;
+
+    private static final int BACKLOG = 4096;
+    private static final long ADMISSION_WAIT_MILLIS = 50;
+    private static final int DEFAULT_LEAVE_PAGE_SIZE = 50;
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+    private static final Timer REQUEST_TIMER = MetricsRegistry.timer("api.request");
+    private static final Counter REJECTED_COUNTER = MetricsRegistry.counter("api.rejected");
+
+    private final EmployeeInformation employeeInformation;
+    private final WageCalculation wageCalculation;
+    private final LeaveDataManager leaveDataManager;
+    private final int maxConcurrent;
+    private final Semaphore admission;
+    private final AtomicLong requestsServed = new AtomicLong();
+    private final AtomicLong requestsRejected = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private boolean virtualThreads;
+
+    /**
+     * Handles one admitted request for an employee.
+     */
+    @FunctionalInterface
+    private interface EmployeeEndpoint {
+        String handle(int employeeNumber, Map<String, String> query) throws Exception;
+    }
+
+    /**
+     * Signals a malformed request, answered with 400.
+     */
+    private static final class BadRequestException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        BadRequestException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Constructor for EmployeeApiServer.
+     *
+     * @param employeeInformation The shared employee repository
+     * @param wageCalculation The shared payroll engine
+     * @param leaveDataManager The shared leave store
+     * @param maxConcurrent Maximum number of requests processed at once
+     */
+    public EmployeeApiServer(EmployeeInformation employeeInformation, WageCalculation wageCalculation,
+                             LeaveDataManager leaveDataManager, int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        this.employeeInformation = employeeInformation;
+        this.wageCalculation = wageCalculation;
+        this.leaveDataManager = leaveDataManager;
+        this.maxConcurrent = maxConcurrent;
+        this.admission = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Starts serving on the loopback interface.
+     *
+     * @param port The port to listen on, or 0 for any free port
+     * @throws IOException If the port cannot be bound
+     */
+    public synchronized void start(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("API server is already running");
+        }
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        httpServer.createContext("/api/employees/", admitted("/api/employees/", this::employeeJson));
+        httpServer.createContext("/api/wages/", admitted("/api/wages/", this::wageJson));
+        httpServer.createContext("/api/leaves/", admitted("/api/leaves/", this::leavesJson));
+        httpServer.createContext("/api/health", this::handleHealth);
+
+        executor = newRequestExecutor();
+        httpServer.setExecutor(executor);
+        httpServer.start();
+        server = httpServer;
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return The bound port
+     */
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("API server is not running");
+        }
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns whether requests run on virtual threads.
+     *
+     * @return True if virtual threads are in use
+     */
+    public synchronized boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops the server, giving in-flight requests up to one second to finish.
+     */
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * Creates a virtual-thread-per-request executor, or a cached platform-thread pool
+     * on JDKs without virtual threads.
+     */
+    private ExecutorService newRequestExecutor() {
+        try {
+            ExecutorService virtual = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            virtualThreads = true;
+            return virtual;
+        } catch (ReflectiveOperationException e) {
+            virtualThreads = false;
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "api-request-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Wraps an endpoint with method checks, path parsing, admission control and error mapping.
+     */
+    private HttpHandler admitted(String prefix, EmployeeEndpoint endpoint) {
+        return exchange -> {
+            try {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", "GET");
+                    sendError(exchange, 405, "Only GET is supported");
+                    return;
+                }
+
+                boolean acquired;
+                try {
+                    acquired = admission.tryAcquire(ADMISSION_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    acquired = false;
+                }
+                if (!acquired) {
+                    requestsRejected.incrementAndGet();
+                    REJECTED_COUNTER.increment();
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    sendError(exchange, 503, "Server busy, retry later");
+                    return;
+                }
+
+                long started = REQUEST_TIMER.start();
+                try {
+                    int employeeNumber = parseEmployeeNumber(exchange.getRequestURI().getPath(), prefix);
+                    String body = endpoint.handle(employeeNumber, parseQuery(exchange.getRequestURI().getRawQuery()));
+                    send(exchange, 200, body);
+                } catch (BadRequestException e) {
+                    sendError(exchange, 400, e.getMessage());
+                } catch (IllegalArgumentException e) {
+                    sendError(exchange, 404, e.getMessage());
+                } catch (Exception e) {
+                    // Details stay in the server log; clients get no internals
+                    System.err.println("API request " + exchange.getRequestURI().getPath() + " failed: " + e);
+                    e.printStackTrace();
+                    sendError(exchange, 500, "Internal server error");
+                } finally {
+                    admission.release();
+                    requestsServed.incrementAndGet();
+                    REQUEST_TIMER.stop(started);
+                }
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private String employeeJson(int employeeNumber, Map<String, String> query) throws Exception {
+        Optional<Employee> found = employeeInformation.findEmployee(employeeNumber);
+        Employee employee = found.orElseThrow(() -> new IllegalArgumentException("Employee not found for ID: " + employeeNumber));
+
+        return new JsonWriter().beginObject()
+                .field("employeeNumber", employee.getEmployeeNumber())
+                .field("lastName", employee.getLastName())
+                .field("firstName", employee.getFirstName())
+                .field("birthdate", employee.getBirthdateAsString())
+                .field("address", employee.getAddress())
+                .field("phoneNumber", employee.getPhoneNumber())
+                .field("sssNumber", employee.getSssNumber())
+                .field("philHealthNumber", employee.getPhilHealthNumber())
+                .field("tin", employee.getTin())
+                .field("pagIbigNumber", employee.getPagIbigNumber())
+                .field("status", employee.getStatus())
+                .field("position", employee.getPosition())
+                .field("immediateSupervisor", employee.getImmediateSupervisor())
+                .field("basicSalary", employee.getBasicSalary())
+                .field("riceSubsidy", employee.getRiceSubsidy())
+                .field("phoneAllowance", employee.getPhoneAllowance())
+                .field("clothingAllowance", employee.getClothingAllowance())
+                .field("grossSemimonthlyRate", employee.getGrossSemimonthlyRate())
+                .field("hourlyRate", employee.getHourlyRate())
+                .endObject().toString();
+    }
+
+    private String wageJson(int employeeNumber, Map<String, String> query) throws Exception {
+        DateRange dateRange = parsePeriod(query);
+        PayrollResult result = wageCalculation.calculatePayroll(employeeNumber, dateRange);
+
+        return new JsonWriter().beginObject()
+                .field("employeeNumber", result.getEmployeeNumber())
+                .field("hoursWorked", result.getHoursWorked())
+                .field("grossWage", result.getGrossWage())
+                .field("sssDeduction", result.getSssDeduction())
+                .field("philHealthDeduction", result.getPhilHealthDeduction())
+                .field("pagIbigDeduction", result.getPagIbigDeduction())
+                .field("withholdingTax", result.getWithholdingTax())
+                .field("lateArrivalDeduction", result.getLateArrivalDeduction())
+                .field("totalDeductions", result.getTotalDeductions())
+                .field("netWage", result.getNetWage())
+                .field("paidLeaveDays", result.getPaidLeaveDays())
+                .field("unpaidDays", result.getUnpaidDays())
+                .field("rulesVersion", result.getRulesVersion())
+                .endObject().toString();
+    }
+
+    private String leavesJson(int employeeNumber, Map<String, String> query) throws Exception {
+        int offset = parseNonNegative(query, "offset", 0);
+        int limit = parseNonNegative(query, "limit", DEFAULT_LEAVE_PAGE_SIZE);
+        List<Leave> leaves = leaveDataManager.getLeavesByEmployeeNumber(employeeNumber, offset, limit);
+
+        JsonWriter json = new JsonWriter().beginObject()
+                .field("employeeNumber", employeeNumber)
+                .field("total", leaveDataManager.countLeavesByEmployeeNumber(employeeNumber))
+                .field("offset", offset)
+                .name("leaves").beginArray();
+        for (Leave leave : leaves) {
+            json.beginObject()
+                    .field("leaveType", leave.getLeaveType())
+                    .field("startDate", leave.getStartDate())
+                    .field("endDate", leave.getEndDate())
+                    .field("reason", leave.getReason())
+                    .field("sickLeaveAmount", leave.getSickLeaveAmount())
+                    .field("vacationLeaveAmount", leave.getVacationLeaveAmount())
+                    .field("emergencyLeaveAmount", leave.getEmergencyLeaveAmount())
+                    .endObject();
+        }
+        return json.endArray().endObject().toString();
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try {
+            String body = new JsonWriter().beginObject()
+                    .field("status", "ok")
+                    .field("virtualThreads", virtualThreads)
+                    .field("maxConcurrent", maxConcurrent)
+                    .field("inFlight", maxConcurrent - admission.availablePermits())
+                    .field("served", requestsServed.get())
+                    .field("rejected", requestsRejected.get())
+                    .endObject().toString();
+            send(exchange, 200, body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Reads the pay period from month=MM with an optional year and semi-monthly half, or
+     * from=MM/dd and to=MM/dd with optional years.
+     */
+    private static DateRange parsePeriod(Map<String, String> query) {
+        try {
+            if (query.containsKey("month")) {
+                YearMonth month = YearMonth.of(
+                        query.containsKey("year") ? Integer.parseInt(query.get("year")) : DateRange.DEFAULT_YEAR,
+                        Integer.parseInt(query.get("month")));
+                return query.containsKey("half")
+                        ? DateRange.createPayPeriod(month, Integer.parseInt(query.get("half")))
+                        : DateRange.createMonthRange(month);
+            }
+            if (query.containsKey("from") && query.containsKey("to")) {
+                return DateRange.createDateRange(query.get("from"), query.get("to"));
+            }
+        } catch (IllegalArgumentException | DateTimeException | ParseException e) {
+            throw new BadRequestException("Invalid pay period: " + e.getMessage());
+        }
+        throw new BadRequestException("Specify month=MM or from=MM/dd and to=MM/dd");
+    }
+
+    private static int parseNonNegative(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new BadRequestException("Invalid " + name + ": " + value);
+    }
+
+    private static int parseEmployeeNumber(String path, String prefix) {
+        String value = path.substring(prefix.length());
+        if (value.endsWith("/")) {
+            value = value.substring(0, value.length() - 1);
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid employee number: " + value);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, new JsonWriter().beginObject().field("error", message).endObject().toString());
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Runs the API as a standalone process.
+     * <p>
+     * Usage: {@code EmployeeApiServer [--port 8085] [--max-concurrent 256]
+     * [--employee-data path] [--attendance path] [--leave-data path]}
+     * </p>
+     * <p>
+     * Statutory rule files are checked for changes every
+     * {@value #STATUTORY_RULES_CHECK_SECONDS} seconds and swapped in without a restart.
+     * </p>
+     *
+     * @param args Command-line arguments
+     * @throws Exception If the data cannot be loaded or the port cannot be bound
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+
+        EmployeeInformation employeeInformation = options.containsKey("employee-data")
+                ? new EmployeeInformation(options.get("employee-data")) : new EmployeeInformation();
+        LeaveDataManager leaveDataManager = options.containsKey("leave-data")
+                ? new LeaveDataManager(options.get("leave-data")) : new LeaveDataManager();
+        WageCalculation wageCalculation = options.containsKey("attendance")
+                ? new WageCalculation(employeeInformation, options.get("attendance"), leaveDataManager)
+                : new WageCalculation(employeeInformation, leaveDataManager);
+
+        // Warm every cache before accepting traffic
+        int employees = employeeInformation.reload();
+        int attendanceRows = wageCalculation.reloadAttendanceData();
+        wageCalculation.preloadDeductionTables();
+        leaveDataManager.reload();
+        StatutoryRulesRegistry.getDefault().startAutoReload(STATUTORY_RULES_CHECK_SECONDS);
+
+        EmployeeApiServer server = new EmployeeApiServer(employeeInformation, wageCalculation, leaveDataManager,
+                Integer.parseInt(options.getOrDefault("max-concurrent", String.valueOf(DEFAULT_MAX_CONCURRENT))));
+        server.start(Integer.parseInt(options.getOrDefault("port", String.valueOf(DEFAULT_PORT))));
+        System.out.printf("MotorPH API on http://127.0.0.1:%d/api (%,d employees, %,d attendance rows, %s threads)%n",
+                server.getPort(), employees, attendanceRows, server.usesVirtualThreads() ? "virtual" : "platform");
+    }
+}
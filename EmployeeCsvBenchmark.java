@@ -0,0 +1,74 @@
+package com.mycompany.motorph.benchmark;
+
+import com.mycompany.motorph.data.EmployeeDataReader;
+import com.mycompany.motorph.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EmployeeDataReader#readEmployees} and {@link EmployeeDataReader#writeEmployees}.
+ * <p>
+ * Each operation reads or writes the whole file, so results are reported per file.
+ * Sizes above one million rows need several gigabytes of heap; pass them explicitly,
+ * e.g. {@code -p employees=10000000}.
+ * </p>
+ *
+ * @author Lance
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx12g"})
+public class EmployeeCsvBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int employees;
+
+    private final EmployeeDataReader reader = new EmployeeDataReader();
+    private List<Employee> employeeList;
+    private Path inputFile;
+    private Path outputFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        employeeList = BenchmarkFixtures.employees(employees);
+        inputFile = Files.createTempFile("motorph-employees-", ".csv");
+        outputFile = Files.createTempFile("motorph-employees-out-", ".csv");
+        reader.writeEmployees(inputFile.toString(), employeeList);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(inputFile);
+        Files.deleteIfExists(outputFile);
+    }
+
+    @Benchmark
+    public List<Employee> readEmployees() throws Exception {
+        return reader.readEmployees(inputFile.toString());
+    }
+
+    @Benchmark
+    public void writeEmployees() throws IOException {
+        reader.writeEmployees(outputFile.toString(), employeeList);
+    }
+}
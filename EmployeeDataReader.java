@@ -1,5 +1,8 @@
 package com.mycompany.motorph.data;
 
+import com.mycompany.motorph.events.CsvLoadEvent;
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.metrics.Timer;
 import com.mycompany.motorph.model.Employee;
 import com.mycompany.motorph.util.CurrencyUtil;
 import com.opencsv.CSVReader;
@@ -25,6 +28,8 @@ public class EmployeeDataReader {
 
     private static final SimpleDateFormat BIRTHDATE_FORMAT = new SimpleDateFormat("MM/dd/yyyy");
     private static final int EMPLOYEE_EXPECTED_COL_LENGTH = 19;
+    private static final Timer READ_TIMER = MetricsRegistry.timer("csv.employees.read");
+    private static final Timer WRITE_TIMER = MetricsRegistry.timer("csv.employees.write");
 
     // CSV File Header
     private static final String[] HEADER = {
@@ -44,6 +49,8 @@ public class EmployeeDataReader {
      * @throws ParseException If there's an issue parsing date formats
      */
     public List<Employee> readEmployees(final String filePath) throws IOException, CsvValidationException, ParseException {
+        long started = READ_TIMER.start();
+        CsvLoadEvent event = CsvLoadEvent.start("employees", filePath);
         List<Employee> employees = new ArrayList<>();
 
         try (CSVReader reader = new CSVReader(new BufferedReader(new FileReader(filePath)))) {
@@ -59,6 +66,8 @@ public class EmployeeDataReader {
             }
         }
 
+        event.finish(employees.size());
+        READ_TIMER.stop(started, employees.size());
         return employees;
     }
 
@@ -70,6 +79,7 @@ public class EmployeeDataReader {
      * @throws IOException If an error occurs during file writing
      */
     public void writeEmployees(final String filePath, final List<Employee> employees) throws IOException {
+        long started = WRITE_TIMER.start();
         try (CSVWriter writer = new CSVWriter(new BufferedWriter(new FileWriter(filePath)))) {
             writer.writeNext(HEADER);
 
@@ -77,6 +87,7 @@ public class EmployeeDataReader {
                 writer.writeNext(formatEmployeeData(employee));
             }
         }
+        WRITE_TIMER.stop(started, employees.size());
     }
 
     /**
@@ -100,12 +111,12 @@ public class EmployeeDataReader {
                 employee.getStatus(),
                 employee.getPosition(),
                 employee.getImmediateSupervisor(),
-                CurrencyUtil.formatCurrency(employee.getBasicSalary()),
-                CurrencyUtil.formatCurrency(employee.getRiceSubsidy()),
-                CurrencyUtil.formatCurrency(employee.getPhoneAllowance()),
-                CurrencyUtil.formatCurrency(employee.getClothingAllowance()),
-                CurrencyUtil.formatCurrency(employee.getGrossSemimonthlyRate()),
-                CurrencyUtil.formatCurrency(employee.getHourlyRate())
+                CurrencyUtil.formatPlainCurrency(employee.getBasicSalary()),
+                CurrencyUtil.formatPlainCurrency(employee.getRiceSubsidy()),
+                CurrencyUtil.formatPlainCurrency(employee.getPhoneAllowance()),
+                CurrencyUtil.formatPlainCurrency(employee.getClothingAllowance()),
+                CurrencyUtil.formatPlainCurrency(employee.getGrossSemimonthlyRate()),
+                CurrencyUtil.formatPlainCurrency(employee.getHourlyRate())
         };
     }
 
@@ -1,5 +1,7 @@
 package com.mycompany.motorph.employee;
 
+import com.mycompany.motorph.metrics.CacheStats;
+import com.mycompany.motorph.metrics.MetricsRegistry;
 import com.mycompany.motorph.model.Employee;
 import com.mycompany.motorph.data.EmployeeDataReader;
 import com.opencsv.exceptions.CsvValidationException;
@@ -7,13 +9,19 @@ import com.opencsv.exceptions.CsvValidationException;
 import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Manages employee information retrieval and updates.
  * <p>
- * Allows searching for employees and modifying their records.
+ * Allows searching for employees and modifying their records. The employee file is
+ * read once and kept in memory (with an index by employee number) until it is
+ * updated through this class or explicitly reloaded, so a long-lived instance
+ * answers lookups without touching the disk.
  * </p>
  * 
  * @author Lance
@@ -25,13 +33,29 @@ public class EmployeeInformation {
     // File Path Constant
     private static final String EMPLOYEES_DATA_PATH = "src/main/resources/data/employee_information.csv";
 
+    private static final CacheStats EMPLOYEE_CACHE = MetricsRegistry.cache("cache.employees");
+
     private final EmployeeDataReader employeeDataReader;
+    private final String employeesDataPath;
+
+    // Cached employees, lookup map and search index, replaced as a whole on reload or update
+    private volatile Snapshot snapshot;
 
     /**
      * Constructor for EmployeeInformation.
      */
     public EmployeeInformation() {
+        this(EMPLOYEES_DATA_PATH);
+    }
+
+    /**
+     * Constructor for EmployeeInformation over a specific employee file.
+     *
+     * @param employeesDataPath Path to the employee CSV file
+     */
+    public EmployeeInformation(final String employeesDataPath) {
         this.employeeDataReader = new EmployeeDataReader();
+        this.employeesDataPath = employeesDataPath;
     }
 
     /**
@@ -44,16 +68,23 @@ public class EmployeeInformation {
      * @throws ParseException If a parsing error occurs
      */
     public List<String> getEmployeeInformation(final int employeeNumber) throws IOException, CsvValidationException, ParseException {
-        List<Employee> employees = getAllEmployees();
-
-        Optional<Employee> employee = employees.stream()
-                .filter(e -> e.getEmployeeNumber() == employeeNumber)
-                .findFirst();
-
-        return employee.map(Employee::getEmployeeInformation)
+        return findEmployee(employeeNumber).map(Employee::getEmployeeInformation)
                 .orElseThrow(() -> new IllegalArgumentException("Employee not found for ID: " + employeeNumber));
     }
 
+    /**
+     * Looks up an employee by employee number.
+     *
+     * @param employeeNumber The employee number to search for
+     * @return The employee, or empty if no such employee exists
+     * @throws IOException If an I/O error occurs while reading the file
+     * @throws CsvValidationException If data from a row is invalid
+     * @throws ParseException If a parsing error occurs
+     */
+    public Optional<Employee> findEmployee(final int employeeNumber) throws IOException, CsvValidationException, ParseException {
+        return Optional.ofNullable(ensureLoaded().employeesByNumber.get(employeeNumber));
+    }
+
     /**
      * Updates employee information in the CSV file.
      *
@@ -63,8 +94,9 @@ public class EmployeeInformation {
      * @throws CsvValidationException If CSV data is invalid
      * @throws ParseException If parsing error occurs
      */
-    public void updateEmployeeInformation(final int employeeNumber, final List<String> updatedEmployeeInfo) throws IOException, CsvValidationException, ParseException {
-        List<Employee> employees = employeeDataReader.readEmployees(EMPLOYEES_DATA_PATH);
+    public synchronized void updateEmployeeInformation(final int employeeNumber, final List<String> updatedEmployeeInfo) throws IOException, CsvValidationException, ParseException {
+        // Work on a fresh copy so readers of the cached list never see a half-applied update
+        List<Employee> employees = employeeDataReader.readEmployees(employeesDataPath);
 
         Optional<Employee> employeeOpt = employees.stream()
                 .filter(e -> e.getEmployeeNumber() == employeeNumber)
@@ -77,7 +109,36 @@ public class EmployeeInformation {
         Employee employee = employeeOpt.get();
         updateEmployee(employee, updatedEmployeeInfo);
 
-        employeeDataReader.writeEmployees(EMPLOYEES_DATA_PATH, employees);
+        employeeDataReader.writeEmployees(employeesDataPath, employees);
+        publish(employees);
+    }
+
+    /**
+     * Fuzzy-searches employees by address, position and immediate supervisor.
+     *
+     * @param query The free-text query, typos allowed
+     * @param limit Maximum number of results
+     * @return Matches ordered by descending similarity
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV data is invalid
+     * @throws ParseException If parsing error occurs
+     */
+    public List<EmployeeTrigramIndex.Match> searchEmployees(final String query, final int limit) throws IOException, CsvValidationException, ParseException {
+        return getTrigramIndex().search(query, limit);
+    }
+
+    /**
+     * Fuzzy-searches employees with one query per field, e.g. address "Cebu" and supervisor "Lim".
+     *
+     * @param criteria The query text per field; every field must match
+     * @param limit Maximum number of results
+     * @return Matches ordered by descending similarity
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV data is invalid
+     * @throws ParseException If parsing error occurs
+     */
+    public List<EmployeeTrigramIndex.Match> searchEmployees(final Map<EmployeeTrigramIndex.Field, String> criteria, final int limit) throws IOException, CsvValidationException, ParseException {
+        return getTrigramIndex().search(criteria, limit, EmployeeTrigramIndex.DEFAULT_MIN_SIMILARITY);
     }
 
     /**
@@ -89,7 +150,70 @@ public class EmployeeInformation {
      * @throws ParseException If parsing error occurs
      */
     public List<Employee> getAllEmployees() throws IOException, CsvValidationException, ParseException {
-        return employeeDataReader.readEmployees(EMPLOYEES_DATA_PATH);
+        return ensureLoaded().employees;
+    }
+
+    /**
+     * Re-reads the employee file, replacing the cached list.
+     *
+     * @return The number of employees loaded
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV data is invalid
+     * @throws ParseException If parsing error occurs
+     */
+    public synchronized int reload() throws IOException, CsvValidationException, ParseException {
+        List<Employee> employees = employeeDataReader.readEmployees(employeesDataPath);
+        publish(employees);
+        return employees.size();
+    }
+
+    /**
+     * Loads the employee file on first use.
+     *
+     * @return The current snapshot
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV data is invalid
+     * @throws ParseException If parsing error occurs
+     */
+    private Snapshot ensureLoaded() throws IOException, CsvValidationException, ParseException {
+        Snapshot current = snapshot;
+        if (current != null) {
+            EMPLOYEE_CACHE.hit();
+            return current;
+        }
+        EMPLOYEE_CACHE.miss();
+        synchronized (this) {
+            if (snapshot == null) {
+                reload();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Replaces the cached list, lookup map and search index in one step.
+     *
+     * @param employees The freshly read employees
+     */
+    private void publish(final List<Employee> employees) {
+        Map<Integer, Employee> byNumber = new HashMap<>(employees.size() * 2);
+        for (Employee employee : employees) {
+            byNumber.putIfAbsent(employee.getEmployeeNumber(), employee);
+        }
+
+        snapshot = new Snapshot(Collections.unmodifiableList(employees), byNumber);
+    }
+
+    /**
+     * Returns the trigram index, building it on first use.
+     *
+     * @return The trigram index over all employees
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV data is invalid
+     * @throws ParseException If parsing error occurs
+     */
+    private EmployeeTrigramIndex getTrigramIndex() throws IOException, CsvValidationException, ParseException {
+        return ensureLoaded().trigramIndex();
     }
 
     /**
@@ -133,4 +257,35 @@ public class EmployeeInformation {
             return 0.0;
         }
     }
+
+    /**
+     * One published generation of the employee file. The search index is built lazily
+     * from this generation's list, so a search can never attach an index to a newer one.
+     */
+    private static final class Snapshot {
+
+        private final List<Employee> employees;
+        private final Map<Integer, Employee> employeesByNumber;
+        private volatile EmployeeTrigramIndex trigramIndex;
+
+        private Snapshot(List<Employee> employees, Map<Integer, Employee> employeesByNumber) {
+            this.employees = employees;
+            this.employeesByNumber = employeesByNumber;
+        }
+
+        /**
+         * Returns the search index over this generation, building it on first use.
+         *
+         * @return The trigram index
+         */
+        private EmployeeTrigramIndex trigramIndex() {
+            EmployeeTrigramIndex index = trigramIndex;
+            if (index == null) {
+                // Concurrent first searches may each build one; they are identical, so the last write wins
+                index = new EmployeeTrigramIndex(employees);
+                trigramIndex = index;
+            }
+            return index;
+        }
+    }
 }
@@ -3,8 +3,6 @@
  */
 package com.mycompany.motorph;
 
-import com.mycompany.motorph.calculation.WageCalculation;
-import com.mycompany.motorph.employee.EmployeeInformation;
 import com.mycompany.motorph.model.DateRange;
 import static com.mycompany.motorph.model.DateRange.createMonthRange;
 import com.opencsv.exceptions.CsvValidationException;
@@ -33,6 +31,7 @@ public class EmployeeInformationFrame extends javax.swing.JFrame implements Empl
     private static final Color RED = new Color(191, 47, 47);
     private static final Color GRAY = new Color(242, 242, 242);
 
+    private final ApplicationContext context;
     private boolean deleteButtonClicked = false;
 
     private JButton btnCompute, btnSave, btnBack, btnExit, btnDeleteInfo, btnUpdateInfo;
@@ -45,9 +44,11 @@ public class EmployeeInformationFrame extends javax.swing.JFrame implements Empl
     /**
      * Constructor: Initializes EmployeeInformationFrame.
      * 
+     * @param context The shared application services.
      * @param employeeInformation List of employee details.
      */
-    public EmployeeInformationFrame(List<String> employeeInformation) {
+    public EmployeeInformationFrame(ApplicationContext context, List<String> employeeInformation) {
+        this.context = context;
         initComponents();
         setupFrame(employeeInformation);
         assignClickHandlersToTextFields();
@@ -144,7 +145,7 @@ public class EmployeeInformationFrame extends javax.swing.JFrame implements Empl
     private void populateEmployeeInformation(String employeeNumberString) {
         try {
             int employeeNumber = Integer.parseInt(employeeNumberString);
-            List<String> employeeInfo = new EmployeeInformation().showEmployeeInformation(employeeNumber);
+            List<String> employeeInfo = context.getEmployeeInformation().getEmployeeInformation(employeeNumber);
             updateEmployeeInformationFields(employeeInfo);
             btnDeleteInfo.setEnabled(true);
             btnUpdateInfo.setEnabled(true);
@@ -156,11 +157,9 @@ public class EmployeeInformationFrame extends javax.swing.JFrame implements Empl
     private void populateWageInformation(String selectedMonth) {
         try {
             int employeeNumber = Integer.parseInt(txtEmployeeNumber.getText());
-            new EmployeeInformation().showEmployeeInformation(employeeNumber);
 
             DateRange dateRange = createMonthRange(selectedMonth);
-            WageCalculation wageCalculation = new WageCalculation();
-            List<String> wageInfo = wageCalculation.calculateWage(employeeNumber, dateRange);
+            List<String> wageInfo = context.getWageCalculation().calculateWage(employeeNumber, dateRange);
             updateWageInformationFields(wageInfo, selectedMonth);
         } catch (IOException | ParseException | CsvValidationException e) {
             showErrorDialog("Error retrieving wage information: " + e.getMessage());
@@ -198,7 +197,7 @@ public class EmployeeInformationFrame extends javax.swing.JFrame implements Empl
             int employeeNumber = Integer.parseInt(txtEmployeeNumber.getText());
             List<String> updatedEmployeeInfo = new ArrayList<>();
             updatedEmployeeInfo.add(txtEmployeeNumber.getText());
-            new EmployeeInformation().updateEmployeeInformationInCsv(employeeNumber, updatedEmployeeInfo);
+            context.getEmployeeInformation().updateEmployeeInformation(employeeNumber, updatedEmployeeInfo);
             setFieldsEditable(false);
             deleteButtonClicked = false;
         } catch (IOException | ParseException | CsvValidationException e) {
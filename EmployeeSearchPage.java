@@ -1,6 +1,5 @@
 package com.mycompany.motorph;
 
-import com.mycompany.motorph.employee.EmployeeInformation;
 import com.mycompany.motorph.model.Employee;
 import com.opencsv.exceptions.CsvValidationException;
 
@@ -27,6 +26,7 @@ public class EmployeeSearchPage extends javax.swing.JFrame implements EmployeeIn
     private static final Color WHITE = new Color(255, 255, 255);
     private static final Color RED = new Color(191, 47, 47);
 
+    private final ApplicationContext context;
     private boolean toggleOnButtonClicked = false;
     private int clickCount = 0;
 
@@ -34,6 +34,16 @@ public class EmployeeSearchPage extends javax.swing.JFrame implements EmployeeIn
      * Creates new EmployeeSearchPage.
      */
     public EmployeeSearchPage() {
+        this(new ApplicationContext());
+    }
+
+    /**
+     * Creates new EmployeeSearchPage sharing the session's application context.
+     *
+     * @param context The shared application services
+     */
+    public EmployeeSearchPage(ApplicationContext context) {
+        this.context = context;
         initComponents();
         populateEmployeeTable();
         setupTableMouseListener();
@@ -148,8 +158,7 @@ public class EmployeeSearchPage extends javax.swing.JFrame implements EmployeeIn
      */
     private void populateEmployeeTable() {
         try {
-            EmployeeInformation employeeInformation = new EmployeeInformation();
-            List<Employee> employees = employeeInformation.getAllEmployees();
+            List<Employee> employees = context.getEmployeeInformation().getAllEmployees();
 
             DefaultTableModel model = (DefaultTableModel) tblBasicEmployeeInformation.getModel();
             model.setRowCount(0);
@@ -193,10 +202,9 @@ public class EmployeeSearchPage extends javax.swing.JFrame implements EmployeeIn
             DefaultTableModel model = (DefaultTableModel) tblBasicEmployeeInformation.getModel();
             int employeeNumber = Integer.parseInt(model.getValueAt(rowIndex, 0).toString());
 
-            EmployeeInformation employeeInformation = new EmployeeInformation();
-            List<String> employeeDetails = employeeInformation.showEmployeeInformation(employeeNumber);
+            List<String> employeeDetails = context.getEmployeeInformation().getEmployeeInformation(employeeNumber);
 
-            new EmployeeInformationFrame(employeeDetails).setVisible(true);
+            new EmployeeInformationFrame(context, employeeDetails).setVisible(true);
         } catch (IOException | ParseException | CsvValidationException e) {
             showErrorDialog("Error displaying employee details: " + e.getMessage());
         }
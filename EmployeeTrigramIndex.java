@@ -0,0 +1,395 @@
+package com.mycompany.motorph.employee;
+
+import com.mycompany.motorph.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * In-memory trigram inverted index over the free-text columns of {@link Employee}.
+ * <p>
+ * Each indexed field is normalized (lower case, punctuation folded to spaces) and
+ * each word is split into overlapping three-character grams. Grams are encoded into a dense
+ * integer space so that posting lists can be stored as plain {@code int[]} arrays
+ * indexed directly by gram code, without hashing or boxing.
+ * </p>
+ * <p>
+ * A query is scored per field as the fraction of its trigrams found in the field
+ * (so "Cebu" matches "Talamban, Cebu City" fully), with ties broken by the Jaccard
+ * similarity of the two trigram sets (favoring the tighter match). Misspellings still
+ * share most of their trigrams with the intended word and are ranked accordingly.
+ * </p>
+ * <p>
+ * The index is immutable once built and safe to query from multiple threads.
+ * </p>
+ *
+ * @author Lance
+ */
+public class EmployeeTrigramIndex {
+
+    /**
+     * Text columns covered by the index.
+     */
+    public enum Field {
+        ADDRESS, POSITION, SUPERVISOR;
+
+        private String valueOf(final Employee employee) {
+            return switch (this) {
+                case ADDRESS -> employee.getAddress();
+                case POSITION -> employee.getPosition();
+                case SUPERVISOR -> employee.getImmediateSupervisor();
+            };
+        }
+    }
+
+    // Gram alphabet: 0 = separator, 1-26 = letters, 27-36 = digits, 37 = any other letter or digit
+    private static final int ALPHABET_SIZE = 38;
+    private static final int GRAM_SPACE = ALPHABET_SIZE * ALPHABET_SIZE * ALPHABET_SIZE;
+    private static final int[] EMPTY_POSTINGS = new int[0];
+
+    /** Minimum per-field score used when the caller does not supply one. */
+    public static final double DEFAULT_MIN_SIMILARITY = 0.3;
+
+    private final List<Employee> employees;
+    private final Map<Field, int[][]> postingsByField = new EnumMap<>(Field.class);
+    private final Map<Field, short[]> gramCountsByField = new EnumMap<>(Field.class);
+    // Idle query buffers; at most one per processor is kept, so memory does not grow with the number of calling threads
+    private final BlockingQueue<Scratch> scratchPool =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Builds the index over the given employees.
+     *
+     * @param employees The employees to index; document ids follow list order
+     */
+    public EmployeeTrigramIndex(final List<Employee> employees) {
+        this.employees = Collections.unmodifiableList(new ArrayList<>(employees));
+
+        for (Field field : Field.values()) {
+            buildField(field);
+        }
+    }
+
+    /**
+     * Searches all indexed fields and ranks employees by their best-matching field.
+     *
+     * @param query The free-text query
+     * @param limit Maximum number of results
+     * @return Matches ordered by descending score
+     */
+    public List<Match> search(final String query, final int limit) {
+        List<Match> best = new ArrayList<>();
+
+        for (Field field : Field.values()) {
+            best.addAll(search(Map.of(field, query), limit, DEFAULT_MIN_SIMILARITY));
+        }
+
+        // Keep the highest-scoring field per employee, marking seen employees in pooled scratch
+        best.sort(Match.BY_RANK);
+        List<Match> results = new ArrayList<>();
+        final Scratch work = borrowScratch();
+        try {
+            for (Match match : best) {
+                if (work.fieldsMatched[match.documentId] == 0) {
+                    work.fieldsMatched[match.documentId] = 1;
+                    results.add(match);
+                    if (results.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return results;
+        } finally {
+            for (Match match : results) {
+                work.fieldsMatched[match.documentId] = 0;
+            }
+            releaseScratch(work);
+        }
+    }
+
+    /**
+     * Searches with one query per field; an employee must match every given field.
+     * <p>
+     * For example {@code ADDRESS -> "Cebu", SUPERVISOR -> "Lim"} returns employees in
+     * Cebu reporting to Lim, tolerant of typos in either term.
+     * </p>
+     *
+     * @param criteria The query text per field
+     * @param limit Maximum number of results
+     * @param minSimilarity Minimum score each field must reach (0 to 1)
+     * @return Matches ordered by descending mean score
+     */
+    public List<Match> search(final Map<Field, String> criteria, final int limit, final double minSimilarity) {
+        if (criteria.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        final Scratch work = borrowScratch();
+        final int required = criteria.size();
+        int scoredCount = 0;
+        int candidateCount = 0;
+
+        try {
+            for (Map.Entry<Field, String> criterion : criteria.entrySet()) {
+                final int[] queryGrams = extractGrams(criterion.getValue());
+                if (queryGrams.length == 0) {
+                    return Collections.emptyList();
+                }
+
+                final int[][] postings = postingsByField.get(criterion.getKey());
+                final short[] gramCounts = gramCountsByField.get(criterion.getKey());
+                int touchedCount = 0;
+
+                for (int gram : queryGrams) {
+                    for (int documentId : postings[gram]) {
+                        if (work.shared[documentId]++ == 0) {
+                            work.touched[touchedCount++] = documentId;
+                        }
+                    }
+                }
+
+                for (int i = 0; i < touchedCount; i++) {
+                    final int documentId = work.touched[i];
+                    final int common = work.shared[documentId];
+                    work.shared[documentId] = 0;
+
+                    final float containment = (float) common / queryGrams.length;
+                    if (containment < minSimilarity) {
+                        continue;
+                    }
+
+                    if (work.fieldsMatched[documentId] == 0) {
+                        work.scored[scoredCount++] = documentId;
+                    }
+                    work.scores[documentId] += containment;
+                    work.tieBreaks[documentId] += (float) common / (queryGrams.length + gramCounts[documentId] - common);
+                    if (++work.fieldsMatched[documentId] == required) {
+                        work.candidates[candidateCount++] = documentId;
+                    }
+                }
+            }
+
+            final PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, Match.BY_RANK.reversed());
+            for (int i = 0; i < candidateCount; i++) {
+                final int documentId = work.candidates[i];
+                top.add(new Match(documentId, employees.get(documentId),
+                        work.scores[documentId] / required, work.tieBreaks[documentId] / required));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Match> results = new ArrayList<>(top);
+            results.sort(Match.BY_RANK);
+            return results;
+        } finally {
+            // Reset only the slots this query wrote so the scratch arrays can be reused
+            for (int i = 0; i < scoredCount; i++) {
+                final int documentId = work.scored[i];
+                work.scores[documentId] = 0;
+                work.tieBreaks[documentId] = 0;
+                work.fieldsMatched[documentId] = 0;
+            }
+            releaseScratch(work);
+        }
+    }
+
+    /**
+     * Takes an idle scratch from the pool, or allocates one when none is free.
+     *
+     * @return Zeroed query buffers
+     */
+    private Scratch borrowScratch() {
+        final Scratch pooled = scratchPool.poll();
+        return pooled != null ? pooled : new Scratch(employees.size());
+    }
+
+    /**
+     * Returns a scratch to the pool; the caller must have zeroed every slot it wrote.
+     *
+     * @param work The buffers to return
+     */
+    private void releaseScratch(final Scratch work) {
+        scratchPool.offer(work); // Dropped when the pool is full
+    }
+
+    /**
+     * Returns the number of indexed employees.
+     *
+     * @return The document count
+     */
+    public int size() {
+        return employees.size();
+    }
+
+    /**
+     * Builds posting lists for one field in two passes (count, then fill) so that
+     * every list is allocated at its exact size.
+     *
+     * @param field The field to index
+     */
+    private void buildField(final Field field) {
+        final int size = employees.size();
+        final int[][] documentGrams = new int[size][];
+        final int[] postingSizes = new int[GRAM_SPACE];
+        final short[] gramCounts = new short[size];
+
+        for (int documentId = 0; documentId < size; documentId++) {
+            int[] grams = extractGrams(field.valueOf(employees.get(documentId)));
+            documentGrams[documentId] = grams;
+            gramCounts[documentId] = (short) Math.min(grams.length, Short.MAX_VALUE);
+            for (int gram : grams) {
+                postingSizes[gram]++;
+            }
+        }
+
+        final int[][] postings = new int[GRAM_SPACE][];
+        for (int gram = 0; gram < GRAM_SPACE; gram++) {
+            postings[gram] = postingSizes[gram] == 0 ? EMPTY_POSTINGS : new int[postingSizes[gram]];
+            postingSizes[gram] = 0;
+        }
+
+        for (int documentId = 0; documentId < size; documentId++) {
+            for (int gram : documentGrams[documentId]) {
+                postings[gram][postingSizes[gram]++] = documentId;
+            }
+        }
+
+        postingsByField.put(field, postings);
+        gramCountsByField.put(field, gramCounts);
+    }
+
+    /**
+     * Extracts the distinct, sorted trigram codes of a text value.
+     *
+     * @param text The text to split
+     * @return Distinct trigram codes
+     */
+    static int[] extractGrams(final String text) {
+        if (text == null || text.isBlank()) {
+            return EMPTY_POSTINGS;
+        }
+
+        // Each word is padded with two leading and one trailing separator, so a word
+        // of n characters yields n + 1 grams regardless of where it sits in the text
+        final int length = text.length();
+        int[] grams = new int[2 * length + 2];
+        int gramCount = 0;
+        int previous = 0;
+        int beforePrevious = 0;
+        for (int i = 0; i <= length; i++) {
+            final int symbol = i < length ? encode(text.charAt(i)) : 0;
+            if (symbol == 0 && previous == 0) {
+                continue; // Collapse runs of separators
+            }
+            grams[gramCount++] = (beforePrevious * ALPHABET_SIZE + previous) * ALPHABET_SIZE + symbol;
+            beforePrevious = symbol == 0 ? 0 : previous;
+            previous = symbol;
+        }
+
+        if (gramCount == 0) {
+            return EMPTY_POSTINGS;
+        }
+
+        Arrays.sort(grams, 0, gramCount);
+        int distinct = 0;
+        for (int i = 0; i < gramCount; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    /**
+     * Maps a character onto the gram alphabet.
+     *
+     * @param c The character
+     * @return Its symbol code
+     */
+    private static int encode(final char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        return Character.isLetterOrDigit(c) ? ALPHABET_SIZE - 1 : 0;
+    }
+
+    /**
+     * Query buffers, sized to the document count and reused across queries through the pool.
+     */
+    private static final class Scratch {
+
+        private final int[] shared;
+        private final int[] touched;
+        private final int[] scored;
+        private final int[] candidates;
+        private final float[] scores;
+        private final float[] tieBreaks;
+        private final byte[] fieldsMatched;
+
+        private Scratch(int size) {
+            this.shared = new int[size];
+            this.touched = new int[size];
+            this.scored = new int[size];
+            this.candidates = new int[size];
+            this.scores = new float[size];
+            this.tieBreaks = new float[size];
+            this.fieldsMatched = new byte[size];
+        }
+    }
+
+    /**
+     * A ranked search hit.
+     */
+    public static final class Match {
+
+        private static final Comparator<Match> BY_RANK = Comparator
+                .comparingDouble((Match m) -> m.score).reversed()
+                .thenComparing(Comparator.comparingDouble((Match m) -> m.jaccard).reversed())
+                .thenComparingInt(m -> m.documentId);
+
+        private final int documentId;
+        private final Employee employee;
+        private final double score;
+        private final double jaccard;
+
+        private Match(int documentId, Employee employee, double score, double jaccard) {
+            this.documentId = documentId;
+            this.employee = employee;
+            this.score = score;
+            this.jaccard = jaccard;
+        }
+
+        public Employee getEmployee() {
+            return employee;
+        }
+
+        /**
+         * Returns the fraction of query trigrams found, averaged across queried fields.
+         *
+         * @return A score between 0 and 1
+         */
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Match{employeeNumber=%d, score=%.3f}", employee.getEmployeeNumber(), score);
+        }
+    }
+}
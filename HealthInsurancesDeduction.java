@@ -0,0 +1,56 @@
+package com.mycompany.motorph.calculation;
+
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.IOException;
+
+/**
+ * A class that calculates Pag-IBIG and PhilHealth deductions/contributions.
+ * It ensures proper computation of employee deductions based on salary, using the
+ * rates of the statutory rules in effect today.
+ * 
+ * @author Lance
+ */
+public class HealthInsurancesDeduction {
+
+    private final StatutoryRulesRegistry statutoryRules;
+
+    /**
+     * Constructor for HealthInsurancesDeduction using the default statutory rules.
+     */
+    public HealthInsurancesDeduction() {
+        this(StatutoryRulesRegistry.getDefault());
+    }
+
+    /**
+     * Constructor for HealthInsurancesDeduction with specific statutory rules.
+     *
+     * @param statutoryRules The versioned statutory rules
+     */
+    public HealthInsurancesDeduction(final StatutoryRulesRegistry statutoryRules) {
+        this.statutoryRules = statutoryRules;
+    }
+
+    /**
+     * Calculates the PhilHealth deduction based on the employee's gross wage.
+     *
+     * @param grossWage The employee's gross wage.
+     * @return The calculated PhilHealth deduction amount.
+     * @throws IOException If an I/O error occurs while reading the rules.
+     * @throws CsvValidationException If CSV validation fails.
+     */
+    public double calculatePhilHealthDeduction(final double grossWage) throws IOException, CsvValidationException {
+        return statutoryRules.current().calculatePhilHealth(grossWage);
+    }
+
+    /**
+     * Calculates the Pag-IBIG deduction based on the employee's gross wage.
+     *
+     * @param grossWage The employee's gross wage.
+     * @return The calculated Pag-IBIG deduction amount.
+     * @throws IOException If an I/O error occurs while reading the rules.
+     * @throws CsvValidationException If CSV validation fails.
+     */
+    public double calculatePagIbigDeduction(final double grossWage) throws IOException, CsvValidationException {
+        return statutoryRules.current().calculatePagIbig(grossWage);
+    }
+}
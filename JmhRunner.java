@@ -0,0 +1,36 @@
+package com.mycompany.motorph.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH suite with the GC profiler and saves the results as JSON.
+ * <p>
+ * Usage: {@code JmhRunner [include-regex] [result.json]} (defaults: every MotorPH
+ * benchmark, {@code jmh-result.json}). The GC profiler adds {@code gc.alloc.rate.norm}
+ * (bytes allocated per operation) next to each timing. Keep the JSON of a run on the
+ * main branch as the baseline, and compare a change's run against it, for example in
+ * a JMH results visualizer.
+ * </p>
+ *
+ * @author Lance
+ */
+public class JmhRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "com\\.mycompany\\.motorph\\.benchmark\\..*Benchmark";
+        String resultFile = args.length > 1 ? args[1] : "jmh-result.json";
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile);
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,132 @@
+package com.mycompany.motorph.api;
+
+/**
+ * Minimal streaming JSON writer for API responses.
+ * <p>
+ * Commas are inserted automatically between values, so callers only describe
+ * the structure. Not thread-safe; use one writer per response.
+ * </p>
+ *
+ * @author Lance
+ */
+final class JsonWriter {
+
+    private final StringBuilder json = new StringBuilder(256);
+
+    JsonWriter beginObject() {
+        separate();
+        json.append('{');
+        return this;
+    }
+
+    JsonWriter endObject() {
+        json.append('}');
+        return this;
+    }
+
+    JsonWriter beginArray() {
+        separate();
+        json.append('[');
+        return this;
+    }
+
+    JsonWriter endArray() {
+        json.append(']');
+        return this;
+    }
+
+    JsonWriter name(String name) {
+        separate();
+        appendString(name);
+        json.append(':');
+        return this;
+    }
+
+    JsonWriter value(String value) {
+        separate();
+        if (value == null) {
+            json.append("null");
+        } else {
+            appendString(value);
+        }
+        return this;
+    }
+
+    JsonWriter value(long value) {
+        separate();
+        json.append(value);
+        return this;
+    }
+
+    JsonWriter value(boolean value) {
+        separate();
+        json.append(value);
+        return this;
+    }
+
+    JsonWriter value(double value) {
+        separate();
+        if (Double.isFinite(value)) {
+            json.append(Math.round(value * 100.0) / 100.0); // Monetary amounts to the centavo
+        } else {
+            json.append("null");
+        }
+        return this;
+    }
+
+    JsonWriter field(String name, String value) {
+        return name(name).value(value);
+    }
+
+    JsonWriter field(String name, long value) {
+        return name(name).value(value);
+    }
+
+    JsonWriter field(String name, double value) {
+        return name(name).value(value);
+    }
+
+    JsonWriter field(String name, boolean value) {
+        return name(name).value(value);
+    }
+
+    @Override
+    public String toString() {
+        return json.toString();
+    }
+
+    /**
+     * Adds a comma unless this value opens a container or follows a field name.
+     */
+    private void separate() {
+        if (json.length() == 0) {
+            return;
+        }
+        char last = json.charAt(json.length() - 1);
+        if (last != '{' && last != '[' && last != ':') {
+            json.append(',');
+        }
+    }
+
+    private void appendString(String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
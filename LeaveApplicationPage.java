@@ -1,6 +1,5 @@
 package com.mycompany.motorph;
 
-import com.mycompany.motorph.data.LeaveDataManager;
 import static com.mycompany.motorph.model.DateRange.createDateRange;
 import com.mycompany.motorph.model.Leave;
 import com.opencsv.exceptions.CsvValidationException;
@@ -30,10 +29,22 @@ public class LeaveApplicationPage extends javax.swing.JFrame implements Employee
     private static final Color WHITE = new Color(255, 255, 255);
     private static final Color RED = new Color(191, 47, 47);
 
+    private final ApplicationContext context;
+
     /**
      * Constructor for LeaveApplicationPage.
      */
     public LeaveApplicationPage() {
+        this(new ApplicationContext());
+    }
+
+    /**
+     * Constructor for LeaveApplicationPage sharing the session's application context.
+     *
+     * @param context The shared application services
+     */
+    public LeaveApplicationPage(ApplicationContext context) {
+        this.context = context;
         initComponents();
         setupDateChoosers();
     }
@@ -145,7 +156,7 @@ public class LeaveApplicationPage extends javax.swing.JFrame implements Employee
         try {
             int employeeNumber = Integer.parseInt(txtEmployeeNumber.getText().trim());
 
-            if (employeeNumber <= 0 || employeeNumber > 34) {
+            if (context.getEmployeeInformation().findEmployee(employeeNumber).isEmpty()) {
                 showErrorDialog("Employee not found.");
                 return;
             }
@@ -175,12 +186,13 @@ public class LeaveApplicationPage extends javax.swing.JFrame implements Employee
             Leave leave = new Leave(employeeNumber, leaveType, startDateStr, endDateStr, reason);
             createDateRange(startDateStr, endDateStr);
 
-            LeaveDataManager leaveDataManager = new LeaveDataManager();
-            leaveDataManager.saveLeaveApplication(leave);
+            context.getLeaveDataManager().saveLeaveApplication(leave);
 
             showInformationDialog("Leave application submitted successfully.");
         } catch (NumberFormatException e) {
             showErrorDialog("Invalid employee number.");
+        } catch (IllegalArgumentException e) {
+            showErrorDialog(e.getMessage()); // Overlapping or reversed dates
         } catch (ParseException | IOException | CsvValidationException e) {
             showErrorDialog("Error submitting leave: " + e.getMessage());
         }
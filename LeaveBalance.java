@@ -0,0 +1,135 @@
+package com.mycompany.motorph.model;
+
+import java.time.YearMonth;
+
+/**
+ * An employee's leave balance per leave type, in days.
+ * <p>
+ * Immutable; the ledger publishes a new instance after every event, so a balance can
+ * be read without locking.
+ * </p>
+ *
+ * @author Lance
+ */
+public final class LeaveBalance {
+
+    private final int employeeNumber;
+    private final double[] accruedDays;
+    private final double[] usedDays;
+    private final YearMonth accruedFrom;
+    private final YearMonth accruedThrough;
+    private final YearMonth hiredIn;
+    private final int leaveCount;
+
+    /**
+     * Constructs a LeaveBalance.
+     *
+     * @param employeeNumber Employee's unique ID
+     * @param accruedDays Days accrued per leave type, indexed by ordinal
+     * @param usedDays Days consumed per leave type, indexed by ordinal
+     * @param accruedFrom First month whose accrual is included, or null if none
+     * @param accruedThrough Last month whose accrual is included, or null if none
+     * @param hiredIn The month the employee was hired, or null if not recorded
+     * @param leaveCount Number of leave applications consumed
+     */
+    public LeaveBalance(int employeeNumber, double[] accruedDays, double[] usedDays, YearMonth accruedFrom,
+                        YearMonth accruedThrough, YearMonth hiredIn, int leaveCount) {
+        this.employeeNumber = employeeNumber;
+        this.accruedDays = accruedDays.clone();
+        this.usedDays = usedDays.clone();
+        this.accruedFrom = accruedFrom;
+        this.accruedThrough = accruedThrough;
+        this.hiredIn = hiredIn;
+        this.leaveCount = leaveCount;
+    }
+
+    /**
+     * Returns an empty balance for an employee with no ledger events.
+     *
+     * @param employeeNumber Employee's unique ID
+     * @return A balance with nothing accrued or used
+     */
+    public static LeaveBalance empty(int employeeNumber) {
+        int types = LeaveType.values().length;
+        return new LeaveBalance(employeeNumber, new double[types], new double[types], null, null, null, 0);
+    }
+
+    public int getEmployeeNumber() {
+        return employeeNumber;
+    }
+
+    public double getAccruedDays(LeaveType type) {
+        return accruedDays[type.ordinal()];
+    }
+
+    public double getUsedDays(LeaveType type) {
+        return usedDays[type.ordinal()];
+    }
+
+    /**
+     * Returns the days still available; negative if more was taken than accrued.
+     *
+     * @param type The leave type
+     * @return Accrued minus used days
+     */
+    public double getRemainingDays(LeaveType type) {
+        return accruedDays[type.ordinal()] - usedDays[type.ordinal()];
+    }
+
+    public YearMonth getAccruedFrom() {
+        return accruedFrom;
+    }
+
+    public YearMonth getAccruedThrough() {
+        return accruedThrough;
+    }
+
+    public YearMonth getHiredIn() {
+        return hiredIn;
+    }
+
+    public int getLeaveCount() {
+        return leaveCount;
+    }
+
+    /**
+     * Returns a copy with accrued days added.
+     *
+     * @param type The leave type
+     * @param days Days to add to the accrued total; negative for a downward adjustment
+     * @param month The accrual month to record, or null to keep the current range
+     * @return The updated balance
+     */
+    public LeaveBalance plusAccrued(LeaveType type, double days, YearMonth month) {
+        double[] newAccrued = accruedDays.clone();
+        newAccrued[type.ordinal()] += days;
+        YearMonth from = month != null && (accruedFrom == null || month.isBefore(accruedFrom)) ? month : accruedFrom;
+        YearMonth through = month != null && (accruedThrough == null || month.isAfter(accruedThrough)) ? month : accruedThrough;
+        return new LeaveBalance(employeeNumber, newAccrued, usedDays, from, through, hiredIn, leaveCount);
+    }
+
+    /**
+     * Returns a copy with the hire month recorded.
+     *
+     * @param month The month the employee was hired
+     * @return The updated balance
+     */
+    public LeaveBalance withHiredIn(YearMonth month) {
+        return new LeaveBalance(employeeNumber, accruedDays, usedDays, accruedFrom, accruedThrough, month, leaveCount);
+    }
+
+    /**
+     * Returns a copy with one leave application consumed.
+     *
+     * @param type The leave type, or null if the application's type is not recognised
+     * @param days Days taken by the application
+     * @return The updated balance
+     */
+    public LeaveBalance plusUsed(LeaveType type, double days) {
+        double[] newUsed = usedDays.clone();
+        if (type != null) {
+            newUsed[type.ordinal()] += days;
+        }
+        return new LeaveBalance(employeeNumber, accruedDays, newUsed, accruedFrom, accruedThrough, hiredIn, leaveCount + 1);
+    }
+}
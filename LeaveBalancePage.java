@@ -1,9 +1,8 @@
 package com.mycompany.motorph;
 
-import com.mycompany.motorph.data.LeaveDataManager;
-import com.mycompany.motorph.employee.EmployeeInformation;
 import com.mycompany.motorph.model.Leave;
-import com.mycompany.motorph.util.CurrencyUtil;
+import com.mycompany.motorph.model.LeaveBalance;
+import com.mycompany.motorph.model.LeaveType;
 import com.opencsv.exceptions.CsvValidationException;
 
 import javax.swing.*;
@@ -28,10 +27,22 @@ public class LeaveBalancePage extends javax.swing.JFrame implements EmployeeInfo
     private static final Color WHITE = new Color(255, 255, 255);
     private static final Color RED = new Color(191, 47, 47);
 
+    private final ApplicationContext context;
+
     /**
      * Constructor for LeaveBalancePage.
      */
     public LeaveBalancePage() {
+        this(new ApplicationContext());
+    }
+
+    /**
+     * Constructor for LeaveBalancePage sharing the session's application context.
+     *
+     * @param context The shared application services
+     */
+    public LeaveBalancePage(ApplicationContext context) {
+        this.context = context;
         initComponents();
     }
 
@@ -152,22 +163,18 @@ public class LeaveBalancePage extends javax.swing.JFrame implements EmployeeInfo
         try {
             int employeeNumber = Integer.parseInt(txtEmployeeNumber.getText().trim());
 
-            if (employeeNumber <= 0 || employeeNumber > 34) {
+            if (context.getEmployeeInformation().findEmployee(employeeNumber).isEmpty()) {
                 showErrorDialog("Employee not found.");
                 return;
             }
 
-            List<String> employeeInfo = new EmployeeInformation().showEmployeeInformation(employeeNumber);
-            List<Leave> leaves = new LeaveDataManager().getLeavesByEmployeeNumber(employeeNumber);
+            List<String> employeeInfo = context.getEmployeeInformation().getEmployeeInformation(employeeNumber);
+            List<Leave> leaves = context.getLeaveDataManager().getLeavesByEmployeeNumber(employeeNumber);
+            LeaveBalance balance = context.getLeaveDataManager().getLeaveBalance(employeeNumber);
 
-            if (leaves.isEmpty()) {
-                showErrorDialog("No leave data found for this employee.");
-                return;
-            }
-
-            Leave leaveInfo = leaves.get(0); // Assuming most recent leave
+            Leave leaveInfo = leaves.isEmpty() ? null : leaves.get(leaves.size() - 1); // Leaves are in date order; show the latest
 
-            updateEmployeeInformationFields(employeeInfo, leaveInfo);
+            updateEmployeeInformationFields(employeeInfo, leaveInfo, balance);
         } catch (NumberFormatException e) {
             showErrorDialog("Invalid employee number.");
         } catch (ParseException | IOException | CsvValidationException e) {
@@ -186,15 +193,19 @@ public class LeaveBalancePage extends javax.swing.JFrame implements EmployeeInfo
     /**
      * Updates employee leave balance fields.
      */
-    private void updateEmployeeInformationFields(List<String> employeeInfo, Leave leaveInfo) {
+    private void updateEmployeeInformationFields(List<String> employeeInfo, Leave leaveInfo, LeaveBalance balance) {
         txtFirstName.setText(employeeInfo.get(0));
         txtLastName.setText(employeeInfo.get(1));
-        txtStartDate.setText(leaveInfo.getStartDate());
-        txtEndDate.setText(leaveInfo.getEndDate());
+        txtStartDate.setText(leaveInfo == null ? "" : leaveInfo.getStartDate());
+        txtEndDate.setText(leaveInfo == null ? "" : leaveInfo.getEndDate());
+
+        txtSickLeave.setText(formatDays(balance.getRemainingDays(LeaveType.SICK)));
+        txtVacationLeave.setText(formatDays(balance.getRemainingDays(LeaveType.VACATION)));
+        txtEmergencyLeave.setText(formatDays(balance.getRemainingDays(LeaveType.EMERGENCY)));
+    }
 
-        txtSickLeave.setText(CurrencyUtil.formatCurrency(leaveInfo.getSickLeaveAmount()));
-        txtVacationLeave.setText(CurrencyUtil.formatCurrency(leaveInfo.getVacationLeaveAmount()));
-        txtEmergencyLeave.setText(CurrencyUtil.formatCurrency(leaveInfo.getEmergencyLeaveAmount()));
+    private static String formatDays(double days) {
+        return String.format("%.2f days", days);
     }
 
     /**
@@ -1,31 +1,99 @@
 package com.mycompany.motorph.data;
 
+import com.mycompany.motorph.events.CsvLoadEvent;
+import com.mycompany.motorph.metrics.CacheStats;
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.metrics.Timer;
 import com.mycompany.motorph.model.Leave;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
+import com.mycompany.motorph.model.LeaveBalance;
+import com.mycompany.motorph.model.LeaveType;
 import com.opencsv.exceptions.CsvValidationException;
 
-import java.io.*;
+import java.io.Closeable;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
-import java.util.*;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 /**
  * Manages leave applications, including saving, loading, and retrieving leave data.
  * <p>
  * Reads leave applications from a CSV file, processes leave requests, and updates records.
+ * Records are read once and kept in memory with an index by employee number whose lists
+ * are kept in start-date order, so a query reads only that employee's records, already
+ * sorted, and can page through them without scanning or re-reading the file. An employee
+ * may have any number of leave applications, but not two whose dates overlap.
+ * </p>
+ * <p>
+ * Leave dates are also held in {@link LeaveIntervalTree}s: one per employee for the
+ * overlap check on submission, and one over all leaves for "who is out between these
+ * dates" queries, both answered without scanning unrelated records.
+ * </p>
+ * <p>
+ * New applications are appended to a {@link LeaveJournal} beside the CSV file instead of
+ * rewriting it, so a submission costs the same regardless of how many leaves exist, and
+ * concurrent submissions share one fsync. A background task folds the journal back into
+ * the CSV snapshot every {@code motorph.leaves.compactSeconds} seconds (default 300) or
+ * once {@value #COMPACTION_THRESHOLD} entries have accumulated.
+ * </p>
+ * <p>
+ * Leave balances come from a {@link LeaveLedger}: each durable application posts a
+ * consumption event, and monthly accruals are posted when a balance is first asked for
+ * in a new month, from the hire month given to {@link #recordHire}. Loading reconciles
+ * the ledger with the leave file by application, posting any the ledger has not seen, so
+ * existing leave files, crashes between the two writes and failed posts are all covered.
  * </p>
  * 
  * @author Lance
  */
-public class LeaveDataManager {
+public class LeaveDataManager implements Closeable {
 
     private static final String LEAVE_DATA_PATH = "src/main/resources/data/leave_balances.csv";
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final Timer READ_TIMER = MetricsRegistry.timer("csv.leaves.read");
+    private static final CacheStats LEAVE_CACHE = MetricsRegistry.cache("cache.leaves");
+
+    /** Journal entries that trigger a compaction without waiting for the next period. */
+    public static final int COMPACTION_THRESHOLD = 10_000;
+    private static final long COMPACTION_PERIOD_SECONDS = Long.getLong("motorph.leaves.compactSeconds", 300L);
+    private static final Comparator<Leave> DATE_ORDER = Comparator
+            .comparingLong((Leave leave) -> epochDay(leave.getStartDate()))
+            .thenComparingLong(leave -> epochDay(leave.getEndDate()));
+
+    private final String leaveDataPath;
+    private final LeaveJournal journal;
+    private final LeaveLedger ledger;
+    private final Clock clock;
+    private final BusinessCalendar businessCalendar = BusinessCalendar.getDefault();
+    private final Object compactionLock = new Object();
+
+    // Guarded by this; the index is also read without the lock
+    private final List<Leave> leaves = new ArrayList<>();
+    private volatile Map<Integer, List<Leave>> leavesByEmployee = new ConcurrentHashMap<>();
+    private LeaveIntervalTree leaveCalendar = new LeaveIntervalTree();
+    private Map<Integer, LeaveIntervalTree> calendarsByEmployee = new HashMap<>();
+    private volatile boolean loaded;
+    private ScheduledExecutorService compactor;
+    private boolean compactionQueued;
 
     // Constants for Leave Types
     private static final double SICK_LEAVE_MULTIPLIER = 1500.0;
@@ -39,52 +107,600 @@ public class LeaveDataManager {
     };
 
     /**
-     * Saves a new leave application to the CSV file.
+     * Constructor for LeaveDataManager.
+     */
+    public LeaveDataManager() {
+        this(LEAVE_DATA_PATH);
+    }
+
+    /**
+     * Constructor for LeaveDataManager over a specific leave file.
+     *
+     * @param leaveDataPath Path to the leave CSV file
+     */
+    public LeaveDataManager(final String leaveDataPath) {
+        this(leaveDataPath, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor for LeaveDataManager with the clock that decides the current month.
+     *
+     * @param leaveDataPath Path to the leave CSV file
+     * @param clock The clock used by {@link #getLeaveBalance(int)}
+     */
+    public LeaveDataManager(final String leaveDataPath, final Clock clock) {
+        this.leaveDataPath = leaveDataPath;
+        this.journal = new LeaveJournal(Paths.get(leaveDataPath));
+        this.ledger = new LeaveLedger(leaveDataPath);
+        this.clock = clock;
+    }
+
+    /**
+     * Saves a new leave application.
+     * <p>
+     * Returns once the application is durable in the journal. Only the overlap check,
+     * the indexing and the queueing happen under the lock, so concurrent submitters are
+     * committed together.
+     * </p>
      *
      * @param leave The leave application to be saved
      * @throws IOException If an I/O error occurs
      * @throws CsvValidationException If CSV validation fails
+     * @throws IllegalArgumentException If the dates are reversed or overlap another of the employee's leaves
      */
     public void saveLeaveApplication(final Leave leave) throws IOException, CsvValidationException {
-        List<Leave> leaves = loadLeaveApplications();
+        ensureLoaded();
+        long startDay = LocalDate.parse(leave.getStartDate(), DATE_FORMAT).toEpochDay();
+        long endDay = LocalDate.parse(leave.getEndDate(), DATE_FORMAT).toEpochDay();
+        if (endDay < startDay) {
+            throw new IllegalArgumentException("Leave ends before it starts: " + leave.getStartDate() + " to " + leave.getEndDate());
+        }
 
-        // Check if the leave application already exists for the employee
-        if (leaves.stream().anyMatch(l -> l.getEmployeeNumber() == leave.getEmployeeNumber())) {
-            throw new IllegalArgumentException("Record already exists for employee number: " + leave.getEmployeeNumber());
+        CompletableFuture<Void> durable;
+        synchronized (this) {
+            LeaveIntervalTree calendar = calendarsByEmployee.get(leave.getEmployeeNumber());
+            Leave overlapping = calendar == null ? null : calendar.findAnyOverlap(startDay, endDay);
+            if (overlapping != null) {
+                throw new IllegalArgumentException("Leave overlaps an existing " + overlapping.getLeaveType() + " from "
+                        + overlapping.getStartDate() + " to " + overlapping.getEndDate());
+            }
+
+            // Calculate leave amounts
+            calculateLeaveAmounts(leave);
+
+            durable = journal.append(formatLeaveData(leave));
+            index(leave);
         }
 
-        // Calculate leave amounts
-        calculateLeaveAmounts(leave);
+        try {
+            LeaveJournal.await(durable);
+        } catch (IOException e) {
+            synchronized (this) {
+                leaves.remove(leave);
+                unindex(leave);
+            }
+            throw e;
+        }
 
-        // Add new leave application
-        leaves.add(leave);
+        try {
+            ledger.recordConsumptions(Collections.singletonList(consumptionOf(leave)), YearMonth.now(clock));
+        } catch (IOException e) {
+            // The leave itself is saved; the next load posts the missing consumption
+            System.err.println("Leave saved but balance not updated until next load: " + e.getMessage());
+        }
+        scheduleCompaction();
+    }
+
+    /**
+     * Saves a batch of leave applications, committing every accepted one in a single write.
+     * <p>
+     * Each application is checked in list order against the employee's existing leaves
+     * and the applications accepted before it; ones that cannot be saved are returned
+     * with the reason instead of failing the batch. The checks and the queueing happen
+     * under one hold of the lock, so the batch is consistent with concurrent submissions.
+     * </p>
+     *
+     * @param applications The leave applications, in the order they should be applied
+     * @return The rejected applications with their reasons, in list order; every other application was saved
+     * @throws IOException If the batch cannot be made durable; nothing from it is kept
+     * @throws CsvValidationException If CSV validation fails
+     */
+    public Map<Leave, String> saveLeaveApplications(final List<Leave> applications) throws IOException, CsvValidationException {
+        ensureLoaded();
+        Map<Leave, String> rejected = new LinkedHashMap<>();
+        List<Leave> accepted = new ArrayList<>(applications.size());
 
-        // Write updated leave records to the CSV file
-        try (CSVWriter writer = new CSVWriter(new BufferedWriter(new FileWriter(LEAVE_DATA_PATH)))) {
-            writer.writeNext(HEADER);
-            for (Leave l : leaves) {
-                writer.writeNext(formatLeaveData(l));
+        CompletableFuture<Void> durable;
+        synchronized (this) {
+            List<String[]> records = new ArrayList<>(applications.size());
+            for (Leave leave : applications) {
+                long startDay = epochDay(leave.getStartDate());
+                long endDay = epochDay(leave.getEndDate());
+                if (startDay == Long.MIN_VALUE || endDay == Long.MIN_VALUE) {
+                    rejected.put(leave, "Dates must be in MM/dd/yyyy format");
+                    continue;
+                }
+                if (endDay < startDay) {
+                    rejected.put(leave, "Leave ends before it starts");
+                    continue;
+                }
+                LeaveIntervalTree calendar = calendarsByEmployee.get(leave.getEmployeeNumber());
+                Leave overlapping = calendar == null ? null : calendar.findAnyOverlap(startDay, endDay);
+                if (overlapping != null) {
+                    rejected.put(leave, "Overlaps " + overlapping.getLeaveType() + " from "
+                            + overlapping.getStartDate() + " to " + overlapping.getEndDate());
+                    continue;
+                }
+
+                calculateLeaveAmounts(leave);
+                records.add(formatLeaveData(leave));
+                leaves.add(leave);
+                addToCalendars(leave, startDay, endDay);
+                accepted.add(leave);
             }
+
+            // Merge each employee's new leaves into their date-ordered list once, not per leave
+            Map<Integer, List<Leave>> added = new HashMap<>();
+            for (Leave leave : accepted) {
+                added.computeIfAbsent(leave.getEmployeeNumber(), employeeNumber -> new ArrayList<>()).add(leave);
+            }
+            added.forEach((employeeNumber, employeeLeaves) -> {
+                List<Leave> combined = new ArrayList<>(leavesByEmployee.getOrDefault(employeeNumber, Collections.emptyList()));
+                combined.addAll(employeeLeaves);
+                leavesByEmployee.put(employeeNumber, sortByDate(combined));
+            });
+            durable = records.isEmpty() ? CompletableFuture.completedFuture(null) : journal.appendAll(records);
+        }
+
+        try {
+            LeaveJournal.await(durable);
+        } catch (IOException e) {
+            synchronized (this) {
+                leaves.removeAll(new HashSet<>(accepted));
+                accepted.forEach(this::unindex);
+            }
+            throw e;
+        }
+
+        List<String[]> consumptions = new ArrayList<>(accepted.size());
+        for (Leave leave : accepted) {
+            consumptions.add(consumptionOf(leave));
+        }
+        try {
+            ledger.recordConsumptions(consumptions, YearMonth.now(clock));
+        } catch (IOException e) {
+            System.err.println("Leaves saved but balances not updated until next load: " + e.getMessage());
+        }
+        scheduleCompaction();
+        return rejected;
+    }
+
+    /**
+     * Returns an employee's leave balance as of the current month of this manager's clock.
+     *
+     * @param employeeNumber The employee number
+     * @return The balance per leave type
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV validation fails
+     */
+    public LeaveBalance getLeaveBalance(final int employeeNumber) throws IOException, CsvValidationException {
+        return getLeaveBalance(employeeNumber, YearMonth.now(clock));
+    }
+
+    /**
+     * Returns an employee's leave balance, posting any accrual due up to a month.
+     * <p>
+     * Balances are materialized by the ledger, so this is a map lookup; only the first
+     * query for an employee in a new month writes its accrual events. A balance already
+     * accrued past {@code asOf} is returned as it is.
+     * </p>
+     *
+     * @param employeeNumber The employee number
+     * @param asOf The last month to accrue
+     * @return The balance per leave type
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV validation fails
+     */
+    public LeaveBalance getLeaveBalance(final int employeeNumber, final YearMonth asOf) throws IOException, CsvValidationException {
+        ensureLoaded();
+        LeaveBalance balance = ledger.getBalance(employeeNumber);
+        if (balance.getAccruedThrough() == null || balance.getAccruedThrough().isBefore(asOf)) {
+            ledger.accrueThrough(employeeNumber, asOf);
+            balance = ledger.getBalance(employeeNumber);
+        }
+        return balance;
+    }
+
+    /**
+     * Returns how many working days of each leave application are paid.
+     * <p>
+     * An application is paid as far as its balance covered it when the ledger charged it,
+     * in whole days, so payroll agrees with the balance an employee was shown. Days beyond
+     * that, applications of unrecognised types and ones not yet charged are unpaid.
+     * </p>
+     *
+     * @param leaves Leave applications, e.g. from {@link #getLeavesByEmployeeNumber(int)}
+     * @return The paid working days of each application, in list order
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV validation fails
+     */
+    public int[] getPaidLeaveDays(final List<Leave> leaves) throws IOException, CsvValidationException {
+        ensureLoaded();
+        int[] paidDays = new int[leaves.size()];
+        for (int i = 0; i < paidDays.length; i++) {
+            Leave leave = leaves.get(i);
+            paidDays[i] = (int) ledger.getPaidDays(leave.getEmployeeNumber(), referenceOf(leave));
         }
+        return paidDays;
+    }
+
+    /**
+     * Records when an employee was hired, so that leave accrues from the hire month.
+     * <p>
+     * The employee file carries no hire date, so without this call accrual starts in the
+     * first month a balance is asked for. Recording the hire later corrects accrual already
+     * posted.
+     * </p>
+     *
+     * @param employeeNumber The employee number
+     * @param hireDate The hire date
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV validation fails
+     * @throws IllegalArgumentException If a different hire month is already recorded
+     */
+    public void recordHire(final int employeeNumber, final LocalDate hireDate) throws IOException, CsvValidationException {
+        ensureLoaded();
+        ledger.recordHire(employeeNumber, YearMonth.from(hireDate));
     }
 
     /**
      * Retrieves all leave applications for a specific employee.
      *
      * @param employeeNumber The employee number
-     * @return A list of leave applications for the specified employee
+     * @return The employee's leave applications ordered by start date, then end date
      * @throws IOException If an I/O error occurs
      * @throws CsvValidationException If CSV validation fails
      */
     public List<Leave> getLeavesByEmployeeNumber(final int employeeNumber) throws IOException, CsvValidationException {
-        return loadLeaveApplications()
-                .stream()
-                .filter(leave -> leave.getEmployeeNumber() == employeeNumber)
-                .collect(Collectors.toList());
+        ensureLoaded();
+        return leavesByEmployee.getOrDefault(employeeNumber, Collections.emptyList());
+    }
+
+    /**
+     * Retrieves one page of an employee's leave applications.
+     *
+     * @param employeeNumber The employee number
+     * @param offset Number of applications to skip, in date order
+     * @param limit Maximum number of applications to return
+     * @return The page, ordered by start date, then end date
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV validation fails
+     */
+    public List<Leave> getLeavesByEmployeeNumber(final int employeeNumber, final int offset, final int limit) throws IOException, CsvValidationException {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+        List<Leave> all = getLeavesByEmployeeNumber(employeeNumber);
+        int from = Math.min(offset, all.size());
+        return all.subList(from, (int) Math.min((long) from + limit, all.size()));
+    }
+
+    /**
+     * Finds every leave that covers at least one day in a date range.
+     *
+     * @param from First day of the range
+     * @param to Last day of the range
+     * @return The overlapping leaves of all employees, ordered by start date
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV validation fails
+     */
+    public List<Leave> getLeavesOverlapping(final LocalDate from, final LocalDate to) throws IOException, CsvValidationException {
+        ensureLoaded();
+        List<Leave> overlapping = new ArrayList<>();
+        synchronized (this) {
+            leaveCalendar.collectOverlaps(from.toEpochDay(), to.toEpochDay(), overlapping);
+        }
+        return overlapping;
+    }
+
+    /**
+     * Finds one of an employee's leaves that covers at least one day in a date range.
+     *
+     * @param employeeNumber The employee number
+     * @param from First day of the range
+     * @param to Last day of the range
+     * @return An overlapping leave, or empty if the employee is not on leave in the range
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV validation fails
+     */
+    public Optional<Leave> findOverlappingLeave(final int employeeNumber, final LocalDate from, final LocalDate to) throws IOException, CsvValidationException {
+        ensureLoaded();
+        synchronized (this) {
+            LeaveIntervalTree calendar = calendarsByEmployee.get(employeeNumber);
+            return Optional.ofNullable(calendar == null ? null : calendar.findAnyOverlap(from.toEpochDay(), to.toEpochDay()));
+        }
     }
 
     /**
-     * Loads all leave applications from the CSV file.
+     * Counts an employee's leave applications.
+     *
+     * @param employeeNumber The employee number
+     * @return The number of leave applications on file
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV validation fails
+     */
+    public int countLeavesByEmployeeNumber(final int employeeNumber) throws IOException, CsvValidationException {
+        return getLeavesByEmployeeNumber(employeeNumber).size();
+    }
+
+    /**
+     * Re-reads the leave file and journal, replacing the cached records.
+     *
+     * @return The number of leave applications loaded
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV validation fails
+     */
+    public synchronized int reload() throws IOException, CsvValidationException {
+        List<Leave> loadedLeaves = loadLeaveApplications();
+
+        Map<Integer, List<Leave>> grouped = new HashMap<>();
+        for (Leave leave : loadedLeaves) {
+            grouped.computeIfAbsent(leave.getEmployeeNumber(), employeeNumber -> new ArrayList<>()).add(leave);
+        }
+        Map<Integer, List<Leave>> byEmployee = new ConcurrentHashMap<>(grouped.size() * 2);
+        grouped.forEach((employeeNumber, employeeLeaves) -> byEmployee.put(employeeNumber, sortByDate(employeeLeaves)));
+
+        leaves.clear();
+        leaves.addAll(loadedLeaves);
+        leavesByEmployee = byEmployee;
+        leaveCalendar = new LeaveIntervalTree();
+        calendarsByEmployee = new HashMap<>(grouped.size() * 2);
+        loadedLeaves.forEach(this::addToCalendars);
+        reconcileLedger();
+        loaded = true;
+        return leaves.size();
+    }
+
+    /**
+     * Rewrites the CSV snapshot with every durable leave and empties the journal.
+     *
+     * @throws IOException If the snapshot cannot be written
+     * @throws CsvValidationException If the leave file cannot be loaded
+     */
+    public void compact() throws IOException, CsvValidationException {
+        ensureLoaded();
+        synchronized (compactionLock) {
+            synchronized (this) {
+                compactionQueued = false;
+            }
+            // Built from what the journal has committed, not from the in-memory leaves, which
+            // include applications still waiting for their fsync
+            if (journal.pendingEntries() > 0) {
+                journal.compact(HEADER);
+            }
+        }
+    }
+
+    /**
+     * Stops background compaction and the journal writer.
+     *
+     * @throws IOException If queued appends cannot be committed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (compactor != null) {
+                compactor.shutdownNow();
+            }
+        }
+        try {
+            journal.close();
+        } finally {
+            ledger.close();
+        }
+    }
+
+    /**
+     * Loads the ledger and posts consumption for every leave it has not recorded yet.
+     * Caller holds the lock.
+     * <p>
+     * The ledger matches consumptions to applications by employee and dates, so it posts
+     * exactly the ones missing, whatever order saves posted theirs in.
+     * </p>
+     *
+     * @throws IOException If the ledger cannot be read or written
+     */
+    private void reconcileLedger() throws IOException {
+        ledger.load();
+        List<String[]> consumptions = new ArrayList<>(leaves.size());
+        for (Leave leave : leaves) {
+            consumptions.add(consumptionOf(leave));
+        }
+        ledger.recordConsumptions(consumptions, YearMonth.now(clock));
+    }
+
+    /**
+     * Builds the ledger event consuming a leave application's days.
+     *
+     * @param leave The leave application
+     * @return The consumption event
+     */
+    private String[] consumptionOf(final Leave leave) {
+        LeaveType type;
+        try {
+            type = LeaveType.fromLabel(leave.getLeaveType());
+        } catch (IllegalArgumentException e) {
+            type = null; // Counted, but charged to no balance
+        }
+        long startDay = epochDay(leave.getStartDate());
+        long endDay = epochDay(leave.getEndDate());
+        long days = startDay == Long.MIN_VALUE || endDay == Long.MIN_VALUE ? 0 : businessCalendar.countWorkdays(startDay, endDay);
+        return LeaveLedger.consumption(leave.getEmployeeNumber(), type, days, referenceOf(leave));
+    }
+
+    /**
+     * Identifies a leave application to the ledger by its dates.
+     */
+    private static String referenceOf(final Leave leave) {
+        return leave.getStartDate() + " to " + leave.getEndDate();
+    }
+
+    /**
+     * Loads the leave file on first use.
+     *
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV validation fails
+     */
+    private void ensureLoaded() throws IOException, CsvValidationException {
+        if (loaded) {
+            LEAVE_CACHE.hit();
+        } else {
+            LEAVE_CACHE.miss();
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a leave to the commit-ordered list and to its employee's date-ordered list.
+     * Caller holds the lock.
+     * <p>
+     * Employee lists are replaced rather than modified, so readers never need the lock.
+     * </p>
+     *
+     * @param leave The leave application
+     */
+    private void index(final Leave leave) {
+        leaves.add(leave);
+        addToCalendars(leave);
+        leavesByEmployee.merge(leave.getEmployeeNumber(), Collections.singletonList(leave), (existing, added) -> {
+            // Insert after any equal dates so same-day applications keep submission order
+            int low = 0;
+            int high = existing.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (DATE_ORDER.compare(existing.get(middle), leave) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            List<Leave> combined = new ArrayList<>(existing.size() + 1);
+            combined.addAll(existing.subList(0, low));
+            combined.add(leave);
+            combined.addAll(existing.subList(low, existing.size()));
+            return Collections.unmodifiableList(combined);
+        });
+    }
+
+    /**
+     * Removes a leave whose journal write failed from the employee index and interval
+     * trees; the caller removes it from the commit-ordered list. Caller holds the lock.
+     *
+     * @param leave The leave application
+     */
+    private void unindex(final Leave leave) {
+        long startDay = epochDay(leave.getStartDate());
+        long endDay = epochDay(leave.getEndDate());
+        leaveCalendar.remove(startDay, endDay, leave);
+        calendarsByEmployee.get(leave.getEmployeeNumber()).remove(startDay, endDay, leave);
+        leavesByEmployee.computeIfPresent(leave.getEmployeeNumber(), (employeeNumber, existing) -> {
+            List<Leave> remaining = new ArrayList<>(existing);
+            remaining.remove(leave);
+            return remaining.isEmpty() ? null : Collections.unmodifiableList(remaining);
+        });
+    }
+
+    /**
+     * Adds a leave to the overall and per-employee interval trees. Caller holds the lock.
+     * Leaves with unreadable dates are left out of the trees.
+     *
+     * @param leave The leave application
+     */
+    private void addToCalendars(final Leave leave) {
+        long startDay = epochDay(leave.getStartDate());
+        long endDay = epochDay(leave.getEndDate());
+        if (startDay == Long.MIN_VALUE || endDay == Long.MIN_VALUE) {
+            return;
+        }
+        addToCalendars(leave, startDay, endDay);
+    }
+
+    private void addToCalendars(final Leave leave, final long startDay, final long endDay) {
+        leaveCalendar.insert(startDay, endDay, leave);
+        calendarsByEmployee.computeIfAbsent(leave.getEmployeeNumber(), employeeNumber -> new LeaveIntervalTree())
+                .insert(startDay, endDay, leave);
+    }
+
+    /**
+     * Sorts one employee's leaves by date, parsing each date once.
+     *
+     * @param employeeLeaves The leaves in commit order
+     * @return An unmodifiable, date-ordered copy; ties keep commit order
+     */
+    private static List<Leave> sortByDate(final List<Leave> employeeLeaves) {
+        int size = employeeLeaves.size();
+        long[][] keys = new long[size][];
+        for (int i = 0; i < size; i++) {
+            Leave leave = employeeLeaves.get(i);
+            keys[i] = new long[]{epochDay(leave.getStartDate()), epochDay(leave.getEndDate()), i};
+        }
+        Arrays.sort(keys, Comparator.<long[]>comparingLong(key -> key[0]).thenComparingLong(key -> key[1])
+                .thenComparingLong(key -> key[2]));
+
+        List<Leave> sorted = new ArrayList<>(size);
+        for (long[] key : keys) {
+            sorted.add(employeeLeaves.get((int) key[2]));
+        }
+        return Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Converts an MM/dd/yyyy date to an epoch day for ordering; unparseable dates sort first.
+     *
+     * @param date The date text
+     * @return The epoch day
+     */
+    private static long epochDay(final String date) {
+        try {
+            return LocalDate.parse(date, DATE_FORMAT).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Starts the periodic compactor on first save, and compacts early once the journal is long.
+     */
+    private synchronized void scheduleCompaction() {
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "leave-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            compactor.scheduleWithFixedDelay(this::compactQuietly, COMPACTION_PERIOD_SECONDS,
+                    COMPACTION_PERIOD_SECONDS, TimeUnit.SECONDS);
+        }
+        if (!compactionQueued && journal.pendingEntries() >= COMPACTION_THRESHOLD) {
+            compactionQueued = true;
+            compactor.execute(this::compactQuietly);
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | CsvValidationException e) {
+            System.err.println("Leave compaction failed, journal kept: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads all leave applications from the CSV snapshot and journal.
      *
      * @return A list of leave applications
      * @throws IOException If an I/O error occurs
@@ -93,32 +709,29 @@ public class LeaveDataManager {
     private List<Leave> loadLeaveApplications() throws IOException, CsvValidationException {
         List<Leave> leaves = new ArrayList<>();
 
-        if (!Files.exists(Paths.get(LEAVE_DATA_PATH))) {
+        if (!Files.exists(Paths.get(leaveDataPath)) && !Files.exists(Paths.get(leaveDataPath + LeaveJournal.JOURNAL_SUFFIX))) {
             return leaves; // Return empty list if file doesn't exist
         }
 
-        try (CSVReader reader = new CSVReader(new BufferedReader(new FileReader(LEAVE_DATA_PATH)))) {
-            String[] data;
-            reader.readNext(); // Skip header
-
-            while ((data = reader.readNext()) != null) {
-                if (data.length < 8) continue; // Skip corrupted rows
+        long started = READ_TIMER.start();
+        CsvLoadEvent event = CsvLoadEvent.start("leaves", leaveDataPath);
+        for (String[] data : journal.read()) {
+            Leave leave = new Leave(
+                    parseInteger(data[0]), data[1], data[2], data[3], data[4]
+            );
+            leave.setSickLeaveAmount(parseDouble(data[5]));
+            leave.setVacationLeaveAmount(parseDouble(data[6]));
+            leave.setEmergencyLeaveAmount(parseDouble(data[7]));
 
-                Leave leave = new Leave(
-                        parseInteger(data[0]), data[1], data[2], data[3], data[4]
-                );
-                leave.setSickLeaveAmount(parseDouble(data[5]));
-                leave.setVacationLeaveAmount(parseDouble(data[6]));
-                leave.setEmergencyLeaveAmount(parseDouble(data[7]));
-
-                leaves.add(leave);
-            }
+            leaves.add(leave);
         }
+        event.finish(leaves.size());
+        READ_TIMER.stop(started, leaves.size());
         return leaves;
     }
 
     /**
-     * Calculates leave amounts based on leave type and duration.
+     * Calculates leave amounts based on leave type and the working days taken.
      *
      * @param leave The leave application to calculate amounts for
      */
@@ -126,9 +739,8 @@ public class LeaveDataManager {
         LocalDate startDate = LocalDate.parse(leave.getStartDate(), DATE_FORMAT);
         LocalDate endDate = LocalDate.parse(leave.getEndDate(), DATE_FORMAT);
 
-        long diffInDays = TimeUnit.DAYS.convert(
-                Math.abs(endDate.toEpochDay() - startDate.toEpochDay()), TimeUnit.DAYS
-        ) + 1; // Include both start and end dates
+        // Working days only, including both start and end dates
+        long diffInDays = businessCalendar.countWorkdays(startDate, endDate);
 
         // Reset amounts to 0
         leave.setSickLeaveAmount(0);
@@ -0,0 +1,282 @@
+package com.mycompany.motorph.employee;
+
+import com.mycompany.motorph.data.LeaveDataManager;
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.metrics.Timer;
+import com.mycompany.motorph.model.Employee;
+import com.mycompany.motorph.model.Leave;
+import com.mycompany.motorph.model.LeaveType;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Imports a batch of leave applications from a CSV file, such as a branch office's
+ * spreadsheet export.
+ * <p>
+ * Rows are validated in parallel: employee number, employee existence, leave type and
+ * dates. The valid rows are then handed to
+ * {@link LeaveDataManager#saveLeaveApplications(List)}, which checks them for overlaps
+ * in file order, computes their amounts and commits every accepted row in one journal
+ * write. Rows that fail either step are reported with their row number and reason;
+ * they do not stop the rest of the batch.
+ * </p>
+ * <p>
+ * The file uses the leave file's first five columns: Employee Number, Leave Type,
+ * Start Date, End Date and Reason. A header row is optional, and any amount columns
+ * are ignored.
+ * </p>
+ *
+ * @author Lance
+ */
+public class LeaveImporter {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final Timer IMPORT_TIMER = MetricsRegistry.timer("leaves.import");
+
+    private final EmployeeInformation employeeInformation;
+    private final LeaveDataManager leaveDataManager;
+
+    /**
+     * Constructor for LeaveImporter.
+     *
+     * @param employeeInformation The employee repository, for existence checks
+     * @param leaveDataManager The leave store to import into
+     */
+    public LeaveImporter(final EmployeeInformation employeeInformation, final LeaveDataManager leaveDataManager) {
+        this.employeeInformation = employeeInformation;
+        this.leaveDataManager = leaveDataManager;
+    }
+
+    /**
+     * Imports every leave application in a CSV file.
+     *
+     * @param importPath Path to the CSV file
+     * @return The accepted count and the rejected rows
+     * @throws IOException If a file cannot be read or the batch cannot be saved
+     * @throws CsvValidationException If CSV data is invalid
+     * @throws ParseException If employee data cannot be parsed
+     */
+    public Result importFile(final String importPath) throws IOException, CsvValidationException, ParseException {
+        List<String[]> rows = new ArrayList<>();
+        try (CSVReader reader = new CSVReader(new BufferedReader(new FileReader(importPath), 1 << 16))) {
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                rows.add(row);
+            }
+        }
+        int firstRow = 1;
+        if (!rows.isEmpty() && !isInteger(rows.get(0)[0])) {
+            rows.remove(0); // Header
+            firstRow = 2;
+        }
+        return importRows(rows, firstRow);
+    }
+
+    /**
+     * Imports leave applications from already-read CSV rows.
+     *
+     * @param rows The rows, without a header
+     * @param firstRowNumber The row number to report for the first row
+     * @return The accepted count and the rejected rows
+     * @throws IOException If the batch cannot be saved
+     * @throws CsvValidationException If the leave file cannot be loaded
+     * @throws ParseException If employee data cannot be parsed
+     */
+    public Result importRows(final List<String[]> rows, final int firstRowNumber) throws IOException, CsvValidationException, ParseException {
+        long started = IMPORT_TIMER.start();
+        Set<Integer> employeeNumbers = new HashSet<>();
+        for (Employee employee : employeeInformation.getAllEmployees()) {
+            employeeNumbers.add(employee.getEmployeeNumber());
+        }
+
+        // Validate every row independently, then keep the valid ones in file order
+        Leave[] parsed = new Leave[rows.size()];
+        String[] reasons = new String[rows.size()];
+        IntStream.range(0, rows.size()).parallel().forEach(i -> {
+            try {
+                parsed[i] = parse(rows.get(i), employeeNumbers);
+            } catch (IllegalArgumentException e) {
+                reasons[i] = e.getMessage();
+            }
+        });
+
+        List<Leave> valid = new ArrayList<>(rows.size());
+        Map<Leave, Integer> rowIndex = new IdentityHashMap<>(rows.size() * 2);
+        List<Rejection> rejections = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (parsed[i] != null) {
+                valid.add(parsed[i]);
+                rowIndex.put(parsed[i], i);
+            } else {
+                rejections.add(new Rejection(firstRowNumber + i, rows.get(i), reasons[i]));
+            }
+        }
+
+        Map<Leave, String> refused = leaveDataManager.saveLeaveApplications(valid);
+        for (Map.Entry<Leave, String> entry : refused.entrySet()) {
+            int i = rowIndex.get(entry.getKey());
+            rejections.add(new Rejection(firstRowNumber + i, rows.get(i), entry.getValue()));
+        }
+        rejections.sort(Comparator.comparingInt(Rejection::getRowNumber));
+
+        IMPORT_TIMER.stop(started, rows.size());
+        return new Result(valid.size() - refused.size(), rejections);
+    }
+
+    /**
+     * Validates one row and converts it to a leave application.
+     *
+     * @throws IllegalArgumentException With the rejection reason if the row is invalid
+     */
+    private static Leave parse(final String[] row, final Set<Integer> employeeNumbers) {
+        if (row.length < 4) {
+            throw new IllegalArgumentException("Expected at least 4 columns but found " + row.length);
+        }
+        if (!isInteger(row[0])) {
+            throw new IllegalArgumentException("Invalid employee number: " + row[0]);
+        }
+        int employeeNumber = Integer.parseInt(row[0].trim());
+        if (!employeeNumbers.contains(employeeNumber)) {
+            throw new IllegalArgumentException("Employee not found: " + employeeNumber);
+        }
+        LeaveType type = LeaveType.fromLabel(row[1]);
+
+        LocalDate start;
+        LocalDate end;
+        try {
+            start = LocalDate.parse(row[2].trim(), DATE_FORMAT);
+            end = LocalDate.parse(row[3].trim(), DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Dates must be in MM/dd/yyyy format: " + row[2] + " to " + row[3]);
+        }
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Leave ends before it starts: " + row[2] + " to " + row[3]);
+        }
+
+        String reason = row.length > 4 ? row[4] : "";
+        return new Leave(employeeNumber, type.getLabel(), start.format(DATE_FORMAT), end.format(DATE_FORMAT), reason);
+    }
+
+    private static boolean isInteger(final String value) {
+        try {
+            Integer.parseInt(value.trim());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A row that was not imported, and why.
+     */
+    public static final class Rejection {
+
+        private final int rowNumber;
+        private final String[] row;
+        private final String reason;
+
+        private Rejection(int rowNumber, String[] row, String reason) {
+            this.rowNumber = rowNumber;
+            this.row = row;
+            this.reason = reason;
+        }
+
+        /** Returns the row's 1-based position in the file, counting any header. */
+        public int getRowNumber() {
+            return rowNumber;
+        }
+
+        public String[] getRow() {
+            return row.clone();
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+
+    /**
+     * The outcome of an import.
+     */
+    public static final class Result {
+
+        private final int acceptedCount;
+        private final List<Rejection> rejections;
+
+        private Result(int acceptedCount, List<Rejection> rejections) {
+            this.acceptedCount = acceptedCount;
+            this.rejections = Collections.unmodifiableList(rejections);
+        }
+
+        public int getAcceptedCount() {
+            return acceptedCount;
+        }
+
+        /** Returns the rejected rows in file order. */
+        public List<Rejection> getRejections() {
+            return rejections;
+        }
+    }
+
+    /**
+     * Imports a leave CSV file and reports rejected rows.
+     * <pre>
+     * LeaveImporter import.csv [employee-data.csv] [leave-data.csv] [rejects.csv]
+     * </pre>
+     * Rejected rows are printed, or written with a Row and Rejection Reason column to
+     * the rejects file if one is given.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: LeaveImporter <import.csv> [employee-data.csv] [leave-data.csv] [rejects.csv]");
+            System.exit(2);
+        }
+        EmployeeInformation employees = args.length > 1 ? new EmployeeInformation(args[1]) : new EmployeeInformation();
+        LeaveDataManager leaves = args.length > 2 ? new LeaveDataManager(args[2]) : new LeaveDataManager();
+
+        long started = System.nanoTime();
+        Result result = new LeaveImporter(employees, leaves).importFile(args[0]);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        leaves.close();
+
+        System.out.printf("Imported %d leaves, rejected %d, in %d ms%n", result.getAcceptedCount(),
+                result.getRejections().size(), millis);
+        if (args.length > 3) {
+            try (CSVWriter writer = new CSVWriter(new FileWriter(args[3]))) {
+                writer.writeNext(new String[]{"Row", "Rejection Reason", "Employee Number", "Leave Type", "Start Date", "End Date", "Reason"});
+                for (Rejection rejection : result.getRejections()) {
+                    String[] row = new String[7];
+                    row[0] = String.valueOf(rejection.getRowNumber());
+                    row[1] = rejection.getReason();
+                    String[] original = rejection.getRow();
+                    System.arraycopy(original, 0, row, 2, Math.min(5, original.length));
+                    writer.writeNext(Arrays.stream(row).map(cell -> cell == null ? "" : cell).toArray(String[]::new));
+                }
+            }
+        } else {
+            for (Rejection rejection : result.getRejections()) {
+                System.out.printf("  row %d: %s%n", rejection.getRowNumber(), rejection.getReason());
+            }
+        }
+    }
+}
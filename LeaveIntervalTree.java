@@ -0,0 +1,223 @@
+package com.mycompany.motorph.data;
+
+import com.mycompany.motorph.model.Leave;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Interval tree over leave date ranges, as inclusive epoch-day intervals.
+ * <p>
+ * A treap ordered by start day, where every node also records the latest end day in its
+ * subtree. Searches skip any subtree whose latest end is before the query and stop at
+ * the first start after it, so finding whether anything overlaps takes O(log n) and
+ * listing the k overlapping leaves takes O(log n) per leave found. Random priorities
+ * keep the tree balanced in expectation whatever the insertion order.
+ * </p>
+ * <p>
+ * Not thread-safe; {@link LeaveDataManager} only touches it under its own lock.
+ * </p>
+ *
+ * @author Lance
+ */
+final class LeaveIntervalTree {
+
+    private final SplittableRandom priorities = new SplittableRandom(0x1EAFL);
+    private Node root;
+    private int size;
+    private long insertions;
+
+    /**
+     * Adds a leave covering the given days.
+     *
+     * @param startDay First day of leave, as an epoch day
+     * @param endDay Last day of leave, as an epoch day
+     * @param leave The leave application
+     */
+    void insert(final long startDay, final long endDay, final Leave leave) {
+        root = insert(root, new Node(startDay, Math.max(startDay, endDay), insertions++, priorities.nextInt(), leave));
+        size++;
+    }
+
+    /**
+     * Removes a leave previously inserted with the same days.
+     *
+     * @param startDay First day of leave, as an epoch day
+     * @param endDay Last day of leave, as an epoch day
+     * @param leave The leave application, matched by identity
+     * @return true if the leave was found and removed
+     */
+    boolean remove(final long startDay, final long endDay, final Leave leave) {
+        int before = size;
+        root = remove(root, startDay, Math.max(startDay, endDay), leave);
+        return size < before;
+    }
+
+    /**
+     * Returns a leave overlapping the given days, if any.
+     *
+     * @param fromDay First day of the query, as an epoch day
+     * @param toDay Last day of the query, as an epoch day
+     * @return An overlapping leave, or null if none overlaps
+     */
+    Leave findAnyOverlap(final long fromDay, final long toDay) {
+        Node node = root;
+        while (node != null) {
+            if (node.start <= toDay && node.end >= fromDay) {
+                return node.leave;
+            }
+            // The left subtree can only help if something there ends on or after fromDay
+            node = node.left != null && node.left.maxEnd >= fromDay ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Collects every leave overlapping the given days, in start-day order.
+     *
+     * @param fromDay First day of the query, as an epoch day
+     * @param toDay Last day of the query, as an epoch day
+     * @param out Destination for the overlapping leaves
+     */
+    void collectOverlaps(final long fromDay, final long toDay, final List<Leave> out) {
+        collect(root, fromDay, toDay, out);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static void collect(final Node node, final long fromDay, final long toDay, final List<Leave> out) {
+        if (node == null || node.maxEnd < fromDay) {
+            return;
+        }
+        collect(node.left, fromDay, toDay, out);
+        if (node.start > toDay) {
+            return; // This node and its right subtree start too late
+        }
+        if (node.end >= fromDay) {
+            out.add(node.leave);
+        }
+        collect(node.right, fromDay, toDay, out);
+    }
+
+    private static Node insert(final Node node, final Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.compareTo(node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                return rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node remove(final Node node, final long startDay, final long endDay, final Leave leave) {
+        if (node == null || node.maxEnd < endDay) {
+            return node; // An interval ending on endDay cannot be below here
+        }
+        if (node.leave == leave) {
+            size--;
+            return merge(node.left, node.right);
+        }
+
+        // Ties on the start day can sit on either side, so try the right only if the left missed
+        int before = size;
+        if (startDay <= node.start) {
+            node.left = remove(node.left, startDay, endDay, leave);
+        }
+        if (size == before && startDay >= node.start) {
+            node.right = remove(node.right, startDay, endDay, leave);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node merge(final Node left, final Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(final Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static Node rotateLeft(final Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    /**
+     * A tree node; ordered by start day, then end day, then insertion order.
+     */
+    private static final class Node implements Comparable<Node> {
+
+        private final long start;
+        private final long end;
+        private final long sequence;
+        private final int priority;
+        private final Leave leave;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, long sequence, int priority, Leave leave) {
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.priority = priority;
+            this.leave = leave;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            long latest = end;
+            if (left != null) {
+                latest = Math.max(latest, left.maxEnd);
+            }
+            if (right != null) {
+                latest = Math.max(latest, right.maxEnd);
+            }
+            maxEnd = latest;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int byStart = Long.compare(start, other.start);
+            if (byStart != 0) {
+                return byStart;
+            }
+            int byEnd = Long.compare(end, other.end);
+            return byEnd != 0 ? byEnd : Long.compare(sequence, other.sequence);
+        }
+    }
+}
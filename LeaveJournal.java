@@ -0,0 +1,624 @@
+package com.mycompany.motorph.data;
+
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.metrics.Timer;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Durable storage for leave records: a CSV snapshot plus an append-only journal.
+ * <p>
+ * New records are appended to {@code <snapshot>.journal}, each prefixed with a sequence
+ * number. A single writer thread drains every pending append, writes them in one call
+ * and forces the file once, so concurrent submissions share one fsync (group commit).
+ * Compaction rebuilds the snapshot from the previous snapshot and the entries the writer
+ * has committed, never from the caller's memory, so an append still in flight or one
+ * whose commit failed cannot reach it. The new snapshot is written to a temporary file,
+ * forced and atomically renamed over the old one, then the journal entries it now
+ * contains are dropped. Each
+ * snapshot row carries the journal sequence it is current through, so recovery after a
+ * crash at any step replays exactly the entries the snapshot is missing.
+ * </p>
+ * <p>
+ * A commit that fails is cut back out of the journal, so a batch reported as failed leaves
+ * none of its records behind to be replayed after a restart.
+ * </p>
+ * <p>
+ * If the writer thread stops for any reason, every queued future fails and later
+ * submissions are refused, so no caller waits forever on an append that will never run.
+ * </p>
+ *
+ * @author Lance
+ */
+final class LeaveJournal implements Closeable {
+
+    static final String JOURNAL_SUFFIX = ".journal";
+    static final String SEQUENCE_COLUMN = "Journal Sequence";
+
+    private static final int RECORD_COLUMNS = 8;
+    private static final int MAX_BATCH = 4096;
+    private static final Timer COMMIT_TIMER = MetricsRegistry.timer("leaves.journal.commit");
+    private static final Timer COMPACTION_TIMER = MetricsRegistry.timer("leaves.journal.compact");
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final BlockingQueue<Task> tasks = new LinkedBlockingQueue<>();
+
+    // Guarded by this
+    private long lastSequence;
+    private long snapshotSequence;
+    private List<Entry> recoveredEntries = new ArrayList<>();
+    private Thread writer;
+    private boolean closed;
+    private IOException writerFailure;
+
+    // Owned by the writer thread
+    private FileChannel channel;
+    private List<Entry> journalEntries;
+    private long discardFrom = -1; // Journal length before a failed commit, until it is cut back
+
+    /**
+     * Creates a journal beside the given snapshot file.
+     *
+     * @param snapshotPath Path to the CSV snapshot
+     */
+    LeaveJournal(final Path snapshotPath) {
+        this.snapshotPath = snapshotPath;
+        this.journalPath = Paths.get(snapshotPath + JOURNAL_SUFFIX);
+    }
+
+    /**
+     * Reads the snapshot and replays the journal entries it does not yet contain.
+     * <p>
+     * If appends are in flight they are made durable first, so the result includes every
+     * record appended before this call.
+     * </p>
+     *
+     * @return Records in commit order, each with the eight leave columns
+     * @throws IOException If a file cannot be read
+     * @throws CsvValidationException If the snapshot is not valid CSV
+     */
+    List<String[]> read() throws IOException, CsvValidationException {
+        CompletableFuture<Void> barrier;
+        synchronized (this) {
+            if (writer == null) {
+                return recover();
+            }
+            barrier = submit(new Task(Task.Kind.BARRIER, 0, null, null));
+        }
+        // Waited on outside the monitor, which a stopping writer needs in order to fail the barrier
+        await(barrier);
+
+        List<String[]> records = new ArrayList<>();
+        readJournal(records, new ArrayList<>(), readSnapshot(records));
+        return records;
+    }
+
+    /**
+     * Reads the files before the writer starts and takes over their sequence state.
+     *
+     * @return Records in commit order
+     */
+    private List<String[]> recover() throws IOException, CsvValidationException {
+        List<String[]> records = new ArrayList<>();
+        long throughSequence = readSnapshot(records);
+        List<Entry> entries = new ArrayList<>();
+        lastSequence = readJournal(records, entries, throughSequence);
+        snapshotSequence = throughSequence;
+        recoveredEntries = entries;
+        return records;
+    }
+
+    /**
+     * Reads the journal entries, appending to the records those the snapshot does not contain.
+     *
+     * @return The highest sequence seen in the snapshot or the journal
+     */
+    private long readJournal(final List<String[]> records, final List<Entry> entries, final long throughSequence) throws IOException {
+        long maxSequence = throughSequence;
+        if (Files.exists(journalPath)) {
+            try (CSVReader reader = new CSVReader(new BufferedReader(new FileReader(journalPath.toFile())))) {
+                String[] data;
+                while ((data = reader.readNext()) != null) {
+                    long sequence = data.length == RECORD_COLUMNS + 1 ? parseSequence(data[0]) : 0;
+                    if (sequence <= 0) continue; // Torn tail of an interrupted append
+                    String[] record = Arrays.copyOfRange(data, 1, data.length);
+                    entries.add(new Entry(sequence, record));
+                    if (sequence > throughSequence) {
+                        records.add(record);
+                    }
+                    maxSequence = Math.max(maxSequence, sequence);
+                }
+            } catch (CsvValidationException e) {
+                // Unterminated quote in a torn tail; everything before it was read
+            }
+        }
+        return maxSequence;
+    }
+
+    /**
+     * Queues a record for the journal.
+     * <p>
+     * Records are committed in call order. The returned future completes once the record
+     * has been forced to disk, and should be awaited without holding locks that other
+     * submitters need, so their appends can share the same fsync.
+     * </p>
+     *
+     * @param record The eight leave columns
+     * @return A future completing when the record is durable
+     * @throws IOException If the journal has been closed
+     */
+    synchronized CompletableFuture<Void> append(final String[] record) throws IOException {
+        return submit(new Task(Task.Kind.APPEND, ++lastSequence, Collections.singletonList(record), null));
+    }
+
+    /**
+     * Queues a batch of records to be committed together, in one write and one fsync.
+     *
+     * @param records The records, each with the eight leave columns
+     * @return A future completing when every record is durable
+     * @throws IOException If the journal has been closed
+     */
+    synchronized CompletableFuture<Void> appendAll(final List<String[]> records) throws IOException {
+        long firstSequence = lastSequence + 1;
+        lastSequence += records.size();
+        return submit(new Task(Task.Kind.APPEND, firstSequence, records, null));
+    }
+
+    /**
+     * Returns how many appended records the snapshot does not contain yet.
+     *
+     * @return The number of journal entries since the last compaction
+     */
+    synchronized long pendingEntries() {
+        return lastSequence - snapshotSequence;
+    }
+
+    /**
+     * Rewrites the snapshot with every committed record and drops the journal entries it
+     * now contains. Appends queued before this call are committed (or fail) first; an
+     * append whose commit failed is left out. Callers must not compact concurrently.
+     *
+     * @param header The snapshot header, without the sequence column
+     * @throws IOException If the snapshot cannot be read or written
+     * @throws CsvValidationException If the snapshot is not valid CSV
+     */
+    void compact(final String[] header) throws IOException, CsvValidationException {
+        long started = COMPACTION_TIMER.start();
+        List<Entry> committed = committedEntries();
+        List<String[]> records = new ArrayList<>();
+        long throughSequence = readSnapshot(records);
+        for (Entry entry : committed) {
+            if (entry.sequence > throughSequence) {
+                records.add(entry.record);
+            }
+        }
+        if (!committed.isEmpty()) {
+            throughSequence = Math.max(throughSequence, committed.get(committed.size() - 1).sequence);
+        }
+
+        Path temporary = Paths.get(snapshotPath + ".tmp");
+        String sequence = String.valueOf(throughSequence);
+
+        try (CSVWriter writer = new CSVWriter(new BufferedWriter(Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)))) {
+            String[] headerRow = Arrays.copyOf(header, RECORD_COLUMNS + 1);
+            headerRow[RECORD_COLUMNS] = SEQUENCE_COLUMN;
+            writer.writeNext(headerRow);
+
+            String[] row = new String[RECORD_COLUMNS + 1];
+            for (String[] record : records) {
+                System.arraycopy(record, 0, row, 0, RECORD_COLUMNS);
+                row[RECORD_COLUMNS] = sequence;
+                writer.writeNext(row);
+            }
+        }
+        try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            file.force(true);
+        }
+        Files.move(temporary, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        final long compactedThrough = throughSequence;
+        synchronized (this) {
+            snapshotSequence = Math.max(snapshotSequence, compactedThrough);
+            if (writer == null) {
+                recoveredEntries.removeIf(entry -> entry.sequence <= compactedThrough);
+                rewriteJournal(recoveredEntries);
+                COMPACTION_TIMER.stop(started, records.size());
+                return;
+            }
+        }
+        await(submit(new Task(Task.Kind.TRUNCATE, compactedThrough, null, null)));
+        COMPACTION_TIMER.stop(started, records.size());
+    }
+
+    /**
+     * Returns the journal entries committed so far, in sequence order, after every append
+     * queued before this call has been committed or has failed.
+     */
+    private List<Entry> committedEntries() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        synchronized (this) {
+            if (writer == null) {
+                // Nothing appended since recovery; every recovered entry is on disk
+                entries.addAll(recoveredEntries);
+                return entries;
+            }
+        }
+        await(submit(new Task(Task.Kind.COPY, 0, null, null, entries)));
+        return entries;
+    }
+
+    /**
+     * Reads the snapshot rows into the given list.
+     *
+     * @return The journal sequence the snapshot is current through, or 0
+     */
+    private long readSnapshot(final List<String[]> records) throws IOException, CsvValidationException {
+        long throughSequence = 0;
+        if (Files.exists(snapshotPath)) {
+            try (CSVReader reader = new CSVReader(new BufferedReader(new FileReader(snapshotPath.toFile())))) {
+                reader.readNext(); // Skip header
+
+                String[] data;
+                while ((data = reader.readNext()) != null) {
+                    if (data.length < RECORD_COLUMNS) continue; // Skip corrupted rows
+                    if (data.length > RECORD_COLUMNS) {
+                        throughSequence = Math.max(throughSequence, parseSequence(data[RECORD_COLUMNS]));
+                    }
+                    records.add(Arrays.copyOf(data, RECORD_COLUMNS));
+                }
+            }
+        }
+        return throughSequence;
+    }
+
+    /**
+     * Commits any queued appends and stops the writer thread.
+     *
+     * @throws IOException If the final commit fails
+     */
+    @Override
+    public void close() throws IOException {
+        Thread running;
+        CompletableFuture<Void> stopped = null;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            running = writer;
+            if (running != null && writerFailure == null) {
+                stopped = new CompletableFuture<>();
+                tasks.add(new Task(Task.Kind.STOP, 0, null, stopped));
+            }
+        }
+        if (stopped != null) {
+            await(stopped);
+        }
+    }
+
+    /**
+     * Queues a task, starting the writer thread on first use.
+     */
+    private synchronized CompletableFuture<Void> submit(final Task task) throws IOException {
+        if (closed) {
+            throw new IOException("Leave journal is closed: " + journalPath);
+        }
+        if (writerFailure != null) {
+            throw writerFailure;
+        }
+        if (writer == null) {
+            journalEntries = recoveredEntries;
+            recoveredEntries = new ArrayList<>();
+            writer = new Thread(this::runWriter, "leave-journal-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        tasks.add(new Task(task.kind, task.sequence, task.records, done, task.entries));
+        return done;
+    }
+
+    /**
+     * Writer loop: commits appends in batches and runs truncations between batches.
+     */
+    private void runWriter() {
+        List<Task> batch = new ArrayList<>(MAX_BATCH);
+        Throwable cause = null;
+        try {
+            while (true) {
+                batch.add(tasks.take());
+                tasks.drainTo(batch, MAX_BATCH - 1);
+
+                int appendsStart = 0;
+                for (int i = 0; i < batch.size(); i++) {
+                    Task task = batch.get(i);
+                    if (task.kind == Task.Kind.APPEND) {
+                        continue;
+                    }
+                    commit(batch.subList(appendsStart, i));
+                    appendsStart = i + 1;
+                    if (runControl(task)) {
+                        batch.clear();
+                        return;
+                    }
+                }
+                commit(batch.subList(appendsStart, batch.size()));
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cause = e;
+        } catch (Throwable e) {
+            cause = e;
+        } finally {
+            failPending(batch, cause);
+        }
+    }
+
+    /**
+     * Refuses further submissions and fails every task the stopped writer will not run.
+     * Tasks it already completed are unaffected.
+     * <p>
+     * The batch in hand is failed before the monitor is taken, so its waiters are released
+     * even if a caller is holding the monitor.
+     * </p>
+     */
+    private void failPending(final List<Task> batch, final Throwable cause) {
+        IOException failure = cause == null
+                ? new IOException("Leave journal is closed: " + journalPath)
+                : new IOException("Leave journal writer stopped: " + journalPath, cause);
+        batch.forEach(task -> task.done.completeExceptionally(failure));
+        synchronized (this) {
+            if (writerFailure == null) {
+                writerFailure = failure;
+            }
+        }
+        closeChannel();
+        // Submissions check writerFailure under the lock, so nothing is queued after this drain
+        List<Task> pending = new ArrayList<>();
+        tasks.drainTo(pending);
+        pending.forEach(task -> task.done.completeExceptionally(failure));
+    }
+
+    /**
+     * Writes and forces a run of appends, completing their futures.
+     */
+    private void commit(final List<Task> appends) {
+        if (appends.isEmpty()) {
+            return;
+        }
+        long started = COMMIT_TIMER.start();
+        long startLength = -1;
+        try {
+            StringWriter text = new StringWriter(appends.size() * 128);
+            try (CSVWriter csv = new CSVWriter(text)) {
+                String[] row = new String[RECORD_COLUMNS + 1];
+                for (Task task : appends) {
+                    for (int i = 0; i < task.records.size(); i++) {
+                        row[0] = String.valueOf(task.sequence + i);
+                        System.arraycopy(task.records.get(i), 0, row, 1, RECORD_COLUMNS);
+                        csv.writeNext(row);
+                    }
+                }
+            }
+            ByteBuffer bytes = StandardCharsets.UTF_8.encode(text.toString());
+            FileChannel file = openChannel();
+            startLength = file.position();
+            while (bytes.hasRemaining()) {
+                file.write(bytes);
+            }
+            file.force(false);
+
+            for (Task task : appends) {
+                for (int i = 0; i < task.records.size(); i++) {
+                    journalEntries.add(new Entry(task.sequence + i, task.records.get(i)));
+                }
+                task.done.complete(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            closeChannel(); // Reopen on the next commit
+            if (startLength >= 0) {
+                // Whole rows of the failed commit may have reached the file; drop them now,
+                // or when the journal is next opened if the file cannot be cut back yet
+                discardFrom = startLength;
+                try {
+                    openChannel();
+                } catch (IOException retryLater) {
+                    closeChannel();
+                }
+            }
+            appends.forEach(task -> task.done.completeExceptionally(e));
+        }
+        COMMIT_TIMER.stop(started, appends.size());
+    }
+
+    /**
+     * Runs a non-append task.
+     *
+     * @return true if the writer should stop
+     */
+    private boolean runControl(final Task task) {
+        try {
+            switch (task.kind) {
+                case TRUNCATE -> {
+                    journalEntries.removeIf(entry -> entry.sequence <= task.sequence);
+                    closeChannel();
+                    rewriteJournal(journalEntries);
+                    discardFrom = -1; // The rewrite holds committed entries only
+                }
+                case COPY -> task.entries.addAll(journalEntries);
+                case STOP -> closeChannel();
+                default -> {
+                    // Barrier: every earlier append is already committed
+                }
+            }
+            task.done.complete(null);
+        } catch (IOException e) {
+            task.done.completeExceptionally(e);
+        }
+        return task.kind == Task.Kind.STOP;
+    }
+
+    /**
+     * Replaces the journal with the given entries via a forced temporary file.
+     */
+    private void rewriteJournal(final List<Entry> entries) throws IOException {
+        if (entries.isEmpty() && !Files.exists(journalPath)) {
+            return;
+        }
+        Path temporary = Paths.get(journalPath + ".tmp");
+        try (CSVWriter writer = new CSVWriter(new BufferedWriter(Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)))) {
+            String[] row = new String[RECORD_COLUMNS + 1];
+            for (Entry entry : entries) {
+                row[0] = String.valueOf(entry.sequence);
+                System.arraycopy(entry.record, 0, row, 1, RECORD_COLUMNS);
+                writer.writeNext(row);
+            }
+        }
+        try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            file.force(true);
+        }
+        Files.move(temporary, journalPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Opens the journal for appending, cutting off the rows of a failed commit, or a
+     * partial last line left by a crash.
+     */
+    private FileChannel openChannel() throws IOException {
+        if (channel == null) {
+            FileChannel file = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try {
+                long end = file.size();
+                if (discardFrom >= 0) {
+                    end = Math.min(end, discardFrom);
+                } else {
+                    ByteBuffer one = ByteBuffer.allocate(1);
+                    while (end > 0) {
+                        one.clear();
+                        file.read(one, end - 1);
+                        if (one.get(0) == '\n') {
+                            break;
+                        }
+                        end--;
+                    }
+                }
+                file.truncate(end);
+                file.force(false);
+                file.position(end);
+            } catch (IOException | RuntimeException e) {
+                file.close();
+                throw e;
+            }
+            discardFrom = -1;
+            channel = file;
+        }
+        return channel;
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already committed data is forced; nothing to recover here
+            }
+            channel = null;
+        }
+    }
+
+    private static long parseSequence(final String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Waits for a future returned by this journal.
+     *
+     * @param future The future to wait for
+     * @throws IOException If the work could not be committed
+     */
+    static void await(final CompletableFuture<Void> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the leave journal");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    /**
+     * A journal entry as it is kept for rewriting after compaction.
+     */
+    private static final class Entry {
+
+        private final long sequence;
+        private final String[] record;
+
+        private Entry(long sequence, String[] record) {
+            this.sequence = sequence;
+            this.record = record;
+        }
+    }
+
+    /**
+     * A unit of work for the writer thread.
+     */
+    private static final class Task {
+
+        enum Kind {
+            APPEND, TRUNCATE, BARRIER, COPY, STOP
+        }
+
+        private final Kind kind;
+        private final long sequence; // Of the first record; the rest follow consecutively
+        private final List<String[]> records;
+        private final CompletableFuture<Void> done;
+        private final List<Entry> entries; // Filled by a copy before it completes
+
+        private Task(Kind kind, long sequence, List<String[]> records, CompletableFuture<Void> done) {
+            this(kind, sequence, records, done, null);
+        }
+
+        private Task(Kind kind, long sequence, List<String[]> records, CompletableFuture<Void> done, List<Entry> entries) {
+            this.kind = kind;
+            this.sequence = sequence;
+            this.records = records;
+            this.done = done;
+            this.entries = entries;
+        }
+    }
+}
@@ -0,0 +1,648 @@
+package com.mycompany.motorph.data;
+
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.metrics.Timer;
+import com.mycompany.motorph.model.LeaveBalance;
+import com.mycompany.motorph.model.LeaveType;
+import com.opencsv.CSVParser;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event-sourced leave balances: an append-only ledger of accrual and consumption events.
+ * <p>
+ * Every change to a balance is appended to {@code <leave file>.ledger} as an event and
+ * forced to disk before it is applied. The current balance of each employee is kept
+ * materialized in memory, so a balance query is a single map lookup and never replays
+ * history. Every {@value #SNAPSHOT_INTERVAL} events (on a background thread, so no poster
+ * waits for it) and on close, all balances are written to {@code <ledger>.snapshot}
+ * together with the ledger byte offset they are current through; loading reads the
+ * snapshot and replays only the events after it.
+ * </p>
+ * <p>
+ * Each consumption event names its leave application by employee and dates, which an
+ * employee's non-overlapping applications never share. The ledger tracks which
+ * applications it has consumed, so posting one twice, or reconciling after a save already
+ * posted it, never charges it twice, whatever order the events arrived in. Consumption
+ * is counted in working days, as the business calendar counts them.
+ * </p>
+ * <p>
+ * Each consumption also records how many whole days of it the balance covered when it
+ * was applied. Payroll pays exactly those days, so it never pays leave the balance shows
+ * as used up. Consumptions are posted after the accrual due up to the posting month.
+ * </p>
+ * <p>
+ * Accrual is monthly: each leave type earns a twelfth of its yearly entitlement per
+ * month, posted the first time a balance is needed in that month, starting from the
+ * employee's hire month when one has been recorded, otherwise from the first month a
+ * balance is asked for.
+ * </p>
+ *
+ * @author Lance
+ */
+final class LeaveLedger implements Closeable {
+
+    static final String LEDGER_SUFFIX = ".ledger";
+    static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    /** Events between automatic snapshots. */
+    static final int SNAPSHOT_INTERVAL = 5_000;
+
+    private static final String OFFSET_COLUMN = "Ledger Offset";
+    private static final String SNAPSHOT_VERSION = "1"; // Snapshots of any other version are replayed from the ledger
+    private static final String CONSUMED_SECTION = "Consumed Leaves";
+    private static final String[] SNAPSHOT_HEADER = {
+            "Employee Number", "Sick Leave Accrued", "Sick Leave Used", "Vacation Leave Accrued",
+            "Vacation Leave Used", "Emergency Leave Accrued", "Emergency Leave Used", "Accrued Through", "Leave Count",
+            "Accrued From", "Hired In"
+    };
+    private static final Timer APPEND_TIMER = MetricsRegistry.timer("leaves.ledger.append");
+    private static final Timer SNAPSHOT_TIMER = MetricsRegistry.timer("leaves.ledger.snapshot");
+
+    /** Kinds of ledger event. */
+    enum EventKind {
+        ACCRUAL, CONSUMPTION, ADJUSTMENT, HIRE
+    }
+
+    private final Path ledgerPath;
+    private final Path snapshotPath;
+    private final Map<Integer, LeaveBalance> balances = new ConcurrentHashMap<>();
+    // Paid days per consumed application, read by payroll without locking
+    private final Map<String, Double> paidByLeave = new ConcurrentHashMap<>();
+    private final Object snapshotLock = new Object();
+
+    // Guarded by this
+    private final Map<String, Integer> consumedByLeave = new HashMap<>();
+    private FileChannel channel;
+    private long eventsSinceSnapshot;
+    private ExecutorService snapshotter;
+    private boolean snapshotQueued;
+
+    /**
+     * Creates a ledger beside the given leave file.
+     *
+     * @param leaveDataPath Path to the leave CSV file
+     */
+    LeaveLedger(final String leaveDataPath) {
+        this.ledgerPath = Paths.get(leaveDataPath + LEDGER_SUFFIX);
+        this.snapshotPath = Paths.get(leaveDataPath + LEDGER_SUFFIX + SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * Reads the latest snapshot and replays the events recorded after it.
+     *
+     * @return The number of events replayed
+     * @throws IOException If the ledger cannot be read
+     */
+    synchronized int load() throws IOException {
+        closeChannel();
+        balances.clear();
+        consumedByLeave.clear();
+        paidByLeave.clear();
+        eventsSinceSnapshot = 0;
+
+        long ledgerSize = Files.exists(ledgerPath) ? Files.size(ledgerPath) : 0;
+        long offset = readSnapshot();
+        if (offset > ledgerSize) {
+            // The snapshot is ahead of the ledger it was taken from; trust the ledger
+            balances.clear();
+            consumedByLeave.clear();
+            paidByLeave.clear();
+            offset = 0;
+        }
+        if (ledgerSize == 0) {
+            return 0;
+        }
+
+        int replayed = 0;
+        long complete = offset;
+        CSVParser parser = new CSVParser();
+        try (FileChannel file = FileChannel.open(ledgerPath, StandardOpenOption.READ)) {
+            file.position(offset);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(file), 64 * 1024);
+            ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+            long position = offset;
+            int next;
+            while ((next = in.read()) != -1) {
+                position++;
+                if (next != '\n') {
+                    line.write(next);
+                    continue;
+                }
+                complete = position;
+                String text = line.toString(StandardCharsets.UTF_8).trim();
+                line.reset();
+                if (!text.isEmpty() && apply(parser.parseLine(text))) {
+                    replayed++;
+                }
+            }
+        }
+        if (complete < ledgerSize) {
+            // A crash mid-append left a partial last line; drop it before appending again
+            try (FileChannel file = FileChannel.open(ledgerPath, StandardOpenOption.WRITE)) {
+                file.truncate(complete);
+            }
+        }
+        eventsSinceSnapshot = replayed;
+        return replayed;
+    }
+
+    /**
+     * Returns an employee's materialized balance without locking.
+     *
+     * @param employeeNumber The employee number
+     * @return The balance, empty if the employee has no events
+     */
+    LeaveBalance getBalance(final int employeeNumber) {
+        LeaveBalance balance = balances.get(employeeNumber);
+        return balance != null ? balance : LeaveBalance.empty(employeeNumber);
+    }
+
+    /**
+     * Posts the monthly accruals an employee is owed up to and including a month.
+     * <p>
+     * An employee with no accrual yet starts at the hire month, or at {@code through} if no
+     * hire month is recorded.
+     * </p>
+     *
+     * @param employeeNumber The employee number
+     * @param through The last month to accrue
+     * @return The number of events posted
+     * @throws IOException If the events cannot be written
+     */
+    synchronized int accrueThrough(final int employeeNumber, final YearMonth through) throws IOException {
+        List<String[]> events = new ArrayList<>();
+        addAccrualsDue(events, employeeNumber, through);
+        return post(events);
+    }
+
+    /**
+     * Returns the whole days of a consumed leave application that its balance covered.
+     *
+     * @param employeeNumber The employee number
+     * @param reference The application's reference, as passed to {@link #consumption}
+     * @return The paid days; 0 if the application has not been consumed
+     */
+    double getPaidDays(final int employeeNumber, final String reference) {
+        return paidByLeave.getOrDefault(consumptionKey(String.valueOf(employeeNumber), reference), 0.0);
+    }
+
+    /**
+     * Records the month an employee was hired, from which accrual starts.
+     * <p>
+     * If accrual already started before the hire month was known, the months between the
+     * hire and the first accrual are posted, and accruals for months before the hire are
+     * reversed.
+     * </p>
+     *
+     * @param employeeNumber The employee number
+     * @param hiredIn The hire month
+     * @return The number of events posted; 0 if this hire month was already recorded
+     * @throws IOException If the events cannot be written
+     * @throws IllegalArgumentException If a different hire month is already recorded
+     */
+    synchronized int recordHire(final int employeeNumber, final YearMonth hiredIn) throws IOException {
+        LeaveBalance balance = getBalance(employeeNumber);
+        if (balance.getHiredIn() != null) {
+            if (balance.getHiredIn().equals(hiredIn)) {
+                return 0;
+            }
+            throw new IllegalArgumentException("Employee " + employeeNumber + " is already recorded as hired in " + balance.getHiredIn());
+        }
+
+        List<String[]> events = new ArrayList<>();
+        events.add(event(employeeNumber, EventKind.HIRE, null, 0, hiredIn.toString(), ""));
+        YearMonth from = balance.getAccruedFrom();
+        if (from != null) {
+            for (YearMonth month = hiredIn; month.isBefore(from); month = month.plusMonths(1)) {
+                addAccruals(events, employeeNumber, month);
+            }
+            YearMonth last = balance.getAccruedThrough();
+            for (YearMonth month = from; month.isBefore(hiredIn) && !month.isAfter(last); month = month.plusMonths(1)) {
+                for (LeaveType type : LeaveType.values()) {
+                    events.add(event(employeeNumber, EventKind.ADJUSTMENT, type, -type.getAnnualEntitlementDays() / 12, "",
+                            "Accrued for " + month + ", before hire"));
+                }
+            }
+        }
+        return post(events);
+    }
+
+    /**
+     * Posts consumption for the leave applications the ledger has not recorded yet, in one
+     * forced write.
+     * <p>
+     * Applications are matched by employee and reference. An application listed n times is
+     * consumed n times in total, so the same list can be posted again, or a full list
+     * reconciled, without charging anything twice.
+     * </p>
+     *
+     * @param consumptions One event per application, built with {@link #consumption}
+     * @param asOf The month whose accrual the balances charged must include
+     * @return The number of events posted
+     * @throws IOException If the events cannot be written
+     */
+    synchronized int recordConsumptions(final List<String[]> consumptions, final YearMonth asOf) throws IOException {
+        Map<String, Integer> listed = new HashMap<>();
+        List<String[]> missing = new ArrayList<>();
+        Set<Integer> charged = new LinkedHashSet<>();
+        for (String[] event : consumptions) {
+            String key = consumptionKey(event);
+            if (listed.merge(key, 1, Integer::sum) > consumedByLeave.getOrDefault(key, 0)) {
+                missing.add(event);
+                charged.add(Integer.parseInt(event[0].trim()));
+            }
+        }
+
+        // Accrual first, so each consumption is paid from the balance a query this month shows
+        List<String[]> events = new ArrayList<>(missing.size() + charged.size() * LeaveType.values().length);
+        for (int employeeNumber : charged) {
+            addAccrualsDue(events, employeeNumber, asOf);
+        }
+        events.addAll(missing);
+        return post(events);
+    }
+
+    /**
+     * Posts a manual correction to an employee's accrued days.
+     *
+     * @param employeeNumber The employee number
+     * @param type The leave type
+     * @param days Days to add; negative to deduct
+     * @param reason Why the balance was corrected
+     * @throws IOException If the event cannot be written
+     */
+    synchronized void recordAdjustment(final int employeeNumber, final LeaveType type, final double days, final String reason) throws IOException {
+        post(Collections.singletonList(event(employeeNumber, EventKind.ADJUSTMENT, type, days, "", reason)));
+    }
+
+    /**
+     * Builds a consumption event for one leave application.
+     *
+     * @param employeeNumber The employee number
+     * @param type The leave type, or null if the application's type is not recognised
+     * @param days Working days taken
+     * @param reference Identifies the application among the employee's, e.g. its dates
+     * @return The event row
+     */
+    static String[] consumption(final int employeeNumber, final LeaveType type, final double days, final String reference) {
+        return event(employeeNumber, EventKind.CONSUMPTION, type, days, "", reference);
+    }
+
+    /**
+     * Writes every balance to the snapshot file via a forced temporary file.
+     * <p>
+     * The state is copied under the lock, which is all posters wait for; the file is
+     * written outside it.
+     * </p>
+     *
+     * @throws IOException If the snapshot cannot be written
+     */
+    void snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            long started = SNAPSHOT_TIMER.start();
+            List<LeaveBalance> current;
+            Map<String, Integer> consumed;
+            Map<String, Double> paid;
+            long offset;
+            long captured;
+            synchronized (this) {
+                snapshotQueued = false;
+                current = new ArrayList<>(balances.values());
+                consumed = new HashMap<>(consumedByLeave);
+                paid = new HashMap<>(paidByLeave);
+                offset = Files.exists(ledgerPath) ? Files.size(ledgerPath) : 0;
+                captured = eventsSinceSnapshot;
+            }
+
+            Path temporary = Paths.get(snapshotPath + ".tmp");
+            try (CSVWriter writer = new CSVWriter(new BufferedWriter(Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)))) {
+                writer.writeNext(new String[]{OFFSET_COLUMN, String.valueOf(offset), SNAPSHOT_VERSION});
+                writer.writeNext(SNAPSHOT_HEADER);
+                for (LeaveBalance balance : current) {
+                    String[] row = new String[SNAPSHOT_HEADER.length];
+                    row[0] = String.valueOf(balance.getEmployeeNumber());
+                    for (LeaveType type : LeaveType.values()) {
+                        row[1 + type.ordinal() * 2] = String.valueOf(balance.getAccruedDays(type));
+                        row[2 + type.ordinal() * 2] = String.valueOf(balance.getUsedDays(type));
+                    }
+                    row[7] = balance.getAccruedThrough() == null ? "" : balance.getAccruedThrough().toString();
+                    row[8] = String.valueOf(balance.getLeaveCount());
+                    row[9] = balance.getAccruedFrom() == null ? "" : balance.getAccruedFrom().toString();
+                    row[10] = balance.getHiredIn() == null ? "" : balance.getHiredIn().toString();
+                    writer.writeNext(row);
+                }
+
+                writer.writeNext(new String[]{CONSUMED_SECTION});
+                for (Map.Entry<String, Integer> entry : consumed.entrySet()) {
+                    int separator = entry.getKey().indexOf('|');
+                    writer.writeNext(new String[]{entry.getKey().substring(0, separator),
+                            entry.getKey().substring(separator + 1), String.valueOf(entry.getValue()),
+                            String.valueOf(paid.getOrDefault(entry.getKey(), 0.0))});
+                }
+            }
+            try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                file.force(true);
+            }
+            Files.move(temporary, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            synchronized (this) {
+                eventsSinceSnapshot = Math.max(0, eventsSinceSnapshot - captured);
+            }
+            SNAPSHOT_TIMER.stop(started, current.size());
+        }
+    }
+
+    /**
+     * Waits for a background snapshot, snapshots any events since the last one and
+     * closes the ledger file.
+     *
+     * @throws IOException If the snapshot cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        ExecutorService running;
+        boolean pending;
+        synchronized (this) {
+            running = snapshotter;
+            snapshotter = null;
+        }
+        if (running != null) {
+            running.shutdown();
+            try {
+                running.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            synchronized (this) {
+                pending = eventsSinceSnapshot > 0;
+            }
+            if (pending) {
+                snapshot();
+            }
+        } finally {
+            synchronized (this) {
+                closeChannel();
+            }
+        }
+    }
+
+    /**
+     * Appends events with one forced write, then applies them. Caller holds the lock.
+     */
+    private int post(final List<String[]> events) throws IOException {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        long started = APPEND_TIMER.start();
+        StringWriter text = new StringWriter(events.size() * 64);
+        try (CSVWriter csv = new CSVWriter(text)) {
+            for (String[] event : events) {
+                csv.writeNext(event);
+            }
+        }
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(text.toString());
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(ledgerPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            closeChannel();
+            throw e;
+        }
+
+        for (String[] event : events) {
+            apply(event);
+        }
+        eventsSinceSnapshot += events.size();
+        APPEND_TIMER.stop(started, events.size());
+        if (eventsSinceSnapshot >= SNAPSHOT_INTERVAL) {
+            scheduleSnapshot();
+        }
+        return events.size();
+    }
+
+    /**
+     * Queues a snapshot on the background thread unless one is already queued. Caller holds the lock.
+     */
+    private void scheduleSnapshot() {
+        if (snapshotQueued) {
+            return;
+        }
+        if (snapshotter == null) {
+            snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "leave-ledger-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        snapshotQueued = true;
+        snapshotter.execute(this::snapshotQuietly);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException e) {
+            // The ledger is intact; the next post past the interval tries again
+            System.err.println("Leave ledger snapshot failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Applies one event row to the materialized balances.
+     *
+     * @return false if the row is not a readable event
+     */
+    private boolean apply(final String[] event) {
+        if (event.length < 6) {
+            return false;
+        }
+        try {
+            int employeeNumber = Integer.parseInt(event[0].trim());
+            EventKind kind = EventKind.valueOf(event[1].trim());
+            LeaveType type = event[2].isBlank() ? null : LeaveType.fromLabel(event[2]);
+            double days = Double.parseDouble(event[3].trim());
+            YearMonth month = event[4].isBlank() ? null : YearMonth.parse(event[4].trim());
+            if (kind == EventKind.HIRE ? month == null : type == null && kind != EventKind.CONSUMPTION) {
+                return false;
+            }
+
+            LeaveBalance balance = getBalance(employeeNumber);
+            switch (kind) {
+                case CONSUMPTION -> {
+                    // Paid in whole days as far as the balance covers it; unrecognised types are unpaid
+                    double paid = type == null ? 0 : Math.max(0, Math.min(days, Math.floor(balance.getRemainingDays(type))));
+                    balances.put(employeeNumber, balance.plusUsed(type, days));
+                    consumedByLeave.merge(consumptionKey(event), 1, Integer::sum);
+                    paidByLeave.merge(consumptionKey(event), paid, Double::sum);
+                }
+                case HIRE -> balances.put(employeeNumber, balance.withHiredIn(month));
+                default -> balances.put(employeeNumber, balance.plusAccrued(type, days, month));
+            }
+            return true;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return false; // NumberFormatException is an IllegalArgumentException
+        }
+    }
+
+    /**
+     * Loads balances from the snapshot file, if any.
+     *
+     * @return The ledger offset the snapshot is current through, or 0 without a snapshot
+     */
+    private long readSnapshot() throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return 0;
+        }
+        try (CSVReader reader = new CSVReader(new FileReader(snapshotPath.toFile()))) {
+            String[] meta = reader.readNext();
+            if (meta == null || meta.length < 3 || !OFFSET_COLUMN.equals(meta[0]) || !SNAPSHOT_VERSION.equals(meta[2])) {
+                return 0;
+            }
+            long offset = Long.parseLong(meta[1].trim());
+            reader.readNext(); // Header
+
+            int types = LeaveType.values().length;
+            boolean consumedRows = false;
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                if (consumedRows) {
+                    if (row.length < 4) {
+                        throw new IllegalArgumentException("Consumed leave row without paid days");
+                    }
+                    String key = consumptionKey(row[0].trim(), row[1]);
+                    consumedByLeave.put(key, Integer.parseInt(row[2].trim()));
+                    paidByLeave.put(key, Double.parseDouble(row[3].trim()));
+                    continue;
+                }
+                if (row.length == 1 && CONSUMED_SECTION.equals(row[0])) {
+                    consumedRows = true;
+                    continue;
+                }
+                if (row.length < SNAPSHOT_HEADER.length) {
+                    continue;
+                }
+                double[] accrued = new double[types];
+                double[] used = new double[types];
+                for (int type = 0; type < types; type++) {
+                    accrued[type] = Double.parseDouble(row[1 + type * 2]);
+                    used[type] = Double.parseDouble(row[2 + type * 2]);
+                }
+                int employeeNumber = Integer.parseInt(row[0].trim());
+                balances.put(employeeNumber, new LeaveBalance(employeeNumber, accrued, used, parseMonth(row[9]),
+                        parseMonth(row[7]), parseMonth(row[10]), Integer.parseInt(row[8].trim())));
+            }
+            if (!consumedRows) {
+                throw new IllegalArgumentException("Snapshot has no consumed leaves section");
+            }
+            return offset;
+        } catch (CsvValidationException | IllegalArgumentException | DateTimeParseException e) {
+            // A damaged snapshot is only a cache; replay the whole ledger instead
+            balances.clear();
+            consumedByLeave.clear();
+            paidByLeave.clear();
+            return 0;
+        }
+    }
+
+    private static YearMonth parseMonth(final String value) {
+        return value.isBlank() ? null : YearMonth.parse(value.trim());
+    }
+
+    /**
+     * Adds the monthly accrual events an employee is owed up to and including a month.
+     * Caller holds the lock.
+     */
+    private void addAccrualsDue(final List<String[]> events, final int employeeNumber, final YearMonth through) {
+        LeaveBalance balance = getBalance(employeeNumber);
+        YearMonth month = balance.getAccruedThrough() != null ? balance.getAccruedThrough().plusMonths(1) : through;
+        if (balance.getHiredIn() != null && (balance.getAccruedThrough() == null || month.isBefore(balance.getHiredIn()))) {
+            month = balance.getHiredIn(); // Nothing accrues before the hire, even after an accrual was reversed
+        }
+        for (; !month.isAfter(through); month = month.plusMonths(1)) {
+            addAccruals(events, employeeNumber, month);
+        }
+    }
+
+    /**
+     * Adds one month's accrual events for every leave type.
+     */
+    private static void addAccruals(final List<String[]> events, final int employeeNumber, final YearMonth month) {
+        for (LeaveType type : LeaveType.values()) {
+            events.add(event(employeeNumber, EventKind.ACCRUAL, type, type.getAnnualEntitlementDays() / 12, month.toString(), ""));
+        }
+    }
+
+    /**
+     * Identifies the leave application a consumption event charges.
+     */
+    private static String consumptionKey(final String[] event) {
+        return consumptionKey(event[0].trim(), event[5]);
+    }
+
+    private static String consumptionKey(final String employeeNumber, final String reference) {
+        return employeeNumber + '|' + reference;
+    }
+
+    private static String[] event(final int employeeNumber, final EventKind kind, final LeaveType type,
+            final double days, final String month, final String reference) {
+        return new String[]{
+                String.valueOf(employeeNumber),
+                kind.name(),
+                type == null ? "" : type.getLabel(),
+                String.valueOf(days),
+                month,
+                reference.replace('\n', ' ').replace('\r', ' ')
+        };
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Posted events are already forced
+            }
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.mycompany.motorph.benchmark;
+
+import com.mycompany.motorph.data.LeaveDataManager;
+import com.mycompany.motorph.model.Leave;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link LeaveDataManager#saveLeaveApplication} against leave files of growing size.
+ * <p>
+ * Every invocation starts from a fresh copy of the file with the store already loaded
+ * and an empty journal, so the measured time is the save alone: the duplicate check and
+ * the forced journal append.
+ * </p>
+ *
+ * @author Lance
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class LeaveSaveBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int leaves;
+
+    private Path templateFile;
+    private Path leaveFile;
+    private LeaveDataManager leaveDataManager;
+
+    @Setup(Level.Trial)
+    public void writeTemplate() throws IOException {
+        templateFile = Files.createTempFile("motorph-leaves-", ".csv");
+        leaveFile = Files.createTempFile("motorph-leaves-work-", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(templateFile)) {
+            writer.write("\"Employee #\",\"Leave Type\",\"Start Date\",\"End Date\",\"Reason\",\"Sick Leave\",\"Vacation Leave\",\"Emergency Leave\"");
+            writer.newLine();
+            for (int i = 1; i <= leaves; i++) {
+                writer.write("\"" + i + "\",\"Vacation Leave\",\"06/03/2024\",\"06/05/2024\",\"Family trip\",\"0.0\",\"3.0\",\"0.0\"");
+                writer.newLine();
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void resetStore() throws Exception {
+        if (leaveDataManager != null) {
+            leaveDataManager.close();
+        }
+        Files.copy(templateFile, leaveFile, StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(journalFile());
+        leaveDataManager = new LeaveDataManager(leaveFile.toString());
+        leaveDataManager.reload();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        leaveDataManager.close();
+        Files.deleteIfExists(journalFile());
+        Files.deleteIfExists(templateFile);
+        Files.deleteIfExists(leaveFile);
+    }
+
+    private Path journalFile() {
+        return leaveFile.resolveSibling(leaveFile.getFileName() + ".journal");
+    }
+
+    @Benchmark
+    public void saveLeaveApplication() throws Exception {
+        leaveDataManager.saveLeaveApplication(new Leave(leaves + 1, "Sick Leave", "06/10/2024", "06/11/2024", "Flu"));
+    }
+}
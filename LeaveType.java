@@ -0,0 +1,55 @@
+package com.mycompany.motorph.model;
+
+/**
+ * The kinds of leave an employee can file, with their yearly entitlements.
+ *
+ * @author Lance
+ */
+public enum LeaveType {
+
+    SICK("Sick Leave", 15),
+    VACATION("Vacation Leave", 15),
+    EMERGENCY("Emergency Leave", 5);
+
+    private final String label;
+    private final double annualEntitlementDays;
+
+    LeaveType(String label, double annualEntitlementDays) {
+        this.label = label;
+        this.annualEntitlementDays = annualEntitlementDays;
+    }
+
+    /**
+     * Returns the name used in leave files and forms, e.g. "Sick Leave".
+     *
+     * @return The label
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the days earned per year, accrued in equal monthly parts.
+     *
+     * @return The yearly entitlement in days
+     */
+    public double getAnnualEntitlementDays() {
+        return annualEntitlementDays;
+    }
+
+    /**
+     * Looks up a leave type by its label.
+     *
+     * @param label The label, e.g. "Vacation Leave"
+     * @return The leave type
+     * @throws IllegalArgumentException If no leave type has that label
+     */
+    public static LeaveType fromLabel(String label) {
+        for (LeaveType type : values()) {
+            if (type.label.equalsIgnoreCase(label.trim())) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown leave type: " + label);
+    }
+}
@@ -1,18 +1,16 @@
 package com.mycompany.motorph;
 
-import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvValidationException;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.Arrays;
 
 /**
  * LoginPage for the MotorPH Payroll System.
- * Provides authentication using CSV-based credentials.
+ * Provides authentication against an in-memory index of the CSV-based credentials.
  *
  * @author Lance
  */
@@ -23,11 +21,25 @@ public class LoginPage extends javax.swing.JFrame implements EmployeeInformation
     private static final Color WHITE = new Color(255, 255, 255);
     private static final Color RED = new Color(191, 47, 47);
 
+    private final ApplicationContext context;
+
     /**
-     * Constructor for LoginPage.
+     * Constructor for LoginPage; creates the application context for the session.
      */
     public LoginPage() {
+        this(new ApplicationContext());
+    }
+
+    /**
+     * Constructor for LoginPage reusing an existing application context.
+     *
+     * @param context The shared application services
+     */
+    public LoginPage(ApplicationContext context) {
+        this.context = context;
         initComponents();
+        context.startPreload(); // Warm every service while the user types credentials
+        context.startApiServerIfConfigured();
     }
 
     /**
@@ -130,27 +142,11 @@ public class LoginPage extends javax.swing.JFrame implements EmployeeInformation
     }
 
     /**
-     * Reads CSV and verifies user credentials.
+     * Verifies user credentials against the in-memory credential store.
      */
     private boolean authenticateUser(String username, String password, String userType) {
-        String csvFilePath = "src/main/resources/data/login_credentials.csv";
-
-        try (CSVReader reader = new CSVReader(new FileReader(csvFilePath))) {
-            // Skip header row
-            reader.readNext();
-
-            String[] record;
-            while ((record = reader.readNext()) != null) {
-                if (record.length < 3) continue; // Ensure record has enough fields
-
-                String csvUsername = record[0].trim();
-                String csvPassword = record[1].trim();
-                String csvUserType = record[2].trim();
-
-                if (username.equals(csvUsername) && password.equals(csvPassword) && userType.equalsIgnoreCase(csvUserType)) {
-                    return true;
-                }
-            }
+        try {
+            return context.getCredentialStore().authenticate(username, password.toCharArray(), userType);
         } catch (IOException | CsvValidationException e) {
             showErrorDialog("Error reading credentials file.");
         }
@@ -165,7 +161,7 @@ public class LoginPage extends javax.swing.JFrame implements EmployeeInformation
             case "employee":
             case "admin":
             case "it":
-                new MotorPHMainMenu().setVisible(true);
+                new MotorPHMainMenu(context).setVisible(true);
                 dispose();
                 break;
             default:
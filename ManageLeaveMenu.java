@@ -16,10 +16,22 @@ public class ManageLeaveMenu extends javax.swing.JFrame {
     private static final Color WHITE = Color.WHITE;
     private static final Color RED = new Color(191, 47, 47);
 
+    private final ApplicationContext context;
+
     /**
      * Constructor for ManageLeaveMenu.
      */
     public ManageLeaveMenu() {
+        this(new ApplicationContext());
+    }
+
+    /**
+     * Constructor for ManageLeaveMenu sharing the session's application context.
+     *
+     * @param context The shared application services
+     */
+    public ManageLeaveMenu(ApplicationContext context) {
+        this.context = context;
         initComponents();
     }
 
@@ -92,14 +104,14 @@ public class ManageLeaveMenu extends javax.swing.JFrame {
      * Opens the Leave Application Page.
      */
     private void openLeaveApplication() {
-        new LeaveApplicationPage().setVisible(true);
+        new LeaveApplicationPage(context).setVisible(true);
     }
 
     /**
      * Opens the Leave Balance Page.
      */
     private void openLeaveBalance() {
-        new LeaveBalancePage().setVisible(true);
+        new LeaveBalancePage(context).setVisible(true);
     }
 
     /**
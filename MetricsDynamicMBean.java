@@ -0,0 +1,83 @@
+package com.mycompany.motorph.metrics;
+
+import java.util.Map;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.ReflectionException;
+
+/**
+ * Exposes every registered metric as a read-only JMX attribute.
+ * <p>
+ * Attributes mirror {@link MetricsRegistry#snapshot()}, so metrics created after
+ * registration appear the next time a JMX client reads the bean's info. The
+ * {@code report} operation returns the same text as the periodic dump.
+ * </p>
+ *
+ * @author Lance
+ */
+final class MetricsDynamicMBean implements DynamicMBean {
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Number value = MetricsRegistry.snapshot().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Number> snapshot = MetricsRegistry.snapshot();
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            Number value = snapshot.get(attribute);
+            if (value != null) {
+                list.add(new Attribute(attribute, value));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList(); // Read-only; nothing is set
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        if ("report".equals(actionName)) {
+            return MetricsRegistry.format();
+        }
+        throw new ReflectionException(new NoSuchMethodException(actionName), "Unknown operation: " + actionName);
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        Map<String, Number> snapshot = MetricsRegistry.snapshot();
+        MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[snapshot.size()];
+        int i = 0;
+        for (Map.Entry<String, Number> entry : snapshot.entrySet()) {
+            attributes[i++] = new MBeanAttributeInfo(entry.getKey(), entry.getValue().getClass().getName(),
+                    entry.getKey(), true, false, false);
+        }
+
+        MBeanOperationInfo[] operations = {
+                new MBeanOperationInfo("report", "Formatted metrics report", new MBeanParameterInfo[0],
+                        String.class.getName(), MBeanOperationInfo.INFO)
+        };
+        return new MBeanInfo(getClass().getName(), "MotorPH timers, counters and cache statistics",
+                attributes, null, operations, null);
+    }
+}
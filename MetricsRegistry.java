@@ -0,0 +1,163 @@
+package com.mycompany.motorph.metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide registry of timers, counters and cache statistics.
+ * <p>
+ * Metrics are off unless the JVM is started with {@code -Dmotorph.metrics=true}. The
+ * flag is a static final constant, so when it is off every recording call reduces to
+ * a branch the JIT removes. When on, the registry is published over JMX as
+ * {@value #OBJECT_NAME} and, if {@code -Dmotorph.metrics.dumpSeconds=N} is set,
+ * printed to standard output every N seconds.
+ * </p>
+ *
+ * @author Lance
+ */
+public final class MetricsRegistry {
+
+    /** Whether metrics are recorded; read once at class initialization. */
+    public static final boolean ENABLED = Boolean.getBoolean("motorph.metrics");
+
+    public static final String OBJECT_NAME = "com.mycompany.motorph:type=Metrics";
+
+    private static final ConcurrentMap<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CacheStats> CACHES = new ConcurrentHashMap<>();
+
+    static {
+        if (ENABLED) {
+            registerMBean();
+            long dumpSeconds = Long.getLong("motorph.metrics.dumpSeconds", 0L);
+            if (dumpSeconds > 0) {
+                startPeriodicDump(dumpSeconds, System.out);
+            }
+        }
+    }
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Returns the timer with the given name, creating it on first use.
+     *
+     * @param name Dotted metric name, e.g. "csv.attendance.read"
+     * @return The timer
+     */
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, Timer::new);
+    }
+
+    /**
+     * Returns the counter with the given name, creating it on first use.
+     *
+     * @param name Dotted metric name
+     * @return The counter
+     */
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * Returns the cache statistics with the given name, creating them on first use.
+     *
+     * @param name Dotted metric name
+     * @return The cache statistics
+     */
+    public static CacheStats cache(String name) {
+        return CACHES.computeIfAbsent(name, CacheStats::new);
+    }
+
+    /**
+     * Returns every metric value as a flat, name-sorted map.
+     *
+     * @return Attribute name to current value
+     */
+    public static SortedMap<String, Number> snapshot() {
+        SortedMap<String, Number> values = new TreeMap<>();
+        for (Timer timer : TIMERS.values()) {
+            String prefix = timer.getName() + ".";
+            values.put(prefix + "count", timer.getCount());
+            values.put(prefix + "totalMillis", timer.getTotalMillis());
+            values.put(prefix + "meanMillis", timer.getMeanMillis());
+            values.put(prefix + "p50Millis", timer.getPercentileMillis(0.50));
+            values.put(prefix + "p99Millis", timer.getPercentileMillis(0.99));
+            values.put(prefix + "maxMillis", timer.getMaxMillis());
+            if (timer.getRows() > 0) {
+                values.put(prefix + "rows", timer.getRows());
+                values.put(prefix + "rowsPerSecond", timer.getRowsPerSecond());
+            }
+        }
+        for (Counter counter : COUNTERS.values()) {
+            values.put(counter.getName(), counter.getCount());
+        }
+        for (CacheStats cache : CACHES.values()) {
+            String prefix = cache.getName() + ".";
+            values.put(prefix + "hits", cache.getHits());
+            values.put(prefix + "misses", cache.getMisses());
+            values.put(prefix + "hitRatio", cache.getHitRatio());
+        }
+        return values;
+    }
+
+    /**
+     * Formats all metrics as a human-readable report.
+     *
+     * @return The report text
+     */
+    public static String format() {
+        StringBuilder report = new StringBuilder("MotorPH metrics").append(System.lineSeparator());
+        new TreeMap<>(TIMERS).values().forEach(timer -> {
+            report.append(String.format("  %-32s n=%-8d mean=%.3fms p50=%.3fms p99=%.3fms max=%.3fms",
+                    timer.getName(), timer.getCount(), timer.getMeanMillis(), timer.getPercentileMillis(0.50),
+                    timer.getPercentileMillis(0.99), timer.getMaxMillis()));
+            if (timer.getRows() > 0) {
+                report.append(String.format(" rows=%,d (%,.0f/s)", timer.getRows(), timer.getRowsPerSecond()));
+            }
+            report.append(System.lineSeparator());
+        });
+        new TreeMap<>(COUNTERS).values().forEach(counter -> report.append(String.format("  %-32s %,d%n",
+                counter.getName(), counter.getCount())));
+        new TreeMap<>(CACHES).values().forEach(cache -> report.append(String.format("  %-32s hits=%,d misses=%,d ratio=%.3f%n",
+                cache.getName(), cache.getHits(), cache.getMisses(), cache.getHitRatio())));
+        return report.toString();
+    }
+
+    /**
+     * Prints the report at a fixed rate on a daemon thread.
+     *
+     * @param periodSeconds Seconds between reports
+     * @param out Destination of the report
+     */
+    public static void startPeriodicDump(long periodSeconds, PrintStream out) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> out.print(format()), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    private static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsDynamicMBean(), name);
+            }
+        } catch (JMException e) {
+            System.err.println("Metrics MBean not registered: " + e.getMessage());
+        }
+    }
+}
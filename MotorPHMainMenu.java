@@ -18,10 +18,22 @@ public class MotorPHMainMenu extends javax.swing.JFrame {
     private static final Color WHITE = Color.WHITE;
     private static final Color RED = new Color(191, 47, 47);
 
+    private final ApplicationContext context;
+
     /**
      * Constructor for MotorPHMainMenu.
      */
     public MotorPHMainMenu() {
+        this(new ApplicationContext());
+    }
+
+    /**
+     * Constructor for MotorPHMainMenu sharing the session's application context.
+     *
+     * @param context The shared application services
+     */
+    public MotorPHMainMenu(ApplicationContext context) {
+        this.context = context;
         initComponents();
     }
 
@@ -98,21 +110,21 @@ public class MotorPHMainMenu extends javax.swing.JFrame {
      * Opens the Employee Search Page.
      */
     private void openEmployeeSearch() {
-        new EmployeeSearchPage().setVisible(true);
+        new EmployeeSearchPage(context).setVisible(true);
     }
 
     /**
      * Opens the Manage Leave Page.
      */
     private void openManageLeave() {
-        new ManageLeaveMenu().setVisible(true);
+        new ManageLeaveMenu(context).setVisible(true);
     }
 
     /**
      * Returns to the login screen.
      */
     private void returnToLogin() {
-        new LoginPage().setVisible(true);
+        new LoginPage(context).setVisible(true);
         this.dispose();
     }
 
@@ -0,0 +1,376 @@
+package com.mycompany.motorph.calculation;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Finds the gross wage that gives a target net wage, the inverse of the
+ * {@link NetWageCalculation} deductions.
+ * <p>
+ * Net wage is piecewise linear in the gross: SSS changes by range, PhilHealth and
+ * Pag-IBIG by their floors, caps and thresholds, and withholding tax by bracket of
+ * taxable income. Each version of the {@link StatutoryRules} is compiled once into
+ * those segments, with the highest net reachable up to each segment. A solve is then a
+ * binary search for the first segment that reaches the target, one linear solve inside
+ * it, and an evaluation of the real rules at the answer rounded up to the centavo, so
+ * it takes a handful of evaluations whatever the size of the tables.
+ * </p>
+ * <p>
+ * The answer is the lowest gross whose net is at least the target. Where a higher SSS
+ * range or tax bracket lowers the net, a target can also be met at some higher gross;
+ * the lowest is what an offer needs. Late deductions are not included.
+ * </p>
+ *
+ * @author Lance
+ */
+public class NetToGrossSolver {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final double CENTAVO = 0.01;
+    private static final double TOLERANCE = 1e-6; // Floating-point noise in the deductions, far below a centavo
+
+    private final StatutoryRulesRegistry statutoryRules;
+    // Curves hold no reference to their rules, so a version replaced by a reload can be collected
+    private final Map<StatutoryRules, NetCurve> curves = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Constructor for NetToGrossSolver using the default statutory rules.
+     */
+    public NetToGrossSolver() {
+        this(StatutoryRulesRegistry.getDefault());
+    }
+
+    /**
+     * Constructor for NetToGrossSolver with specific statutory rules.
+     *
+     * @param statutoryRules The versioned statutory rules
+     */
+    public NetToGrossSolver(final StatutoryRulesRegistry statutoryRules) {
+        this.statutoryRules = statutoryRules;
+    }
+
+    /**
+     * Finds the gross wage for a target net under the rules in effect on a day.
+     *
+     * @param targetNet The net wage wanted
+     * @param payDate The day whose statutory rules apply
+     * @return The gross wage and its deductions
+     * @throws IOException If the rules cannot be read
+     * @throws CsvValidationException If a rules file is not valid CSV
+     */
+    public Solution solve(final double targetNet, final LocalDate payDate) throws IOException, CsvValidationException {
+        return solve(targetNet, statutoryRules.forDate(payDate));
+    }
+
+    /**
+     * Finds the gross wage for a target net under a given version of the rules.
+     *
+     * @param targetNet The net wage wanted
+     * @param rules The statutory rules
+     * @return The gross wage and its deductions
+     */
+    public Solution solve(final double targetNet, final StatutoryRules rules) {
+        return curve(rules).solve(rules, targetNet);
+    }
+
+    /**
+     * Finds the gross wages for many target nets, such as a salary band, under one version
+     * of the rules, compiling it only once.
+     *
+     * @param targetNets The net wages wanted
+     * @param payDate The day whose statutory rules apply
+     * @return One solution per target, in the same order
+     * @throws IOException If the rules cannot be read
+     * @throws CsvValidationException If a rules file is not valid CSV
+     */
+    public List<Solution> solveAll(final double[] targetNets, final LocalDate payDate) throws IOException, CsvValidationException {
+        StatutoryRules rules = statutoryRules.forDate(payDate);
+        NetCurve curve = curve(rules);
+        List<Solution> solutions = new ArrayList<>(targetNets.length);
+        for (double targetNet : targetNets) {
+            solutions.add(curve.solve(rules, targetNet));
+        }
+        return solutions;
+    }
+
+    private NetCurve curve(final StatutoryRules rules) {
+        return curves.computeIfAbsent(rules, NetCurve::new);
+    }
+
+    /**
+     * Net wage for a gross wage, as {@link NetWageCalculation} computes it without late deductions.
+     */
+    private static double net(final StatutoryRules rules, final double grossWage) {
+        double deductions = rules.calculateSss(grossWage) + rules.calculatePhilHealth(grossWage)
+                + rules.calculatePagIbig(grossWage) + rules.calculateWithholdingTax(grossWage);
+        return Math.max(grossWage - deductions, 0);
+    }
+
+    /**
+     * One version of the rules compiled into linear segments of net wage over gross wage.
+     * The rules are passed to each solve rather than kept, so the curve never pins its cache key.
+     */
+    private static final class NetCurve {
+
+        private final double[] starts;   // Segment k covers (starts[k], starts[k + 1]), plus the point starts[k]
+        private final double[] slopes;
+        private final double[] intercepts;
+        private final double[] reach;    // Highest net at or before the end of segment k
+
+        private NetCurve(StatutoryRules rules) {
+            // Contributions are linear between their breakpoints; tax adds its own within each
+            double[] contributionPoints = rules.getContributionBreakpoints();
+            double[] taxBrackets = rules.getTaxBrackets();
+            List<Double> points = new ArrayList<>();
+            points.add(0.0);
+            for (int i = 0; i <= contributionPoints.length; i++) {
+                double low = i == 0 ? 0.0 : contributionPoints[i - 1];
+                double high = i < contributionPoints.length ? contributionPoints[i] : Double.POSITIVE_INFINITY;
+                if (i < contributionPoints.length) {
+                    points.add(high);
+                }
+                double x1 = interior(low, high, 1);
+                double x2 = interior(low, high, 2);
+                double c1 = x1 - taxable(rules, x1);
+                double c2 = x2 - taxable(rules, x2);
+                double b = (c2 - c1) / (x2 - x1);
+                double a = c1 - b * x1;
+                for (int j = -1; j < taxBrackets.length; j++) {
+                    double bracket = j < 0 ? 0.0 : taxBrackets[j];
+                    double gross = (bracket + a) / (1 - b); // Where taxable income, (1 - b) * gross - a, reaches the bracket
+                    if (gross > low && gross < high) {
+                        points.add(gross);
+                    }
+                }
+            }
+            double[] sorted = points.stream().mapToDouble(Double::doubleValue).sorted().distinct().toArray();
+
+            int segments = sorted.length;
+            this.starts = sorted;
+            this.slopes = new double[segments];
+            this.intercepts = new double[segments];
+            this.reach = new double[segments];
+            double best = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < segments; k++) {
+                double low = sorted[k];
+                double high = k + 1 < segments ? sorted[k + 1] : Double.POSITIVE_INFINITY;
+                double x1 = interior(low, high, 1);
+                double x2 = interior(low, high, 2);
+                double y1 = net(rules, x1);
+                slopes[k] = (net(rules, x2) - y1) / (x2 - x1);
+                intercepts[k] = y1 - slopes[k] * x1;
+                double end = high == Double.POSITIVE_INFINITY
+                        ? Double.POSITIVE_INFINITY : intercepts[k] + slopes[k] * high;
+                best = Math.max(best, Math.max(net(rules, low), end));
+                reach[k] = best;
+            }
+        }
+
+        private static double taxable(StatutoryRules rules, double grossWage) {
+            return grossWage - rules.calculateSss(grossWage) - rules.calculatePhilHealth(grossWage) - rules.calculatePagIbig(grossWage);
+        }
+
+        private static double interior(double low, double high, int third) {
+            return high == Double.POSITIVE_INFINITY ? low + third : low + (high - low) * third / 3;
+        }
+
+        private Solution solve(StatutoryRules rules, double targetNet) {
+            if (targetNet <= 0) {
+                return solution(rules, targetNet, 0.0, 1);
+            }
+
+            // First segment whose reachable net meets the target
+            int low = 0;
+            int high = starts.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (reach[mid] >= targetNet - TOLERANCE) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+
+            // Lowest gross in that segment, rounded up to the centavo and confirmed against the
+            // rules themselves; rounding can step over a breakpoint, so fall through if it fails
+            int evaluations = 0;
+            for (int k = low; k < starts.length; k++) {
+                double start = starts[k];
+                double end = k + 1 < starts.length ? starts[k + 1] : Double.POSITIVE_INFINITY;
+                double gross;
+                evaluations++;
+                if (net(rules, start) >= targetNet - TOLERANCE) {
+                    gross = start;
+                } else if (slopes[k] > 0 && intercepts[k] + slopes[k] * end >= targetNet - TOLERANCE) {
+                    gross = Math.max(start, (targetNet - intercepts[k]) / slopes[k]);
+                } else {
+                    continue;
+                }
+                double rounded = Math.ceil(Math.round(gross / CENTAVO * 1e4) / 1e4) / 100.0;
+                evaluations++;
+                if (net(rules, rounded) >= targetNet - TOLERANCE) {
+                    return solution(rules, targetNet, rounded, evaluations);
+                }
+            }
+            throw new IllegalStateException("No gross wage gives a net of " + targetNet);
+        }
+
+        private static Solution solution(StatutoryRules rules, double targetNet, double grossWage, int evaluations) {
+            return new Solution(targetNet, grossWage, rules.calculateSss(grossWage), rules.calculatePhilHealth(grossWage),
+                    rules.calculatePagIbig(grossWage), rules.calculateWithholdingTax(grossWage), net(rules, grossWage),
+                    rules.getVersion(), evaluations);
+        }
+    }
+
+    /**
+     * A gross wage found for a target net, with the deductions it carries.
+     */
+    public static final class Solution {
+
+        private final double targetNet;
+        private final double grossWage;
+        private final double sssDeduction;
+        private final double philHealthDeduction;
+        private final double pagIbigDeduction;
+        private final double withholdingTax;
+        private final double netWage;
+        private final String rulesVersion;
+        private final int evaluations;
+
+        private Solution(double targetNet, double grossWage, double sssDeduction, double philHealthDeduction,
+                         double pagIbigDeduction, double withholdingTax, double netWage, String rulesVersion, int evaluations) {
+            this.targetNet = targetNet;
+            this.grossWage = grossWage;
+            this.sssDeduction = sssDeduction;
+            this.philHealthDeduction = philHealthDeduction;
+            this.pagIbigDeduction = pagIbigDeduction;
+            this.withholdingTax = withholdingTax;
+            this.netWage = netWage;
+            this.rulesVersion = rulesVersion;
+            this.evaluations = evaluations;
+        }
+
+        public double getTargetNet() {
+            return targetNet;
+        }
+
+        /** Returns the lowest gross wage, in whole centavos, whose net is at least the target. */
+        public double getGrossWage() {
+            return grossWage;
+        }
+
+        public double getSssDeduction() {
+            return sssDeduction;
+        }
+
+        public double getPhilHealthDeduction() {
+            return philHealthDeduction;
+        }
+
+        public double getPagIbigDeduction() {
+            return pagIbigDeduction;
+        }
+
+        public double getWithholdingTax() {
+            return withholdingTax;
+        }
+
+        /** Returns the net wage at the gross wage, which may exceed the target by the rounding to centavos. */
+        public double getNetWage() {
+            return netWage;
+        }
+
+        public String getRulesVersion() {
+            return rulesVersion;
+        }
+
+        /** Returns how many candidate gross wages were checked against the rules. */
+        public int getEvaluations() {
+            return evaluations;
+        }
+    }
+
+    /**
+     * Prices one take-home amount, a salary band or a file of target nets.
+     * <pre>
+     * NetToGrossSolver (--net 30000 | --band 20000:80000:2500 | --targets targets.csv)
+     *                  [--date MM/dd/yyyy] [--output offers.csv]
+     * </pre>
+     * A targets file has the target net in its first column; a header row is optional.
+     * Results are written as CSV to the output file, or to standard output.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        double[] targets;
+        if (options.containsKey("net")) {
+            targets = new double[]{Double.parseDouble(options.get("net"))};
+        } else if (options.containsKey("band")) {
+            String[] band = options.get("band").split(":");
+            double from = Double.parseDouble(band[0]);
+            double to = Double.parseDouble(band[1]);
+            double step = band.length > 2 ? Double.parseDouble(band[2]) : 1000;
+            int count = (int) Math.floor((to - from) / step + 1e-9) + 1;
+            targets = new double[Math.max(count, 0)];
+            for (int i = 0; i < targets.length; i++) {
+                targets[i] = from + i * step;
+            }
+        } else if (options.containsKey("targets")) {
+            List<Double> values = new ArrayList<>();
+            try (CSVReader reader = new CSVReader(new FileReader(options.get("targets")))) {
+                String[] row;
+                while ((row = reader.readNext()) != null) {
+                    try {
+                        values.add(Double.parseDouble(row[0].trim()));
+                    } catch (NumberFormatException e) {
+                        if (!values.isEmpty()) {
+                            throw new IllegalArgumentException("Invalid target net: " + row[0]);
+                        } // Otherwise a header row
+                    }
+                }
+            }
+            targets = values.stream().mapToDouble(Double::doubleValue).toArray();
+        } else {
+            System.err.println("Usage: NetToGrossSolver (--net 30000 | --band 20000:80000:2500 | --targets targets.csv)");
+            System.err.println("                        [--date MM/dd/yyyy] [--output offers.csv]");
+            System.exit(2);
+            return;
+        }
+        LocalDate payDate = options.containsKey("date") ? LocalDate.parse(options.get("date"), DATE_FORMAT) : LocalDate.now();
+
+        List<Solution> solutions = new NetToGrossSolver().solveAll(targets, payDate);
+        Writer output = options.containsKey("output") ? new FileWriter(options.get("output")) : new OutputStreamWriter(System.out);
+        try (CSVWriter writer = new CSVWriter(output)) {
+            writer.writeNext(new String[]{"Target Net", "Gross Wage", "SSS", "PhilHealth", "Pag-IBIG",
+                    "Withholding Tax", "Net Wage", "Rules Version"});
+            for (Solution solution : solutions) {
+                writer.writeNext(Arrays.asList(amount(solution.getTargetNet()), amount(solution.getGrossWage()),
+                        amount(solution.getSssDeduction()), amount(solution.getPhilHealthDeduction()),
+                        amount(solution.getPagIbigDeduction()), amount(solution.getWithholdingTax()),
+                        amount(solution.getNetWage()), solution.getRulesVersion()).toArray(new String[0]));
+            }
+        }
+    }
+
+    private static String amount(final double value) {
+        return String.format("%.2f", value);
+    }
+}
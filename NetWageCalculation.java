@@ -1,45 +1,82 @@
 package com.mycompany.motorph.calculation;
 
+import com.mycompany.motorph.events.AttendanceAggregationEvent;
+import com.mycompany.motorph.events.DeductionComputationEvent;
+import com.mycompany.motorph.events.ResultFormattingEvent;
+import com.mycompany.motorph.events.WithholdingTaxEvent;
 import com.mycompany.motorph.model.DateRange;
+import com.mycompany.motorph.model.PayrollResult;
 import com.mycompany.motorph.util.CurrencyUtil;
 import com.opencsv.exceptions.CsvValidationException;
 import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.*;
 
 /**
  * A class that calculates net wage.
  * <p>
  * It calculates the net wage by subtracting total deductions from the gross wage,
- * considering late arrival deductions.
+ * considering late arrival deductions. Contributions and tax follow the version of the
+ * {@link StatutoryRules} in effect for the pay period, and the version is recorded on
+ * each result.
+ * </p>
  *
  * @author Lance
  */
 public class NetWageCalculation {
 
-    private final SSSDeduction sssDeduction;
-    private final HealthInsurancesDeduction healthInsurancesDeduction;
-    private final WithholdingTaxCalculation withholdingTaxCalculation;
+    private final StatutoryRulesRegistry statutoryRules;
 
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("MM/dd");
-    private static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat("HH:mm");
+    // SimpleDateFormat is not thread-safe; payroll may run on several threads at once
+    private static final ThreadLocal<SimpleDateFormat> TIME_FORMAT = ThreadLocal.withInitial(() -> new SimpleDateFormat("HH:mm"));
 
     // Constants for Attendance and Late Deduction Calculation
     private static final int ATTENDANCE_EXPECTED_COL_LENGTH = 6;
     private static final int EMPLOYEE_NUM_INDEX = 0;
-    private static final double LATE_ARRIVAL_DEDUCTION_PER_MINUTE = 1.66;
+    public static final double LATE_ARRIVAL_DEDUCTION_PER_MINUTE = 1.66;
     private static final int LATE_HOUR_START = 8;
     private static final int LATE_MINUTE_START = 11;
     private static final int MINUTES_IN_HOUR = 60;
 
     /**
-     * Constructor for NetWageCalculation.
+     * Constructor for NetWageCalculation using the default statutory rules.
      */
     public NetWageCalculation() {
-        this.sssDeduction = new SSSDeduction();
-        this.healthInsurancesDeduction = new HealthInsurancesDeduction();
-        this.withholdingTaxCalculation = new WithholdingTaxCalculation();
+        this(StatutoryRulesRegistry.getDefault());
+    }
+
+    /**
+     * Constructor for NetWageCalculation with specific statutory rules.
+     *
+     * @param statutoryRules The versioned statutory rules
+     */
+    public NetWageCalculation(final StatutoryRulesRegistry statutoryRules) {
+        this.statutoryRules = statutoryRules;
+    }
+
+    /**
+     * Loads the deduction tables backing this calculator ahead of first use.
+     *
+     * @return The number of SSS brackets in the current rules
+     * @throws IOException If an I/O error occurs while reading the tables.
+     * @throws CsvValidationException If CSV validation fails.
+     */
+    public int preloadDeductionTables() throws IOException, CsvValidationException {
+        return statutoryRules.current().getSssBracketCount();
+    }
+
+    /**
+     * Returns the statutory rules in effect on a day.
+     *
+     * @param date The day, normally the last day of the pay period
+     * @return The rules version in effect
+     * @throws IOException If an I/O error occurs while reading the tables.
+     * @throws CsvValidationException If CSV validation fails.
+     */
+    public StatutoryRules getStatutoryRules(final LocalDate date) throws IOException, CsvValidationException {
+        return statutoryRules.forDate(date);
     }
 
     /**
@@ -52,20 +89,38 @@ public class NetWageCalculation {
      * @throws ParseException If a date parsing error occurs.
      */
     public double calculateLateArrivalDeduction(final List<String[]> attendanceDataList, final int employeeNumber, final DateRange dateRange) throws ParseException {
-        double totalLateDeduction = 0.0;
+        return calculateLateMinutes(attendanceDataList, employeeNumber, dateRange) * LATE_ARRIVAL_DEDUCTION_PER_MINUTE;
+    }
+
+    /**
+     * Calculates the total minutes an employee arrived late.
+     *
+     * @param attendanceDataList The list containing attendance data.
+     * @param employeeNumber The employee number.
+     * @param dateRange The date range.
+     * @return The total late minutes.
+     * @throws ParseException If a date parsing error occurs.
+     */
+    public int calculateLateMinutes(final List<String[]> attendanceDataList, final int employeeNumber, final DateRange dateRange) throws ParseException {
+        AttendanceAggregationEvent event = AttendanceAggregationEvent.start("late arrivals", employeeNumber);
+        int totalLateMinutes = 0;
+        int lateRows = 0;
 
         for (String[] data : attendanceDataList) {
             if (data.length == ATTENDANCE_EXPECTED_COL_LENGTH && Integer.parseInt(data[EMPLOYEE_NUM_INDEX]) == employeeNumber) {
-                Date attendanceDate = DATE_FORMAT.parse(data[3]);
-                Date attendanceTimeIn = TIME_FORMAT.parse(data[4]);
+                if (!dateRange.contains(dateRange.parseDay(data[3]))) {
+                    continue;
+                }
+                Date attendanceTimeIn = TIME_FORMAT.get().parse(data[4]);
 
-                if (dateRange.isWithinDateRange(attendanceDate) && arrivedLate(attendanceTimeIn)) {
-                    int lateMinutes = calculateLateMinutes(attendanceTimeIn);
-                    totalLateDeduction += lateMinutes * LATE_ARRIVAL_DEDUCTION_PER_MINUTE;
+                if (arrivedLate(attendanceTimeIn)) {
+                    totalLateMinutes += calculateLateMinutes(attendanceTimeIn);
+                    lateRows++;
                 }
             }
         }
-        return totalLateDeduction;
+        event.finish(attendanceDataList.size(), lateRows);
+        return totalLateMinutes;
     }
 
     /**
@@ -78,20 +133,93 @@ public class NetWageCalculation {
      * @return A list of formatted wage details.
      */
     public List<String> getWageInformation(final int employeeNumber, final double hourlyRate, final double hoursWorked, final double lateArrivalDeduction) throws IOException, CsvValidationException {
+        return formatWageInformation(calculatePayroll(employeeNumber, hourlyRate, hoursWorked, lateArrivalDeduction));
+    }
+
+    /**
+     * Computes the gross wage, every deduction and the net wage of an employee.
+     *
+     * @param employeeNumber The employee number.
+     * @param hourlyRate The hourly rate.
+     * @param hoursWorked The total hours worked.
+     * @param lateArrivalDeduction The late arrival deduction.
+     * @return The unformatted payroll amounts.
+     */
+    public PayrollResult calculatePayroll(final int employeeNumber, final double hourlyRate, final double hoursWorked, final double lateArrivalDeduction) throws IOException, CsvValidationException {
+        return calculatePayroll(employeeNumber, hourlyRate, hoursWorked, lateArrivalDeduction, 0, 0);
+    }
+
+    /**
+     * Computes the gross wage, every deduction and the net wage of an employee, recording
+     * the leave and unpaid days behind the hours.
+     *
+     * @param employeeNumber The employee number.
+     * @param hourlyRate The hourly rate.
+     * @param hoursWorked The total hours paid, including paid leave.
+     * @param lateArrivalDeduction The late arrival deduction.
+     * @param paidLeaveDays Workdays paid as leave.
+     * @param unpaidDays Workdays left unpaid.
+     * @return The unformatted payroll amounts.
+     */
+    public PayrollResult calculatePayroll(final int employeeNumber, final double hourlyRate, final double hoursWorked, final double lateArrivalDeduction,
+                                          final int paidLeaveDays, final int unpaidDays) throws IOException, CsvValidationException {
+        return calculatePayroll(employeeNumber, hourlyRate, hoursWorked, lateArrivalDeduction, paidLeaveDays, unpaidDays,
+                statutoryRules.current());
+    }
+
+    /**
+     * Computes the gross wage, every deduction and the net wage of an employee under a
+     * given version of the statutory rules, which is recorded on the result.
+     *
+     * @param employeeNumber The employee number.
+     * @param hourlyRate The hourly rate.
+     * @param hoursWorked The total hours paid, including paid leave.
+     * @param lateArrivalDeduction The late arrival deduction.
+     * @param paidLeaveDays Workdays paid as leave.
+     * @param unpaidDays Workdays left unpaid.
+     * @param rules The statutory rules for the pay period.
+     * @return The unformatted payroll amounts.
+     */
+    public PayrollResult calculatePayroll(final int employeeNumber, final double hourlyRate, final double hoursWorked, final double lateArrivalDeduction,
+                                          final int paidLeaveDays, final int unpaidDays, final StatutoryRules rules) {
+        DeductionComputationEvent event = DeductionComputationEvent.start(employeeNumber);
         double grossWage = hourlyRate * hoursWorked;
-        double totalDeductions = calculateTotalDeductions(grossWage, lateArrivalDeduction);
+        double sss = rules.calculateSss(grossWage);
+        double philHealth = rules.calculatePhilHealth(grossWage);
+        double pagIbig = rules.calculatePagIbig(grossWage);
+
+        WithholdingTaxEvent taxEvent = WithholdingTaxEvent.start(employeeNumber, grossWage);
+        double tax = rules.calculateWithholdingTax(grossWage);
+        taxEvent.finish(tax);
+
+        double totalDeductions = sss + philHealth + pagIbig + tax + lateArrivalDeduction;
         double netWage = Math.max(grossWage - totalDeductions, 0);
+        event.finish(grossWage, totalDeductions);
+
+        return new PayrollResult(employeeNumber, hoursWorked, grossWage, sss, philHealth, pagIbig, tax,
+                lateArrivalDeduction, totalDeductions, netWage, paidLeaveDays, unpaidDays, rules.getVersion());
+    }
 
-        return Arrays.asList(
-                CurrencyUtil.formatCurrency(grossWage),
-                CurrencyUtil.formatCurrency(sssDeduction.calculateSssDeduction(grossWage)),
-                CurrencyUtil.formatCurrency(healthInsurancesDeduction.calculatePhilHealthDeduction(grossWage)),
-                CurrencyUtil.formatCurrency(healthInsurancesDeduction.calculatePagIbigDeduction(grossWage)),
-                CurrencyUtil.formatCurrency(withholdingTaxCalculation.calculateWithholdingTax(grossWage)),
-                CurrencyUtil.formatCurrency(lateArrivalDeduction),
-                CurrencyUtil.formatCurrency(totalDeductions),
-                CurrencyUtil.formatCurrency(netWage)
+    /**
+     * Formats payroll amounts in the order shown on the employee screen.
+     *
+     * @param result The payroll amounts.
+     * @return A list of formatted wage details.
+     */
+    public List<String> formatWageInformation(final PayrollResult result) {
+        ResultFormattingEvent event = ResultFormattingEvent.start("screen", result.getEmployeeNumber());
+        List<String> formatted = Arrays.asList(
+                CurrencyUtil.formatCurrency(result.getGrossWage()),
+                CurrencyUtil.formatCurrency(result.getSssDeduction()),
+                CurrencyUtil.formatCurrency(result.getPhilHealthDeduction()),
+                CurrencyUtil.formatCurrency(result.getPagIbigDeduction()),
+                CurrencyUtil.formatCurrency(result.getWithholdingTax()),
+                CurrencyUtil.formatCurrency(result.getLateArrivalDeduction()),
+                CurrencyUtil.formatCurrency(result.getTotalDeductions()),
+                CurrencyUtil.formatCurrency(result.getNetWage())
         );
+        event.finish(formatted.size());
+        return formatted;
     }
 
     /**
@@ -123,20 +251,4 @@ public class NetWageCalculation {
 
         return ((hour - LATE_HOUR_START) * MINUTES_IN_HOUR) + (minute - LATE_MINUTE_START);
     }
-
-    /**
-     * Calculates total deductions for an employee.
-     *
-     * @param grossWage The gross wage before deductions.
-     * @param lateArrivalDeduction The late arrival deduction.
-     * @return The total deductions.
-     */
-    private double calculateTotalDeductions(final double grossWage, final double lateArrivalDeduction) throws IOException, CsvValidationException {
-        double sss = sssDeduction.calculateSssDeduction(grossWage);
-        double philHealth = healthInsurancesDeduction.calculatePhilHealthDeduction(grossWage);
-        double pagIbig = healthInsurancesDeduction.calculatePagIbigDeduction(grossWage);
-        double tax = withholdingTaxCalculation.calculateWithholdingTax(grossWage);
-
-        return sss + philHealth + pagIbig + tax + lateArrivalDeduction;
-    }
 }
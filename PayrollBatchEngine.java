@@ -0,0 +1,238 @@
+package com.mycompany.motorph.calculation;
+
+import com.mycompany.motorph.employee.EmployeeInformation;
+import com.mycompany.motorph.events.AttendanceAggregationEvent;
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.model.DateRange;
+import com.mycompany.motorph.model.Employee;
+import com.mycompany.motorph.model.PayrollResult;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Runs payroll for many employees in one pass over the attendance data.
+ * <p>
+ * Attendance rows are grouped by employee once, then each selected employee's
+ * payroll is computed with the same {@link WageCalculation} logic used on screen,
+ * so the batch costs time linear in employees plus attendance rows instead of
+ * rescanning all attendance for every employee. Leaves come from the leave store's
+ * per-employee index and are merge-joined with each employee's own rows, so joining
+ * leave keeps the batch linear. Results are handed to a sink as they are produced.
+ * </p>
+ * <p>
+ * The statutory rules are resolved once per run, for the end of the pay period, and every
+ * employee is paid under them; a rules reload during a run applies from the next run.
+ * </p>
+ *
+ * @author Lance
+ */
+public class PayrollBatchEngine {
+
+    private static final int ATTENDANCE_EXPECTED_COL_LENGTH = 6;
+    private static final int EMPLOYEE_NUM_INDEX = 0;
+
+    private final EmployeeInformation employeeInformation;
+    private final WageCalculation wageCalculation;
+
+    /**
+     * Receives payroll results as the batch produces them.
+     */
+    @FunctionalInterface
+    public interface ResultSink {
+
+        /**
+         * Accepts one employee's payroll.
+         *
+         * @param result The payroll result
+         * @throws IOException If the result cannot be written
+         */
+        void accept(PayrollResult result) throws IOException;
+
+        /**
+         * Called once after the last result, for sinks that finish writing in the background.
+         *
+         * @throws IOException If the output cannot be completed
+         */
+        default void complete() throws IOException {
+        }
+    }
+
+    /**
+     * Constructor for PayrollBatchEngine.
+     *
+     * @param employeeInformation The employee repository
+     * @param wageCalculation The payroll engine sharing that repository
+     */
+    public PayrollBatchEngine(final EmployeeInformation employeeInformation, final WageCalculation wageCalculation) {
+        this.employeeInformation = employeeInformation;
+        this.wageCalculation = wageCalculation;
+    }
+
+    /**
+     * Computes payroll for every employee accepted by the filter.
+     * <p>
+     * Malformed attendance rows and employees whose payroll cannot be computed are
+     * recorded as data errors in the report and skipped; the rest of the batch continues.
+     * </p>
+     *
+     * @param dateRange The pay period
+     * @param employeeFilter Selects employees by employee number
+     * @param sink Receives each result in employee-file order, then is completed
+     * @return Counts, per-stage timings and data errors
+     * @throws IOException If an input file cannot be read or the sink fails
+     * @throws CsvValidationException If an input file is not valid CSV
+     * @throws ParseException If the employee file cannot be parsed
+     */
+    public BatchReport run(final DateRange dateRange, final IntPredicate employeeFilter, final ResultSink sink)
+            throws IOException, CsvValidationException, ParseException {
+        BatchReport report = new BatchReport();
+
+        long stageStart = System.nanoTime();
+        List<Employee> employees = employeeInformation.getAllEmployees();
+        StatutoryRules rules = wageCalculation.getStatutoryRules(dateRange.getEndDate());
+        stageStart = report.endStage("load employees", stageStart);
+
+        List<String[]> attendanceData = wageCalculation.getAttendanceData(dateRange);
+        report.attendanceRows = attendanceData.size();
+        stageStart = report.endStage("load attendance", stageStart);
+
+        Map<Integer, List<String[]>> attendanceByEmployee = groupAttendance(attendanceData, employeeFilter, report);
+        stageStart = report.endStage("group attendance", stageStart);
+
+        long outputNanos = 0;
+        for (Employee employee : employees) {
+            int employeeNumber = employee.getEmployeeNumber();
+            if (!employeeFilter.test(employeeNumber)) {
+                continue;
+            }
+
+            PayrollResult result;
+            try {
+                List<String[]> rows = attendanceByEmployee.getOrDefault(employeeNumber, Collections.emptyList());
+                result = wageCalculation.calculatePayroll(employeeNumber, employee.getHourlyRate(), rows, dateRange, rules);
+            } catch (ParseException | RuntimeException e) {
+                report.dataErrors.add("Employee " + employeeNumber + ": " + e.getMessage());
+                continue;
+            }
+
+            long sinkStart = System.nanoTime();
+            sink.accept(result);
+            outputNanos += System.nanoTime() - sinkStart;
+            report.employeesProcessed++;
+        }
+
+        long completeStart = System.nanoTime();
+        sink.complete();
+        long completeNanos = System.nanoTime() - completeStart;
+
+        long computeNanos = completeStart - stageStart - outputNanos;
+        outputNanos += completeNanos;
+        report.recordStage("compute payroll", computeNanos);
+        report.recordStage("write output", outputNanos);
+        return report;
+    }
+
+    /**
+     * Groups attendance rows of selected employees by employee number.
+     */
+    private Map<Integer, List<String[]>> groupAttendance(final List<String[]> attendanceData, final IntPredicate employeeFilter,
+                                                        final BatchReport report) {
+        AttendanceAggregationEvent event = AttendanceAggregationEvent.start("batch grouping", 0);
+        Map<Integer, List<String[]>> attendanceByEmployee = new HashMap<>();
+        int groupedRows = 0;
+
+        for (int i = 0; i < attendanceData.size(); i++) {
+            String[] row = attendanceData.get(i);
+            if (row.length != ATTENDANCE_EXPECTED_COL_LENGTH) {
+                report.dataErrors.add("Attendance row " + (i + 2) + ": expected " + ATTENDANCE_EXPECTED_COL_LENGTH
+                        + " columns but got " + row.length);
+                continue;
+            }
+
+            int employeeNumber;
+            try {
+                employeeNumber = Integer.parseInt(row[EMPLOYEE_NUM_INDEX].trim());
+            } catch (NumberFormatException e) {
+                report.dataErrors.add("Attendance row " + (i + 2) + ": invalid employee number '" + row[EMPLOYEE_NUM_INDEX] + "'");
+                continue;
+            }
+
+            if (employeeFilter.test(employeeNumber)) {
+                attendanceByEmployee.computeIfAbsent(employeeNumber, k -> new ArrayList<>()).add(row);
+                groupedRows++;
+            }
+        }
+
+        event.finish(attendanceData.size(), groupedRows);
+        return attendanceByEmployee;
+    }
+
+    /**
+     * Outcome of a batch run.
+     */
+    public static final class BatchReport {
+
+        private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+        private final List<String> dataErrors = new ArrayList<>();
+        private int employeesProcessed;
+        private int attendanceRows;
+
+        private long endStage(String stage, long stageStart) {
+            long now = System.nanoTime();
+            recordStage(stage, now - stageStart);
+            return now;
+        }
+
+        private void recordStage(String stage, long nanos) {
+            stageNanos.put(stage, nanos);
+            MetricsRegistry.timer("batch." + stage.replace(' ', '.')).record(nanos, 0);
+        }
+
+        public int getEmployeesProcessed() {
+            return employeesProcessed;
+        }
+
+        public int getAttendanceRows() {
+            return attendanceRows;
+        }
+
+        public List<String> getDataErrors() {
+            return Collections.unmodifiableList(dataErrors);
+        }
+
+        public boolean hasDataErrors() {
+            return !dataErrors.isEmpty();
+        }
+
+        /**
+         * Returns elapsed time per stage in execution order.
+         *
+         * @return Stage name to nanoseconds
+         */
+        public Map<String, Long> getStageNanos() {
+            return Collections.unmodifiableMap(stageNanos);
+        }
+
+        /**
+         * Returns the total elapsed time across all stages.
+         *
+         * @return Total nanoseconds
+         */
+        public long getTotalNanos() {
+            long total = 0;
+            for (long nanos : stageNanos.values()) {
+                total += nanos;
+            }
+            return total;
+        }
+    }
+}
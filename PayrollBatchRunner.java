@@ -0,0 +1,218 @@
+package com.mycompany.motorph.batch;
+
+import com.mycompany.motorph.calculation.PayrollBatchEngine;
+import com.mycompany.motorph.calculation.WageCalculation;
+import com.mycompany.motorph.data.LeaveDataManager;
+import com.mycompany.motorph.employee.EmployeeInformation;
+import com.mycompany.motorph.events.ResultFormattingEvent;
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.model.DateRange;
+import com.mycompany.motorph.model.PayrollResult;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.DateTimeException;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Headless entry point for scheduled payroll runs.
+ * <p>
+ * Usage:
+ * <pre>
+ * PayrollBatchRunner (--month MM [--year yyyy] [--half 1|2] | --from MM/dd[/yyyy] --to MM/dd[/yyyy])
+ *                    --output payslips.csv [--employees 1,5,10-20] [--employee-data path]
+ *                    [--attendance path] [--leave-data path]
+ * </pre>
+ * {@code --attendance} may name a single attendance file or a partitioned attendance
+ * directory. {@code --half} selects the semi-monthly pay period instead of the whole month. Dates
+ * without a year, and months without {@code --year}, fall in {@code motorph.payroll.year}
+ * (default: the current year).
+ * Writes one payslip row per employee through a {@link PayslipWriter}, which formats rows
+ * on worker threads and replaces the output file only once every row is written, then
+ * prints throughput and per-stage timings.
+ * Exit codes: 0 success, 1 data errors, 2 invalid arguments, 3 I/O or CSV failure.
+ * </p>
+ *
+ * @author Lance
+ */
+public class PayrollBatchRunner {
+
+    public static final int EXIT_SUCCESS = 0;
+    public static final int EXIT_DATA_ERRORS = 1;
+    public static final int EXIT_USAGE = 2;
+    public static final int EXIT_IO_FAILURE = 3;
+
+    private static final String DEFAULT_EMPLOYEE_DATA_PATH = "src/main/resources/data/employee_information.csv";
+    private static final String DEFAULT_LEAVE_DATA_PATH = "src/main/resources/data/leave_balances.csv";
+    private static final int MAX_ERRORS_SHOWN = 20;
+
+    private static final String[] HEADER = {
+            "Employee #", "Hours Worked", "Gross Wage", "SSS", "PhilHealth", "Pag-IBIG",
+            "Withholding Tax", "Late Deduction", "Total Deductions", "Net Wage", "Paid Leave Days", "Unpaid Days",
+            "Rules Version"
+    };
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * Runs the batch and returns the process exit code.
+     *
+     * @param args Command-line arguments
+     * @return The exit code
+     */
+    public static int run(String[] args) {
+        Map<String, String> options;
+        DateRange dateRange;
+        IntPredicate employeeFilter;
+
+        try {
+            options = parseOptions(args);
+            dateRange = parsePeriod(options);
+            employeeFilter = parseEmployeeFilter(options.get("employees"));
+            if (!options.containsKey("output")) {
+                throw new IllegalArgumentException("--output is required");
+            }
+        } catch (IllegalArgumentException | DateTimeException | ParseException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            return EXIT_USAGE;
+        }
+
+        EmployeeInformation employeeInformation = new EmployeeInformation(
+                options.getOrDefault("employee-data", DEFAULT_EMPLOYEE_DATA_PATH));
+        LeaveDataManager leaveDataManager = new LeaveDataManager(options.getOrDefault("leave-data", DEFAULT_LEAVE_DATA_PATH));
+        WageCalculation wageCalculation = options.containsKey("attendance")
+                ? new WageCalculation(employeeInformation, options.get("attendance"), leaveDataManager)
+                : new WageCalculation(employeeInformation, leaveDataManager);
+        PayrollBatchEngine engine = new PayrollBatchEngine(employeeInformation, wageCalculation);
+
+        PayrollBatchEngine.BatchReport report;
+        long rowsWritten;
+        try (leaveDataManager; PayslipWriter writer = new PayslipWriter(Paths.get(options.get("output")), HEADER)) {
+            report = engine.run(dateRange, employeeFilter, writer);
+            rowsWritten = writer.getRowsWritten();
+        } catch (IOException | CsvValidationException | ParseException e) {
+            System.err.println("Payroll run failed: " + e.getMessage());
+            return EXIT_IO_FAILURE;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Payroll run failed on invalid data: " + e.getMessage());
+            return EXIT_DATA_ERRORS;
+        }
+
+        printSummary(report, rowsWritten);
+
+        if (report.hasDataErrors()) {
+            System.err.printf("%d data error(s):%n", report.getDataErrors().size());
+            report.getDataErrors().stream().limit(MAX_ERRORS_SHOWN).forEach(error -> System.err.println("  " + error));
+            return EXIT_DATA_ERRORS;
+        }
+        return EXIT_SUCCESS;
+    }
+
+    /**
+     * Converts a payroll result into a payslip CSV row.
+     *
+     * @param result The payroll result
+     * @return The CSV row
+     */
+    static String[] formatPayslipRow(PayrollResult result) {
+        ResultFormattingEvent event = ResultFormattingEvent.start("payslip", result.getEmployeeNumber());
+        String[] row = {
+                String.valueOf(result.getEmployeeNumber()),
+                formatAmount(result.getHoursWorked()),
+                formatAmount(result.getGrossWage()),
+                formatAmount(result.getSssDeduction()),
+                formatAmount(result.getPhilHealthDeduction()),
+                formatAmount(result.getPagIbigDeduction()),
+                formatAmount(result.getWithholdingTax()),
+                formatAmount(result.getLateArrivalDeduction()),
+                formatAmount(result.getTotalDeductions()),
+                formatAmount(result.getNetWage()),
+                String.valueOf(result.getPaidLeaveDays()),
+                String.valueOf(result.getUnpaidDays()),
+                result.getRulesVersion()
+        };
+        event.finish(row.length);
+        return row;
+    }
+
+    private static String formatAmount(double value) {
+        return String.format("%.2f", value);
+    }
+
+    private static void printSummary(PayrollBatchEngine.BatchReport report, long rowsWritten) {
+        double seconds = report.getTotalNanos() / 1e9;
+        System.out.printf("Payroll batch: %,d employees, %,d attendance rows in %.3f s%n",
+                report.getEmployeesProcessed(), report.getAttendanceRows(), seconds);
+        System.out.printf("Throughput: %,.0f employees/s, %,.0f attendance rows/s, %,.0f payslip rows/s%n",
+                report.getEmployeesProcessed() / seconds, report.getAttendanceRows() / seconds,
+                rowsWritten / seconds);
+        for (Map.Entry<String, Long> stage : report.getStageNanos().entrySet()) {
+            System.out.printf("  %-18s %10.1f ms%n", stage.getKey(), stage.getValue() / 1e6);
+        }
+        if (MetricsRegistry.ENABLED) {
+            System.out.print(MetricsRegistry.format());
+        }
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    static DateRange parsePeriod(Map<String, String> options) throws ParseException {
+        if (options.containsKey("month")) {
+            YearMonth month = YearMonth.of(
+                    options.containsKey("year") ? Integer.parseInt(options.get("year")) : DateRange.DEFAULT_YEAR,
+                    Integer.parseInt(options.get("month")));
+            return options.containsKey("half")
+                    ? DateRange.createPayPeriod(month, Integer.parseInt(options.get("half")))
+                    : DateRange.createMonthRange(month);
+        }
+        if (options.containsKey("from") && options.containsKey("to")) {
+            return DateRange.createDateRange(options.get("from"), options.get("to"));
+        }
+        throw new IllegalArgumentException("Specify --month MM or --from MM/dd --to MM/dd");
+    }
+
+    /**
+     * Parses a filter such as "1,5,10-20"; a missing filter selects everyone.
+     */
+    private static IntPredicate parseEmployeeFilter(String spec) {
+        if (spec == null || spec.isBlank() || spec.equalsIgnoreCase("all")) {
+            return employeeNumber -> true;
+        }
+
+        IntPredicate filter = employeeNumber -> false;
+        for (String part : spec.split(",")) {
+            String[] bounds = part.trim().split("-");
+            try {
+                int low = Integer.parseInt(bounds[0].trim());
+                int high = bounds.length > 1 ? Integer.parseInt(bounds[1].trim()) : low;
+                filter = filter.or(employeeNumber -> employeeNumber >= low && employeeNumber <= high);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid employee filter: " + part);
+            }
+        }
+        return filter;
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: PayrollBatchRunner (--month MM [--year yyyy] [--half 1|2] | --from MM/dd[/yyyy] --to MM/dd[/yyyy])");
+        System.err.println("                          --output payslips.csv [--employees 1,5,10-20] [--employee-data path]");
+        System.err.println("                          [--attendance path] [--leave-data path]");
+    }
+}
@@ -0,0 +1,157 @@
+package com.mycompany.motorph.model;
+
+/**
+ * Represents the computed payroll of one employee for one period.
+ * <p>
+ * Holds the unformatted amounts so they can be aggregated, written to files or
+ * formatted for display.
+ * </p>
+ *
+ * @author Lance
+ */
+public class PayrollResult {
+
+    private final int employeeNumber;
+    private final double hoursWorked;
+    private final double grossWage;
+    private final double sssDeduction;
+    private final double philHealthDeduction;
+    private final double pagIbigDeduction;
+    private final double withholdingTax;
+    private final double lateArrivalDeduction;
+    private final double totalDeductions;
+    private final double netWage;
+    private final int paidLeaveDays;
+    private final int unpaidDays;
+    private final String rulesVersion;
+
+    /**
+     * Constructs a PayrollResult.
+     *
+     * @param employeeNumber Employee's unique ID
+     * @param hoursWorked Hours used for the gross wage
+     * @param grossWage Gross wage before deductions
+     * @param sssDeduction SSS contribution
+     * @param philHealthDeduction PhilHealth contribution
+     * @param pagIbigDeduction Pag-IBIG contribution
+     * @param withholdingTax Withholding tax
+     * @param lateArrivalDeduction Late arrival deduction
+     * @param totalDeductions Sum of all deductions
+     * @param netWage Net wage after deductions
+     * @param paidLeaveDays Workdays paid as leave
+     * @param unpaidDays Workdays left unpaid, as unpaid leave or absence
+     */
+    public PayrollResult(int employeeNumber, double hoursWorked, double grossWage, double sssDeduction,
+                         double philHealthDeduction, double pagIbigDeduction, double withholdingTax,
+                         double lateArrivalDeduction, double totalDeductions, double netWage,
+                         int paidLeaveDays, int unpaidDays) {
+        this(employeeNumber, hoursWorked, grossWage, sssDeduction, philHealthDeduction, pagIbigDeduction, withholdingTax,
+                lateArrivalDeduction, totalDeductions, netWage, paidLeaveDays, unpaidDays, null);
+    }
+
+    /**
+     * Constructs a PayrollResult that records the statutory rules version used.
+     *
+     * @param employeeNumber Employee's unique ID
+     * @param hoursWorked Hours used for the gross wage
+     * @param grossWage Gross wage before deductions
+     * @param sssDeduction SSS contribution
+     * @param philHealthDeduction PhilHealth contribution
+     * @param pagIbigDeduction Pag-IBIG contribution
+     * @param withholdingTax Withholding tax
+     * @param lateArrivalDeduction Late arrival deduction
+     * @param totalDeductions Sum of all deductions
+     * @param netWage Net wage after deductions
+     * @param paidLeaveDays Workdays paid as leave
+     * @param unpaidDays Workdays left unpaid, as unpaid leave or absence
+     * @param rulesVersion Version of the statutory rules behind the deductions
+     */
+    public PayrollResult(int employeeNumber, double hoursWorked, double grossWage, double sssDeduction,
+                         double philHealthDeduction, double pagIbigDeduction, double withholdingTax,
+                         double lateArrivalDeduction, double totalDeductions, double netWage,
+                         int paidLeaveDays, int unpaidDays, String rulesVersion) {
+        this.employeeNumber = employeeNumber;
+        this.hoursWorked = hoursWorked;
+        this.grossWage = grossWage;
+        this.sssDeduction = sssDeduction;
+        this.philHealthDeduction = philHealthDeduction;
+        this.pagIbigDeduction = pagIbigDeduction;
+        this.withholdingTax = withholdingTax;
+        this.lateArrivalDeduction = lateArrivalDeduction;
+        this.totalDeductions = totalDeductions;
+        this.netWage = netWage;
+        this.paidLeaveDays = paidLeaveDays;
+        this.unpaidDays = unpaidDays;
+        this.rulesVersion = rulesVersion;
+    }
+
+    // Getters
+    public int getEmployeeNumber() {
+        return employeeNumber;
+    }
+
+    public double getHoursWorked() {
+        return hoursWorked;
+    }
+
+    public double getGrossWage() {
+        return grossWage;
+    }
+
+    public double getSssDeduction() {
+        return sssDeduction;
+    }
+
+    public double getPhilHealthDeduction() {
+        return philHealthDeduction;
+    }
+
+    public double getPagIbigDeduction() {
+        return pagIbigDeduction;
+    }
+
+    public double getWithholdingTax() {
+        return withholdingTax;
+    }
+
+    public double getLateArrivalDeduction() {
+        return lateArrivalDeduction;
+    }
+
+    public double getTotalDeductions() {
+        return totalDeductions;
+    }
+
+    public double getNetWage() {
+        return netWage;
+    }
+
+    public int getPaidLeaveDays() {
+        return paidLeaveDays;
+    }
+
+    public int getUnpaidDays() {
+        return unpaidDays;
+    }
+
+    /** Returns the statutory rules version behind the deductions, or null if not recorded. */
+    public String getRulesVersion() {
+        return rulesVersion;
+    }
+
+    /**
+     * Returns a string representation of the payroll result.
+     *
+     * @return A formatted string with payroll details.
+     */
+    @Override
+    public String toString() {
+        return "PayrollResult{" +
+                "employeeNumber=" + employeeNumber +
+                ", hoursWorked=" + hoursWorked +
+                ", grossWage=" + grossWage +
+                ", totalDeductions=" + totalDeductions +
+                ", netWage=" + netWage +
+                '}';
+    }
+}
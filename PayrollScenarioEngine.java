@@ -0,0 +1,390 @@
+package com.mycompany.motorph.calculation;
+
+import com.mycompany.motorph.employee.EmployeeInformation;
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.metrics.Timer;
+import com.mycompany.motorph.model.DateRange;
+import com.mycompany.motorph.model.Employee;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs what-if payroll scenarios over the whole company.
+ * <p>
+ * Hours, late minutes and leave depend only on attendance, so they are worked out once
+ * per pay period by {@link #aggregate(DateRange)}, with the same logic as
+ * {@link WageCalculation}, into a {@link Workforce} of primitive columns. Each
+ * {@link Scenario} then re-evaluates only the deduction and tax stages over those columns,
+ * with its own statutory rules, late deduction rate and allowance factor; contributions
+ * and tax for the whole column come from one {@link DeductionKernel} call.
+ * Scenarios are independent and are evaluated in parallel, so thousands of them cost a
+ * fraction of one full payroll run each.
+ * </p>
+ * <p>
+ * Allowances are paid on top of net pay, untaxed, from the monthly rice, phone and
+ * clothing allowances in the employee file, prorated to the days of each month in the
+ * pay period. Today's payroll pays none, which is an allowance factor of 0.
+ * </p>
+ *
+ * @author Lance
+ */
+public class PayrollScenarioEngine {
+
+    private static final int ATTENDANCE_EXPECTED_COL_LENGTH = 6;
+    private static final int EMPLOYEE_NUM_INDEX = 0;
+
+    private static final Timer AGGREGATE_TIMER = MetricsRegistry.timer("scenario.aggregate");
+    private static final Timer SCENARIO_TIMER = MetricsRegistry.timer("scenario.evaluate");
+
+    private final EmployeeInformation employeeInformation;
+    private final WageCalculation wageCalculation;
+
+    /**
+     * Constructor for PayrollScenarioEngine.
+     *
+     * @param employeeInformation The employee repository
+     * @param wageCalculation The payroll engine sharing that repository
+     */
+    public PayrollScenarioEngine(final EmployeeInformation employeeInformation, final WageCalculation wageCalculation) {
+        this.employeeInformation = employeeInformation;
+        this.wageCalculation = wageCalculation;
+    }
+
+    /**
+     * Works out every employee's hours, late minutes and allowances for a pay period.
+     * <p>
+     * Malformed attendance rows and employees whose pay cannot be worked out are recorded
+     * as data errors and left out, as in a payroll batch.
+     * </p>
+     *
+     * @param dateRange The pay period
+     * @return The aggregated workforce, ready for any number of scenarios
+     * @throws IOException If an input file cannot be read
+     * @throws CsvValidationException If an input file is not valid CSV
+     * @throws ParseException If the employee file cannot be parsed
+     */
+    public Workforce aggregate(final DateRange dateRange) throws IOException, CsvValidationException, ParseException {
+        final long started = AGGREGATE_TIMER.start();
+        List<Employee> employees = employeeInformation.getAllEmployees();
+        List<String[]> attendanceData = wageCalculation.getAttendanceData(dateRange);
+        List<String> dataErrors = new ArrayList<>();
+
+        Map<Integer, List<String[]>> attendanceByEmployee = new HashMap<>();
+        for (int i = 0; i < attendanceData.size(); i++) {
+            String[] row = attendanceData.get(i);
+            if (row.length != ATTENDANCE_EXPECTED_COL_LENGTH) {
+                dataErrors.add("Attendance row " + (i + 2) + ": expected " + ATTENDANCE_EXPECTED_COL_LENGTH
+                        + " columns but got " + row.length);
+                continue;
+            }
+            try {
+                int employeeNumber = Integer.parseInt(row[EMPLOYEE_NUM_INDEX].trim());
+                attendanceByEmployee.computeIfAbsent(employeeNumber, k -> new ArrayList<>()).add(row);
+            } catch (NumberFormatException e) {
+                dataErrors.add("Attendance row " + (i + 2) + ": invalid employee number '" + row[EMPLOYEE_NUM_INDEX] + "'");
+            }
+        }
+
+        // Share of a month's allowances earned in the period
+        double monthShare = 0;
+        for (DateRange month : dateRange.splitByMonth()) {
+            monthShare += (double) month.getNumberOfDays() / month.getStartDate().lengthOfMonth();
+        }
+
+        // Same registry the payroll engine deducts under, so "Current" matches a real run
+        Workforce workforce = new Workforce(dateRange, wageCalculation.getStatutoryRules(dateRange.getEndDate()),
+                employees.size(), dataErrors);
+        for (Employee employee : employees) {
+            int employeeNumber = employee.getEmployeeNumber();
+            try {
+                List<String[]> rows = attendanceByEmployee.getOrDefault(employeeNumber, Collections.emptyList());
+                WageCalculation.PayBasis basis = wageCalculation.summarizePay(employeeNumber, rows, dateRange);
+                double allowances = (employee.getRiceSubsidy() + employee.getPhoneAllowance()
+                        + employee.getClothingAllowance()) * monthShare;
+                workforce.add(employee.getHourlyRate(), basis.hoursWorked, basis.lateMinutes, allowances);
+            } catch (ParseException | RuntimeException e) {
+                dataErrors.add("Employee " + employeeNumber + ": " + e.getMessage());
+            }
+        }
+        AGGREGATE_TIMER.stop(started, attendanceData.size());
+        return workforce;
+    }
+
+    /**
+     * Evaluates scenarios against an aggregated workforce, in parallel.
+     *
+     * @param workforce The workforce from {@link #aggregate(DateRange)}
+     * @param scenarios The scenarios to evaluate
+     * @return One result per scenario, in the same order
+     */
+    public List<ScenarioResult> run(final Workforce workforce, final List<Scenario> scenarios) {
+        return IntStream.range(0, scenarios.size())
+                .parallel()
+                .mapToObj(i -> evaluate(workforce, scenarios.get(i)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Evaluates one scenario over every employee of the workforce.
+     */
+    private static ScenarioResult evaluate(final Workforce workforce, final Scenario scenario) {
+        final long started = SCENARIO_TIMER.start();
+        StatutoryRules rules = scenario.rules != null ? scenario.rules : workforce.rules;
+        int count = workforce.count;
+        double[] grossWages = new double[count];
+        for (int i = 0; i < count; i++) {
+            grossWages[i] = workforce.hourlyRates[i] * workforce.hoursWorked[i];
+        }
+        double[] sssDeductions = new double[count];
+        double[] philHealthDeductions = new double[count];
+        double[] pagIbigDeductions = new double[count];
+        double[] withholdingTaxes = new double[count];
+        new DeductionKernel(rules).compute(grossWages, count, sssDeductions, philHealthDeductions, pagIbigDeductions, withholdingTaxes);
+
+        double[] takeHome = new double[count];
+        double gross = 0, sss = 0, philHealth = 0, pagIbig = 0, tax = 0, late = 0, allowances = 0, net = 0;
+        for (int i = 0; i < count; i++) {
+            double employeeLate = workforce.lateMinutes[i] * scenario.lateDeductionPerMinute;
+            double employeeAllowances = workforce.allowances[i] * scenario.allowanceFactor;
+            double netWage = Math.max(grossWages[i] - sssDeductions[i] - philHealthDeductions[i] - pagIbigDeductions[i]
+                    - withholdingTaxes[i] - employeeLate, 0);
+
+            gross += grossWages[i];
+            sss += sssDeductions[i];
+            philHealth += philHealthDeductions[i];
+            pagIbig += pagIbigDeductions[i];
+            tax += withholdingTaxes[i];
+            late += employeeLate;
+            allowances += employeeAllowances;
+            net += netWage;
+            takeHome[i] = netWage + employeeAllowances;
+        }
+        Arrays.sort(takeHome);
+
+        ScenarioResult result = new ScenarioResult(scenario, rules.getVersion(), count,
+                gross, sss, philHealth, pagIbig, tax, late, allowances, net, takeHome);
+        SCENARIO_TIMER.stop(started, count);
+        return result;
+    }
+
+    /**
+     * One set of parameters to evaluate payroll under.
+     */
+    public static final class Scenario {
+
+        private final String name;
+        private final StatutoryRules rules;
+        private final double lateDeductionPerMinute;
+        private final double allowanceFactor;
+
+        /**
+         * Constructor for Scenario.
+         *
+         * @param name The scenario name shown in results
+         * @param rules The statutory rules, or null for the rules in effect for the pay period
+         * @param lateDeductionPerMinute The deduction per minute late
+         * @param allowanceFactor The share of the employee file's allowances paid, 0 for none
+         */
+        public Scenario(String name, StatutoryRules rules, double lateDeductionPerMinute, double allowanceFactor) {
+            this.name = name;
+            this.rules = rules;
+            this.lateDeductionPerMinute = lateDeductionPerMinute;
+            this.allowanceFactor = allowanceFactor;
+        }
+
+        /**
+         * Returns today's payroll: the rules in effect, the standard late deduction and no allowances.
+         *
+         * @return The current scenario
+         */
+        public static Scenario current() {
+            return new Scenario("Current", null, NetWageCalculation.LATE_ARRIVAL_DEDUCTION_PER_MINUTE, 0);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getLateDeductionPerMinute() {
+            return lateDeductionPerMinute;
+        }
+
+        public double getAllowanceFactor() {
+            return allowanceFactor;
+        }
+    }
+
+    /**
+     * Every employee's pay inputs for one pay period, held column by column.
+     */
+    public static final class Workforce {
+
+        private final DateRange dateRange;
+        private final StatutoryRules rules;
+        private final List<String> dataErrors;
+        private int count;
+        private double[] hourlyRates;
+        private double[] hoursWorked;
+        private int[] lateMinutes;
+        private double[] allowances;
+
+        private Workforce(DateRange dateRange, StatutoryRules rules, int capacity, List<String> dataErrors) {
+            this.dateRange = dateRange;
+            this.rules = rules;
+            this.dataErrors = dataErrors;
+            this.hourlyRates = new double[capacity];
+            this.hoursWorked = new double[capacity];
+            this.lateMinutes = new int[capacity];
+            this.allowances = new double[capacity];
+        }
+
+        private void add(double hourlyRate, double hours, int minutesLate, double monthlyAllowances) {
+            hourlyRates[count] = hourlyRate;
+            hoursWorked[count] = hours;
+            lateMinutes[count] = minutesLate;
+            allowances[count] = monthlyAllowances;
+            count++;
+        }
+
+        public DateRange getDateRange() {
+            return dateRange;
+        }
+
+        /** Returns the statutory rules in effect for the pay period. */
+        public StatutoryRules getRules() {
+            return rules;
+        }
+
+        public int getEmployeeCount() {
+            return count;
+        }
+
+        public List<String> getDataErrors() {
+            return Collections.unmodifiableList(dataErrors);
+        }
+    }
+
+    /**
+     * Company-wide totals and the spread of take-home pay under one scenario.
+     */
+    public static final class ScenarioResult {
+
+        private final Scenario scenario;
+        private final String rulesVersion;
+        private final int employeeCount;
+        private final double grossWage;
+        private final double sssDeduction;
+        private final double philHealthDeduction;
+        private final double pagIbigDeduction;
+        private final double withholdingTax;
+        private final double lateArrivalDeduction;
+        private final double allowances;
+        private final double netWage;
+        private final double[] sortedTakeHome;
+
+        private ScenarioResult(Scenario scenario, String rulesVersion, int employeeCount, double grossWage,
+                               double sssDeduction, double philHealthDeduction, double pagIbigDeduction,
+                               double withholdingTax, double lateArrivalDeduction, double allowances, double netWage,
+                               double[] sortedTakeHome) {
+            this.scenario = scenario;
+            this.rulesVersion = rulesVersion;
+            this.employeeCount = employeeCount;
+            this.grossWage = grossWage;
+            this.sssDeduction = sssDeduction;
+            this.philHealthDeduction = philHealthDeduction;
+            this.pagIbigDeduction = pagIbigDeduction;
+            this.withholdingTax = withholdingTax;
+            this.lateArrivalDeduction = lateArrivalDeduction;
+            this.allowances = allowances;
+            this.netWage = netWage;
+            this.sortedTakeHome = sortedTakeHome;
+        }
+
+        public Scenario getScenario() {
+            return scenario;
+        }
+
+        public String getRulesVersion() {
+            return rulesVersion;
+        }
+
+        public int getEmployeeCount() {
+            return employeeCount;
+        }
+
+        public double getGrossWage() {
+            return grossWage;
+        }
+
+        public double getSssDeduction() {
+            return sssDeduction;
+        }
+
+        public double getPhilHealthDeduction() {
+            return philHealthDeduction;
+        }
+
+        public double getPagIbigDeduction() {
+            return pagIbigDeduction;
+        }
+
+        public double getWithholdingTax() {
+            return withholdingTax;
+        }
+
+        public double getLateArrivalDeduction() {
+            return lateArrivalDeduction;
+        }
+
+        public double getAllowances() {
+            return allowances;
+        }
+
+        public double getNetWage() {
+            return netWage;
+        }
+
+        /**
+         * Returns what the company pays out: net pay and allowances to employees, plus the
+         * contributions and tax remitted on their behalf.
+         *
+         * @return The total payroll cost
+         */
+        public double getTotalCost() {
+            return netWage + allowances + sssDeduction + philHealthDeduction + pagIbigDeduction + withholdingTax;
+        }
+
+        /**
+         * Returns a percentile of take-home pay (net pay plus allowances) across employees.
+         *
+         * @param percentile From 0 for the lowest to 100 for the highest
+         * @return The take-home pay at that percentile, or 0 with no employees
+         */
+        public double getTakeHomePercentile(final double percentile) {
+            if (sortedTakeHome.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedTakeHome.length) - 1;
+            return sortedTakeHome[Math.max(0, Math.min(index, sortedTakeHome.length - 1))];
+        }
+
+        /**
+         * Returns the mean take-home pay across employees.
+         *
+         * @return The mean, or 0 with no employees
+         */
+        public double getTakeHomeMean() {
+            return employeeCount == 0 ? 0.0 : (netWage + allowances) / employeeCount;
+        }
+    }
+}
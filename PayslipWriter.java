@@ -0,0 +1,310 @@
+package com.mycompany.motorph.batch;
+
+import com.mycompany.motorph.calculation.PayrollBatchEngine;
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.metrics.Timer;
+import com.mycompany.motorph.model.PayrollResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams payslip rows to a CSV file as a payroll batch produces them.
+ * <p>
+ * Results are formatted on a pool of worker threads and written in the order they were
+ * accepted, which for a batch is employee-file order, by a single writer thread through a
+ * direct buffer and a {@link FileChannel}. Formatted rows wait in a reorder window of fixed
+ * size until every earlier row is written; when the window is full, {@link #accept} blocks,
+ * so memory stays bounded by the window whatever the headcount.
+ * </p>
+ * <p>
+ * Rows go to a temporary file that replaces the output only on {@link #commit()}; closing
+ * without committing, or after a failure, discards it, so a failed run never leaves a
+ * partial payslip file behind. Rows are quoted as {@code CSVWriter} quotes them.
+ * </p>
+ *
+ * @author Lance
+ */
+public class PayslipWriter implements PayrollBatchEngine.ResultSink, Closeable {
+
+    public static final int DEFAULT_WINDOW = 1024;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final Timer FORMAT_TIMER = MetricsRegistry.timer("payslip.format");
+    private static final Timer WRITE_TIMER = MetricsRegistry.timer("payslip.write");
+
+    private final Path output;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ExecutorService formatters;
+    private final Thread writer;
+    private final Semaphore window;
+    private final byte[][] slots;
+
+    // Guarded by slots
+    private long submitted;
+    private boolean closed;
+    private IOException failure;
+
+    private boolean committed;
+    private volatile long rowsWritten;
+
+    /**
+     * Constructor for PayslipWriter with one formatting thread per processor and the default window.
+     *
+     * @param output The payslip file to write
+     * @param header The header row
+     * @throws IOException If the file cannot be created
+     */
+    public PayslipWriter(final Path output, final String[] header) throws IOException {
+        this(output, header, Runtime.getRuntime().availableProcessors(), DEFAULT_WINDOW);
+    }
+
+    /**
+     * Constructor for PayslipWriter.
+     *
+     * @param output The payslip file to write
+     * @param header The header row
+     * @param formatThreads The number of formatting threads
+     * @param windowSize The most rows formatted or waiting to be written at once
+     * @throws IOException If the file cannot be created
+     */
+    public PayslipWriter(final Path output, final String[] header, final int formatThreads, final int windowSize) throws IOException {
+        if (formatThreads < 1 || windowSize < 1) {
+            throw new IllegalArgumentException("Threads and window must be positive");
+        }
+        this.output = output;
+        this.temporary = Paths.get(output + ".tmp");
+        this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.window = new Semaphore(windowSize);
+        this.slots = new byte[windowSize][];
+        put(formatRow(header));
+
+        AtomicInteger counter = new AtomicInteger();
+        this.formatters = Executors.newFixedThreadPool(formatThreads, runnable -> {
+            Thread thread = new Thread(runnable, "payslip-formatter-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer = new Thread(this::writeRows, "payslip-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a result for formatting and writing, waiting while the window is full.
+     *
+     * @param result The payroll result
+     * @throws IOException If an earlier row failed or the wait is interrupted
+     */
+    @Override
+    public void accept(final PayrollResult result) throws IOException {
+        try {
+            window.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to write payslips", e);
+        }
+        final long sequence;
+        synchronized (slots) {
+            if (failure != null) {
+                throw failure;
+            }
+            sequence = submitted++;
+        }
+        formatters.execute(() -> {
+            try {
+                long started = FORMAT_TIMER.start();
+                byte[] row = formatRow(PayrollBatchRunner.formatPayslipRow(result));
+                FORMAT_TIMER.stop(started);
+                synchronized (slots) {
+                    slots[(int) (sequence % slots.length)] = row;
+                    slots.notifyAll();
+                }
+            } catch (Throwable e) {
+                // Any failure, even an Error, must reach the writer thread or it waits for this row forever
+                fail(new IOException("Could not format payslip row " + (sequence + 1), e));
+            }
+        });
+    }
+
+    /**
+     * Commits the payslip file once the batch has produced every result, so that the
+     * batch times the remaining formatting and writing as part of its output stage.
+     *
+     * @throws IOException If a row failed or the file cannot be written
+     */
+    @Override
+    public void complete() throws IOException {
+        commit();
+    }
+
+    /**
+     * Waits for every row to be written, then replaces the output file with the new one.
+     *
+     * @throws IOException If a row failed or the file cannot be written
+     */
+    public void commit() throws IOException {
+        finish();
+        synchronized (slots) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+        flush();
+        channel.force(true);
+        channel.close();
+        Files.move(temporary, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        committed = true;
+    }
+
+    /**
+     * Returns the number of payslip rows written so far, not counting the header.
+     *
+     * @return The rows written
+     */
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Stops the threads and, unless {@link #commit()} succeeded, discards the rows.
+     *
+     * @throws IOException If the temporary file cannot be removed
+     */
+    @Override
+    public void close() throws IOException {
+        if (committed) {
+            return;
+        }
+        fail(new IOException("Payslip writer closed without committing"));
+        finish();
+        channel.close();
+        Files.deleteIfExists(temporary);
+    }
+
+    /**
+     * Marks the end of the rows and waits for the writer thread to drain them.
+     */
+    private void finish() throws IOException {
+        synchronized (slots) {
+            closed = true;
+            slots.notifyAll();
+        }
+        formatters.shutdown();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing payslips", e);
+        }
+    }
+
+    private void fail(final IOException e) {
+        synchronized (slots) {
+            if (failure == null) {
+                failure = e;
+            }
+            slots.notifyAll();
+        }
+        window.release(slots.length); // Unblock a producer waiting on a window that will never drain
+    }
+
+    /**
+     * Writes rows in sequence as they become ready, on the writer thread.
+     */
+    private void writeRows() {
+        long next = 0;
+        try {
+            while (true) {
+                byte[] row;
+                synchronized (slots) {
+                    int slot = (int) (next % slots.length);
+                    while ((row = slots[slot]) == null) {
+                        if (failure != null || (closed && next == submitted)) {
+                            return;
+                        }
+                        slots.wait();
+                    }
+                    slots[slot] = null;
+                }
+                window.release();
+                put(row);
+                rowsWritten = ++next;
+            }
+        } catch (IOException e) {
+            fail(e);
+        } catch (InterruptedException e) {
+            fail(new IOException("Interrupted while writing payslips", e));
+        } catch (Throwable e) {
+            fail(new IOException("Payslip writer failed", e));
+        }
+    }
+
+    private void put(final byte[] row) throws IOException {
+        if (row.length > buffer.remaining()) {
+            flush();
+        }
+        if (row.length > buffer.capacity()) {
+            writeFully(ByteBuffer.wrap(row));
+        } else {
+            buffer.put(row);
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(final ByteBuffer bytes) throws IOException {
+        long started = WRITE_TIMER.start();
+        int count = bytes.remaining();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        WRITE_TIMER.stop(started, count);
+    }
+
+    /**
+     * Formats a row with every field quoted and quotes inside fields doubled, and null fields left
+     * empty, as {@code CSVWriter} does.
+     */
+    private static byte[] formatRow(final String[] fields) {
+        StringBuilder line = new StringBuilder(fields.length * 12);
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            String field = fields[i];
+            if (field == null) {
+                continue;
+            }
+            line.append('"');
+            for (int j = 0; j < field.length(); j++) {
+                char c = field.charAt(j);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        }
+        return line.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,58 @@
+package com.mycompany.motorph.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the conversion of a payroll result into display or file text.
+ *
+ * @author Lance
+ */
+@Name("com.mycompany.motorph.ResultFormatting")
+@Label("Result Formatting")
+@Category({"MotorPH", "Payroll"})
+@Description("Formatting payroll amounts for the screen or a payslip file")
+@StackTrace(false)
+public class ResultFormattingEvent extends Event {
+
+    @Label("Employee Number")
+    int employeeNumber;
+
+    @Label("Target")
+    String target;
+
+    @Label("Fields")
+    int fields;
+
+    /**
+     * Begins timing a formatting step.
+     *
+     * @param target Where the text goes, e.g. "screen" or "payslip"
+     * @param employeeNumber The employee
+     * @return The started event
+     */
+    public static ResultFormattingEvent start(String target, int employeeNumber) {
+        ResultFormattingEvent event = new ResultFormattingEvent();
+        event.target = target;
+        event.employeeNumber = employeeNumber;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the formatting step and commits the event if it is being recorded.
+     *
+     * @param fieldCount Number of formatted fields produced
+     */
+    public void finish(int fieldCount) {
+        end();
+        if (shouldCommit()) {
+            fields = fieldCount;
+            commit();
+        }
+    }
+}
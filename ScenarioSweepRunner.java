@@ -0,0 +1,229 @@
+package com.mycompany.motorph.batch;
+
+import com.mycompany.motorph.calculation.NetWageCalculation;
+import com.mycompany.motorph.calculation.PayrollScenarioEngine;
+import com.mycompany.motorph.calculation.PayrollScenarioEngine.Scenario;
+import com.mycompany.motorph.calculation.PayrollScenarioEngine.ScenarioResult;
+import com.mycompany.motorph.calculation.PayrollScenarioEngine.Workforce;
+import com.mycompany.motorph.calculation.StatutoryRules;
+import com.mycompany.motorph.calculation.WageCalculation;
+import com.mycompany.motorph.data.LeaveDataManager;
+import com.mycompany.motorph.employee.EmployeeInformation;
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.model.DateRange;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless entry point for what-if payroll sweeps.
+ * <p>
+ * Usage:
+ * <pre>
+ * ScenarioSweepRunner (--month MM [--year yyyy] [--half 1|2] | --from MM/dd[/yyyy] --to MM/dd[/yyyy])
+ *                     --output scenarios.csv [--late 1.00,1.66,2.00] [--allowance 0,1,1.1]
+ *                     [--tax-scale 0.9,1,1.1] [--employee-data path] [--attendance path] [--leave-data path]
+ * </pre>
+ * Every combination of late deduction per minute, allowance factor and tax rate scale is
+ * evaluated, after the current payroll, which comes first and is what the cost change of
+ * each scenario is measured against. A tax rate scale multiplies the rate of every bracket
+ * of the rules in effect. Attendance is aggregated once for the whole sweep. Large sweeps
+ * should run with {@code --add-modules jdk.incubator.vector} so deductions are vectorized.
+ * Exit codes: 0 success, 1 data errors, 2 invalid arguments, 3 I/O or CSV failure.
+ * </p>
+ *
+ * @author Lance
+ */
+public class ScenarioSweepRunner {
+
+    private static final String DEFAULT_EMPLOYEE_DATA_PATH = "src/main/resources/data/employee_information.csv";
+    private static final String DEFAULT_LEAVE_DATA_PATH = "src/main/resources/data/leave_balances.csv";
+    private static final int MAX_ERRORS_SHOWN = 20;
+
+    private static final String[] HEADER = {
+            "Scenario", "Rules Version", "Late Deduction Per Minute", "Allowance Factor", "Employees",
+            "Gross Wage", "SSS", "PhilHealth", "Pag-IBIG", "Withholding Tax", "Late Deductions", "Allowances",
+            "Net Wage", "Total Cost", "Cost Change", "Take-Home Min", "Take-Home P10", "Take-Home Median",
+            "Take-Home P90", "Take-Home Max", "Take-Home Mean"
+    };
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * Runs the sweep and returns the process exit code.
+     *
+     * @param args Command-line arguments
+     * @return The exit code
+     */
+    public static int run(String[] args) {
+        Map<String, String> options;
+        DateRange dateRange;
+        double[] lateRates;
+        double[] allowanceFactors;
+        double[] taxScales;
+
+        try {
+            options = PayrollBatchRunner.parseOptions(args);
+            dateRange = PayrollBatchRunner.parsePeriod(options);
+            lateRates = parseList(options.get("late"), NetWageCalculation.LATE_ARRIVAL_DEDUCTION_PER_MINUTE);
+            allowanceFactors = parseList(options.get("allowance"), 0);
+            taxScales = parseList(options.get("tax-scale"), 1);
+            if (!options.containsKey("output")) {
+                throw new IllegalArgumentException("--output is required");
+            }
+        } catch (IllegalArgumentException | DateTimeException | ParseException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            return PayrollBatchRunner.EXIT_USAGE;
+        }
+
+        EmployeeInformation employeeInformation = new EmployeeInformation(
+                options.getOrDefault("employee-data", DEFAULT_EMPLOYEE_DATA_PATH));
+        LeaveDataManager leaveDataManager = new LeaveDataManager(options.getOrDefault("leave-data", DEFAULT_LEAVE_DATA_PATH));
+        WageCalculation wageCalculation = options.containsKey("attendance")
+                ? new WageCalculation(employeeInformation, options.get("attendance"), leaveDataManager)
+                : new WageCalculation(employeeInformation, leaveDataManager);
+        PayrollScenarioEngine engine = new PayrollScenarioEngine(employeeInformation, wageCalculation);
+
+        Workforce workforce;
+        List<ScenarioResult> results;
+        long started = System.nanoTime();
+        try (leaveDataManager) {
+            workforce = engine.aggregate(dateRange);
+        } catch (IOException | CsvValidationException | ParseException e) {
+            System.err.println("Scenario sweep failed: " + e.getMessage());
+            return PayrollBatchRunner.EXIT_IO_FAILURE;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Scenario sweep failed on invalid data: " + e.getMessage());
+            return PayrollBatchRunner.EXIT_DATA_ERRORS;
+        }
+        long aggregated = System.nanoTime();
+
+        List<Scenario> scenarios = buildScenarios(workforce.getRules(), lateRates, allowanceFactors, taxScales);
+        results = engine.run(workforce, scenarios);
+        long evaluated = System.nanoTime();
+
+        try (CSVWriter writer = new CSVWriter(new BufferedWriter(new FileWriter(options.get("output"))))) {
+            writer.writeNext(HEADER);
+            double baselineCost = results.get(0).getTotalCost();
+            for (ScenarioResult result : results) {
+                writer.writeNext(formatRow(result, baselineCost));
+            }
+        } catch (IOException e) {
+            System.err.println("Scenario sweep failed: " + e.getMessage());
+            return PayrollBatchRunner.EXIT_IO_FAILURE;
+        }
+
+        System.out.printf("Scenario sweep: %,d scenarios over %,d employees%n", results.size(), workforce.getEmployeeCount());
+        System.out.printf("  %-18s %10.1f ms%n", "aggregate", (aggregated - started) / 1e6);
+        System.out.printf("  %-18s %10.1f ms (%,.0f scenarios/s)%n", "evaluate", (evaluated - aggregated) / 1e6,
+                results.size() / ((evaluated - aggregated) / 1e9));
+        if (MetricsRegistry.ENABLED) {
+            System.out.print(MetricsRegistry.format());
+        }
+
+        if (!workforce.getDataErrors().isEmpty()) {
+            System.err.printf("%d data error(s):%n", workforce.getDataErrors().size());
+            workforce.getDataErrors().stream().limit(MAX_ERRORS_SHOWN).forEach(error -> System.err.println("  " + error));
+            return PayrollBatchRunner.EXIT_DATA_ERRORS;
+        }
+        return PayrollBatchRunner.EXIT_SUCCESS;
+    }
+
+    /**
+     * Builds the current scenario followed by every combination of the given parameters.
+     */
+    private static List<Scenario> buildScenarios(StatutoryRules rules, double[] lateRates, double[] allowanceFactors,
+                                                 double[] taxScales) {
+        List<StatutoryRules> taxRules = new ArrayList<>();
+        for (double scale : taxScales) {
+            if (scale == 1) {
+                taxRules.add(null);
+                continue;
+            }
+            double[] rates = rules.getTaxRates();
+            for (int i = 0; i < rates.length; i++) {
+                rates[i] *= scale;
+            }
+            taxRules.add(rules.withTaxBrackets(rules.getVersion() + " tax x" + scale, rules.getTaxBrackets(), rates));
+        }
+
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(Scenario.current());
+        for (int t = 0; t < taxScales.length; t++) {
+            for (double lateRate : lateRates) {
+                for (double allowanceFactor : allowanceFactors) {
+                    String name = "late " + lateRate + ", allowance x" + allowanceFactor + ", tax x" + taxScales[t];
+                    scenarios.add(new Scenario(name, taxRules.get(t), lateRate, allowanceFactor));
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    private static String[] formatRow(ScenarioResult result, double baselineCost) {
+        Scenario scenario = result.getScenario();
+        return new String[]{
+                scenario.getName(),
+                result.getRulesVersion(),
+                formatAmount(scenario.getLateDeductionPerMinute()),
+                String.valueOf(scenario.getAllowanceFactor()),
+                String.valueOf(result.getEmployeeCount()),
+                formatAmount(result.getGrossWage()),
+                formatAmount(result.getSssDeduction()),
+                formatAmount(result.getPhilHealthDeduction()),
+                formatAmount(result.getPagIbigDeduction()),
+                formatAmount(result.getWithholdingTax()),
+                formatAmount(result.getLateArrivalDeduction()),
+                formatAmount(result.getAllowances()),
+                formatAmount(result.getNetWage()),
+                formatAmount(result.getTotalCost()),
+                formatAmount(result.getTotalCost() - baselineCost),
+                formatAmount(result.getTakeHomePercentile(0)),
+                formatAmount(result.getTakeHomePercentile(10)),
+                formatAmount(result.getTakeHomePercentile(50)),
+                formatAmount(result.getTakeHomePercentile(90)),
+                formatAmount(result.getTakeHomePercentile(100)),
+                formatAmount(result.getTakeHomeMean())
+        };
+    }
+
+    private static String formatAmount(double value) {
+        return String.format("%.2f", value);
+    }
+
+    /**
+     * Parses a comma-separated list of numbers; a missing list holds only the default.
+     */
+    private static double[] parseList(String spec, double defaultValue) {
+        if (spec == null || spec.isBlank()) {
+            return new double[]{defaultValue};
+        }
+        String[] parts = spec.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                values[i] = Double.parseDouble(parts[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number: " + parts[i]);
+            }
+        }
+        return values;
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: ScenarioSweepRunner (--month MM [--year yyyy] [--half 1|2] | --from MM/dd[/yyyy] --to MM/dd[/yyyy])");
+        System.err.println("                           --output scenarios.csv [--late 1.00,1.66,2.00] [--allowance 0,1,1.1]");
+        System.err.println("                           [--tax-scale 0.9,1,1.1] [--employee-data path] [--attendance path] [--leave-data path]");
+    }
+}
@@ -0,0 +1,513 @@
+package com.mycompany.motorph.benchmark;
+
+import com.mycompany.motorph.calculation.WageCalculation;
+import com.mycompany.motorph.data.LeaveDataManager;
+import com.mycompany.motorph.employee.EmployeeInformation;
+import com.mycompany.motorph.model.DateRange;
+import com.mycompany.motorph.model.Employee;
+import com.mycompany.motorph.model.Leave;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless load harness that simulates concurrent clerks against the service layer.
+ * <p>
+ * Each simulated user runs on its own thread and performs a weighted mix of employee
+ * searches, record opens, monthly wage calculations, leave submissions and employee
+ * updates directly against {@link EmployeeInformation}, {@link WageCalculation} and
+ * {@link LeaveDataManager}. The employee and leave files (with any leave journal) are
+ * copied to a working directory first, so the source data is never modified.
+ * </p>
+ * <p>
+ * Lost updates are detected after the run. Every user owns a disjoint set of employees
+ * and writes a unique token into their phone number, so the last acknowledged token
+ * per employee is known; a fresh reader then checks each token (and each acknowledged
+ * leave) is on disk. With {@code --shared false} every user gets its own service
+ * instances over the same files, which is how separate application windows behave.
+ * </p>
+ * <pre>
+ * ServiceLoadHarness [--users 50] [--operations 200] [--warmup 20] [--think-millis 0]
+ *                    [--mix search=30,open=35,wage=20,leave=5,update=10] [--month 06] [--year 2024]
+ *                    [--shared true] [--seed 42] [--work-dir dir] [--employee-data file]
+ *                    [--attendance file] [--leave-data file]
+ * </pre>
+ *
+ * @author Lance
+ */
+public class ServiceLoadHarness {
+
+    private static final String EMPLOYEES_DATA_PATH = "src/main/resources/data/employee_information.csv";
+    private static final String ATTENDANCE_DATA_PATH = "src/main/resources/data/employee_attendance.csv";
+    private static final String LEAVE_DATA_PATH = "src/main/resources/data/leave_balances.csv";
+    private static final String[] LEAVE_TYPES = {"Sick Leave", "Vacation Leave", "Emergency Leave"};
+    private static final int SEARCH_LIMIT = 10;
+    private static final int MAX_REPORTED_LOSSES = 10;
+
+    /**
+     * Operations in the simulated workload.
+     */
+    enum Operation {
+        SEARCH, OPEN, WAGE, LEAVE, UPDATE
+    }
+
+    private final int users;
+    private final int operationsPerUser;
+    private final int warmupPerUser;
+    private final long thinkMillis;
+    private final Map<Operation, Integer> mix;
+    private final String month;
+    private final int year;
+    private final boolean shared;
+    private final long seed;
+    private final String employeeDataPath;
+    private final String attendanceDataPath;
+    private final String leaveDataPath;
+
+    private List<Employee> employees;
+    private DateRange monthRange;
+
+    // Last acknowledged phone token per employee; each employee has a single writer
+    private final Map<Integer, String> acknowledgedTokens = new ConcurrentHashMap<>();
+    // Acknowledged leave applications per employee, on top of those on file before the run
+    private final Map<Integer, Integer> acknowledgedLeaves = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> initialLeaveCounts = new HashMap<>();
+
+    /**
+     * Constructor for ServiceLoadHarness.
+     *
+     * @param options Parsed command-line options
+     * @param workDir Directory holding the working copies of the mutable data files
+     */
+    ServiceLoadHarness(Map<String, String> options, Path workDir) {
+        this.users = Integer.parseInt(options.getOrDefault("users", "50"));
+        this.operationsPerUser = Integer.parseInt(options.getOrDefault("operations", "200"));
+        this.warmupPerUser = Integer.parseInt(options.getOrDefault("warmup", "20"));
+        this.thinkMillis = Long.parseLong(options.getOrDefault("think-millis", "0"));
+        this.mix = parseMix(options.getOrDefault("mix", "search=30,open=35,wage=20,leave=5,update=10"));
+        this.month = options.getOrDefault("month", "06");
+        this.year = Integer.parseInt(options.getOrDefault("year", "2024"));
+        this.shared = Boolean.parseBoolean(options.getOrDefault("shared", "true"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.employeeDataPath = workDir.resolve("employee_information.csv").toString();
+        this.attendanceDataPath = options.getOrDefault("attendance", ATTENDANCE_DATA_PATH);
+        this.leaveDataPath = workDir.resolve("leave_balances.csv").toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+
+        Path workDir = options.containsKey("work-dir")
+                ? Files.createDirectories(Paths.get(options.get("work-dir")))
+                : Files.createTempDirectory("motorph-load");
+        Files.copy(Paths.get(options.getOrDefault("employee-data", EMPLOYEES_DATA_PATH)),
+                workDir.resolve("employee_information.csv"), StandardCopyOption.REPLACE_EXISTING);
+        String leaveSource = options.getOrDefault("leave-data", LEAVE_DATA_PATH);
+        for (String suffix : new String[]{"", ".journal"}) {
+            Path source = Paths.get(leaveSource + suffix);
+            Path target = workDir.resolve("leave_balances.csv" + suffix);
+            if (Files.exists(source)) {
+                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.deleteIfExists(target);
+            }
+        }
+
+        ServiceLoadHarness harness = new ServiceLoadHarness(options, workDir);
+        System.out.println("Working copies in " + workDir.toAbsolutePath());
+        harness.run();
+    }
+
+    /**
+     * Runs the warm-up and measured phases, then verifies and prints the report.
+     *
+     * @throws Exception If the data cannot be loaded
+     */
+    void run() throws Exception {
+        Services sharedServices = new Services();
+        employees = new ArrayList<>(sharedServices.employeeInformation.getAllEmployees());
+        if (employees.isEmpty()) {
+            throw new IllegalStateException("No employees in " + employeeDataPath);
+        }
+        monthRange = DateRange.createMonthRange(year, Integer.parseInt(month));
+        sharedServices.wageCalculation.getAttendanceData(); // Load once before timing starts
+        for (Employee employee : employees) {
+            int employeeNumber = employee.getEmployeeNumber();
+            initialLeaveCounts.put(employeeNumber, sharedServices.leaveDataManager.countLeavesByEmployeeNumber(employeeNumber));
+        }
+
+        List<Services> services = new ArrayList<>(users);
+        for (int user = 0; user < users; user++) {
+            services.add(shared ? sharedServices : new Services());
+        }
+
+        runPhase(services, warmupPerUser, seed - 1, new Stats());
+        acknowledgedTokens.clear(); // Warm-up writes are superseded by the measured phase
+
+        Stats stats = new Stats();
+        long start = System.nanoTime();
+        runPhase(services, operationsPerUser, seed, stats);
+        long elapsedNanos = System.nanoTime() - start;
+
+        report(stats, elapsedNanos);
+        verify();
+    }
+
+    /**
+     * Starts every user at once and waits for all of them to finish their operations.
+     */
+    private void runPhase(List<Services> services, int operations, long phaseSeed, Stats stats) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(users);
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(users);
+
+        for (int user = 0; user < users; user++) {
+            VirtualUser virtualUser = new VirtualUser(user, services.get(user), operations,
+                    new SplittableRandom(phaseSeed * 31 + user), stats);
+            Thread thread = new Thread(() -> {
+                ready.countDown();
+                try {
+                    go.await();
+                    virtualUser.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "clerk-" + user);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        ready.await();
+        go.countDown();
+        done.await();
+    }
+
+    /**
+     * Compares acknowledged writes against a fresh read of the working files.
+     * <p>
+     * Besides the phone tokens, every employee's basic salary must still match the value
+     * read before the run, since updates rewrite the whole file.
+     * </p>
+     */
+    private void verify() throws Exception {
+        List<Employee> onDisk;
+        try {
+            onDisk = new EmployeeInformation(employeeDataPath).getAllEmployees();
+        } catch (Exception e) {
+            System.out.println("employee file is corrupt after the run: " + e.getMessage());
+            return;
+        }
+
+        Map<Integer, Employee> byNumber = new HashMap<>(onDisk.size() * 2);
+        for (Employee employee : onDisk) {
+            byNumber.put(employee.getEmployeeNumber(), employee);
+        }
+
+        List<String> lostUpdates = new ArrayList<>();
+        for (Map.Entry<Integer, String> entry : acknowledgedTokens.entrySet()) {
+            Employee employee = byNumber.get(entry.getKey());
+            String phone = employee == null ? "<missing>" : employee.getPhoneNumber();
+            if (!entry.getValue().equals(phone)) {
+                lostUpdates.add("employee " + entry.getKey() + ": expected " + entry.getValue() + ", found " + phone);
+            }
+        }
+
+        List<String> changedSalaries = new ArrayList<>();
+        for (Employee original : employees) {
+            Employee employee = byNumber.get(original.getEmployeeNumber());
+            if (employee != null && employee.getBasicSalary() != original.getBasicSalary()) {
+                changedSalaries.add("employee " + original.getEmployeeNumber() + ": salary " + original.getBasicSalary()
+                        + " became " + employee.getBasicSalary());
+            }
+        }
+
+        LeaveDataManager leaveReader = new LeaveDataManager(leaveDataPath);
+        List<String> lostLeaves = new ArrayList<>();
+        int acknowledged = 0;
+        for (Map.Entry<Integer, Integer> entry : acknowledgedLeaves.entrySet()) {
+            int expected = initialLeaveCounts.getOrDefault(entry.getKey(), 0) + entry.getValue();
+            int found = leaveReader.countLeavesByEmployeeNumber(entry.getKey());
+            acknowledged += entry.getValue();
+            if (found < expected) {
+                lostLeaves.add("employee " + entry.getKey() + ": expected " + expected + " leaves, found " + found);
+            }
+        }
+
+        System.out.printf("lost updates %d of %d employees, lost leaves for %d employees (%d acknowledged), changed salaries %d%n",
+                lostUpdates.size(), acknowledgedTokens.size(), lostLeaves.size(), acknowledged, changedSalaries.size());
+        lostUpdates.stream().limit(MAX_REPORTED_LOSSES).forEach(loss -> System.out.println("  " + loss));
+        changedSalaries.stream().limit(MAX_REPORTED_LOSSES).forEach(loss -> System.out.println("  " + loss));
+        lostLeaves.stream().limit(MAX_REPORTED_LOSSES).forEach(loss -> System.out.println("  " + loss));
+    }
+
+    private void report(Stats stats, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            total += stats.count(operation);
+        }
+
+        System.out.printf("%d users (%s services), %,d operations, %.2f s, %,.0f ops/s%n",
+                users, shared ? "shared" : "per-user", total, seconds, total / seconds);
+        System.out.printf("  %-7s %9s %9s %9s %9s %9s %8s %8s%n",
+                "op", "count", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors", "rejected");
+        for (Operation operation : Operation.values()) {
+            long[] sorted = stats.sortedLatencies(operation);
+            System.out.printf("  %-7s %,9d %9.2f %9.2f %9.2f %9.2f %8d %8d%n",
+                    operation.name().toLowerCase(), sorted.length, percentile(sorted, 0.50), percentile(sorted, 0.90),
+                    percentile(sorted, 0.99), sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6,
+                    stats.errors.get(operation)[0], stats.rejected.get(operation)[0]);
+        }
+        stats.firstErrors.forEach((operation, message) ->
+                System.out.println("  first " + operation.name().toLowerCase() + " error: " + message));
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split("=");
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Operation mix must have a positive total weight: " + spec);
+        }
+        return weights;
+    }
+
+    /**
+     * The service objects one user works with, either shared by all users or private to one.
+     */
+    private final class Services {
+
+        private final EmployeeInformation employeeInformation = new EmployeeInformation(employeeDataPath);
+        private final WageCalculation wageCalculation = new WageCalculation(employeeInformation, attendanceDataPath);
+        private final LeaveDataManager leaveDataManager = new LeaveDataManager(leaveDataPath);
+    }
+
+    /**
+     * One simulated clerk.
+     */
+    private final class VirtualUser {
+
+        private final int index;
+        private final Services services;
+        private final int operations;
+        private final SplittableRandom random;
+        private final Stats stats;
+        private final List<Employee> ownedEmployees = new ArrayList<>();
+        private int updates;
+
+        private VirtualUser(int index, Services services, int operations, SplittableRandom random, Stats stats) {
+            this.index = index;
+            this.services = services;
+            this.operations = operations;
+            this.random = random;
+            this.stats = stats;
+            for (int i = index; i < employees.size(); i += users) {
+                ownedEmployees.add(employees.get(i));
+            }
+        }
+
+        private void run() throws InterruptedException {
+            for (int i = 0; i < operations; i++) {
+                Operation operation = pickOperation();
+                long start = System.nanoTime();
+                try {
+                    if (perform(operation)) {
+                        stats.record(index, operation, System.nanoTime() - start);
+                    } else {
+                        stats.reject(operation);
+                    }
+                } catch (Exception e) {
+                    stats.error(operation, e);
+                }
+
+                if (thinkMillis > 0) {
+                    TimeUnit.MILLISECONDS.sleep(thinkMillis);
+                }
+            }
+        }
+
+        private Operation pickOperation() {
+            int total = 0;
+            for (int weight : mix.values()) {
+                total += weight;
+            }
+            int draw = random.nextInt(total);
+            for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+                draw -= entry.getValue();
+                if (draw < 0) {
+                    return entry.getKey();
+                }
+            }
+            return Operation.OPEN;
+        }
+
+        /**
+         * Performs one operation.
+         *
+         * @return false if a business rule refused it, e.g. a duplicate leave application
+         */
+        private boolean perform(Operation operation) throws Exception {
+            Employee target = employees.get(random.nextInt(employees.size()));
+            switch (operation) {
+                case SEARCH -> services.employeeInformation.searchEmployees(searchTerm(target), SEARCH_LIMIT);
+                case OPEN -> services.employeeInformation.getEmployeeInformation(target.getEmployeeNumber());
+                case WAGE -> services.wageCalculation.calculatePayroll(target.getEmployeeNumber(), monthRange);
+                case LEAVE -> {
+                    return submitLeave();
+                }
+                case UPDATE -> {
+                    return updateOwnedEmployee();
+                }
+            }
+            return true;
+        }
+
+        private String searchTerm(Employee employee) {
+            String source = random.nextBoolean() ? employee.getPosition() : employee.getAddress();
+            String[] words = source.replace(",", " ").trim().split("\\s+");
+            return words[random.nextInt(words.length)];
+        }
+
+        private boolean submitLeave() throws Exception {
+            if (ownedEmployees.isEmpty()) {
+                return false;
+            }
+            Employee employee = ownedEmployees.get(random.nextInt(ownedEmployees.size()));
+            int firstDay = 1 + random.nextInt(25);
+            String start = month + "/" + String.format("%02d", firstDay) + "/" + year;
+            String end = month + "/" + String.format("%02d", firstDay + random.nextInt(3)) + "/" + year;
+            Leave leave = new Leave(employee.getEmployeeNumber(), LEAVE_TYPES[random.nextInt(LEAVE_TYPES.length)],
+                    start, end, "Load test " + index);
+
+            try {
+                services.leaveDataManager.saveLeaveApplication(leave);
+            } catch (IllegalArgumentException e) {
+                return false; // Refused by a leave rule
+            }
+            acknowledgedLeaves.merge(employee.getEmployeeNumber(), 1, Integer::sum);
+            return true;
+        }
+
+        private boolean updateOwnedEmployee() throws Exception {
+            if (ownedEmployees.isEmpty()) {
+                return false; // More users than employees
+            }
+            int employeeNumber = ownedEmployees.get(random.nextInt(ownedEmployees.size())).getEmployeeNumber();
+
+            // Read-modify-write through the service, as the edit form does
+            Employee current = services.employeeInformation.findEmployee(employeeNumber)
+                    .orElseThrow(() -> new IllegalStateException("Employee vanished: " + employeeNumber));
+            String token = "LT-" + index + "-" + (++updates);
+            List<String> updated = Arrays.asList(
+                    current.getLastName(), current.getFirstName(), current.getBirthdateAsString(),
+                    current.getAddress(), token, current.getSssNumber(), current.getPhilHealthNumber(),
+                    current.getTin(), current.getPagIbigNumber(), current.getStatus(), current.getPosition(),
+                    current.getImmediateSupervisor(), String.valueOf(current.getBasicSalary()),
+                    String.valueOf(current.getRiceSubsidy()), String.valueOf(current.getPhoneAllowance()),
+                    String.valueOf(current.getClothingAllowance()), String.valueOf(current.getGrossSemimonthlyRate()),
+                    String.valueOf(current.getHourlyRate()));
+
+            services.employeeInformation.updateEmployeeInformation(employeeNumber, updated);
+            acknowledgedTokens.put(employeeNumber, token);
+            return true;
+        }
+    }
+
+    /**
+     * Latencies and outcome counts; each user appends only to its own latency buffers.
+     */
+    private final class Stats {
+
+        private final long[][][] latencies = new long[users][Operation.values().length][];
+        private final int[][] sizes = new int[users][Operation.values().length];
+        private final Map<Operation, long[]> errors = new EnumMap<>(Operation.class);
+        private final Map<Operation, long[]> rejected = new EnumMap<>(Operation.class);
+        private final Map<Operation, String> firstErrors = new ConcurrentHashMap<>();
+
+        private Stats() {
+            for (long[][] perUser : latencies) {
+                Arrays.setAll(perUser, i -> new long[64]);
+            }
+            for (Operation operation : Operation.values()) {
+                errors.put(operation, new long[1]);
+                rejected.put(operation, new long[1]);
+            }
+        }
+
+        private void record(int user, Operation operation, long nanos) {
+            int slot = operation.ordinal();
+            long[] buffer = latencies[user][slot];
+            if (sizes[user][slot] == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                latencies[user][slot] = buffer;
+            }
+            buffer[sizes[user][slot]++] = nanos;
+        }
+
+        private void error(Operation operation, Exception e) {
+            long[] count = errors.get(operation);
+            synchronized (count) {
+                count[0]++;
+            }
+            firstErrors.putIfAbsent(operation, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+
+        private void reject(Operation operation) {
+            long[] count = rejected.get(operation);
+            synchronized (count) {
+                count[0]++;
+            }
+        }
+
+        private long count(Operation operation) {
+            long count = 0;
+            for (int user = 0; user < users; user++) {
+                count += sizes[user][operation.ordinal()];
+            }
+            return count + errors.get(operation)[0] + rejected.get(operation)[0];
+        }
+
+        private long[] sortedLatencies(Operation operation) {
+            int slot = operation.ordinal();
+            int total = 0;
+            for (int user = 0; user < users; user++) {
+                total += sizes[user][slot];
+            }
+            long[] merged = new long[total];
+            int offset = 0;
+            for (int user = 0; user < users; user++) {
+                System.arraycopy(latencies[user][slot], 0, merged, offset, sizes[user][slot]);
+                offset += sizes[user][slot];
+            }
+            Arrays.sort(merged);
+            return merged;
+        }
+    }
+}
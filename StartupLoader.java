@@ -0,0 +1,156 @@
+package com.mycompany.motorph;
+
+import com.mycompany.motorph.data.BusinessCalendar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Loads all data files in parallel on background threads while the login form is showing.
+ * <p>
+ * Each file is read into its shared service in the {@link ApplicationContext}, so by the
+ * time the user reaches the main menu every screen opens with data already in memory.
+ * A failed load is reported and left to the service's normal lazy loading.
+ * </p>
+ *
+ * @author Lance
+ */
+public class StartupLoader {
+
+    private final ApplicationContext context;
+
+    /**
+     * Constructor for StartupLoader.
+     *
+     * @param context The application context whose services are preloaded
+     */
+    public StartupLoader(ApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Starts loading every data file in parallel.
+     *
+     * @return A future completing with one timing per file once all loads have finished
+     */
+    public CompletableFuture<List<LoadTiming>> start() {
+        List<Callable<Integer>> loads = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+
+        names.add("employees");
+        loads.add(() -> context.getEmployeeInformation().reload());
+        names.add("attendance");
+        loads.add(() -> context.getWageCalculation().reloadAttendanceData());
+        names.add("sss");
+        loads.add(() -> context.getWageCalculation().preloadDeductionTables());
+        names.add("leaves");
+        loads.add(() -> context.getLeaveDataManager().reload());
+        names.add("holidays");
+        loads.add(() -> BusinessCalendar.getDefault().reload());
+        names.add("credentials");
+        loads.add(() -> context.getCredentialStore().size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(loads.size(), daemonThreadFactory());
+        List<CompletableFuture<LoadTiming>> futures = new ArrayList<>();
+        for (int i = 0; i < loads.size(); i++) {
+            futures.add(CompletableFuture.supplyAsync(timed(names.get(i), loads.get(i)), executor));
+        }
+        executor.shutdown(); // Threads exit once the queued loads finish
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<LoadTiming> timings = new ArrayList<>();
+                    for (CompletableFuture<LoadTiming> future : futures) {
+                        timings.add(future.join());
+                    }
+                    return timings;
+                });
+    }
+
+    /**
+     * Prints per-file load timings.
+     *
+     * @param timings The timings to report
+     * @param wallMillis Elapsed time for the whole preload
+     */
+    public static void report(List<LoadTiming> timings, double wallMillis) {
+        System.out.printf("Startup preload finished in %.1f ms%n", wallMillis);
+        for (LoadTiming timing : timings) {
+            System.out.println("  " + timing);
+        }
+    }
+
+    /**
+     * Wraps a load so it reports its own duration and never fails the combined future.
+     */
+    private static Supplier<LoadTiming> timed(String name, Callable<Integer> load) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                int rows = load.call();
+                return new LoadTiming(name, rows, System.nanoTime() - start, null);
+            } catch (Exception e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                return new LoadTiming(name, 0, System.nanoTime() - start, cause.toString());
+            }
+        };
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "startup-loader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Load outcome for a single data file.
+     */
+    public static final class LoadTiming {
+
+        private final String name;
+        private final int rows;
+        private final long nanos;
+        private final String error;
+
+        private LoadTiming(String name, int rows, long nanos, String error) {
+            this.name = name;
+            this.rows = rows;
+            this.nanos = nanos;
+            this.error = error;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public double getMillis() {
+            return nanos / 1_000_000.0;
+        }
+
+        public boolean isSuccessful() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            return isSuccessful()
+                    ? String.format("%-12s %,10d rows %10.1f ms", name, rows, getMillis())
+                    : String.format("%-12s FAILED after %.1f ms: %s", name, getMillis(), error);
+        }
+    }
+}
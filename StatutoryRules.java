@@ -0,0 +1,384 @@
+package com.mycompany.motorph.calculation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One version of the statutory contribution and tax rules, compiled for lookup.
+ * <p>
+ * A version covers SSS, PhilHealth, Pag-IBIG and withholding tax, and applies to pay
+ * periods from its effective date until the next version takes over. Instances are
+ * immutable: the SSS ranges and tax brackets are sorted primitive arrays searched by
+ * binary search, so a version can be shared by any number of threads and replaced
+ * as a whole by {@link StatutoryRulesRegistry} without locking.
+ * </p>
+ *
+ * @author Lance
+ */
+public final class StatutoryRules {
+
+    private final String version;
+    private final LocalDate effectiveFrom;
+
+    // Package-private so DeductionKernel can compile them into vector constants
+
+    // SSS: contribution per compensation range, with flat amounts outside the table
+    final double[] sssLower;
+    final double[] sssUpper;
+    final double[] sssContribution;
+    final double sssFloorBelow;
+    final double sssFloorContribution;
+    final double sssCeilingAbove;
+    final double sssCeilingContribution;
+
+    // PhilHealth: premium rate clamped to a range, shared with the employer
+    final double philHealthRate;
+    final double philHealthMinPremium;
+    final double philHealthMaxPremium;
+    final double philHealthEmployeeShare;
+
+    // Pag-IBIG: lower rate up to a threshold, capped contribution
+    final double pagIbigThreshold;
+    final double pagIbigLowRate;
+    final double pagIbigHighRate;
+    final double pagIbigMaxContribution;
+
+    // Withholding tax: flat rate of the bracket the taxable income falls in
+    final double[] taxBrackets;
+    final double[] taxRates;
+
+    private StatutoryRules(Builder builder) {
+        this.version = builder.version;
+        this.effectiveFrom = builder.effectiveFrom;
+        int sssCount = builder.sssRanges.size();
+        this.sssLower = new double[sssCount];
+        this.sssUpper = new double[sssCount];
+        this.sssContribution = new double[sssCount];
+        for (int i = 0; i < sssCount; i++) {
+            double[] range = builder.sssRanges.get(i);
+            sssLower[i] = range[0];
+            sssUpper[i] = range[1];
+            sssContribution[i] = range[2];
+        }
+        this.sssFloorBelow = builder.sssFloorBelow;
+        this.sssFloorContribution = builder.sssFloorContribution;
+        this.sssCeilingAbove = builder.sssCeilingAbove;
+        this.sssCeilingContribution = builder.sssCeilingContribution;
+        this.philHealthRate = builder.philHealthRate;
+        this.philHealthMinPremium = builder.philHealthMinPremium;
+        this.philHealthMaxPremium = builder.philHealthMaxPremium;
+        this.philHealthEmployeeShare = builder.philHealthEmployeeShare;
+        this.pagIbigThreshold = builder.pagIbigThreshold;
+        this.pagIbigLowRate = builder.pagIbigLowRate;
+        this.pagIbigHighRate = builder.pagIbigHighRate;
+        this.pagIbigMaxContribution = builder.pagIbigMaxContribution;
+        int taxCount = builder.taxBrackets.size();
+        this.taxBrackets = new double[taxCount];
+        this.taxRates = new double[taxCount];
+        for (int i = 0; i < taxCount; i++) {
+            taxBrackets[i] = builder.taxBrackets.get(i)[0];
+            taxRates[i] = builder.taxBrackets.get(i)[1];
+        }
+    }
+
+    /**
+     * Returns the version name, recorded on every payroll computed with these rules.
+     *
+     * @return The version name
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the first day these rules apply to.
+     *
+     * @return The effective date
+     */
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    /**
+     * Returns the number of SSS compensation ranges.
+     *
+     * @return The number of SSS brackets
+     */
+    public int getSssBracketCount() {
+        return sssLower.length;
+    }
+
+    /**
+     * Calculates the SSS contribution for a gross wage.
+     *
+     * @param grossWage The gross wage
+     * @return The contribution, or 0 if the wage falls in a gap in the table
+     */
+    public double calculateSss(final double grossWage) {
+        if (grossWage < sssFloorBelow) {
+            return sssFloorContribution;
+        }
+        if (grossWage > sssCeilingAbove) {
+            return sssCeilingContribution;
+        }
+        int i = lastAtOrBelow(sssLower, grossWage);
+        return i >= 0 && grossWage <= sssUpper[i] ? sssContribution[i] : 0.0;
+    }
+
+    /**
+     * Calculates the employee's PhilHealth contribution for a gross wage.
+     *
+     * @param grossWage The gross wage
+     * @return The contribution
+     */
+    public double calculatePhilHealth(final double grossWage) {
+        double premium = Math.max(philHealthMinPremium, Math.min(grossWage * philHealthRate, philHealthMaxPremium));
+        return premium * philHealthEmployeeShare;
+    }
+
+    /**
+     * Calculates the Pag-IBIG contribution for a gross wage.
+     *
+     * @param grossWage The gross wage
+     * @return The contribution
+     */
+    public double calculatePagIbig(final double grossWage) {
+        double rate = grossWage <= pagIbigThreshold ? pagIbigLowRate : pagIbigHighRate;
+        return Math.min(grossWage * rate, pagIbigMaxContribution);
+    }
+
+    /**
+     * Calculates the withholding tax on a gross wage, after the three contributions.
+     *
+     * @param grossWage The gross wage
+     * @return The withholding tax
+     */
+    public double calculateWithholdingTax(final double grossWage) {
+        double taxableIncome = Math.max(grossWage - calculateSss(grossWage) - calculatePhilHealth(grossWage)
+                - calculatePagIbig(grossWage), 0);
+        if (taxableIncome <= 0) {
+            return 0.0;
+        }
+        int i = lastAtOrBelow(taxBrackets, taxableIncome);
+        return i >= 0 ? taxableIncome * taxRates[i] : 0.0;
+    }
+
+    /**
+     * Returns the gross wages at which an SSS, PhilHealth or Pag-IBIG amount changes
+     * formula. Between two consecutive points every contribution is linear in the gross.
+     */
+    double[] getContributionBreakpoints() {
+        double[] points = new double[sssLower.length * 2 + 7];
+        int count = 0;
+        for (int i = 0; i < sssLower.length; i++) {
+            points[count++] = sssLower[i];
+            points[count++] = sssUpper[i];
+        }
+        points[count++] = sssFloorBelow;
+        points[count++] = sssCeilingAbove;
+        points[count++] = philHealthMinPremium / philHealthRate;
+        points[count++] = philHealthMaxPremium / philHealthRate;
+        points[count++] = pagIbigThreshold;
+        points[count++] = pagIbigMaxContribution / pagIbigLowRate;
+        points[count++] = pagIbigMaxContribution / pagIbigHighRate;
+        return Arrays.stream(points, 0, count).filter(p -> p > 0 && Double.isFinite(p)).sorted().distinct().toArray();
+    }
+
+    /**
+     * Returns the taxable incomes at which the withholding tax rate changes.
+     *
+     * @return The lower bounds of the tax brackets, in ascending order
+     */
+    public double[] getTaxBrackets() {
+        return taxBrackets.clone();
+    }
+
+    /**
+     * Returns the withholding tax rates, one per bracket.
+     *
+     * @return The rates, in the order of {@link #getTaxBrackets()}
+     */
+    public double[] getTaxRates() {
+        return taxRates.clone();
+    }
+
+    /**
+     * Returns a copy of these rules under another version name with different tax
+     * brackets, for trying out changes to the brackets.
+     *
+     * @param version The version name of the copy
+     * @param lowers The lower bounds of the brackets
+     * @param rates The rate of each bracket
+     * @return The new rules
+     * @throws IllegalArgumentException If the arrays differ in length or a bracket is repeated
+     */
+    public StatutoryRules withTaxBrackets(final String version, final double[] lowers, final double[] rates) {
+        if (lowers.length != rates.length) {
+            throw new IllegalArgumentException("Expected one tax rate per bracket");
+        }
+        Builder builder = new Builder(version)
+                .effectiveFrom(effectiveFrom)
+                .sssFloor(sssFloorBelow, sssFloorContribution)
+                .sssCeiling(sssCeilingAbove, sssCeilingContribution)
+                .philHealth(philHealthRate, philHealthMinPremium, philHealthMaxPremium, philHealthEmployeeShare)
+                .pagIbig(pagIbigThreshold, pagIbigLowRate, pagIbigHighRate, pagIbigMaxContribution);
+        for (int i = 0; i < sssLower.length; i++) {
+            builder.sssRange(sssLower[i], sssUpper[i], sssContribution[i]);
+        }
+        for (int i = 0; i < lowers.length; i++) {
+            builder.taxBracket(lowers[i], rates[i]);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return version + " (from " + effectiveFrom + ")";
+    }
+
+    /**
+     * Returns the index of the last value not above the key, or -1 if there is none.
+     */
+    private static int lastAtOrBelow(final double[] sorted, final double key) {
+        int low = 0;
+        int high = sorted.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Collects the rules of one version, then validates and compiles them.
+     */
+    public static final class Builder {
+
+        private final String version;
+        private LocalDate effectiveFrom;
+        private final List<double[]> sssRanges = new ArrayList<>();
+        private double sssFloorBelow = Double.NaN;
+        private double sssFloorContribution;
+        private double sssCeilingAbove = Double.NaN;
+        private double sssCeilingContribution;
+        private double philHealthRate = Double.NaN;
+        private double philHealthMinPremium = Double.NaN;
+        private double philHealthMaxPremium = Double.NaN;
+        private double philHealthEmployeeShare = Double.NaN;
+        private double pagIbigThreshold = Double.NaN;
+        private double pagIbigLowRate = Double.NaN;
+        private double pagIbigHighRate = Double.NaN;
+        private double pagIbigMaxContribution = Double.NaN;
+        private final List<double[]> taxBrackets = new ArrayList<>();
+
+        /**
+         * Constructor for Builder.
+         *
+         * @param version The version name
+         */
+        public Builder(String version) {
+            this.version = version;
+        }
+
+        public Builder effectiveFrom(LocalDate date) {
+            this.effectiveFrom = date;
+            return this;
+        }
+
+        /** Adds an SSS compensation range, inclusive at both ends. */
+        public Builder sssRange(double lower, double upper, double contribution) {
+            sssRanges.add(new double[]{lower, upper, contribution});
+            return this;
+        }
+
+        /** Sets the contribution for wages below the table. Defaults to the first range's. */
+        public Builder sssFloor(double below, double contribution) {
+            this.sssFloorBelow = below;
+            this.sssFloorContribution = contribution;
+            return this;
+        }
+
+        /** Sets the contribution for wages above the table. Defaults to the last range's. */
+        public Builder sssCeiling(double above, double contribution) {
+            this.sssCeilingAbove = above;
+            this.sssCeilingContribution = contribution;
+            return this;
+        }
+
+        public Builder philHealth(double rate, double minPremium, double maxPremium, double employeeShare) {
+            this.philHealthRate = rate;
+            this.philHealthMinPremium = minPremium;
+            this.philHealthMaxPremium = maxPremium;
+            this.philHealthEmployeeShare = employeeShare;
+            return this;
+        }
+
+        public Builder pagIbig(double threshold, double lowRate, double highRate, double maxContribution) {
+            this.pagIbigThreshold = threshold;
+            this.pagIbigLowRate = lowRate;
+            this.pagIbigHighRate = highRate;
+            this.pagIbigMaxContribution = maxContribution;
+            return this;
+        }
+
+        /** Adds a tax bracket: taxable income from {@code lower} is taxed at {@code rate}. */
+        public Builder taxBracket(double lower, double rate) {
+            taxBrackets.add(new double[]{lower, rate});
+            return this;
+        }
+
+        /**
+         * Validates the rules and compiles them.
+         *
+         * @return The compiled rules
+         * @throws IllegalArgumentException If a rule is missing or the tables are out of order
+         */
+        public StatutoryRules build() {
+            if (effectiveFrom == null) {
+                throw new IllegalArgumentException("Missing effective date");
+            }
+            if (sssRanges.isEmpty()) {
+                throw new IllegalArgumentException("Missing SSS ranges");
+            }
+            for (double value : new double[]{philHealthRate, philHealthMinPremium, philHealthMaxPremium, philHealthEmployeeShare}) {
+                if (Double.isNaN(value)) {
+                    throw new IllegalArgumentException("Missing PhilHealth rules");
+                }
+            }
+            for (double value : new double[]{pagIbigThreshold, pagIbigLowRate, pagIbigHighRate, pagIbigMaxContribution}) {
+                if (Double.isNaN(value)) {
+                    throw new IllegalArgumentException("Missing Pag-IBIG rules");
+                }
+            }
+
+            sssRanges.sort((a, b) -> Double.compare(a[0], b[0]));
+            for (int i = 0; i < sssRanges.size(); i++) {
+                double[] range = sssRanges.get(i);
+                if (range[1] < range[0] || (i > 0 && range[0] <= sssRanges.get(i - 1)[1])) {
+                    throw new IllegalArgumentException("SSS ranges overlap or are reversed at " + Arrays.toString(range));
+                }
+            }
+            if (Double.isNaN(sssFloorBelow)) {
+                sssFloor(sssRanges.get(0)[0], sssRanges.get(0)[2]);
+            }
+            if (Double.isNaN(sssCeilingAbove)) {
+                double[] last = sssRanges.get(sssRanges.size() - 1);
+                sssCeiling(last[1], last[2]);
+            }
+
+            taxBrackets.sort((a, b) -> Double.compare(a[0], b[0]));
+            for (int i = 1; i < taxBrackets.size(); i++) {
+                if (taxBrackets.get(i)[0] == taxBrackets.get(i - 1)[0]) {
+                    throw new IllegalArgumentException("Duplicate tax bracket at " + taxBrackets.get(i)[0]);
+                }
+            }
+            return new StatutoryRules(this);
+        }
+    }
+}
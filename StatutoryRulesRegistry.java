@@ -0,0 +1,388 @@
+package com.mycompany.motorph.calculation;
+
+import com.mycompany.motorph.events.CsvLoadEvent;
+import com.mycompany.motorph.metrics.CacheStats;
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.metrics.Timer;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The effective-dated versions of the statutory rules, reloadable at runtime.
+ * <p>
+ * Each CSV file in the rules directory is one version, named after the file. Its rows
+ * have the columns Rule, Lower, Upper and Value:
+ * </p>
+ * <pre>
+ * effective,,,01/01/2025          first day the version applies to (MM/dd/yyyy)
+ * sss,3250,3749.99,157.50         SSS contribution for a compensation range
+ * sss.floor,,3250,135             contribution below the table (optional)
+ * sss.ceiling,24750,,1125         contribution above the table (optional)
+ * philhealth.rate,,,0.03          premium rate, clamped between
+ * philhealth.min,,,300            ... the minimum premium
+ * philhealth.max,,,1800           ... and the maximum premium
+ * philhealth.share,,,0.50         employee's share of the premium
+ * pagibig.threshold,,,1500        wages up to here use the low rate
+ * pagibig.rate.low,,,0.03
+ * pagibig.rate.high,,,0.04
+ * pagibig.max,,,100               maximum contribution
+ * tax,20832,,0.20                 rate on taxable income from the lower bound
+ * </pre>
+ * <p>
+ * Without a rules directory, a single built-in version is made from
+ * {@code sss_deduction.csv} and the long-standing PhilHealth, Pag-IBIG and tax rates.
+ * </p>
+ * <p>
+ * All versions are read and compiled before any is published, then swapped in with one
+ * volatile write. A payroll holds on to the {@link StatutoryRules} it looked up, so a
+ * reload never pauses or changes a payroll already in progress, and a file that fails
+ * to load leaves the previous versions in place.
+ * </p>
+ *
+ * @author Lance
+ */
+public final class StatutoryRulesRegistry {
+
+    private static final String RULES_DIRECTORY = "src/main/resources/data/statutory";
+    private static final String SSS_DEDUCTIONS_PATH = "src/main/resources/data/sss_deduction.csv";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final int RULE_COLUMNS = 4;
+    private static final int SSS_COLUMNS = 3;
+
+    /** The version name of the rules built from {@code sss_deduction.csv}. */
+    public static final String BUILT_IN_VERSION = "built-in";
+
+    // Long-standing rates used by the built-in version
+    private static final double BUILT_IN_SSS_FLOOR = 3250.00;
+    private static final double BUILT_IN_SSS_FLOOR_CONTRIBUTION = 135.00;
+    private static final double BUILT_IN_SSS_CEILING = 24750.00;
+    private static final double BUILT_IN_SSS_CEILING_CONTRIBUTION = 1125.00;
+    private static final double[] BUILT_IN_TAX_BRACKETS = {20832, 33333, 66667, 166667, 666667};
+    private static final double[] BUILT_IN_TAX_RATES = {0.20, 0.25, 0.30, 0.32, 0.35};
+
+    private static final Timer RELOAD_TIMER = MetricsRegistry.timer("statutory.reload");
+    private static final CacheStats RULES_CACHE = MetricsRegistry.cache("cache.statutory");
+
+    private static volatile StatutoryRulesRegistry defaultRegistry;
+
+    private final String rulesDirectory;
+    private final String sssDeductionsPath;
+
+    // Versions in effective-date order, replaced as a whole on reload
+    private volatile StatutoryRules[] versions;
+    private volatile String fingerprint;
+    private ScheduledExecutorService autoReload;
+
+    /**
+     * Constructor for StatutoryRulesRegistry over the default files.
+     */
+    public StatutoryRulesRegistry() {
+        this(RULES_DIRECTORY, SSS_DEDUCTIONS_PATH);
+    }
+
+    /**
+     * Constructor for StatutoryRulesRegistry over specific files.
+     *
+     * @param rulesDirectory Directory of versioned rule files
+     * @param sssDeductionsPath SSS table for the built-in version, used when the directory has no rule files
+     */
+    public StatutoryRulesRegistry(final String rulesDirectory, final String sssDeductionsPath) {
+        this.rulesDirectory = rulesDirectory;
+        this.sssDeductionsPath = sssDeductionsPath;
+    }
+
+    /**
+     * Returns the registry over the default files, shared by every caller.
+     *
+     * @return The default registry
+     */
+    public static StatutoryRulesRegistry getDefault() {
+        StatutoryRulesRegistry registry = defaultRegistry;
+        if (registry == null) {
+            synchronized (StatutoryRulesRegistry.class) {
+                registry = defaultRegistry;
+                if (registry == null) {
+                    registry = new StatutoryRulesRegistry();
+                    defaultRegistry = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Returns the rules in effect on a day.
+     *
+     * @param date The day, normally the last day of the pay period
+     * @return The latest version effective on or before the day
+     * @throws IOException If the rules cannot be read
+     * @throws CsvValidationException If a rules file is not valid CSV
+     * @throws IllegalStateException If no version is in effect yet on that day
+     */
+    public StatutoryRules forDate(final LocalDate date) throws IOException, CsvValidationException {
+        StatutoryRules[] current = versions();
+        int low = 0;
+        int high = current.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (!current[mid].getEffectiveFrom().isAfter(date)) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (high < 0) {
+            throw new IllegalStateException("No statutory rules in effect on " + date);
+        }
+        return current[high];
+    }
+
+    /**
+     * Returns the rules in effect today.
+     *
+     * @return The current version
+     * @throws IOException If the rules cannot be read
+     * @throws CsvValidationException If a rules file is not valid CSV
+     */
+    public StatutoryRules current() throws IOException, CsvValidationException {
+        return forDate(LocalDate.now());
+    }
+
+    /**
+     * Returns every version in effective-date order.
+     *
+     * @return Unmodifiable list of versions
+     * @throws IOException If the rules cannot be read
+     * @throws CsvValidationException If a rules file is not valid CSV
+     */
+    public List<StatutoryRules> getVersions() throws IOException, CsvValidationException {
+        return Collections.unmodifiableList(Arrays.asList(versions()));
+    }
+
+    /**
+     * Re-reads and compiles every version, then publishes them together.
+     *
+     * @return The number of versions loaded
+     * @throws IOException If a file cannot be read or holds invalid rules
+     * @throws CsvValidationException If a file is not valid CSV
+     */
+    public synchronized int reload() throws IOException, CsvValidationException {
+        long started = RELOAD_TIMER.start();
+        String newFingerprint = fingerprint();
+        List<StatutoryRules> loaded = new ArrayList<>();
+        for (Path file : ruleFiles()) {
+            loaded.add(readVersion(file));
+        }
+        if (loaded.isEmpty()) {
+            loaded.add(readBuiltInVersion());
+        }
+        loaded.sort(Comparator.comparing(StatutoryRules::getEffectiveFrom));
+        for (int i = 1; i < loaded.size(); i++) {
+            if (loaded.get(i).getEffectiveFrom().equals(loaded.get(i - 1).getEffectiveFrom())) {
+                throw new IOException("Versions " + loaded.get(i - 1).getVersion() + " and " + loaded.get(i).getVersion()
+                        + " take effect on the same day");
+            }
+        }
+
+        versions = loaded.toArray(new StatutoryRules[0]);
+        fingerprint = newFingerprint;
+        RELOAD_TIMER.stop(started, loaded.size());
+        return loaded.size();
+    }
+
+    /**
+     * Reloads if any rule file was added, removed or modified since the last load.
+     *
+     * @return true if the rules were reloaded
+     * @throws IOException If a file cannot be read or holds invalid rules
+     * @throws CsvValidationException If a file is not valid CSV
+     */
+    public synchronized boolean reloadIfChanged() throws IOException, CsvValidationException {
+        if (versions != null && fingerprint().equals(fingerprint)) {
+            return false;
+        }
+        reload();
+        return true;
+    }
+
+    /**
+     * Checks for changed rule files on a background thread, reloading when they change.
+     * Load failures are reported and the previous versions stay in use.
+     *
+     * @param intervalSeconds Seconds between checks
+     */
+    public synchronized void startAutoReload(final long intervalSeconds) {
+        if (autoReload != null) {
+            return;
+        }
+        autoReload = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "statutory-rules-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        autoReload.scheduleWithFixedDelay(() -> {
+            try {
+                if (reloadIfChanged()) {
+                    System.out.println("Statutory rules reloaded: " + Arrays.toString(versions));
+                }
+            } catch (IOException | CsvValidationException | RuntimeException e) {
+                System.err.println("Statutory rules not reloaded: " + e.getMessage());
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    private StatutoryRules[] versions() throws IOException, CsvValidationException {
+        StatutoryRules[] current = versions;
+        if (current != null) {
+            RULES_CACHE.hit();
+        } else {
+            RULES_CACHE.miss();
+            synchronized (this) {
+                if (versions == null) {
+                    reload();
+                }
+                current = versions;
+            }
+        }
+        return current;
+    }
+
+    private List<Path> ruleFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        Path directory = Paths.get(rulesDirectory);
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.csv")) {
+                stream.forEach(files::add);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Names, sizes and modification times of the files the rules come from.
+     */
+    private String fingerprint() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        List<Path> files = ruleFiles();
+        if (files.isEmpty() && Files.exists(Paths.get(sssDeductionsPath))) {
+            files.add(Paths.get(sssDeductionsPath));
+        }
+        for (Path file : files) {
+            builder.append(file.getFileName()).append(':').append(Files.size(file)).append(':')
+                    .append(Files.getLastModifiedTime(file).toMillis()).append(';');
+        }
+        return builder.toString();
+    }
+
+    private static StatutoryRules readVersion(final Path file) throws IOException, CsvValidationException {
+        String name = file.getFileName().toString();
+        StatutoryRules.Builder builder = new StatutoryRules.Builder(name.substring(0, name.length() - ".csv".length()));
+        double[] philHealth = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+        double[] pagIbig = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+
+        CsvLoadEvent event = CsvLoadEvent.start("statutory", file.toString());
+        int rows = 0;
+        try (CSVReader reader = new CSVReader(new FileReader(file.toFile()))) {
+            reader.readNext(); // Skip header row
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                if (row.length == 1 && row[0].trim().isEmpty()) {
+                    continue;
+                }
+                if (row.length != RULE_COLUMNS) {
+                    throw new IOException("Expected " + RULE_COLUMNS + " columns in " + file + " but got " + row.length
+                            + " in row: " + String.join(",", row));
+                }
+                try {
+                    String rule = row[0].trim();
+                    switch (rule) {
+                        case "effective" -> builder.effectiveFrom(LocalDate.parse(row[3].trim(), DATE_FORMAT));
+                        case "sss" -> builder.sssRange(number(row[1]), number(row[2]), number(row[3]));
+                        case "sss.floor" -> builder.sssFloor(number(row[2]), number(row[3]));
+                        case "sss.ceiling" -> builder.sssCeiling(number(row[1]), number(row[3]));
+                        case "philhealth.rate" -> philHealth[0] = number(row[3]);
+                        case "philhealth.min" -> philHealth[1] = number(row[3]);
+                        case "philhealth.max" -> philHealth[2] = number(row[3]);
+                        case "philhealth.share" -> philHealth[3] = number(row[3]);
+                        case "pagibig.threshold" -> pagIbig[0] = number(row[3]);
+                        case "pagibig.rate.low" -> pagIbig[1] = number(row[3]);
+                        case "pagibig.rate.high" -> pagIbig[2] = number(row[3]);
+                        case "pagibig.max" -> pagIbig[3] = number(row[3]);
+                        case "tax" -> builder.taxBracket(number(row[1]), number(row[3]));
+                        default -> throw new IOException("Unknown rule '" + rule + "' in " + file);
+                    }
+                } catch (NumberFormatException | DateTimeParseException e) {
+                    throw new IOException("Invalid value in " + file + ": " + String.join(",", row), e);
+                }
+                rows++;
+            }
+        }
+        event.finish(rows);
+
+        try {
+            return builder.philHealth(philHealth[0], philHealth[1], philHealth[2], philHealth[3])
+                    .pagIbig(pagIbig[0], pagIbig[1], pagIbig[2], pagIbig[3])
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid rules in " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds the version used before rule files existed, from the SSS table file.
+     */
+    private StatutoryRules readBuiltInVersion() throws IOException, CsvValidationException {
+        StatutoryRules.Builder builder = new StatutoryRules.Builder(BUILT_IN_VERSION)
+                .effectiveFrom(LocalDate.MIN)
+                .sssFloor(BUILT_IN_SSS_FLOOR, BUILT_IN_SSS_FLOOR_CONTRIBUTION)
+                .sssCeiling(BUILT_IN_SSS_CEILING, BUILT_IN_SSS_CEILING_CONTRIBUTION)
+                .philHealth(0.03, 300, 1800, 0.50)
+                .pagIbig(1500, 0.03, 0.04, 100);
+        for (int i = 0; i < BUILT_IN_TAX_BRACKETS.length; i++) {
+            builder.taxBracket(BUILT_IN_TAX_BRACKETS[i], BUILT_IN_TAX_RATES[i]);
+        }
+
+        CsvLoadEvent event = CsvLoadEvent.start("sss", sssDeductionsPath);
+        int rows = 0;
+        try (CSVReader reader = new CSVReader(new FileReader(sssDeductionsPath))) {
+            reader.readNext(); // Skip header row
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                if (row.length != SSS_COLUMNS) {
+                    throw new IllegalArgumentException("Invalid CSV format: Expected " + SSS_COLUMNS + " columns but got " + row.length + " in row: " + String.join(",", row));
+                }
+                try {
+                    builder.sssRange(number(row[0]), number(row[1]), number(row[2]));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid number format in SSS deductions CSV: " + String.join(",", row), e);
+                }
+                rows++;
+            }
+        }
+        event.finish(rows);
+        return builder.build();
+    }
+
+    private static double number(final String value) {
+        return Double.parseDouble(value.trim());
+    }
+}
@@ -0,0 +1,518 @@
+package com.mycompany.motorph.benchmark;
+
+import com.mycompany.motorph.data.CredentialStore;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Writes deterministic, schema-valid MotorPH data files at any scale.
+ * <p>
+ * Usage:
+ * <pre>
+ * SyntheticDataGenerator [--output dir] [--employees 10000] [--months 1] [--start-month 1]
+ *                        [--year 2024] [--seed 42] [--leave-rate 0.3] [--hash-iterations 0]
+ * </pre>
+ * Produces {@code employee_information.csv} (19 columns), {@code employee_attendance.csv}
+ * (6 columns, {@code MM/dd} dates and {@code HH:mm} times, one punch per working day),
+ * {@code leave_balances.csv} and {@code login_credentials.csv}. The same seed always gives
+ * the same files: every employee draws from its own random stream, so an employee's
+ * rows do not depend on how many employees are generated.
+ * </p>
+ * <p>
+ * Salaries follow MotorPH's four bands, with most staff in rank-and-file. Each employee
+ * has a punctuality profile: most are rarely late, a minority often late, and a few
+ * chronically late, with minutes late exponentially distributed past the 08:10 grace
+ * period. About 3% of working days are absences with no punch. Passwords are written in
+ * plain text unless {@code --hash-iterations} is set, in which case they are pre-encoded
+ * so that loading millions of users does not hash every row.
+ * </p>
+ *
+ * @author Lance
+ */
+public class SyntheticDataGenerator {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    // Random stream identifiers, so each aspect of an employee is drawn independently
+    private static final long STREAM_PROFILE = 1;
+    private static final long STREAM_NAME = 2;
+    private static final long STREAM_ATTENDANCE = 3;
+    private static final long STREAM_LEAVE = 4;
+    private static final long STREAM_CREDENTIAL = 5;
+
+    // Salary bands: executive, manager, team leader, rank and file
+    private static final int EXECUTIVE = 0;
+    private static final double[] BAND_WEIGHTS = {0.01, 0.06, 0.15, 0.78};
+    private static final int[] BAND_MIN_SALARY = {75_000, 50_000, 35_000, 22_500};
+    private static final int[] BAND_MAX_SALARY = {95_000, 62_000, 52_000, 38_000};
+    private static final int[] BAND_PHONE_ALLOWANCE = {2_000, 1_500, 800, 500};
+    private static final int[] BAND_CLOTHING_ALLOWANCE = {1_000, 1_000, 800, 500};
+    private static final int RICE_SUBSIDY = 1_500;
+    private static final double MONTHLY_WORK_HOURS = 168.0;
+    private static final String[][] BAND_POSITIONS = {
+            {"Chief Executive Officer", "Chief Operating Officer", "Chief Finance Officer", "Chief Marketing Officer"},
+            {"HR Manager", "Accounting Head", "Payroll Manager", "Account Manager", "IT Operations and Systems"},
+            {"HR Team Leader", "Payroll Team Leader", "Account Team Leader", "Sales & Marketing"},
+            {"HR Rank and File", "Payroll Rank and File", "Account Rank and File", "Customer Service and Relations",
+                    "Supply Chain and Logistics"}
+    };
+
+    // Punctuality profiles: share of employees and their chance of being late on a given day
+    private static final double[] PROFILE_SHARE = {0.70, 0.25, 0.05};
+    private static final double[] PROFILE_LATE_CHANCE = {0.04, 0.20, 0.55};
+    private static final double ABSENCE_CHANCE = 0.03;
+    private static final double EARLY_LEAVE_CHANCE = 0.05;
+    private static final int GRACE_END_MINUTE = 8 * 60 + 10;
+    private static final double MEAN_MINUTES_LATE = 12.0;
+    private static final double MEAN_MINUTES_OVERTIME = 25.0;
+
+    private static final String[] LEAVE_TYPES = {"Sick Leave", "Vacation Leave", "Emergency Leave"};
+    private static final double[] LEAVE_TYPE_SHARE = {0.40, 0.45, 0.15};
+    private static final double[] LEAVE_DAILY_AMOUNT = {1500.0, 1500.0, 500.0};
+    private static final String[][] LEAVE_REASONS = {
+            {"Flu", "Fever", "Medical check-up", "Dental procedure", "Migraine"},
+            {"Family trip", "Personal errands", "Wedding", "Rest and recreation", "Moving house"},
+            {"Family emergency", "House repair after typhoon", "Hospitalized relative", "Bereavement"}
+    };
+
+    private static final String[] SURNAMES = {
+            "Garcia", "Lim", "Aquino", "Reyes", "Hernandez", "Villanueva", "San Jose", "Romualdez", "Atienza",
+            "Alvaro", "Salcedo", "Lopez", "Farala", "Martinez", "Mata", "De Leon", "Gonzales", "Santos", "Del Rosario",
+            "Bautista", "Lazaro", "Delos Santos", "Tolentino", "Mendoza", "Castro", "Ramos", "Cruz", "Flores",
+            "Torres", "Rivera", "Navarro", "Dizon", "Pascual", "Aguilar", "Manalo", "Soriano", "Ocampo", "Rosales"
+    };
+    private static final String[] GIVEN_NAMES = {
+            "Manuel III", "Antonio", "Bianca Sofia", "Isabella", "Eduard", "Andrea Mae", "Brad", "Alice", "Rosie",
+            "Roderick", "Anthony", "Josie", "Martha", "Leila", "Fredrick", "Christian", "Selena", "Allison", "Cydney",
+            "Mark", "Darlene", "Kolby", "Vella", "Tomas", "Jacklyn", "Percival", "Garfield", "Lizeth", "Carol",
+            "Emelia", "Delia", "John Rafael", "Maria Clara", "Jose", "Ana", "Paolo", "Kristine", "Miguel"
+    };
+    private static final String[] STREETS = {
+            "Rizal Avenue", "Mabini Street", "Bonifacio Drive", "Osmena Boulevard", "Luna Street", "Aguinaldo Highway",
+            "Del Pilar Street", "Quezon Avenue", "Roxas Boulevard", "Burgos Street", "Taft Avenue", "Katipunan Avenue"
+    };
+    private static final String[] CITIES = {
+            "Makati City", "Quezon City", "Pasig City", "Taguig City", "Manila", "Cebu City", "Davao City",
+            "Iloilo City", "Baguio City", "Cagayan de Oro", "Bacolod City", "Dasmarinas, Cavite"
+    };
+
+    private static final String[] CLOCK = new String[MINUTES_PER_DAY];
+
+    static {
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            CLOCK[minute] = twoDigits(minute / 60) + ":" + twoDigits(minute % 60);
+        }
+    }
+
+    private final long seed;
+    private final int employeeCount;
+    private final List<LocalDate> workingDays;
+    private final double leaveRate;
+    private final int hashIterations;
+    private final String[] dayColumn;
+
+    private byte[] bands;
+    private int[][] employeesByBand;
+
+    /**
+     * Constructor for SyntheticDataGenerator.
+     *
+     * @param seed Seed for every random stream
+     * @param employeeCount Number of employees to generate
+     * @param year Calendar year used to find weekends
+     * @param startMonth First month of attendance (1-12)
+     * @param months Number of months of attendance (1-12)
+     * @param leaveRate Fraction of employees with a leave application
+     * @param hashIterations PBKDF2 iterations for pre-encoded passwords, or 0 for plain text
+     */
+    public SyntheticDataGenerator(long seed, int employeeCount, int year, int startMonth, int months,
+                                  double leaveRate, int hashIterations) {
+        if (employeeCount < 1) {
+            throw new IllegalArgumentException("At least one employee is required");
+        }
+        if (startMonth < 1 || startMonth > 12 || months < 1 || startMonth + months - 1 > 12) {
+            throw new IllegalArgumentException("Attendance months must fall within one year, since dates are MM/dd");
+        }
+        this.seed = seed;
+        this.employeeCount = employeeCount;
+        this.leaveRate = leaveRate;
+        this.hashIterations = hashIterations;
+        this.workingDays = workingDays(year, startMonth, months);
+        this.dayColumn = new String[workingDays.size()];
+        for (int i = 0; i < dayColumn.length; i++) {
+            LocalDate day = workingDays.get(i);
+            dayColumn[i] = twoDigits(day.getMonthValue()) + "/" + twoDigits(day.getDayOfMonth());
+        }
+    }
+
+    /**
+     * Writes all four data files into a directory.
+     *
+     * @param directory The output directory, created if missing
+     * @return Rows written per file name
+     * @throws IOException If a file cannot be written
+     */
+    public Map<String, Long> generate(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        assignBands();
+
+        Map<String, Long> rows = new HashMap<>();
+        rows.put("employee_information.csv", writeEmployees(directory.resolve("employee_information.csv")));
+        rows.put("employee_attendance.csv", writeAttendance(directory.resolve("employee_attendance.csv")));
+        rows.put("leave_balances.csv", writeLeaves(directory.resolve("leave_balances.csv")));
+        rows.put("login_credentials.csv", writeCredentials(directory.resolve("login_credentials.csv")));
+        return rows;
+    }
+
+    /**
+     * Draws every employee's salary band and indexes employees by band for supervisor picks.
+     */
+    private void assignBands() {
+        bands = new byte[employeeCount + 1];
+        int[] bandSizes = new int[BAND_WEIGHTS.length];
+        for (int employeeNumber = 1; employeeNumber <= employeeCount; employeeNumber++) {
+            int band = employeeNumber == 1 ? EXECUTIVE : pickWeighted(BAND_WEIGHTS, random(employeeNumber, STREAM_PROFILE));
+            bands[employeeNumber] = (byte) band;
+            bandSizes[band]++;
+        }
+
+        employeesByBand = new int[BAND_WEIGHTS.length][];
+        for (int band = 0; band < bandSizes.length; band++) {
+            employeesByBand[band] = new int[bandSizes[band]];
+        }
+        int[] filled = new int[BAND_WEIGHTS.length];
+        for (int employeeNumber = 1; employeeNumber <= employeeCount; employeeNumber++) {
+            int band = bands[employeeNumber];
+            employeesByBand[band][filled[band]++] = employeeNumber;
+        }
+    }
+
+    private long writeEmployees(Path file) throws IOException {
+        StringBuilder row = new StringBuilder(512);
+        try (Writer writer = newWriter(file)) {
+            writer.write("Employee #,Last Name,First Name,Birthday,Address,Phone Number,SSS #,Philhealth #,TIN #,"
+                    + "Pag-ibig #,Status,Position,Immediate Supervisor,Basic Salary,Rice Subsidy,Phone Allowance,"
+                    + "Clothing Allowance,Gross Semi-monthly Rate,Hourly Rate\n");
+
+            for (int employeeNumber = 1; employeeNumber <= employeeCount; employeeNumber++) {
+                SplittableRandom random = random(employeeNumber, STREAM_PROFILE);
+                random.nextDouble(); // Consumed by the band draw
+                int band = bands[employeeNumber];
+                String[] name = nameOf(employeeNumber);
+
+                int salarySteps = (BAND_MAX_SALARY[band] - BAND_MIN_SALARY[band]) / 500;
+                // Average of two draws centres salaries within the band
+                int basicSalary = BAND_MIN_SALARY[band] + 500 * ((random.nextInt(salarySteps + 1) + random.nextInt(salarySteps + 1)) / 2);
+                LocalDate birthday = LocalDate.of(2024 - 21 - random.nextInt(40), 1 + random.nextInt(12), 1 + random.nextInt(28));
+                boolean regular = band <= 1 || random.nextDouble() < 0.8;
+
+                row.setLength(0);
+                row.append(employeeNumber).append(',');
+                field(row, name[0]).append(',');
+                field(row, name[1]).append(',');
+                row.append(twoDigits(birthday.getMonthValue())).append('/').append(twoDigits(birthday.getDayOfMonth()))
+                        .append('/').append(birthday.getYear()).append(',');
+                field(row, (1 + random.nextInt(999)) + " " + STREETS[random.nextInt(STREETS.length)] + ", Barangay "
+                        + (1 + random.nextInt(200)) + ", " + CITIES[random.nextInt(CITIES.length)]).append(',');
+                digits(row, random, 3).append('-');
+                digits(row, random, 3).append('-');
+                digits(row, random, 3).append(',');
+                digits(row, random, 2).append('-');
+                digits(row, random, 7).append('-');
+                digits(row, random, 1).append(',');
+                digits(row, random, 12).append(',');
+                digits(row, random, 3).append('-');
+                digits(row, random, 3).append('-');
+                digits(row, random, 3).append("-000,");
+                digits(row, random, 12).append(',');
+                row.append(regular ? "Regular" : "Probationary").append(',');
+                int position = random.nextInt(BAND_POSITIONS[band].length);
+                field(row, BAND_POSITIONS[band][employeeNumber == 1 ? 0 : position]).append(',');
+                field(row, supervisorOf(employeeNumber, random)).append(',');
+                amount(row, basicSalary).append(',');
+                amount(row, RICE_SUBSIDY).append(',');
+                amount(row, BAND_PHONE_ALLOWANCE[band]).append(',');
+                amount(row, BAND_CLOTHING_ALLOWANCE[band]).append(',');
+                amount(row, basicSalary / 2.0).append(',');
+                amount(row, Math.round(basicSalary / MONTHLY_WORK_HOURS * 100) / 100.0).append('\n');
+                writer.append(row);
+            }
+        }
+        return employeeCount;
+    }
+
+    private long writeAttendance(Path file) throws IOException {
+        StringBuilder row = new StringBuilder(128);
+        long rows = 0;
+        long progressStep = Math.max(1, employeeCount / 10);
+
+        try (Writer writer = newWriter(file)) {
+            writer.write("Employee #,Last Name,First Name,Date,Log In,Log Out\n");
+
+            for (int employeeNumber = 1; employeeNumber <= employeeCount; employeeNumber++) {
+                SplittableRandom random = random(employeeNumber, STREAM_ATTENDANCE);
+                double lateChance = PROFILE_LATE_CHANCE[pickWeighted(PROFILE_SHARE, random)];
+                String[] name = nameOf(employeeNumber);
+
+                row.setLength(0);
+                row.append(employeeNumber).append(',');
+                field(row, name[0]).append(',');
+                field(row, name[1]).append(',');
+                int prefixLength = row.length();
+
+                for (String day : dayColumn) {
+                    if (random.nextDouble() < ABSENCE_CHANCE) {
+                        continue;
+                    }
+
+                    int logIn;
+                    if (random.nextDouble() < lateChance) {
+                        logIn = GRACE_END_MINUTE + 1 + (int) exponential(random, MEAN_MINUTES_LATE);
+                    } else {
+                        logIn = 7 * 60 + 30 + random.nextInt(GRACE_END_MINUTE - (7 * 60 + 30) + 1);
+                    }
+                    int logOut = random.nextDouble() < EARLY_LEAVE_CHANCE
+                            ? 16 * 60 + random.nextInt(60)
+                            : 17 * 60 + (int) exponential(random, MEAN_MINUTES_OVERTIME);
+
+                    row.setLength(prefixLength);
+                    row.append(day).append(',')
+                            .append(CLOCK[Math.min(logIn, 11 * 60)]).append(',')
+                            .append(CLOCK[Math.min(logOut, 21 * 60)]).append('\n');
+                    writer.append(row);
+                    rows++;
+                }
+
+                if (employeeNumber % progressStep == 0) {
+                    System.out.printf("  attendance: %,d of %,d employees, %,d rows%n", employeeNumber, employeeCount, rows);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long writeLeaves(Path file) throws IOException {
+        StringBuilder row = new StringBuilder(160);
+        long rows = 0;
+        LocalDate periodStart = workingDays.get(0);
+        int periodDays = (int) (workingDays.get(workingDays.size() - 1).toEpochDay() - periodStart.toEpochDay()) + 1;
+
+        try (Writer writer = newWriter(file)) {
+            writer.write("Employee Number,Leave Type,Start Date,End Date,Reason,Sick Leave,Vacation Leave,Emergency Leave\n");
+
+            for (int employeeNumber = 1; employeeNumber <= employeeCount; employeeNumber++) {
+                SplittableRandom random = random(employeeNumber, STREAM_LEAVE);
+                if (random.nextDouble() >= leaveRate) {
+                    continue;
+                }
+
+                int type = pickWeighted(LEAVE_TYPE_SHARE, random);
+                int days = 1 + Math.min(4, (int) exponential(random, 1.2));
+                LocalDate start = periodStart.plusDays(random.nextInt(periodDays));
+                LocalDate end = start.plusDays(days - 1);
+
+                row.setLength(0);
+                row.append(employeeNumber).append(',').append(LEAVE_TYPES[type]).append(',');
+                date(row, start).append(',');
+                date(row, end).append(',');
+                field(row, LEAVE_REASONS[type][random.nextInt(LEAVE_REASONS[type].length)]);
+                for (int column = 0; column < LEAVE_TYPES.length; column++) {
+                    row.append(',').append(column == type ? LEAVE_DAILY_AMOUNT[type] * days : 0.0);
+                }
+                row.append('\n');
+                writer.append(row);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long writeCredentials(Path file) throws IOException {
+        StringBuilder row = new StringBuilder(160);
+        try (Writer writer = newWriter(file)) {
+            writer.write("Username,Password,User Type\n");
+            writer.write("admin," + password(random(0, STREAM_CREDENTIAL)) + ",Admin\n");
+            writer.write("it," + password(random(-1, STREAM_CREDENTIAL)) + ",IT\n");
+
+            for (int employeeNumber = 1; employeeNumber <= employeeCount; employeeNumber++) {
+                SplittableRandom random = random(employeeNumber, STREAM_CREDENTIAL);
+                row.setLength(0);
+                row.append("emp").append(employeeNumber).append(',').append(password(random)).append(',')
+                        .append(bands[employeeNumber] <= 1 && random.nextInt(4) == 0 ? "Admin" : "Employee").append('\n');
+                writer.append(row);
+            }
+        }
+        return employeeCount + 2L;
+    }
+
+    /**
+     * Returns a random password, pre-encoded when hashing is requested.
+     */
+    private String password(SplittableRandom random) {
+        char[] password = new char[10];
+        String alphabet = "abcdefghijkmnpqrstuvwxyzABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+        for (int i = 0; i < password.length; i++) {
+            password[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        if (hashIterations <= 0) {
+            return new String(password);
+        }
+
+        byte[] salt = new byte[16];
+        for (int i = 0; i < salt.length; i++) {
+            salt[i] = (byte) random.nextInt(256);
+        }
+        return CredentialStore.encodePassword(password, salt, hashIterations);
+    }
+
+    /**
+     * Picks a supervisor from the band above, or "N/A" for employee 1.
+     */
+    private String supervisorOf(int employeeNumber, SplittableRandom random) {
+        if (employeeNumber == 1) {
+            return "N/A";
+        }
+        int band = Math.max(EXECUTIVE, bands[employeeNumber] - 1);
+        while (band > EXECUTIVE && employeesByBand[band].length == 0) {
+            band--;
+        }
+        int[] candidates = employeesByBand[band];
+        int supervisor = bands[employeeNumber] == EXECUTIVE ? 1 : candidates[random.nextInt(candidates.length)];
+        String[] name = nameOf(supervisor);
+        return name[0] + ", " + name[1];
+    }
+
+    private String[] nameOf(int employeeNumber) {
+        SplittableRandom random = random(employeeNumber, STREAM_NAME);
+        return new String[]{SURNAMES[random.nextInt(SURNAMES.length)], GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)]};
+    }
+
+    /**
+     * Returns the random stream for one aspect of one employee.
+     */
+    private SplittableRandom random(long employeeNumber, long stream) {
+        return new SplittableRandom(seed ^ (employeeNumber * 0x9E3779B97F4A7C15L) ^ (stream * 0xC2B2AE3D27D4EB4FL));
+    }
+
+    private static List<LocalDate> workingDays(int year, int startMonth, int months) {
+        List<LocalDate> days = new ArrayList<>();
+        LocalDate day = LocalDate.of(year, startMonth, 1);
+        LocalDate end = day.plusMonths(months);
+        for (; day.isBefore(end); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    private static int pickWeighted(double[] weights, SplittableRandom random) {
+        double draw = random.nextDouble();
+        double cumulative = 0;
+        for (int i = 0; i < weights.length - 1; i++) {
+            cumulative += weights[i];
+            if (draw < cumulative) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static double exponential(SplittableRandom random, double mean) {
+        return -mean * Math.log(1.0 - random.nextDouble());
+    }
+
+    /**
+     * Appends a CSV field, quoting it only when it contains a comma or quote.
+     */
+    private static StringBuilder field(StringBuilder row, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return row.append(value);
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * Appends an amount as the employee file expects it, e.g. "90,000" or "535.71", quoted when grouped.
+     */
+    private static StringBuilder amount(StringBuilder row, double value) {
+        long whole = (long) value;
+        long cents = Math.round((value - whole) * 100);
+        boolean grouped = whole >= 1000;
+        if (grouped) {
+            row.append('"').append(whole / 1000).append(',');
+            long thousands = whole % 1000;
+            row.append(thousands < 100 ? (thousands < 10 ? "00" : "0") : "").append(thousands);
+        } else {
+            row.append(whole);
+        }
+        if (cents != 0) {
+            row.append('.').append(twoDigits((int) cents));
+        }
+        return grouped ? row.append('"') : row;
+    }
+
+    private static StringBuilder digits(StringBuilder row, SplittableRandom random, int count) {
+        for (int i = 0; i < count; i++) {
+            row.append((char) ('0' + random.nextInt(10)));
+        }
+        return row;
+    }
+
+    private static StringBuilder date(StringBuilder row, LocalDate date) {
+        return row.append(twoDigits(date.getMonthValue())).append('/').append(twoDigits(date.getDayOfMonth()))
+                .append('/').append(date.getYear());
+    }
+
+    private static String twoDigits(int value) {
+        return value < 10 ? "0" + value : String.valueOf(value);
+    }
+
+    private static Writer newWriter(Path file) throws IOException {
+        return new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+
+        Path output = Paths.get(options.getOrDefault("output", "generated-data"));
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("employees", "10000")),
+                Integer.parseInt(options.getOrDefault("year", "2024")),
+                Integer.parseInt(options.getOrDefault("start-month", "1")),
+                Integer.parseInt(options.getOrDefault("months", "1")),
+                Double.parseDouble(options.getOrDefault("leave-rate", "0.3")),
+                Integer.parseInt(options.getOrDefault("hash-iterations", "0")));
+
+        long start = System.nanoTime();
+        Map<String, Long> rows = generator.generate(output);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long totalRows = 0;
+        for (Map.Entry<String, Long> entry : rows.entrySet()) {
+            Path file = output.resolve(entry.getKey());
+            System.out.printf("%-26s %,14d rows %,10d MB%n", entry.getKey(), entry.getValue(), Files.size(file) >> 20);
+            totalRows += entry.getValue();
+        }
+        System.out.printf("Wrote %,d rows to %s in %.1f s (%,.0f rows/s)%n", totalRows, output.toAbsolutePath(),
+                seconds, totalRows / seconds);
+    }
+}
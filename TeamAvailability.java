@@ -0,0 +1,171 @@
+package com.mycompany.motorph.employee;
+
+import com.mycompany.motorph.data.LeaveDataManager;
+import com.mycompany.motorph.model.Employee;
+import com.mycompany.motorph.model.Leave;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Answers "who is out between these dates" for each supervisor's team.
+ * <p>
+ * Overlapping leaves come from the leave store's interval tree, so a query touches only
+ * the leaves in range, not the whole leave history. They are then grouped by each
+ * employee's immediate supervisor, with a per-day count of team members out.
+ * </p>
+ *
+ * @author Lance
+ */
+public class TeamAvailability {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final String UNKNOWN_SUPERVISOR = "Unknown";
+
+    private final EmployeeInformation employeeInformation;
+    private final LeaveDataManager leaveDataManager;
+
+    /**
+     * Constructor for TeamAvailability.
+     *
+     * @param employeeInformation The employee repository, for supervisors
+     * @param leaveDataManager The leave store
+     */
+    public TeamAvailability(final EmployeeInformation employeeInformation, final LeaveDataManager leaveDataManager) {
+        this.employeeInformation = employeeInformation;
+        this.leaveDataManager = leaveDataManager;
+    }
+
+    /**
+     * Lists the leaves overlapping a date range, grouped by immediate supervisor.
+     *
+     * @param from First day of the range
+     * @param to Last day of the range
+     * @return Supervisor name to that team's leaves in start-date order, sorted by supervisor
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV data is invalid
+     * @throws ParseException If employee data cannot be parsed
+     */
+    public Map<String, List<Leave>> whoIsOut(final LocalDate from, final LocalDate to) throws IOException, CsvValidationException, ParseException {
+        Map<String, List<Leave>> bySupervisor = new TreeMap<>();
+        for (Leave leave : leaveDataManager.getLeavesOverlapping(from, to)) {
+            bySupervisor.computeIfAbsent(supervisorOf(leave.getEmployeeNumber()), supervisor -> new ArrayList<>()).add(leave);
+        }
+        return bySupervisor;
+    }
+
+    /**
+     * Lists the leaves of one supervisor's team that overlap a date range.
+     *
+     * @param supervisor The supervisor, as written in the employees' Immediate Supervisor field
+     * @param from First day of the range
+     * @param to Last day of the range
+     * @return The team's leaves in start-date order
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV data is invalid
+     * @throws ParseException If employee data cannot be parsed
+     */
+    public List<Leave> whoIsOut(final String supervisor, final LocalDate from, final LocalDate to) throws IOException, CsvValidationException, ParseException {
+        return whoIsOut(from, to).getOrDefault(supervisor, Collections.emptyList());
+    }
+
+    /**
+     * Counts, for each supervisor and each day in a range, how many team members are out.
+     * <p>
+     * An employee with several leaves on the same day is counted once.
+     * </p>
+     *
+     * @param from First day of the range
+     * @param to Last day of the range
+     * @return Supervisor name to an array with one count per day, starting at {@code from}
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If CSV data is invalid
+     * @throws ParseException If employee data cannot be parsed
+     */
+    public Map<String, int[]> dailyHeadcountOut(final LocalDate from, final LocalDate to) throws IOException, CsvValidationException, ParseException {
+        int days = (int) (to.toEpochDay() - from.toEpochDay()) + 1;
+        if (days < 1) {
+            throw new IllegalArgumentException("Range ends before it starts: " + from + " to " + to);
+        }
+
+        Map<String, int[]> headcounts = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Leave>> team : whoIsOut(from, to).entrySet()) {
+            // Merge each employee's leaves into disjoint day runs, then add them to a difference array
+            Map<Integer, long[]> lastRunByEmployee = new HashMap<>();
+            int[] changes = new int[days + 1];
+            for (Leave leave : team.getValue()) {
+                long start = Math.max(from.toEpochDay(), LocalDate.parse(leave.getStartDate(), DATE_FORMAT).toEpochDay());
+                long end = Math.min(to.toEpochDay(), LocalDate.parse(leave.getEndDate(), DATE_FORMAT).toEpochDay());
+                long[] run = lastRunByEmployee.get(leave.getEmployeeNumber());
+                if (run != null && start <= run[1] + 1) {
+                    if (end > run[1]) {
+                        changes[(int) (run[1] + 1 - from.toEpochDay())]++;
+                        changes[(int) (end + 1 - from.toEpochDay())]--;
+                        run[1] = end;
+                    }
+                    continue;
+                }
+                changes[(int) (start - from.toEpochDay())]++;
+                changes[(int) (end + 1 - from.toEpochDay())]--;
+                lastRunByEmployee.put(leave.getEmployeeNumber(), new long[]{start, end});
+            }
+
+            int[] out = new int[days];
+            int running = 0;
+            for (int day = 0; day < days; day++) {
+                running += changes[day];
+                out[day] = running;
+            }
+            headcounts.put(team.getKey(), out);
+        }
+        return headcounts;
+    }
+
+    private String supervisorOf(final int employeeNumber) throws IOException, CsvValidationException, ParseException {
+        Optional<Employee> employee = employeeInformation.findEmployee(employeeNumber);
+        return employee.map(Employee::getImmediateSupervisor).orElse(UNKNOWN_SUPERVISOR);
+    }
+
+    /**
+     * Prints who is out per supervisor for a date range.
+     * <pre>
+     * TeamAvailability MM/dd/yyyy MM/dd/yyyy [employee-data.csv] [leave-data.csv]
+     * </pre>
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: TeamAvailability <from MM/dd/yyyy> <to MM/dd/yyyy> [employee-data.csv] [leave-data.csv]");
+            System.exit(2);
+        }
+        LocalDate from = LocalDate.parse(args[0], DATE_FORMAT);
+        LocalDate to = LocalDate.parse(args[1], DATE_FORMAT);
+        EmployeeInformation employees = args.length > 2 ? new EmployeeInformation(args[2]) : new EmployeeInformation();
+        LeaveDataManager leaves = args.length > 3 ? new LeaveDataManager(args[3]) : new LeaveDataManager();
+
+        TeamAvailability availability = new TeamAvailability(employees, leaves);
+        Map<String, int[]> headcounts = availability.dailyHeadcountOut(from, to);
+        for (Map.Entry<String, List<Leave>> team : availability.whoIsOut(from, to).entrySet()) {
+            int peak = 0;
+            for (int count : headcounts.get(team.getKey())) {
+                peak = Math.max(peak, count);
+            }
+            System.out.printf("%s: %d leaves, at most %d out on one day%n", team.getKey(), team.getValue().size(), peak);
+            for (Leave leave : team.getValue()) {
+                System.out.printf("  #%d %s %s to %s%n", leave.getEmployeeNumber(), leave.getLeaveType(),
+                        leave.getStartDate(), leave.getEndDate());
+            }
+        }
+        leaves.close();
+    }
+}
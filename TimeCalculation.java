@@ -1,9 +1,10 @@
 package com.mycompany.motorph.calculation;
 
+import com.mycompany.motorph.data.BusinessCalendar;
+import com.mycompany.motorph.events.AttendanceAggregationEvent;
 import com.mycompany.motorph.model.DateRange;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -12,19 +13,38 @@ import java.util.concurrent.TimeUnit;
  * A class for calculating employee working hours.
  * <p>
  * It processes attendance data to compute total hours worked, 
- * assumed working hours, and number of days within a given date range.
+ * assumed working hours, and number of days within a given date range. Assumed hours
+ * cover working days only, as counted by the {@link BusinessCalendar}.
  * </p>
  *
  * @author Lance
  */
 public class TimeCalculation {
 
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("MM/dd");
-    private static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat("HH:mm");
+    // Per-thread parser, so concurrent wage requests never share SimpleDateFormat state
+    private static final ThreadLocal<SimpleDateFormat> TIME_FORMAT = ThreadLocal.withInitial(() -> new SimpleDateFormat("HH:mm"));
 
     private static final int ATTENDANCE_EXPECTED_COL_LENGTH = 6;
     private static final double ASSUMED_HOURS_PER_DAY = 9.0;
 
+    private final BusinessCalendar businessCalendar;
+
+    /**
+     * Constructor for TimeCalculation using the default business calendar.
+     */
+    public TimeCalculation() {
+        this(BusinessCalendar.getDefault());
+    }
+
+    /**
+     * Constructor for TimeCalculation with a specific business calendar.
+     *
+     * @param businessCalendar The calendar of working days
+     */
+    public TimeCalculation(final BusinessCalendar businessCalendar) {
+        this.businessCalendar = businessCalendar;
+    }
+
     /**
      * Calculates the total hours worked by the employee within the inputted date range.
      *
@@ -35,25 +55,28 @@ public class TimeCalculation {
      * @throws ParseException If there is an error parsing dates
      */
     public double calculateTotalHoursWorked(final List<String[]> attendanceDataList, final int employeeNumber, final DateRange dateRange) throws ParseException {
+        final AttendanceAggregationEvent event = AttendanceAggregationEvent.start("hours worked", employeeNumber);
         double totalHoursWorked = 0.0;
+        int matchedRows = 0;
 
         for (String[] data : attendanceDataList) {
             // Ensure data length matches the expected format and employee number matches
             if (data.length == ATTENDANCE_EXPECTED_COL_LENGTH && Integer.parseInt(data[0]) == employeeNumber) {
                 // Parse attendance date, time-in, and time-out
-                final Date attendanceDate = DATE_FORMAT.parse(data[3]);
-                if (!dateRange.isWithinDateRange(attendanceDate)) {
+                if (!dateRange.contains(dateRange.parseDay(data[3]))) {
                     continue; // Skip records outside the date range
                 }
 
-                final Date attendanceTimeIn = TIME_FORMAT.parse(data[4]);
-                final Date attendanceTimeOut = TIME_FORMAT.parse(data[5]);
+                final Date attendanceTimeIn = TIME_FORMAT.get().parse(data[4]);
+                final Date attendanceTimeOut = TIME_FORMAT.get().parse(data[5]);
 
                 // Calculate and accumulate total hours worked
                 totalHoursWorked += calculateWorkedHours(attendanceTimeIn, attendanceTimeOut);
+                matchedRows++;
             }
         }
 
+        event.finish(attendanceDataList.size(), matchedRows);
         return totalHoursWorked;
     }
 
@@ -64,7 +87,17 @@ public class TimeCalculation {
      * @return The assumed hours worked
      */
     public double calculateAssumedHoursWorked(final DateRange dateRange) {
-        return ASSUMED_HOURS_PER_DAY * getNumberOfDays(dateRange);
+        return calculateAssumedHoursWorked(getNumberOfWorkdays(dateRange));
+    }
+
+    /**
+     * Calculates the assumed hours worked over a number of full working days.
+     *
+     * @param days The number of days
+     * @return The assumed hours worked
+     */
+    public double calculateAssumedHoursWorked(final long days) {
+        return ASSUMED_HOURS_PER_DAY * days;
     }
 
     /**
@@ -74,10 +107,17 @@ public class TimeCalculation {
      * @return The number of days (including start and end date)
      */
     public long getNumberOfDays(final DateRange dateRange) {
-        return ChronoUnit.DAYS.between(
-                dateRange.getStartDate().toInstant(), 
-                dateRange.getEndDate().toInstant()
-        ) + 1; // +1 to include both start and end date
+        return dateRange.getNumberOfDays();
+    }
+
+    /**
+     * Counts the working days within the inputted date range.
+     *
+     * @param dateRange The date range
+     * @return The number of working days (including start and end date)
+     */
+    public int getNumberOfWorkdays(final DateRange dateRange) {
+        return businessCalendar.countWorkdays(dateRange);
     }
 
     /**
@@ -0,0 +1,162 @@
+package com.mycompany.motorph.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records durations into a log-linear histogram, with an optional row count per sample.
+ * <p>
+ * Each power of two is split into four buckets, so reported percentiles are within
+ * 25% of the true value. Use {@link #start()} and {@link #stop(long, long)} around the
+ * measured code; both do nothing when metrics are disabled.
+ * </p>
+ *
+ * @author Lance
+ */
+public final class Timer {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 42 * SUB_BUCKETS; // Up to about an hour in nanoseconds
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    Timer(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns a start timestamp, or 0 when metrics are disabled.
+     *
+     * @return The start timestamp to pass to {@link #stop(long, long)}
+     */
+    public long start() {
+        return MetricsRegistry.ENABLED ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the time elapsed since {@code start}.
+     *
+     * @param start The value returned by {@link #start()}
+     */
+    public void stop(long start) {
+        stop(start, 0);
+    }
+
+    /**
+     * Records the time elapsed since {@code start} along with the rows it processed.
+     *
+     * @param start The value returned by {@link #start()}
+     * @param rowsProcessed Rows parsed or processed during the sample
+     */
+    public void stop(long start, long rowsProcessed) {
+        if (MetricsRegistry.ENABLED) {
+            record(System.nanoTime() - start, rowsProcessed);
+        }
+    }
+
+    /**
+     * Records one sample.
+     *
+     * @param nanos The sample duration in nanoseconds
+     * @param rowsProcessed Rows processed during the sample
+     */
+    public void record(long nanos, long rowsProcessed) {
+        if (!MetricsRegistry.ENABLED) {
+            return;
+        }
+        long duration = Math.max(0, nanos);
+        count.increment();
+        totalNanos.add(duration);
+        rows.add(rowsProcessed);
+        maxNanos.accumulate(duration);
+        buckets.incrementAndGet(bucketOf(duration));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public double getTotalMillis() {
+        return totalNanos.sum() / 1e6;
+    }
+
+    public double getMeanMillis() {
+        long samples = count.sum();
+        return samples == 0 ? 0.0 : totalNanos.sum() / 1e6 / samples;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    /**
+     * Returns rows processed per second of recorded time.
+     *
+     * @return The rows-per-second rate, or 0 if nothing was recorded
+     */
+    public double getRowsPerSecond() {
+        long nanos = totalNanos.sum();
+        return nanos == 0 ? 0.0 : rows.sum() / (nanos / 1e9);
+    }
+
+    /**
+     * Estimates a percentile as the upper bound of the bucket containing it.
+     *
+     * @param fraction The percentile as a fraction, e.g. 0.99
+     * @return The estimated duration in milliseconds
+     */
+    public double getPercentileMillis(double fraction) {
+        long[] counts = new long[BUCKETS];
+        long samples = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            samples += counts[i];
+        }
+        if (samples == 0) {
+            return 0.0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(fraction * samples));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxNanos.get()) / 1e6;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket);
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,123 @@
+package com.mycompany.motorph.benchmark;
+
+import com.mycompany.motorph.employee.EmployeeTrigramIndex;
+import com.mycompany.motorph.employee.EmployeeTrigramIndex.Field;
+import com.mycompany.motorph.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EmployeeTrigramIndex} build time and query latency.
+ * <p>
+ * Employees get varied addresses, positions and supervisors, so queries touch posting
+ * lists of realistic length. Queries cycle through misspelled one-field terms and
+ * address-plus-supervisor pairs. Building an index over one million employees takes
+ * a few seconds, and the heap is sized for it.
+ * </p>
+ *
+ * @author Lance
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TrigramIndexBenchmark {
+
+    private static final int RESULT_LIMIT = 50;
+
+    private static final String[] CITIES = {
+            "Cebu City", "Quezon City", "Makati City", "Davao City", "Iloilo City", "Baguio City",
+            "Pasig City", "Taguig City", "Cagayan de Oro", "Bacolod City", "Zamboanga City", "Mandaue City"
+    };
+    private static final String[] STREETS = {
+            "Rizal Avenue", "Mabini Street", "Bonifacio Drive", "Osmena Boulevard", "Luna Street",
+            "Aguinaldo Highway", "Del Pilar Street", "Quezon Avenue", "Roxas Boulevard", "Burgos Street"
+    };
+    private static final String[] POSITIONS = {
+            "Chief Executive Officer", "Chief Operating Officer", "HR Manager", "HR Team Leader",
+            "HR Rank and File", "Accounting Head", "Payroll Manager", "Payroll Team Leader",
+            "Payroll Rank and File", "Account Manager", "Account Team Leader", "Account Rank and File",
+            "Sales & Marketing", "Supply Chain and Logistics", "Customer Service and Relations"
+    };
+    private static final String[] SURNAMES = {
+            "Garcia", "Lim", "Reyes", "Santos", "Villanueva", "Aquino", "Salcedo", "Mata", "Alvaro",
+            "San Jose", "Romualdez", "Hernandez", "Bautista", "Mendoza", "Tolentino", "Castro"
+    };
+    private static final String[] GIVEN_NAMES = {
+            "Manuel", "Antonio", "Bianca", "Isabella", "Eduard", "Andrea", "Brad", "Selena", "Allison",
+            "Cydney", "Mark", "Darlene", "Kolby", "Vella", "Tomas", "Jacklyn"
+    };
+
+    private static final String[] SINGLE_QUERIES = {"Cebu", "Cebo", "Quezon Avnue", "payrol manager", "Account Team Leadr"};
+    private static final String[][] PAIR_QUERIES = {
+            {"Cebu", "Lim"}, {"Davao", "Garcia, Manuel"}, {"Makati", "Villanueva"}, {"Rizal", "Santos"}
+    };
+
+    @Param({"10000", "1000000"})
+    public int employees;
+
+    private List<Employee> employeeList;
+    private EmployeeTrigramIndex index;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employeeList = generateEmployees(employees, new SplittableRandom(BenchmarkFixtures.SEED));
+        index = new EmployeeTrigramIndex(employeeList);
+    }
+
+    @Benchmark
+    public EmployeeTrigramIndex buildIndex() {
+        return new EmployeeTrigramIndex(employeeList);
+    }
+
+    @Benchmark
+    public List<EmployeeTrigramIndex.Match> searchAllFields() {
+        return index.search(SINGLE_QUERIES[next++ % SINGLE_QUERIES.length], RESULT_LIMIT);
+    }
+
+    @Benchmark
+    public List<EmployeeTrigramIndex.Match> searchAddressAndSupervisor() {
+        String[] query = PAIR_QUERIES[next++ % PAIR_QUERIES.length];
+        return index.search(Map.of(Field.ADDRESS, query[0], Field.SUPERVISOR, query[1]),
+                RESULT_LIMIT, EmployeeTrigramIndex.DEFAULT_MIN_SIMILARITY);
+    }
+
+    private static List<Employee> generateEmployees(int count, SplittableRandom random) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Employee employee = new Employee();
+            employee.setEmployeeNumber(i);
+            employee.setLastName(pick(SURNAMES, random));
+            employee.setFirstName(pick(GIVEN_NAMES, random));
+            employee.setAddress((1 + random.nextInt(999)) + " " + pick(STREETS, random) + ", Barangay "
+                    + (1 + random.nextInt(200)) + ", " + pick(CITIES, random));
+            employee.setPosition(pick(POSITIONS, random));
+            employee.setImmediateSupervisor(pick(SURNAMES, random) + ", " + pick(GIVEN_NAMES, random));
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,89 @@
+package com.mycompany.motorph.calculation;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The Vector API path of {@link DeductionKernel}.
+ * <p>
+ * Kept in its own class so that nothing from {@code jdk.incubator.vector} is loaded
+ * unless the module is present. Every lane goes through the same operations as the
+ * scalar {@link StatutoryRules} methods: table lookups become a pass over the sorted
+ * bounds in which each lane keeps the last row at or below its wage, as the scalar
+ * binary search finds, and conditionals become blends.
+ * </p>
+ *
+ * @author Lance
+ */
+final class VectorDeductionKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorDeductionKernel() {
+    }
+
+    /**
+     * Computes the deductions of whole vectors of wages.
+     *
+     * @return The number of wages computed; the caller finishes the rest one by one
+     */
+    static int compute(StatutoryRules rules, double[] grossWages, int count, double[] sss, double[] philHealth,
+                       double[] pagIbig, double[] withholdingTax) {
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector gross = DoubleVector.fromArray(SPECIES, grossWages, i);
+
+            DoubleVector sssVector = sss(rules, gross);
+            DoubleVector philHealthVector = gross.mul(rules.philHealthRate)
+                    .min(rules.philHealthMaxPremium)
+                    .max(rules.philHealthMinPremium)
+                    .mul(rules.philHealthEmployeeShare);
+            DoubleVector pagIbigRate = DoubleVector.broadcast(SPECIES, rules.pagIbigHighRate)
+                    .blend(rules.pagIbigLowRate, gross.compare(VectorOperators.LE, rules.pagIbigThreshold));
+            DoubleVector pagIbigVector = gross.mul(pagIbigRate).min(rules.pagIbigMaxContribution);
+            DoubleVector taxVector = withholdingTax(rules, gross.sub(sssVector).sub(philHealthVector).sub(pagIbigVector).max(0.0));
+
+            sssVector.intoArray(sss, i);
+            philHealthVector.intoArray(philHealth, i);
+            pagIbigVector.intoArray(pagIbig, i);
+            taxVector.intoArray(withholdingTax, i);
+        }
+        return bound;
+    }
+
+    private static DoubleVector sss(StatutoryRules rules, DoubleVector gross) {
+        DoubleVector contribution = DoubleVector.zero(SPECIES);
+        DoubleVector upper = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+        double[] lowers = rules.sssLower;
+        for (int j = 0; j < lowers.length; j++) {
+            VectorMask<Double> atOrAbove = gross.compare(VectorOperators.GE, lowers[j]);
+            if (!atOrAbove.anyTrue()) {
+                break; // Lower bounds are sorted, so no lane reaches a later range
+            }
+            contribution = contribution.blend(rules.sssContribution[j], atOrAbove);
+            upper = upper.blend(rules.sssUpper[j], atOrAbove);
+        }
+        // A wage in a gap between ranges contributes nothing
+        contribution = contribution.blend(0.0, gross.compare(VectorOperators.GT, upper));
+        contribution = contribution.blend(rules.sssCeilingContribution, gross.compare(VectorOperators.GT, rules.sssCeilingAbove));
+        return contribution.blend(rules.sssFloorContribution, gross.compare(VectorOperators.LT, rules.sssFloorBelow));
+    }
+
+    private static DoubleVector withholdingTax(StatutoryRules rules, DoubleVector taxableIncome) {
+        DoubleVector rate = DoubleVector.zero(SPECIES);
+        VectorMask<Double> bracketed = SPECIES.maskAll(false);
+        double[] brackets = rules.taxBrackets;
+        for (int j = 0; j < brackets.length; j++) {
+            VectorMask<Double> atOrAbove = taxableIncome.compare(VectorOperators.GE, brackets[j]);
+            if (!atOrAbove.anyTrue()) {
+                break;
+            }
+            rate = rate.blend(rules.taxRates[j], atOrAbove);
+            bracketed = bracketed.or(atOrAbove);
+        }
+        VectorMask<Double> untaxed = bracketed.not().or(taxableIncome.compare(VectorOperators.LE, 0.0));
+        return taxableIncome.mul(rate).blend(0.0, untaxed);
+    }
+}
@@ -1,19 +1,47 @@
 package com.mycompany.motorph.calculation;
 
+import com.mycompany.motorph.data.AttendanceStore;
+import com.mycompany.motorph.data.LeaveDataManager;
+import com.mycompany.motorph.employee.EmployeeInformation;
+import com.mycompany.motorph.events.CsvLoadEvent;
+import com.mycompany.motorph.metrics.CacheStats;
+import com.mycompany.motorph.metrics.MetricsRegistry;
+import com.mycompany.motorph.metrics.Timer;
 import com.mycompany.motorph.model.DateRange;
+import com.mycompany.motorph.model.Employee;
+import com.mycompany.motorph.model.Leave;
+import com.mycompany.motorph.model.PayrollResult;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvValidationException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.text.ParseException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * A class for calculating wages based on hours worked.
  * <p>
  * It reads employee and attendance data, calculates total hours worked, late arrival deductions,
- * and determines net wages using payroll deduction rules.
+ * and determines net wages using payroll deduction rules. Attendance records are loaded once
+ * and kept in memory, and hourly rates come from the shared employee repository, so a
+ * long-lived instance computes wages without re-reading either file.
+ * </p>
+ * <p>
+ * When given the leave store, each employee's leaves are joined with their attendance
+ * by {@link AbsenceCalculation}: paid leave on workdays without attendance is paid at
+ * the assumed daily hours, while unpaid leave and absences are not. Without attendance
+ * in the period, every workday not on unpaid leave is assumed worked. Attendance dates
+ * written without a year are placed in the pay period's year.
+ * </p>
+ * <p>
+ * The attendance path may name a partitioned {@link AttendanceStore} directory instead of a
+ * single file, and the default store directory is used when it exists. Wage queries then
+ * read only the partitions that can hold the pay period.
  * </p>
  *
  * @author Lance
@@ -22,22 +50,78 @@ public class WageCalculation {
 
     private final TimeCalculation timeCalculator;
     private final NetWageCalculation netWageCalculation;
+    private final AbsenceCalculation absenceCalculation;
+    private final EmployeeInformation employeeInformation;
+    private final LeaveDataManager leaveDataManager;
+    private final String attendanceDataPath;
+    private final AttendanceStore attendanceStore;
 
-    // File paths for data
-    private static final String EMPLOYEE_DATA_PATH = "src/main/resources/data/employee_information.csv";
+    private volatile List<String[]> cachedAttendanceData;
+
+    // File path for data
     private static final String ATTENDANCE_DATA_PATH = "src/main/resources/data/employee_attendance.csv";
 
-    // Constants for CSV indices
-    private static final int EMPLOYEE_NUM_INDEX = 0;
-    private static final int HOURLY_RATE_INDEX = 18;
-    private static final int EMPLOYEE_EXPECTED_COL_LENGTH = 19;
+    // Metrics
+    private static final Timer ATTENDANCE_READ_TIMER = MetricsRegistry.timer("csv.attendance.read");
+    private static final Timer PAYROLL_TIMER = MetricsRegistry.timer("payroll.calculate");
+    private static final CacheStats ATTENDANCE_CACHE = MetricsRegistry.cache("cache.attendance");
 
     /**
      * Constructor for WageCalculation.
      */
     public WageCalculation() {
+        this(new EmployeeInformation());
+    }
+
+    /**
+     * Constructor for WageCalculation sharing an existing employee repository.
+     *
+     * @param employeeInformation The employee repository used for hourly rates
+     */
+    public WageCalculation(final EmployeeInformation employeeInformation) {
+        this(employeeInformation, defaultAttendancePath());
+    }
+
+    /**
+     * Constructor for WageCalculation over a specific attendance file.
+     *
+     * @param employeeInformation The employee repository used for hourly rates
+     * @param attendanceDataPath Path to the attendance CSV file or partition directory
+     */
+    public WageCalculation(final EmployeeInformation employeeInformation, final String attendanceDataPath) {
+        this(employeeInformation, attendanceDataPath, null);
+    }
+
+    /**
+     * Constructor for WageCalculation sharing the employee repository and leave store.
+     *
+     * @param employeeInformation The employee repository used for hourly rates
+     * @param leaveDataManager The leave store joined with attendance
+     */
+    public WageCalculation(final EmployeeInformation employeeInformation, final LeaveDataManager leaveDataManager) {
+        this(employeeInformation, defaultAttendancePath(), leaveDataManager);
+    }
+
+    /**
+     * Constructor for WageCalculation over a specific attendance file and leave store.
+     *
+     * @param employeeInformation The employee repository used for hourly rates
+     * @param attendanceDataPath Path to the attendance CSV file or partition directory
+     * @param leaveDataManager The leave store joined with attendance, or null to ignore leave
+     */
+    public WageCalculation(final EmployeeInformation employeeInformation, final String attendanceDataPath,
+                           final LeaveDataManager leaveDataManager) {
         this.timeCalculator = new TimeCalculation();
         this.netWageCalculation = new NetWageCalculation();
+        this.absenceCalculation = new AbsenceCalculation();
+        this.employeeInformation = employeeInformation;
+        this.leaveDataManager = leaveDataManager;
+        this.attendanceDataPath = attendanceDataPath;
+        this.attendanceStore = Files.isDirectory(Paths.get(attendanceDataPath)) ? new AttendanceStore(attendanceDataPath) : null;
+    }
+
+    private static String defaultAttendancePath() {
+        return AttendanceStore.exists(AttendanceStore.DEFAULT_DIRECTORY) ? AttendanceStore.DEFAULT_DIRECTORY : ATTENDANCE_DATA_PATH;
     }
 
     /**
@@ -52,52 +136,238 @@ public class WageCalculation {
      */
     public List<String> calculateWage(final int employeeNumber, final DateRange dateRange)
             throws IOException, CsvValidationException, ParseException {
+        // Compute and return the wage breakdown
+        return netWageCalculation.formatWageInformation(calculatePayroll(employeeNumber, dateRange));
+    }
 
-        final List<String[]> attendanceData = loadAttendanceData();
+    /**
+     * Calculates the unformatted payroll of an employee over a given date range.
+     *
+     * @param employeeNumber The employee number
+     * @param dateRange The date range for wage calculation
+     * @return The payroll amounts
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If data validation fails
+     * @throws ParseException If a parsing error occurs
+     */
+    public PayrollResult calculatePayroll(final int employeeNumber, final DateRange dateRange)
+            throws IOException, CsvValidationException, ParseException {
+        final List<String[]> attendanceData = attendanceStore != null
+                ? attendanceStore.load(dateRange, employeeNumber) : getAttendanceData();
         final double hourlyRate = getEmployeeHourlyRate(employeeNumber);
-        
-        // Compute total and assumed hours worked
+
+        return calculatePayroll(employeeNumber, hourlyRate, attendanceData, dateRange);
+    }
+
+    /**
+     * Calculates the unformatted payroll of an employee from their attendance records.
+     * <p>
+     * The attendance list may contain other employees' rows; only the given employee's
+     * rows within the date range are counted.
+     * </p>
+     *
+     * @param employeeNumber The employee number
+     * @param hourlyRate The employee's hourly rate
+     * @param attendanceData Attendance records to evaluate
+     * @param dateRange The date range for wage calculation
+     * @return The payroll amounts
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If data validation fails
+     * @throws ParseException If a parsing error occurs
+     */
+    public PayrollResult calculatePayroll(final int employeeNumber, final double hourlyRate, final List<String[]> attendanceData,
+                                          final DateRange dateRange) throws IOException, CsvValidationException, ParseException {
+        // Deduct under the statutory rules in effect at the end of the pay period
+        return calculatePayroll(employeeNumber, hourlyRate, attendanceData, dateRange, getStatutoryRules(dateRange.getEndDate()));
+    }
+
+    /**
+     * Calculates the unformatted payroll of an employee under given statutory rules.
+     * <p>
+     * Batches resolve the rules once and pay every employee under them, so a rules
+     * reload during a run cannot mix two versions in its results.
+     * </p>
+     *
+     * @param employeeNumber The employee number
+     * @param hourlyRate The employee's hourly rate
+     * @param attendanceData Attendance records to evaluate
+     * @param dateRange The date range for wage calculation
+     * @param rules The statutory rules to deduct under
+     * @return The payroll amounts
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If data validation fails
+     * @throws ParseException If a parsing error occurs
+     */
+    public PayrollResult calculatePayroll(final int employeeNumber, final double hourlyRate, final List<String[]> attendanceData,
+                                          final DateRange dateRange, final StatutoryRules rules)
+            throws IOException, CsvValidationException, ParseException {
+        final long started = PAYROLL_TIMER.start();
+        final PayBasis basis = summarizePay(employeeNumber, attendanceData, dateRange);
+        final double lateArrivalDeduction = basis.lateMinutes * NetWageCalculation.LATE_ARRIVAL_DEDUCTION_PER_MINUTE;
+
+        final PayrollResult result = netWageCalculation.calculatePayroll(employeeNumber, hourlyRate, basis.hoursWorked,
+                lateArrivalDeduction, basis.paidLeaveDays, basis.unpaidDays, rules);
+        PAYROLL_TIMER.stop(started);
+        return result;
+    }
+
+    /**
+     * Returns the statutory rules in effect on a date, from this engine's registry.
+     *
+     * @param date The date, usually the last day of the pay period
+     * @return The rules in effect
+     * @throws IOException If the rules cannot be read
+     * @throws CsvValidationException If a rules file is not valid CSV
+     */
+    public StatutoryRules getStatutoryRules(final LocalDate date) throws IOException, CsvValidationException {
+        return netWageCalculation.getStatutoryRules(date);
+    }
+
+    /**
+     * Works out the hours to pay and the minutes late of an employee, before any rate or
+     * deduction is applied.
+     *
+     * @param employeeNumber The employee number
+     * @param attendanceData Attendance records to evaluate
+     * @param dateRange The date range for wage calculation
+     * @return The hours, late minutes and leave days behind the pay
+     * @throws IOException If the leave store cannot be read
+     * @throws CsvValidationException If the leave store is not valid CSV
+     * @throws ParseException If a parsing error occurs
+     */
+    PayBasis summarizePay(final int employeeNumber, final List<String[]> attendanceData, final DateRange dateRange)
+            throws IOException, CsvValidationException, ParseException {
+        // Compute total hours worked, and classify the workdays without attendance
         final double totalHoursWorked = timeCalculator.calculateTotalHoursWorked(attendanceData, employeeNumber, dateRange);
-        final double assumedHoursWorked = timeCalculator.calculateAssumedHoursWorked(dateRange);
+        final List<Leave> leaves = leaveDataManager == null
+                ? Collections.emptyList() : leaveDataManager.getLeavesByEmployeeNumber(employeeNumber);
+        final int[] paidLeaveDays = leaveDataManager == null ? new int[0] : leaveDataManager.getPaidLeaveDays(leaves);
+        final AbsenceCalculation.AbsenceSummary absences = absenceCalculation.summarize(attendanceData, employeeNumber, leaves,
+                paidLeaveDays, dateRange);
+        final double paidLeaveHours = timeCalculator.calculateAssumedHoursWorked(absences.getPaidLeaveDays());
+
+        // Compute late minutes
+        final int lateMinutes = netWageCalculation.calculateLateMinutes(attendanceData, employeeNumber, dateRange);
 
-        // Compute late arrival deduction
-        final double lateArrivalDeduction = netWageCalculation.calculateLateArrivalDeduction(attendanceData, employeeNumber, dateRange);
+        // Use actual hours worked plus paid leave if available; otherwise, assume every workday not on unpaid leave
+        if (totalHoursWorked > 0) {
+            return new PayBasis(totalHoursWorked + paidLeaveHours, lateMinutes, absences.getPaidLeaveDays(),
+                    absences.getUnpaidLeaveDays() + absences.getAbsentDays());
+        }
+        return new PayBasis(timeCalculator.calculateAssumedHoursWorked(absences.getWorkdays() - absences.getUnpaidLeaveDays()),
+                lateMinutes, absences.getPaidLeaveDays(), absences.getUnpaidLeaveDays());
+    }
+
+    /**
+     * Hours and attendance behind one employee's pay for a period.
+     */
+    static final class PayBasis {
 
-        // Use actual hours worked if available; otherwise, use assumed hours
-        final double hoursForCalculation = (totalHoursWorked > 0) ? totalHoursWorked : assumedHoursWorked;
+        final double hoursWorked;
+        final int lateMinutes;
+        final int paidLeaveDays;
+        final int unpaidDays;
 
-        // Compute and return the wage breakdown
-        return netWageCalculation.getWageInformation(employeeNumber, hourlyRate, hoursForCalculation, lateArrivalDeduction);
+        private PayBasis(double hoursWorked, int lateMinutes, int paidLeaveDays, int unpaidDays) {
+            this.hoursWorked = hoursWorked;
+            this.lateMinutes = lateMinutes;
+            this.paidLeaveDays = paidLeaveDays;
+            this.unpaidDays = unpaidDays;
+        }
+    }
+
+    /**
+     * Formats payroll amounts in the order shown on the employee screen.
+     *
+     * @param result The payroll amounts
+     * @return The wage breakdown as a list of formatted strings
+     */
+    public List<String> formatWageInformation(final PayrollResult result) {
+        return netWageCalculation.formatWageInformation(result);
+    }
+
+    /**
+     * Loads the statutory deduction tables ahead of the first wage calculation.
+     *
+     * @return The number of SSS brackets loaded
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If data validation fails
+     */
+    public int preloadDeductionTables() throws IOException, CsvValidationException {
+        return netWageCalculation.preloadDeductionTables();
     }
 
     /**
-     * Retrieves the hourly rate for a specific employee from the CSV file.
+     * Retrieves the hourly rate for a specific employee from the employee repository.
      *
      * @param employeeNumber The employee number
      * @return The hourly rate
      * @throws IOException If an I/O error occurs
      * @throws CsvValidationException If data validation fails
+     * @throws ParseException If a parsing error occurs
      */
-    private double getEmployeeHourlyRate(final int employeeNumber) throws IOException, CsvValidationException {
-        try (CSVReader reader = new CSVReader(new FileReader(EMPLOYEE_DATA_PATH))) {
-            reader.readNext(); // Skip header row
-            String[] data;
+    private double getEmployeeHourlyRate(final int employeeNumber) throws IOException, CsvValidationException, ParseException {
+        return employeeInformation.findEmployee(employeeNumber)
+                .map(Employee::getHourlyRate)
+                .orElseThrow(() -> new IllegalArgumentException("Hourly rate not found for employee number: " + employeeNumber));
+    }
 
-            while ((data = reader.readNext()) != null) {
-                if (data.length == EMPLOYEE_EXPECTED_COL_LENGTH) {
-                    try {
-                        if (Integer.parseInt(data[EMPLOYEE_NUM_INDEX]) == employeeNumber) {
-                            return Double.parseDouble(data[HOURLY_RATE_INDEX]);
-                        }
-                    } catch (NumberFormatException e) {
-                        // Log and ignore malformed employee number entries
-                        System.err.println("Invalid employee number in CSV: " + data[EMPLOYEE_NUM_INDEX]);
-                    }
+    /**
+     * Returns the attendance records that can fall in a date range.
+     * <p>
+     * From a partitioned store, only the partitions overlapping the range are read;
+     * from a single file, every record is returned. Callers still filter by date.
+     * </p>
+     *
+     * @param dateRange The date range
+     * @return Unmodifiable list of attendance records
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If data validation fails
+     */
+    public List<String[]> getAttendanceData(final DateRange dateRange) throws IOException, CsvValidationException {
+        return attendanceStore != null ? attendanceStore.load(dateRange) : getAttendanceData();
+    }
+
+    /**
+     * Returns the cached attendance records, loading them on first use.
+     *
+     * @return Unmodifiable list of attendance records
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If data validation fails
+     */
+    public List<String[]> getAttendanceData() throws IOException, CsvValidationException {
+        List<String[]> attendanceData = cachedAttendanceData;
+        if (attendanceData != null) {
+            ATTENDANCE_CACHE.hit();
+        } else {
+            ATTENDANCE_CACHE.miss();
+            synchronized (this) {
+                attendanceData = cachedAttendanceData;
+                if (attendanceData == null) {
+                    attendanceData = Collections.unmodifiableList(loadAttendanceData());
+                    cachedAttendanceData = attendanceData;
                 }
             }
         }
+        return attendanceData;
+    }
 
-        throw new IllegalArgumentException("Hourly rate not found for employee number: " + employeeNumber);
+    /**
+     * Re-reads the attendance file, replacing the cached records. For a partitioned store,
+     * the manifest is re-read instead and partitions are loaded again on demand.
+     *
+     * @return The number of attendance records loaded, or held by the store
+     * @throws IOException If an I/O error occurs
+     * @throws CsvValidationException If data validation fails
+     */
+    public synchronized int reloadAttendanceData() throws IOException, CsvValidationException {
+        if (attendanceStore != null) {
+            cachedAttendanceData = null;
+            return (int) attendanceStore.reload();
+        }
+        List<String[]> attendanceData = Collections.unmodifiableList(loadAttendanceData());
+        cachedAttendanceData = attendanceData;
+        return attendanceData.size();
     }
 
     /**
@@ -108,9 +378,14 @@ public class WageCalculation {
      * @throws CsvValidationException If data validation fails
      */
     private List<String[]> loadAttendanceData() throws IOException, CsvValidationException {
+        if (attendanceStore != null) {
+            return attendanceStore.loadAll();
+        }
+        final long started = ATTENDANCE_READ_TIMER.start();
+        final CsvLoadEvent event = CsvLoadEvent.start("attendance", attendanceDataPath);
         final List<String[]> attendanceRecords = new ArrayList<>();
 
-        try (CSVReader reader = new CSVReader(new FileReader(ATTENDANCE_DATA_PATH))) {
+        try (CSVReader reader = new CSVReader(new FileReader(attendanceDataPath))) {
             reader.readNext(); // Skip header row
             String[] data;
             while ((data = reader.readNext()) != null) {
@@ -118,6 +393,8 @@ public class WageCalculation {
             }
         }
 
+        event.finish(attendanceRecords.size());
+        ATTENDANCE_READ_TIMER.stop(started, attendanceRecords.size());
         return attendanceRecords;
     }
 }
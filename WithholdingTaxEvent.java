@@ -0,0 +1,58 @@
+package com.mycompany.motorph.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the withholding tax computation of one employee.
+ *
+ * @author Lance
+ */
+@Name("com.mycompany.motorph.WithholdingTax")
+@Label("Withholding Tax")
+@Category({"MotorPH", "Payroll"})
+@Description("Computing withholding tax from the gross wage")
+@StackTrace(false)
+public class WithholdingTaxEvent extends Event {
+
+    @Label("Employee Number")
+    int employeeNumber;
+
+    @Label("Gross Wage")
+    double grossWage;
+
+    @Label("Withholding Tax")
+    double withholdingTax;
+
+    /**
+     * Begins timing a tax computation.
+     *
+     * @param employeeNumber The employee
+     * @param gross The gross wage being taxed
+     * @return The started event
+     */
+    public static WithholdingTaxEvent start(int employeeNumber, double gross) {
+        WithholdingTaxEvent event = new WithholdingTaxEvent();
+        event.employeeNumber = employeeNumber;
+        event.grossWage = gross;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the computation and commits the event if it is being recorded.
+     *
+     * @param tax The computed tax
+     */
+    public void finish(double tax) {
+        end();
+        if (shouldCommit()) {
+            withholdingTax = tax;
+            commit();
+        }
+    }
+}